@@ -0,0 +1,252 @@
+package com.campuslands.springbootdemo;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import com.campuslands.springbootdemo.service.CategoriaService;
+import com.campuslands.springbootdemo.service.ProductoService;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fase de calentamiento que se ejecuta al arrancar la aplicación.
+ * <p> * Precarga las categorías y los productos más solicitados, y recorre los
+ * endpoints de lectura principales por HTTP para que Hibernate, Jackson y el
+ * JIT lleguen compilados al tráfico real. Mientras dura, el estado de
+ * disponibilidad ({@code readiness}) permanece en {@code REFUSING_TRAFFIC}:
+ * Spring Boot solo lo cambia a {@code ACCEPTING_TRAFFIC} cuando terminan los
+ * {@link ApplicationRunner}. El calentamiento se corta al agotar su presupuesto
+ * de tiempo y su duración y cobertura se publican como indicador de salud.
+ * @since 1.1.0
+ */
+@Component
+public class CalentamientoInicial implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(CalentamientoInicial.class);
+
+    /** Ids incluidos en la ruta de consulta por lote. */
+    private static final int IDS_POR_LOTE = 50;
+
+    private final ApplicationContext contexto;
+
+    private final CategoriaService categoriaService;
+
+    private final ProductoService productoService;
+
+    private final IProductoRepository productoRepository;
+
+    private final boolean habilitado;
+
+    private final Duration presupuesto;
+
+    private final int iteraciones;
+
+    private final int cantidadProductos;
+
+    private final List<Long> productosDestacados;
+
+    private final AtomicInteger categorias = new AtomicInteger();
+
+    private final AtomicInteger productos = new AtomicInteger();
+
+    private final AtomicInteger solicitudes = new AtomicInteger();
+
+    private final AtomicInteger errores = new AtomicInteger();
+
+    private volatile Reporte reporte;
+
+    /**
+     * Crea el componente de calentamiento.
+     * @param contexto contexto de la aplicación
+     * @param categoriaService servicio de categorías
+     * @param productoService servicio de productos
+     * @param productoRepository repositorio de productos
+     * @param habilitado si se ejecuta el calentamiento
+     * @param presupuestoMillis tiempo máximo del calentamiento
+     * @param iteraciones vueltas sobre las rutas de lectura
+     * @param cantidadProductos productos recientes a precargar
+     * @param productosDestacados ids de productos con más tráfico, precargados primero
+     */
+    public CalentamientoInicial(ApplicationContext contexto, CategoriaService categoriaService,
+            ProductoService productoService, IProductoRepository productoRepository,
+            @Value("${catalogo.calentamiento.habilitado:true}") boolean habilitado,
+            @Value("${catalogo.calentamiento.presupuesto-ms:30000}") long presupuestoMillis,
+            @Value("${catalogo.calentamiento.iteraciones:300}") int iteraciones,
+            @Value("${catalogo.calentamiento.productos:200}") int cantidadProductos,
+            @Value("${catalogo.calentamiento.productos-destacados:}") List<Long> productosDestacados) {
+        this.contexto = contexto;
+        this.categoriaService = categoriaService;
+        this.productoService = productoService;
+        this.productoRepository = productoRepository;
+        this.habilitado = habilitado;
+        this.presupuesto = Duration.ofMillis(presupuestoMillis);
+        this.iteraciones = iteraciones;
+        this.cantidadProductos = cantidadProductos;
+        this.productosDestacados = productosDestacados;
+    }
+
+    /**
+     * Ejecuta el calentamiento dentro del presupuesto de tiempo.
+     * @param args argumentos de la aplicación
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitado) {
+            reporte = new Reporte(true, 0, 0, 0, 0, 0);
+            return;
+        }
+        AvailabilityChangeEvent.publish(contexto, ReadinessState.REFUSING_TRAFFIC);
+
+        long inicio = System.nanoTime();
+        var tarea = new FutureTask<Void>(this::calentar, null);
+        Thread.ofPlatform().name("calentamiento").daemon().start(tarea);
+        boolean completo = false;
+        try {
+            tarea.get(presupuesto.toMillis(), TimeUnit.MILLISECONDS);
+            completo = true;
+        } catch (TimeoutException e) {
+            tarea.cancel(true);
+            log.warn("Calentamiento interrumpido al agotar el presupuesto de {} ms", presupuesto.toMillis());
+        } catch (ExecutionException e) {
+            log.warn("Calentamiento terminado con error", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        reporte = new Reporte(completo, (System.nanoTime() - inicio) / 1_000_000,
+                categorias.get(), productos.get(), solicitudes.get(), errores.get());
+        log.info("Calentamiento: {}", reporte);
+    }
+
+    private void calentar() {
+        var todas = categoriaService.listar();
+        categorias.set(todas.size());
+
+        var ids = new LinkedHashSet<>(productosDestacados);
+        productoRepository.findAll(PageRequest.of(0, cantidadProductos, Sort.by(Sort.Direction.DESC, "id")))
+                .forEach(producto -> ids.add(producto.getId()));
+        var precargados = productoService.obtenerVarios(ids).encontrados();
+        productos.set(precargados.size());
+
+        if (contexto instanceof WebServerApplicationContext web && web.getWebServer() != null) {
+            recorrerRutas(web.getWebServer().getPort(), rutas(todas, precargados));
+        }
+    }
+
+    private List<String> rutas(List<Categoria> todas, List<Producto> precargados) {
+        var rutas = new ArrayList<String>();
+        rutas.add("/api/categorias");
+        rutas.add("/api/productos/buscar?orden=precio&enStock=true");
+        todas.stream().limit(IDS_POR_LOTE).forEach(c -> rutas.add("/api/categorias/" + c.getId()));
+        precargados.forEach(p -> rutas.add("/api/productos/" + p.getId()));
+        if (!precargados.isEmpty()) {
+            rutas.add("/api/productos?ids=" + precargados.stream().limit(IDS_POR_LOTE)
+                    .map(p -> p.getId().toString()).collect(Collectors.joining(",")));
+            var ejemplo = precargados.get(0);
+            if (ejemplo.getNombre() != null && !ejemplo.getNombre().isBlank()) {
+                var fragmento = ejemplo.getNombre().substring(0, Math.min(3, ejemplo.getNombre().length()));
+                rutas.add("/api/productos/buscar/nombre?nombre=" + URLEncoder.encode(fragmento, StandardCharsets.UTF_8));
+            }
+            if (ejemplo.getPrecio() != null) {
+                rutas.add("/api/productos/buscar/precio?precio=" + ejemplo.getPrecio());
+            }
+        }
+        return rutas;
+    }
+
+    private void recorrerRutas(int puerto, List<String> rutas) {
+        var cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        var base = "http://localhost:" + puerto;
+        for (int i = 0; i < iteraciones; i++) {
+            // Cada vuelta toma una ruta por producto distinta para no repetir siempre el mismo id.
+            for (var ruta : rutas.size() <= 8 ? rutas : muestra(rutas, i)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    var respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base + ruta)).GET().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    solicitudes.incrementAndGet();
+                    if (respuesta.statusCode() >= 400) {
+                        errores.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    errores.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static List<String> muestra(List<String> rutas, int vuelta) {
+        var seleccion = new ArrayList<String>(8);
+        for (int j = 0; j < 8; j++) {
+            seleccion.add(rutas.get((vuelta * 8 + j) % rutas.size()));
+        }
+        return seleccion;
+    }
+
+    /**
+     * Informa {@code DOWN} mientras el calentamiento está en curso y {@code UP}
+     * con su reporte al terminar.
+     * @return estado del calentamiento
+     */
+    @Override
+    public Health health() {
+        var actual = reporte;
+        if (actual == null) {
+            return Health.down().withDetail("estado", "en curso").build();
+        }
+        return Health.up()
+                .withDetail("completo", actual.completo())
+                .withDetail("duracionMs", actual.duracionMs())
+                .withDetail("categorias", actual.categorias())
+                .withDetail("productos", actual.productos())
+                .withDetail("solicitudes", actual.solicitudes())
+                .withDetail("errores", actual.errores())
+                .build();
+    }
+
+    /**
+     * Resultado del calentamiento.
+     * @param completo si terminó dentro del presupuesto
+     * @param duracionMs duración en milisegundos
+     * @param categorias categorías precargadas
+     * @param productos productos precargados
+     * @param solicitudes solicitudes HTTP de calentamiento realizadas
+     * @param errores solicitudes fallidas o con estado de error
+     */
+    public record Reporte(boolean completo, long duracionMs, int categorias, int productos, int solicitudes,
+            int errores) {
+    }
+}
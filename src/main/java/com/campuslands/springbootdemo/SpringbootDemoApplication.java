@@ -2,13 +2,22 @@ package com.campuslands.springbootdemo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Aplicación principal de Spring Boot para el proyecto springboot-demo.
  * <p> * Arranca el contexto de Spring y expone los controladores REST.
+ * Antes de aceptar tráfico ejecuta {@link CalentamientoInicial}, que mantiene
+ * el estado de disponibilidad en {@code REFUSING_TRAFFIC} hasta terminar.
+ * La conexión R2DBC de la API reactiva se configura en
+ * {@link com.campuslands.springbootdemo.config.ReactivoConfig}, por eso se
+ * excluye la autoconfiguración R2DBC.
  * @since 1.0.0
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@EnableScheduling
 public class SpringbootDemoApplication {
 
     /**
@@ -0,0 +1,61 @@
+package com.campuslands.springbootdemo.config;
+
+import com.campuslands.springbootdemo.web.CacheRespuestasFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración de la caché de respuestas con revalidación en segundo plano.
+ * <p> * Registra {@link CacheRespuestasFilter} antes del limitador de
+ * concurrencia, de modo que las respuestas servidas desde la caché no ocupan
+ * capacidad y un rechazo del limitador también puede sustituirse por una
+ * respuesta obsoleta. El filtro se declara como bean para recibir los eventos
+ * de cambio del catálogo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalogo.cache-respuestas.habilitado", havingValue = "true", matchIfMissing = true)
+public class CacheRespuestasConfig {
+
+    /**
+     * Crea el filtro de la caché de respuestas.
+     * @param registro registro de métricas
+     * @param capacidad entradas máximas
+     * @param frescuraMillis edad hasta la cual una entrada se sirve sin revalidar
+     * @param graciaMillis edad hasta la cual una entrada se sirve mientras se revalida
+     * @param maximoObsoletoMillis edad hasta la cual una entrada reemplaza a una respuesta fallida
+     * @param enfriamientoMillis tiempo tras un fallo durante el cual se sirven entradas obsoletas sin esperar
+     * @param timeoutRevalidacionMillis tiempo máximo de una revalidación
+     * @param hilosRevalidacion hilos dedicados a revalidar
+     * @return filtro de la caché
+     */
+    @Bean
+    public CacheRespuestasFilter cacheRespuestasFilter(MeterRegistry registro,
+            @Value("${catalogo.cache-respuestas.capacidad:10000}") int capacidad,
+            @Value("${catalogo.cache-respuestas.frescura-ms:2000}") long frescuraMillis,
+            @Value("${catalogo.cache-respuestas.gracia-ms:30000}") long graciaMillis,
+            @Value("${catalogo.cache-respuestas.maximo-obsoleto-ms:600000}") long maximoObsoletoMillis,
+            @Value("${catalogo.cache-respuestas.enfriamiento-ms:5000}") long enfriamientoMillis,
+            @Value("${catalogo.cache-respuestas.timeout-revalidacion-ms:5000}") long timeoutRevalidacionMillis,
+            @Value("${catalogo.cache-respuestas.hilos-revalidacion:2}") int hilosRevalidacion) {
+        return new CacheRespuestasFilter(capacidad, frescuraMillis, graciaMillis, maximoObsoletoMillis,
+                enfriamientoMillis, timeoutRevalidacionMillis, hilosRevalidacion, registro);
+    }
+
+    /**
+     * Registra el filtro de la caché de respuestas sobre {@code /api/*}.
+     * @param filtro filtro de la caché
+     * @return registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<CacheRespuestasFilter> cacheRespuestasRegistro(CacheRespuestasFilter filtro) {
+        var registroFiltro = new FilterRegistrationBean<>(filtro);
+        registroFiltro.addUrlPatterns("/api/*");
+        registroFiltro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registroFiltro;
+    }
+}
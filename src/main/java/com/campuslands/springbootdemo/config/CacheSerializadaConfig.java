@@ -0,0 +1,57 @@
+package com.campuslands.springbootdemo.config;
+
+import com.campuslands.springbootdemo.web.CacheSerializadaFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración de la caché de respuestas serializadas.
+ * <p> * Registra {@link CacheSerializadaFilter} como el primero de los filtros
+ * de la API, antes de la caché de respuestas y del limitador de concurrencia:
+ * una respuesta guardada se copia a la salida sin pasar por ninguno de ellos.
+ * El filtro se declara como bean para recibir los eventos de cambio del
+ * catálogo. La memoria del almacén se reserva fuera del heap al arrancar, de
+ * modo que {@code maximo-bytes} debe caber en {@code -XX:MaxDirectMemorySize};
+ * por eso solo se crea si {@code catalogo.cache-serializada.habilitado} vale
+ * {@code true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalogo.cache-serializada.habilitado", havingValue = "true")
+public class CacheSerializadaConfig {
+
+    /**
+     * Crea el filtro de la caché de respuestas serializadas.
+     * @param registro registro de métricas
+     * @param maximoBytes capacidad total del almacén en bytes
+     * @param tamanoPagina tamaño de cada página del almacén en bytes
+     * @param gzip si se guarda también una versión comprimida con gzip
+     * @param gzipMinimoBytes tamaño mínimo del cuerpo para comprimirlo
+     * @return filtro de la caché
+     */
+    @Bean
+    public CacheSerializadaFilter cacheSerializadaFilter(MeterRegistry registro,
+            @Value("${catalogo.cache-serializada.maximo-bytes:67108864}") long maximoBytes,
+            @Value("${catalogo.cache-serializada.tamano-pagina:2048}") int tamanoPagina,
+            @Value("${catalogo.cache-serializada.gzip:true}") boolean gzip,
+            @Value("${catalogo.cache-serializada.gzip-minimo-bytes:1024}") int gzipMinimoBytes) {
+        return new CacheSerializadaFilter(maximoBytes, tamanoPagina, gzip, gzipMinimoBytes, registro);
+    }
+
+    /**
+     * Registra el filtro de la caché de respuestas serializadas sobre {@code /api/*}.
+     * @param filtro filtro de la caché
+     * @return registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<CacheSerializadaFilter> cacheSerializadaRegistro(CacheSerializadaFilter filtro) {
+        var registroFiltro = new FilterRegistrationBean<>(filtro);
+        registroFiltro.addUrlPatterns("/api/*");
+        registroFiltro.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registroFiltro;
+    }
+}
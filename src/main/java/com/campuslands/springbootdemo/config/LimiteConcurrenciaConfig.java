@@ -0,0 +1,51 @@
+package com.campuslands.springbootdemo.config;
+
+import com.campuslands.springbootdemo.web.LimiteAdaptativo;
+import com.campuslands.springbootdemo.web.LimiteConcurrenciaFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del limitador de concurrencia adaptativo frente a la base de datos.
+ * <p> * Registra {@link LimiteConcurrenciaFilter} sobre {@code /api/*} con un
+ * límite compartido por lecturas y escrituras, del que una fracción queda
+ * reservada para las escrituras, ajustable por propiedades
+ * {@code catalogo.concurrencia.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalogo.concurrencia.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteConcurrenciaConfig {
+
+    /**
+     * Registra el filtro de limitación de concurrencia.
+     * @param registro registro de métricas
+     * @param inicial límite inicial
+     * @param minimo límite mínimo
+     * @param maximo límite máximo de solicitudes concurrentes
+     * @param reservaEscrituras fracción del límite que solo pueden ocupar las escrituras
+     * @param tolerancia aumento de latencia tolerado antes de reducir el límite
+     * @param reintentarEnSegundos valor de {@code Retry-After} en respuestas rechazadas
+     * @return registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<LimiteConcurrenciaFilter> limiteConcurrenciaFilter(MeterRegistry registro,
+            @Value("${catalogo.concurrencia.inicial:20}") int inicial,
+            @Value("${catalogo.concurrencia.minimo:2}") int minimo,
+            @Value("${catalogo.concurrencia.maximo:250}") int maximo,
+            @Value("${catalogo.concurrencia.reserva-escrituras:0.2}") double reservaEscrituras,
+            @Value("${catalogo.concurrencia.tolerancia:2.0}") double tolerancia,
+            @Value("${catalogo.concurrencia.reintentar-en-segundos:1}") int reintentarEnSegundos) {
+        var filtro = new LimiteConcurrenciaFilter(
+                new LimiteAdaptativo(inicial, minimo, maximo, tolerancia, reservaEscrituras),
+                reintentarEnSegundos, registro);
+        var registroFiltro = new FilterRegistrationBean<>(filtro);
+        registroFiltro.addUrlPatterns("/api/*");
+        registroFiltro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registroFiltro;
+    }
+}
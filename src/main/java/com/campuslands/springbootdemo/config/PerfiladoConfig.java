@@ -0,0 +1,26 @@
+package com.campuslands.springbootdemo.config;
+
+import com.campuslands.springbootdemo.perfilado.PerfiladoInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración del perfilado bajo demanda con Java Flight Recorder.
+ * <p> * Registra {@link PerfiladoInterceptor} sobre {@code /api/**} cuando
+ * {@code catalogo.perfilado.habilitado=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalogo.perfilado.habilitado", havingValue = "true")
+public class PerfiladoConfig implements WebMvcConfigurer {
+
+    /**
+     * Registra el interceptor que marca las solicitudes en las grabaciones.
+     * @param registry registro de interceptores
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PerfiladoInterceptor()).addPathPatterns("/api/**");
+    }
+}
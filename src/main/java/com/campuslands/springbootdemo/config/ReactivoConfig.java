@@ -0,0 +1,84 @@
+package com.campuslands.springbootdemo.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuración del acceso reactivo a la base de datos para la API de solo
+ * lectura {@code /api/reactivo}.
+ * <p> * Crea un pool R2DBC propio con las propiedades {@code catalogo.reactivo.*}
+ * sobre el mismo esquema que usa JPA. La autoconfiguración R2DBC de Spring Boot
+ * está excluida en {@code SpringbootDemoApplication}: su gestor de
+ * transacciones reactivo competiría con el de JPA por las transacciones
+ * declarativas existentes.
+ * <p>El pool no se publica como {@code ConnectionFactory}: la
+ * autoconfiguración del {@code DataSource} se retira cuando existe un bean de
+ * ese tipo y la aplicación se quedaría sin JPA. Se publica envuelto en
+ * {@link ConexionesReactivas}, que además lo cierra al detener el contexto.
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalogo.reactivo.habilitado", havingValue = "true")
+public class ReactivoConfig {
+
+    /**
+     * Crea el pool de conexiones reactivas. Las conexiones se abren bajo
+     * demanda, de modo que el arranque no depende de la base de datos.
+     * @param url URL R2DBC de la base de datos
+     * @param usuario usuario de la base de datos
+     * @param clave contraseña de la base de datos
+     * @param conexionesMaximas conexiones máximas del pool
+     * @param esperaConexionMillis espera máxima por una conexión libre
+     * @return pool de conexiones envuelto
+     */
+    @Bean
+    public ConexionesReactivas conexionesReactivas(
+            @Value("${catalogo.reactivo.url}") String url,
+            @Value("${catalogo.reactivo.usuario:${spring.datasource.username:}}") String usuario,
+            @Value("${catalogo.reactivo.clave:${spring.datasource.password:}}") String clave,
+            @Value("${catalogo.reactivo.conexiones-maximas:20}") int conexionesMaximas,
+            @Value("${catalogo.reactivo.espera-conexion-ms:5000}") long esperaConexionMillis) {
+        var opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, clave)
+                .build();
+        var configuracion = ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .name("catalogo-reactivo")
+                .initialSize(0)
+                .maxSize(conexionesMaximas)
+                .maxAcquireTime(Duration.ofMillis(esperaConexionMillis))
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build();
+        return new ConexionesReactivas(new ConnectionPool(configuracion));
+    }
+
+    /**
+     * Crea el cliente de consultas reactivas.
+     * @param conexionesReactivas pool de conexiones reactivas
+     * @return cliente de base de datos
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConexionesReactivas conexionesReactivas) {
+        return DatabaseClient.create(conexionesReactivas.pool());
+    }
+
+    /**
+     * Pool de conexiones reactivas; se cierra junto con el contexto.
+     * @param pool pool de conexiones
+     */
+    public record ConexionesReactivas(ConnectionPool pool) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pool.dispose();
+        }
+    }
+}
@@ -1,6 +1,11 @@
 /**
  * Configuración general del proyecto.
  * <p>Incluye la definición de {@code OpenApiConfig} para la documentación
- * Swagger/OpenAPI.
+ * Swagger/OpenAPI, {@code LimiteConcurrenciaConfig} para la limitación
+ * adaptativa de concurrencia de la API, {@code CacheRespuestasConfig} para la
+ * caché de respuestas con revalidación en segundo plano,
+ * {@code CacheSerializadaConfig} para la caché de respuestas serializadas,
+ * {@code PerfiladoConfig} para el perfilado bajo demanda con Java Flight Recorder
+ * y {@code ReactivoConfig} para el pool R2DBC de la API reactiva.
  */
 package com.campuslands.springbootdemo.config;
@@ -0,0 +1,65 @@
+package com.campuslands.springbootdemo.controller;
+
+import com.campuslands.springbootdemo.dto.EventoCambio;
+import com.campuslands.springbootdemo.service.FeedCambiosService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST del flujo de cambios del catálogo.
+ * <p> * Publica por Server-Sent Events los cambios confirmados de productos
+ * y categorías para que los clientes no tengan que consultar periódicamente.
+ * @since 1.1.0
+ */
+@Tag(name = "Cambios", description = "Flujo de cambios de productos y categorías (SSE)")
+@RestController
+@RequestMapping("/api/cambios")
+public class CambioController {
+
+    private final FeedCambiosService feedCambiosService;
+
+    /**
+     * Crea una nueva instancia del controlador.
+     * @param feedCambiosService servicio del flujo de cambios
+     */
+    public CambioController(FeedCambiosService feedCambiosService) {
+        this.feedCambiosService = feedCambiosService;
+    }
+
+    /**
+     * Abre una suscripción SSE al flujo de cambios.
+     * @param ultimoId cabecera {@code Last-Event-ID} enviada al reconectar (opcional)
+     * @param desde id desde el cual reanudar, alternativa a la cabecera (opcional)
+     * @return emisor SSE de la suscripción
+     */
+    @Operation(
+            summary = "Suscribirse a los cambios del catálogo",
+            description = "Emite eventos `cambio` con id, campos modificados y versión. Al reconectar con "
+                    + "`Last-Event-ID` se reenvían los cambios pendientes; si ya no están disponibles se emite "
+                    + "un evento `reinicio` y el cliente debe recargar su estado.",
+            parameters = {
+                @Parameter(name = "desde", description = "Último id recibido (alternativa a Last-Event-ID)", required = false, example = "1730000000000001")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Flujo abierto",
+                        content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                schema = @Schema(implementation = EventoCambio.class)))
+            }
+    )
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribir(@RequestHeader(name = "Last-Event-ID", required = false) String ultimoId,
+            @RequestParam(required = false) String desde) {
+        return feedCambiosService.suscribir(ultimoId != null ? ultimoId : desde);
+    }
+}
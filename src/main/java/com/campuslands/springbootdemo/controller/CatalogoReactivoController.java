@@ -0,0 +1,213 @@
+package com.campuslands.springbootdemo.controller;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.service.CatalogoReactivoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST de lecturas no bloqueantes de productos y categorías.
+ * <p> * Convive con los controladores MVC sobre el mismo esquema. Mientras
+ * espera a la base de datos la solicitud no ocupa un hilo del servidor: se
+ * procesa de forma asíncrona y el hilo vuelve al pool. Las listas se emiten
+ * fila a fila con {@code Accept: application/x-ndjson}, al ritmo en que el
+ * cliente las consume; con {@code application/json} se devuelven como un
+ * arreglo completo, igual que en la API MVC.
+ * @since 1.1.0
+ */
+@Tag(name = "Reactivo", description = "Lecturas no bloqueantes de productos y categorías")
+@RestController
+@RequestMapping("/api/reactivo")
+@ConditionalOnProperty(name = "catalogo.reactivo.habilitado", havingValue = "true")
+public class CatalogoReactivoController {
+
+    private final CatalogoReactivoService reactivoService;
+
+    /**
+     * Crea una nueva instancia del controlador.
+     * @param reactivoService servicio de lecturas reactivas
+     */
+    public CatalogoReactivoController(CatalogoReactivoService reactivoService) {
+        this.reactivoService = reactivoService;
+    }
+
+    /**
+     * Obtiene un producto por su identificador.
+     * @param id identificador del producto
+     * @return {@code 200 OK} si existe o {@code 404 Not Found} si no existe
+     */
+    @Operation(
+            summary = "Obtener producto por id (reactivo)",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador del producto", required = true, example = "1")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = Producto.class))),
+                @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content)
+            }
+    )
+    @GetMapping("/productos/{id}")
+    public Mono<ResponseEntity<Producto>> obtenerProducto(@PathVariable Long id) {
+        return reactivoService.obtenerProducto(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista todos los productos.
+     * @return productos en orden de id
+     */
+    @Operation(
+            summary = "Listar productos (reactivo)",
+            description = "Con `Accept: application/x-ndjson` emite un producto por línea a medida que se leen.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK", content = {
+                    @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Producto.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Producto.class))
+                })
+            }
+    )
+    @GetMapping(value = "/productos", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Producto> listarProductos() {
+        return reactivoService.listarProductos();
+    }
+
+    /**
+     * Busca productos por coincidencia en el nombre.
+     * @param nombre texto a buscar
+     * @return productos coincidentes en orden de id
+     */
+    @Operation(
+            summary = "Buscar productos por nombre (reactivo)",
+            description = "Con `Accept: application/x-ndjson` emite un producto por línea a medida que se leen.",
+            parameters = {
+                @Parameter(name = "nombre", description = "Texto a buscar (contiene, case-insensitive)", required = true, example = "udio")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK", content = {
+                    @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Producto.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Producto.class))
+                })
+            }
+    )
+    @GetMapping(value = "/productos/buscar/nombre",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Producto> buscarProductosPorNombre(@RequestParam String nombre) {
+        return reactivoService.buscarProductosPorNombre(nombre);
+    }
+
+    /**
+     * Obtiene productos con precio mayor al valor indicado.
+     * @param precio umbral de precio
+     * @return productos coincidentes en orden de id
+     */
+    @Operation(
+            summary = "Buscar productos con precio mayor a (reactivo)",
+            description = "Con `Accept: application/x-ndjson` emite un producto por línea a medida que se leen.",
+            parameters = {
+                @Parameter(name = "precio", description = "Umbral de precio. Devuelve productos con precio > valor", required = true, example = "200.0")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK", content = {
+                    @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Producto.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Producto.class))
+                }),
+                @ApiResponse(responseCode = "400", description = "Parámetro inválido", content = @Content)
+            }
+    )
+    @GetMapping(value = "/productos/buscar/precio",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Producto> buscarProductosPorPrecioMayorA(@RequestParam Double precio) {
+        return reactivoService.buscarProductosPorPrecioMayorA(precio);
+    }
+
+    /**
+     * Obtiene una categoría por su identificador.
+     * @param id identificador de la categoría
+     * @return {@code 200 OK} si existe o {@code 404 Not Found} si no existe
+     */
+    @Operation(
+            summary = "Obtener categoría por id (reactivo)",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador de la categoría", required = true, example = "1")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = Categoria.class))),
+                @ApiResponse(responseCode = "404", description = "No encontrada", content = @Content)
+            }
+    )
+    @GetMapping("/categorias/{id}")
+    public Mono<ResponseEntity<Categoria>> obtenerCategoria(@PathVariable Long id) {
+        return reactivoService.obtenerCategoria(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista todas las categorías.
+     * @return categorías en orden de id
+     */
+    @Operation(
+            summary = "Listar categorías (reactivo)",
+            description = "Con `Accept: application/x-ndjson` emite una categoría por línea a medida que se leen.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK", content = {
+                    @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Categoria.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Categoria.class))
+                })
+            }
+    )
+    @GetMapping(value = "/categorias", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Categoria> listarCategorias() {
+        return reactivoService.listarCategorias();
+    }
+
+    /**
+     * Busca categorías por coincidencia en el nombre.
+     * @param nombre texto a buscar
+     * @return categorías coincidentes en orden de id
+     */
+    @Operation(
+            summary = "Buscar categorías por nombre (reactivo)",
+            description = "Con `Accept: application/x-ndjson` emite una categoría por línea a medida que se leen.",
+            parameters = {
+                @Parameter(name = "nombre", description = "Texto a buscar (contiene, case-insensitive)", required = true, example = "electr")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK", content = {
+                    @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Categoria.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Categoria.class))
+                })
+            }
+    )
+    @GetMapping(value = "/categorias/buscar/nombre",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Categoria> buscarCategoriasPorNombre(@RequestParam String nombre) {
+        return reactivoService.buscarCategoriasPorNombre(nombre);
+    }
+}
@@ -1,5 +1,8 @@
 package com.campuslands.springbootdemo.controller;
 
+import com.campuslands.springbootdemo.dto.CategoriaUpsert;
+import com.campuslands.springbootdemo.dto.ResultadoLote;
+import com.campuslands.springbootdemo.dto.ResultadoUpsert;
 import com.campuslands.springbootdemo.entity.Categoria;
 import com.campuslands.springbootdemo.service.CategoriaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -82,6 +85,52 @@ public class CategoriaController {
         return categoria != null ? ResponseEntity.ok(categoria) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Obtiene varias categorías por sus identificadores en una sola solicitud.
+     * @param ids identificadores separados por coma
+     * @return {@code 200 OK} con las categorías encontradas en el orden solicitado y los ids inexistentes
+     */
+    @Operation(
+            summary = "Obtener categorías por lote de ids",
+            description = "Resuelve todos los ids con consultas `IN` por bloques. Para listas largas use `POST /api/categorias/lote`.",
+            parameters = {
+                @Parameter(name = "ids", description = "Identificadores separados por coma", required = true, example = "1,2,3")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoLote.class)))
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResultadoLote<Categoria> obtenerVarias(@RequestParam List<Long> ids) {
+        return categoriaService.obtenerVarias(ids);
+    }
+
+    /**
+     * Obtiene varias categorías a partir de una lista de ids enviada en el cuerpo.
+     * @param ids identificadores a consultar
+     * @return {@code 200 OK} con las categorías encontradas en el orden solicitado y los ids inexistentes
+     */
+    @Operation(
+            summary = "Obtener categorías por lote de ids (cuerpo)",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Long.class)),
+                            examples = @ExampleObject(value = "[1, 2, 3]"))
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoLote.class)))
+            }
+    )
+    @PostMapping("/lote")
+    public ResultadoLote<Categoria> obtenerVariasPorCuerpo(@RequestBody List<Long> ids) {
+        return categoriaService.obtenerVarias(ids);
+    }
+
     /**
      * Lista todas las categorías.     
      * @return lista de categorías
@@ -128,6 +177,34 @@ public class CategoriaController {
         return categoriaActualizada != null ? ResponseEntity.ok(categoriaActualizada) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Inserta o actualiza categorías en bloque identificándolas por su nombre.
+     * @param filas categorías a sincronizar
+     * @return {@code 200 OK} con las cantidades insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Operation(
+            summary = "Sincronizar categorías por nombre",
+            description = "Idempotente: lee el estado actual por bloques, omite las filas sin cambios y escribe "
+                    + "el resto con INSERT ... ON DUPLICATE KEY UPDATE de varias filas en una transacción.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CategoriaUpsert.class)),
+                            examples = @ExampleObject(value = """
+                                                              [{"nombre":"Electrónica","descripcion":"Dispositivos","codigo":10,"descuento":5.5}]
+                                                              """))
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Sincronizado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoUpsert.class)))
+            }
+    )
+    @PostMapping("/upsert")
+    public ResultadoUpsert upsert(@RequestBody List<CategoriaUpsert> filas) {
+        return categoriaService.upsert(filas);
+    }
+
     /**
      * Elimina una categoría por su identificador.     
      * @param id identificador de la categoría
@@ -0,0 +1,66 @@
+package com.campuslands.springbootdemo.controller;
+
+import com.campuslands.springbootdemo.dto.ComparacionFormas;
+import com.campuslands.springbootdemo.service.ProductoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador de administración con diagnósticos costosos del catálogo.
+ * <p> * Disponible solo con {@code catalogo.diagnostico.habilitado=true}: cada
+ * solicitud carga y serializa listas completas, así que debe exponerse
+ * únicamente en la red de administración.
+ * @since 1.1.0
+ */
+@Tag(name = "Diagnóstico", description = "Mediciones del catálogo (administración)")
+@RestController
+@RequestMapping("/admin/diagnostico")
+@ConditionalOnProperty(name = "catalogo.diagnostico.habilitado", havingValue = "true")
+public class DiagnosticoController {
+
+    private final ProductoService productoService;
+
+    /**
+     * Crea una nueva instancia del controlador.
+     * @param productoService servicio de productos
+     */
+    public DiagnosticoController(ProductoService productoService) {
+        this.productoService = productoService;
+    }
+
+    /**
+     * Compara el tamaño y los tiempos de la forma anidada y la normalizada.
+     * @param precio umbral de precio (opcional)
+     * @param repeticiones repeticiones de cada serialización
+     * @return {@code 200 OK} con la comparación
+     */
+    @Operation(
+            summary = "Comparar forma anidada y normalizada",
+            description = "Carga la misma lista en ambas formas y devuelve el tamaño del JSON y los "
+                    + "tiempos de carga y de serialización. Sin `precio` usa el listado completo.",
+            parameters = {
+                @Parameter(name = "precio", description = "Umbral de precio, como en /api/productos/buscar/precio",
+                        example = "200.0"),
+                @Parameter(name = "repeticiones", description = "Repeticiones de cada serialización", example = "5")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ComparacionFormas.class)))
+            }
+    )
+    @GetMapping("/formas")
+    public ComparacionFormas compararFormas(@RequestParam(required = false) Double precio,
+            @RequestParam(defaultValue = "5") int repeticiones) {
+        return productoService.compararFormas(precio, Math.min(repeticiones, 50));
+    }
+}
@@ -0,0 +1,154 @@
+package com.campuslands.springbootdemo.controller;
+
+import com.campuslands.springbootdemo.dto.EstadoPerfilado;
+import com.campuslands.springbootdemo.dto.ReportePerfilado;
+import com.campuslands.springbootdemo.perfilado.PerfiladoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador de administración para el perfilado con Java Flight Recorder.
+ * <p> * Disponible solo con {@code catalogo.perfilado.habilitado=true}; debe
+ * exponerse únicamente en la red de administración.
+ * @since 1.1.0
+ */
+@Tag(name = "Perfilado", description = "Grabaciones JFR bajo demanda (administración)")
+@RestController
+@RequestMapping("/admin/perfilado")
+@ConditionalOnProperty(name = "catalogo.perfilado.habilitado", havingValue = "true")
+public class PerfiladoController {
+
+    private final PerfiladoService perfiladoService;
+
+    /**
+     * Crea una nueva instancia del controlador.
+     * @param perfiladoService servicio de perfilado
+     */
+    public PerfiladoController(PerfiladoService perfiladoService) {
+        this.perfiladoService = perfiladoService;
+    }
+
+    /**
+     * Inicia una grabación acotada.
+     * @param duracionSegundos duración de la grabación
+     * @return {@code 200 OK} con el estado, o {@code 409 Conflict} si ya hay una en curso
+     */
+    @Operation(
+            summary = "Iniciar grabación JFR",
+            description = "La grabación se detiene sola al cumplir la duración (acotada por configuración).",
+            parameters = {
+                @Parameter(name = "duracionSegundos", description = "Duración de la grabación", example = "120")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Iniciada",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoPerfilado.class))),
+                @ApiResponse(responseCode = "409", description = "Ya hay una grabación en curso", content = @Content)
+            }
+    )
+    @PostMapping("/iniciar")
+    public ResponseEntity<EstadoPerfilado> iniciar(@RequestParam(defaultValue = "120") long duracionSegundos) {
+        var estado = perfiladoService.iniciar(duracionSegundos);
+        return estado != null ? ResponseEntity.ok(estado) : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * Consulta si hay una grabación en curso.
+     * @return {@code 200 OK} con el estado
+     */
+    @Operation(
+            summary = "Estado de la grabación JFR",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoPerfilado.class)))
+            }
+    )
+    @GetMapping
+    public EstadoPerfilado estado() {
+        return perfiladoService.estado();
+    }
+
+    /**
+     * Detiene la grabación y devuelve su resumen.
+     * @return {@code 200 OK} con el reporte, o {@code 404 Not Found} si no hay grabación pendiente
+     */
+    @Operation(
+            summary = "Detener grabación JFR",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Detenida",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ReportePerfilado.class))),
+                @ApiResponse(responseCode = "404", description = "No hay grabación pendiente", content = @Content)
+            }
+    )
+    @PostMapping("/detener")
+    public ResponseEntity<ReportePerfilado> detener() {
+        var reporte = perfiladoService.detener();
+        return reporte != null ? ResponseEntity.ok(reporte) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Devuelve el resumen de la última grabación terminada.
+     * @return {@code 200 OK} con el reporte, o {@code 404 Not Found} si no hay ninguno
+     */
+    @Operation(
+            summary = "Reporte de la última grabación",
+            description = "Top de frames por bytes asignados, asignación y latencia por endpoint, "
+                    + "contención de bloqueos y pausas de GC.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ReportePerfilado.class))),
+                @ApiResponse(responseCode = "404", description = "Sin grabaciones terminadas", content = @Content)
+            }
+    )
+    @GetMapping("/reporte")
+    public ResponseEntity<ReportePerfilado> reporte() {
+        var reporte = perfiladoService.reporte();
+        return reporte != null ? ResponseEntity.ok(reporte) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Descarga el archivo de la última grabación terminada.
+     * @return {@code 200 OK} con el archivo {@code .jfr}, o {@code 404 Not Found} si no hay ninguno
+     */
+    @Operation(
+            summary = "Descargar la última grabación (.jfr)",
+            description = "Se abre con JDK Mission Control o `jfr print`.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Archivo JFR",
+                        content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+                @ApiResponse(responseCode = "404", description = "Sin grabaciones terminadas", content = @Content)
+            }
+    )
+    @GetMapping("/grabacion")
+    public ResponseEntity<Resource> grabacion() {
+        var archivo = perfiladoService.grabacion();
+        if (archivo == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("perfilado.jfr").build().toString())
+                .body(new FileSystemResource(archivo));
+    }
+}
@@ -1,7 +1,18 @@
 package com.campuslands.springbootdemo.controller;
 
+import com.campuslands.springbootdemo.dto.FiltroProductos;
+import com.campuslands.springbootdemo.dto.ListaNormalizada;
+import com.campuslands.springbootdemo.dto.ProductoStockBajo;
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.dto.RepreciarRequest;
+import com.campuslands.springbootdemo.dto.ResultadoBusqueda;
+import com.campuslands.springbootdemo.dto.ResultadoLote;
+import com.campuslands.springbootdemo.dto.ResultadoMasivo;
+import com.campuslands.springbootdemo.dto.ResultadoUpsert;
 import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.entity.ProductoArchivado;
 import com.campuslands.springbootdemo.service.ProductoService;
+import com.campuslands.springbootdemo.service.StockBajoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,7 +21,9 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,13 +47,17 @@ public class ProductoController {
 
     private final ProductoService productoService;
 
+    private final StockBajoService stockBajoService;
+
     
     /**
      * Crea una nueva instancia del controlador.     
      * @param productoService servicio de productos
+     * @param stockBajoService servicio de la lista de stock bajo
      */
-    public ProductoController(ProductoService productoService) {
+    public ProductoController(ProductoService productoService, StockBajoService stockBajoService) {
         this.productoService = productoService;
+        this.stockBajoService = stockBajoService;
     }
 
     
@@ -101,6 +118,52 @@ public class ProductoController {
         return p != null ? ResponseEntity.ok(p) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Obtiene varios productos por sus identificadores en una sola solicitud.
+     * @param ids identificadores separados por coma
+     * @return {@code 200 OK} con los productos encontrados en el orden solicitado y los ids inexistentes
+     */
+    @Operation(
+            summary = "Obtener productos por lote de ids",
+            description = "Resuelve todos los ids con consultas `IN` por bloques. Para listas largas use `POST /api/productos/lote`.",
+            parameters = {
+                @Parameter(name = "ids", description = "Identificadores separados por coma", required = true, example = "1,2,3")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoLote.class)))
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResultadoLote<Producto> obtenerVarios(@RequestParam List<Long> ids) {
+        return productoService.obtenerVarios(ids);
+    }
+
+    /**
+     * Obtiene varios productos a partir de una lista de ids enviada en el cuerpo.
+     * @param ids identificadores a consultar
+     * @return {@code 200 OK} con los productos encontrados en el orden solicitado y los ids inexistentes
+     */
+    @Operation(
+            summary = "Obtener productos por lote de ids (cuerpo)",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = Long.class)),
+                            examples = @ExampleObject(value = "[1, 2, 3]"))
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoLote.class)))
+            }
+    )
+    @PostMapping("/lote")
+    public ResultadoLote<Producto> obtenerVariosPorCuerpo(@RequestBody List<Long> ids) {
+        return productoService.obtenerVarios(ids);
+    }
+
     /**
      * Lista todos los productos.    
      * @return lista de productos
@@ -118,6 +181,28 @@ public class ProductoController {
         return productoService.listar();
     }
 
+    /**
+     * Lista todos los productos en forma normalizada.
+     * @return productos con la categoría por id y las categorías referenciadas una sola vez
+     */
+    @Operation(
+            summary = "Listar productos (forma normalizada)",
+            description = "Con `forma=normalizada` cada producto lleva `categoriaId` y las categorías "
+                    + "referenciadas se incluyen una sola vez en el mapa `categorias`.",
+            parameters = {
+                @Parameter(name = "forma", description = "Debe ser `normalizada`", required = true, example = "normalizada")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ListaNormalizada.class)))
+            }
+    )
+    @GetMapping(params = "forma=normalizada")
+    public ListaNormalizada listarNormalizado() {
+        return productoService.listarNormalizado();
+    }
+
     /**
      * Actualiza un producto existente y, opcionalmente, su categoría.    
      * @param id identificador del producto
@@ -154,6 +239,67 @@ public class ProductoController {
         return productoActualizado != null ? ResponseEntity.ok(productoActualizado) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Inserta o actualiza productos en bloque identificándolos por su SKU.
+     * @param filas productos a sincronizar
+     * @return {@code 200 OK} con las cantidades insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Operation(
+            summary = "Sincronizar productos por SKU",
+            description = "Idempotente: lee el estado actual por bloques, omite las filas sin cambios y escribe "
+                    + "el resto con INSERT ... ON DUPLICATE KEY UPDATE de varias filas en una transacción. "
+                    + "La categoría se indica por nombre.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductoUpsert.class)),
+                            examples = @ExampleObject(value = """
+                    [{"sku":"AUD-BT-001","nombre":"Audífonos Bluetooth","precio":249.9,"stock":50,"categoria":"Electrónica"}]
+                """)
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Sincronizado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoUpsert.class)))
+            }
+    )
+    @PostMapping("/upsert")
+    public ResultadoUpsert upsert(@RequestBody List<ProductoUpsert> filas) {
+        return productoService.upsert(filas);
+    }
+
+    /**
+     * Reprecia masivamente los productos de una categoría o rango de precios.
+     * @param solicitud parámetros del repreciado
+     * @return {@code 200 OK} con la cantidad de productos afectados o {@code 400 Bad Request}
+     */
+    @Operation(
+            summary = "Repreciar productos en bloque",
+            description = "Aplica un porcentaje y/o monto, y opcionalmente el descuento de la categoría, "
+                    + "en una sola sentencia UPDATE transaccional.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RepreciarRequest.class),
+                            examples = @ExampleObject(value = """
+                    {"categoriaId":1,"porcentaje":0,"aplicarDescuentoCategoria":true}
+                """)
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Repreciado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoMasivo.class))),
+                @ApiResponse(responseCode = "400", description = "Alcance, variación o categoría inválidos")
+            }
+    )
+    @PostMapping("/repreciar")
+    public ResponseEntity<ResultadoMasivo> repreciar(@RequestBody RepreciarRequest solicitud) {
+        var resultado = productoService.repreciar(solicitud);
+        return resultado != null ? ResponseEntity.ok(resultado) : ResponseEntity.badRequest().build();
+    }
+
     /**
      * Elimina un producto por su identificador.     
      * @param id identificador del producto
@@ -174,6 +320,153 @@ public class ProductoController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Lista los productos con stock por debajo del umbral de su categoría.
+     * @param limite cantidad máxima de productos
+     * @return productos más urgentes primero
+     */
+    @Operation(
+            summary = "Productos con stock bajo",
+            description = "Se resuelve en memoria, sin consultar la base de datos. Ordena por cobertura "
+                    + "(stock / umbral) ascendente; el umbral es el `stockMinimo` de la categoría o el general.",
+            parameters = {
+                @Parameter(name = "limite", description = "Cantidad máxima de productos", example = "50")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                array = @ArraySchema(schema = @Schema(implementation = ProductoStockBajo.class))))
+            }
+    )
+    @GetMapping("/stock-bajo")
+    public List<ProductoStockBajo> stockBajo(@RequestParam(defaultValue = "50") int limite) {
+        return stockBajoService.masUrgentes(limite);
+    }
+
+    /**
+     * Obtiene los productos registrados en un intervalo de fechas.
+     * @param desde inicio del intervalo
+     * @param hasta fin del intervalo
+     * @param limite cantidad máxima de productos
+     * @return {@code 200 OK} con los productos o {@code 400 Bad Request} si el intervalo es inválido
+     */
+    @Operation(
+            summary = "Productos registrados en un intervalo",
+            description = "Recorre solo el tramo del índice por fecha de registro; no incluye los archivados.",
+            parameters = {
+                @Parameter(name = "desde", description = "Inicio del intervalo (ISO-8601)", required = true, example = "2025-01-01T00:00:00"),
+                @Parameter(name = "hasta", description = "Fin del intervalo (ISO-8601)", required = true, example = "2025-01-31T23:59:59"),
+                @Parameter(name = "limite", description = "Cantidad máxima de productos", example = "100")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                array = @ArraySchema(schema = @Schema(implementation = Producto.class)))),
+                @ApiResponse(responseCode = "400", description = "Intervalo inválido", content = @Content)
+            }
+    )
+    @GetMapping("/registrados")
+    public ResponseEntity<List<Producto>> registrados(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "100") int limite) {
+        var productos = productoService.registradosEntre(desde, hasta, limite);
+        return productos != null ? ResponseEntity.ok(productos) : ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Obtiene los productos archivados registrados en un intervalo de fechas.
+     * @param desde inicio del intervalo
+     * @param hasta fin del intervalo
+     * @param limite cantidad máxima de productos
+     * @return {@code 200 OK} con los productos archivados o {@code 400 Bad Request} si el intervalo es inválido
+     */
+    @Operation(
+            summary = "Productos archivados registrados en un intervalo",
+            description = "Consulta la tabla productos_archivo, donde el archivado deja los productos inactivos.",
+            parameters = {
+                @Parameter(name = "desde", description = "Inicio del intervalo (ISO-8601)", required = true, example = "2020-01-01T00:00:00"),
+                @Parameter(name = "hasta", description = "Fin del intervalo (ISO-8601)", required = true, example = "2022-12-31T23:59:59"),
+                @Parameter(name = "limite", description = "Cantidad máxima de productos", example = "100")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                array = @ArraySchema(schema = @Schema(implementation = ProductoArchivado.class)))),
+                @ApiResponse(responseCode = "400", description = "Intervalo inválido", content = @Content)
+            }
+    )
+    @GetMapping("/archivados")
+    public ResponseEntity<List<ProductoArchivado>> archivados(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "100") int limite) {
+        var productos = productoService.archivadosEntre(desde, hasta, limite);
+        return productos != null ? ResponseEntity.ok(productos) : ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Busca productos combinando filtros, con facetas y paginación por cursor.
+     * @param nombre fragmento del nombre (opcional)
+     * @param precioMinimo precio mínimo incluido (opcional)
+     * @param precioMaximo precio máximo incluido (opcional)
+     * @param categoriaIds categorías admitidas (opcional)
+     * @param enStock filtra por disponibilidad (opcional)
+     * @param registradoDesde fecha de registro mínima (opcional)
+     * @param registradoHasta fecha de registro máxima (opcional)
+     * @param orden campo de orden
+     * @param direccion {@code asc} o {@code desc}
+     * @param cursor cursor de la página anterior (opcional)
+     * @param tamano productos por página
+     * @return {@code 200 OK} con la página y las facetas, o {@code 400 Bad Request} si los parámetros no son válidos
+     */
+    @Operation(
+            summary = "Búsqueda combinada de productos con facetas",
+            description = "Combina todos los filtros en una consulta y pagina por cursor (keyset). "
+                    + "La primera página incluye el total y los conteos por categoría y rango de precio; "
+                    + "para continuar, envíe el valor de `siguiente` como `cursor` con el mismo orden y dirección.",
+            parameters = {
+                @Parameter(name = "nombre", description = "Texto contenido en el nombre (case-insensitive)", example = "udio"),
+                @Parameter(name = "precioMinimo", description = "Precio mínimo incluido", example = "100.0"),
+                @Parameter(name = "precioMaximo", description = "Precio máximo incluido", example = "500.0"),
+                @Parameter(name = "categoriaIds", description = "Categorías admitidas, separadas por coma", example = "1,2"),
+                @Parameter(name = "enStock", description = "true: solo con stock; false: solo agotados", example = "true"),
+                @Parameter(name = "registradoDesde", description = "Fecha de registro mínima (ISO-8601)", example = "2025-01-01T00:00:00"),
+                @Parameter(name = "registradoHasta", description = "Fecha de registro máxima (ISO-8601)", example = "2025-12-31T23:59:59"),
+                @Parameter(name = "orden", description = "Campo de orden: id, nombre, precio o fechaRegistro", example = "precio"),
+                @Parameter(name = "direccion", description = "asc o desc", example = "asc"),
+                @Parameter(name = "cursor", description = "Valor de `siguiente` de la página anterior"),
+                @Parameter(name = "tamano", description = "Productos por página (máximo configurable)", example = "20")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ResultadoBusqueda.class))),
+                @ApiResponse(responseCode = "400", description = "Orden, dirección, cursor o tamaño inválido",
+                        content = @Content)
+            }
+    )
+    @GetMapping("/buscar")
+    public ResponseEntity<ResultadoBusqueda> buscar(@RequestParam(required = false) String nombre,
+            @RequestParam(required = false) Double precioMinimo,
+            @RequestParam(required = false) Double precioMaximo,
+            @RequestParam(required = false) List<Long> categoriaIds,
+            @RequestParam(required = false) Boolean enStock,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registradoDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registradoHasta,
+            @RequestParam(defaultValue = "id") String orden,
+            @RequestParam(defaultValue = "asc") String direccion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        if (!direccion.equalsIgnoreCase("asc") && !direccion.equalsIgnoreCase("desc")) {
+            return ResponseEntity.badRequest().build();
+        }
+        var filtro = new FiltroProductos(nombre, precioMinimo, precioMaximo, categoriaIds, enStock,
+                registradoDesde, registradoHasta);
+        var resultado = productoService.buscar(filtro, orden, direccion.equalsIgnoreCase("desc"), cursor, tamano);
+        return resultado != null ? ResponseEntity.ok(resultado) : ResponseEntity.badRequest().build();
+    }
+
     /**
      * Busca productos por coincidencia en el nombre.    
      * @param nombre texto a buscar (coincidencia parcial, sin distinguir mayúsculas)
@@ -195,6 +488,28 @@ public class ProductoController {
         return productoService.buscarPorNombre(nombre);
     }
 
+    /**
+     * Busca productos por coincidencia en el nombre, en forma normalizada.
+     * @param nombre texto a buscar
+     * @return productos con la categoría por id y las categorías referenciadas una sola vez
+     */
+    @Operation(
+            summary = "Buscar productos por nombre (forma normalizada)",
+            parameters = {
+                @Parameter(name = "nombre", description = "Texto a buscar (contiene, case-insensitive)", required = true, example = "udio"),
+                @Parameter(name = "forma", description = "Debe ser `normalizada`", required = true, example = "normalizada")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ListaNormalizada.class)))
+            }
+    )
+    @GetMapping(value = "/buscar/nombre", params = "forma=normalizada")
+    public ListaNormalizada buscarPorNombreNormalizado(@RequestParam String nombre) {
+        return productoService.buscarPorNombreNormalizado(nombre);
+    }
+
     /**
      * Obtiene productos con precio mayor al valor indicado.    
      * @param precio umbral de precio
@@ -217,4 +532,28 @@ public class ProductoController {
     public List<Producto> buscarPorPrecioMayorA(@RequestParam Double precio) {
         return productoService.buscarPorPrecioMayorA(precio);
     }
+
+    /**
+     * Obtiene productos con precio mayor al valor indicado, en forma normalizada.
+     * @param precio umbral de precio
+     * @return productos con la categoría por id y las categorías referenciadas una sola vez
+     */
+    @Operation(
+            summary = "Buscar productos con precio mayor a (forma normalizada)",
+            parameters = {
+                @Parameter(name = "precio", description = "Umbral de precio. Devuelve productos con precio > valor", required = true, example = "200.0"),
+                @Parameter(name = "forma", description = "Debe ser `normalizada`", required = true, example = "normalizada")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ListaNormalizada.class))),
+                @ApiResponse(responseCode = "400", description = "Parámetro inválido",
+                        content = @Content)
+            }
+    )
+    @GetMapping(value = "/buscar/precio", params = "forma=normalizada")
+    public ListaNormalizada buscarPorPrecioMayorANormalizado(@RequestParam Double precio) {
+        return productoService.buscarPorPrecioMayorANormalizado(precio);
+    }
 }
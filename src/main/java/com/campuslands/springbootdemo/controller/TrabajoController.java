@@ -0,0 +1,247 @@
+package com.campuslands.springbootdemo.controller;
+
+import com.campuslands.springbootdemo.dto.EstadoTrabajo;
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.dto.RepreciarRequest;
+import com.campuslands.springbootdemo.entity.ErrorTrabajo;
+import com.campuslands.springbootdemo.service.TrabajoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST de los trabajos asíncronos.
+ * <p> * Las operaciones masivas largas se registran y responden {@code 202 Accepted}
+ * con el id del trabajo; su progreso y sus filas rechazadas se consultan aparte.
+ * @since 1.1.0
+ */
+@Tag(name = "Trabajos", description = "Operaciones masivas asíncronas")
+@RestController
+@RequestMapping("/api/trabajos")
+public class TrabajoController {
+
+    private final TrabajoService trabajoService;
+
+    /**
+     * Crea una nueva instancia del controlador.
+     * @param trabajoService servicio de trabajos
+     */
+    public TrabajoController(TrabajoService trabajoService) {
+        this.trabajoService = trabajoService;
+    }
+
+    /**
+     * Registra la importación por SKU de una carga de productos.
+     * @param filas productos a sincronizar
+     * @return {@code 202 Accepted} con el progreso del trabajo o {@code 413 Payload Too Large}
+     */
+    @Operation(
+            summary = "Importar productos en segundo plano",
+            description = "Registra un trabajo que sincroniza los productos por SKU en bloques transaccionales. "
+                    + "Las filas rechazadas se consultan en /api/trabajos/{id}/errores.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductoUpsert.class)),
+                            examples = @ExampleObject(value = """
+                    [{"sku":"AUD-BT-001","nombre":"Audífonos Bluetooth","precio":249.9,"stock":50,"categoria":"Electrónica"}]
+                """)
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Trabajo registrado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "413", description = "Carga mayor que catalogo.trabajos.maximo-bytes-importacion")
+            }
+    )
+    @PostMapping("/importar-productos")
+    public ResponseEntity<EstadoTrabajo> importarProductos(@RequestBody List<ProductoUpsert> filas) {
+        var estado = trabajoService.importarProductos(filas);
+        return estado != null ? aceptado(estado) : ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
+
+    /**
+     * Registra un repreciado masivo por bloques.
+     * @param solicitud parámetros del repreciado
+     * @return {@code 202 Accepted} con el progreso del trabajo o {@code 400 Bad Request}
+     */
+    @Operation(
+            summary = "Repreciar productos en segundo plano",
+            description = "Igual que /api/productos/repreciar, pero por bloques de productos en orden de id, "
+                    + "cada uno en su propia transacción.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RepreciarRequest.class),
+                            examples = @ExampleObject(value = """
+                    {"categoriaId":1,"porcentaje":5}
+                """)
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Trabajo registrado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "400", description = "Alcance, variación o categoría inválidos",
+                        content = @Content)
+            }
+    )
+    @PostMapping("/repreciar")
+    public ResponseEntity<EstadoTrabajo> repreciar(@RequestBody RepreciarRequest solicitud) {
+        var estado = trabajoService.repreciar(solicitud);
+        return estado != null ? aceptado(estado) : ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Registra la eliminación de una categoría y sus productos por bloques.
+     * @param id identificador de la categoría
+     * @return {@code 202 Accepted} con el progreso del trabajo o {@code 404 Not Found}
+     */
+    @Operation(
+            summary = "Eliminar categoría en segundo plano",
+            description = "Elimina los productos de la categoría por bloques y al final la categoría.",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador de la categoría", required = true, example = "1")
+            },
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Trabajo registrado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "404", description = "Categoría no encontrada", content = @Content)
+            }
+    )
+    @PostMapping("/eliminar-categoria/{id}")
+    public ResponseEntity<EstadoTrabajo> eliminarCategoria(@PathVariable Long id) {
+        var estado = trabajoService.eliminarCategoria(id);
+        return estado != null ? aceptado(estado) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Registra el archivado de los productos inactivos.
+     * @param antiguedadDias antigüedad mínima en días (opcional)
+     * @return {@code 202 Accepted} con el progreso del trabajo o {@code 400 Bad Request}
+     */
+    @Operation(
+            summary = "Archivar productos inactivos",
+            description = "Traslada por bloques a productos_archivo los productos sin stock registrados hace más "
+                    + "de 'antiguedadDias' días. Sin parámetro usa catalogo.archivo.antiguedad-dias.",
+            parameters = {
+                @Parameter(name = "antiguedadDias", description = "Antigüedad mínima en días", example = "730")
+            },
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Trabajo registrado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "400", description = "Antigüedad negativa", content = @Content)
+            }
+    )
+    @PostMapping("/archivar-productos")
+    public ResponseEntity<EstadoTrabajo> archivarProductos(@RequestParam(required = false) Integer antiguedadDias) {
+        var estado = trabajoService.archivarProductos(antiguedadDias);
+        return estado != null ? aceptado(estado) : ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Obtiene el progreso de un trabajo.
+     * @param id identificador del trabajo
+     * @return {@code 200 OK} con el progreso o {@code 404 Not Found}
+     */
+    @Operation(
+            summary = "Consultar trabajo",
+            description = "Estado, avance, filas por segundo y cantidad de filas rechazadas.",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador del trabajo", required = true, example = "7")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content)
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<EstadoTrabajo> obtener(@PathVariable Long id) {
+        var estado = trabajoService.estado(id);
+        return estado != null ? ResponseEntity.ok(estado) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Obtiene las filas rechazadas de un trabajo, paginadas por id.
+     * @param id identificador del trabajo
+     * @param desde último id de error recibido
+     * @param limite cantidad máxima de errores
+     * @return {@code 200 OK} con los errores o {@code 404 Not Found}
+     */
+    @Operation(
+            summary = "Consultar filas rechazadas",
+            description = "Devuelve los errores con id mayor a 'desde'; para la página siguiente se envía el id "
+                    + "del último recibido.",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador del trabajo", required = true, example = "7"),
+                @Parameter(name = "desde", description = "Último id de error recibido", example = "0"),
+                @Parameter(name = "limite", description = "Cantidad máxima de errores", example = "100")
+            },
+            responses = {
+                @ApiResponse(responseCode = "200", description = "OK",
+                        content = @Content(mediaType = "application/json",
+                                array = @ArraySchema(schema = @Schema(implementation = ErrorTrabajo.class)))),
+                @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content)
+            }
+    )
+    @GetMapping("/{id}/errores")
+    public ResponseEntity<List<ErrorTrabajo>> errores(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") long desde,
+            @RequestParam(defaultValue = "100") int limite) {
+        var errores = trabajoService.errores(id, desde, limite);
+        return errores != null ? ResponseEntity.ok(errores) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Reanuda un trabajo fallido desde su último bloque confirmado.
+     * @param id identificador del trabajo
+     * @return {@code 202 Accepted}, {@code 404 Not Found} o {@code 409 Conflict} si no está fallido
+     */
+    @Operation(
+            summary = "Reanudar trabajo fallido",
+            description = "Vuelve a encolar el trabajo; continúa desde su último bloque confirmado.",
+            parameters = {
+                @Parameter(name = "id", description = "Identificador del trabajo", required = true, example = "7")
+            },
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Trabajo reencolado",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = EstadoTrabajo.class))),
+                @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content),
+                @ApiResponse(responseCode = "409", description = "El trabajo no está fallido", content = @Content)
+            }
+    )
+    @PostMapping("/{id}/reanudar")
+    public ResponseEntity<EstadoTrabajo> reanudar(@PathVariable Long id) {
+        if (trabajoService.estado(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        var estado = trabajoService.reanudar(id);
+        return estado != null ? aceptado(estado) : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static ResponseEntity<EstadoTrabajo> aceptado(EstadoTrabajo estado) {
+        return ResponseEntity.accepted().location(URI.create("/api/trabajos/" + estado.id())).body(estado);
+    }
+}
@@ -1,6 +1,8 @@
 /**
  * Controladores REST del sistema.
  * <p>Gestionan las operaciones CRUD y las búsquedas de las entidades
- * {@code Categoria} y {@code Producto}.
+ * {@code Categoria} y {@code Producto}, y registran y consultan los trabajos
+ * asíncronos de las operaciones masivas largas. {@code CatalogoReactivoController}
+ * ofrece las lecturas principales sin bloquear hilos, bajo {@code /api/reactivo}.
  */
 package com.campuslands.springbootdemo.controller;
@@ -0,0 +1,23 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Fila de categoría para la sincronización masiva, identificada por su nombre.
+ * @param nombre nombre único de la categoría (clave de negocio)
+ * @param descripcion descripción
+ * @param codigo código interno
+ * @param descuento porcentaje de descuento
+ * @since 1.1.0
+ */
+@Schema(description = "Categoría a insertar o actualizar, identificada por su nombre")
+public record CategoriaUpsert(
+        @Schema(description = "Nombre único (clave de negocio)", example = "Electrónica")
+        String nombre,
+        @Schema(description = "Descripción", example = "Dispositivos")
+        String descripcion,
+        @Schema(description = "Código interno", example = "10")
+        Integer codigo,
+        @Schema(description = "Porcentaje de descuento", example = "5.5")
+        Double descuento) {
+}
@@ -0,0 +1,29 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Comparación entre la forma anidada y la normalizada de una misma lista de productos.
+ * @param productos productos de la lista
+ * @param categorias categorías distintas referenciadas
+ * @param bytesAnidada tamaño del JSON con la categoría dentro de cada producto
+ * @param bytesNormalizada tamaño del JSON normalizado
+ * @param cargaAnidadaMs tiempo de carga de las entidades con su categoría
+ * @param cargaNormalizadaMs tiempo de carga de las filas y de las categorías distintas
+ * @param serializacionAnidadaMs tiempo medio de serialización de la forma anidada
+ * @param serializacionNormalizadaMs tiempo medio de serialización de la forma normalizada
+ * @param reduccionPorcentaje reducción del tamaño de la forma normalizada
+ * @since 1.1.0
+ */
+@Schema(description = "Tamaño y tiempos de la forma anidada frente a la normalizada")
+public record ComparacionFormas(
+        @Schema(example = "10000") int productos,
+        @Schema(example = "20") int categorias,
+        @Schema(example = "4210000") long bytesAnidada,
+        @Schema(example = "1650000") long bytesNormalizada,
+        @Schema(example = "180.0") double cargaAnidadaMs,
+        @Schema(example = "45.0") double cargaNormalizadaMs,
+        @Schema(example = "38.5") double serializacionAnidadaMs,
+        @Schema(example = "12.1") double serializacionNormalizadaMs,
+        @Schema(example = "60.8") double reduccionPorcentaje) {
+}
@@ -0,0 +1,21 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+/**
+ * Estado de la grabación de perfilado en curso.
+ * @param activa si hay una grabación en curso
+ * @param inicio inicio de la grabación
+ * @param duracionMaximaSegundos duración tras la cual la grabación se detiene sola
+ * @since 1.1.0
+ */
+@Schema(description = "Estado de la grabación de perfilado")
+public record EstadoPerfilado(
+        @Schema(description = "Hay una grabación en curso", example = "true")
+        boolean activa,
+        @Schema(description = "Inicio de la grabación")
+        Instant inicio,
+        @Schema(description = "Duración máxima en segundos", example = "300")
+        long duracionMaximaSegundos) {
+}
@@ -0,0 +1,52 @@
+package com.campuslands.springbootdemo.dto;
+
+import com.campuslands.springbootdemo.entity.Trabajo;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+/**
+ * Progreso de un trabajo asíncrono.
+ * @param id identificador del trabajo
+ * @param tipo tipo de trabajo
+ * @param estado estado actual
+ * @param total cantidad total de elementos, o {@code null} si aún no se conoce
+ * @param procesados elementos procesados
+ * @param errores elementos rechazados
+ * @param porcentaje avance sobre el total, o {@code null} si aún no se conoce
+ * @param filasPorSegundo elementos procesados por segundo desde el inicio
+ * @param intentos veces que se inició o reanudó
+ * @param mensaje último mensaje de error, o {@code null}
+ * @param creado fecha de creación
+ * @param iniciado fecha del primer inicio, o {@code null}
+ * @param terminado fecha de finalización, o {@code null}
+ * @since 1.1.0
+ */
+@Schema(description = "Progreso de un trabajo asíncrono")
+public record EstadoTrabajo(
+        @Schema(example = "7")
+        Long id,
+        @Schema(example = "IMPORTAR_PRODUCTOS")
+        Trabajo.Tipo tipo,
+        @Schema(example = "EN_CURSO")
+        Trabajo.Estado estado,
+        @Schema(description = "Elementos a procesar", example = "250000")
+        Long total,
+        @Schema(description = "Elementos procesados", example = "120000")
+        long procesados,
+        @Schema(description = "Elementos rechazados", example = "12")
+        long errores,
+        @Schema(description = "Avance sobre el total", example = "48.0")
+        Double porcentaje,
+        @Schema(description = "Elementos procesados por segundo", example = "8500.0")
+        double filasPorSegundo,
+        @Schema(description = "Veces que se inició o reanudó", example = "1")
+        int intentos,
+        @Schema(description = "Último mensaje de error")
+        String mensaje,
+        @Schema(format = "date-time", example = "2025-01-05T09:00:00")
+        LocalDateTime creado,
+        @Schema(format = "date-time", example = "2025-01-05T09:00:01")
+        LocalDateTime iniciado,
+        @Schema(format = "date-time")
+        LocalDateTime terminado) {
+}
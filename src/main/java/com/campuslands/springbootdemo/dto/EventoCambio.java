@@ -0,0 +1,28 @@
+package com.campuslands.springbootdemo.dto;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Set;
+
+/**
+ * Cambio del catálogo tal como se publica en el flujo {@code /api/cambios}.
+ * @param version número de secuencia del cambio; también es el id del evento SSE
+ * @param entidad entidad modificada
+ * @param tipo tipo de cambio
+ * @param id identificador de la fila, o {@code null} si el cambio es masivo
+ * @param campos campos modificados
+ * @since 1.1.0
+ */
+@Schema(description = "Cambio publicado en el flujo de cambios del catálogo")
+public record EventoCambio(
+        @Schema(description = "Secuencia creciente del cambio", example = "1730000000000001")
+        long version,
+        @Schema(description = "Entidad modificada", example = "PRODUCTO")
+        CambioCatalogoEvent.Entidad entidad,
+        @Schema(description = "Tipo de cambio", example = "ACTUALIZADO")
+        CambioCatalogoEvent.Tipo tipo,
+        @Schema(description = "Id de la fila; nulo en cambios masivos", example = "1")
+        Long id,
+        @Schema(description = "Campos modificados", example = "[\"precio\", \"stock\"]")
+        Set<String> campos) {
+}
@@ -0,0 +1,20 @@
+package com.campuslands.springbootdemo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criterios combinables de la búsqueda de productos.
+ * <p> * Todos los criterios son opcionales; los nulos no restringen el resultado.
+ * @param nombre fragmento del nombre, sin distinguir mayúsculas
+ * @param precioMinimo precio mínimo incluido
+ * @param precioMaximo precio máximo incluido
+ * @param categoriaIds categorías admitidas
+ * @param enStock {@code true} solo con stock, {@code false} solo sin stock
+ * @param registradoDesde fecha de registro mínima incluida
+ * @param registradoHasta fecha de registro máxima incluida
+ * @since 1.1.0
+ */
+public record FiltroProductos(String nombre, Double precioMinimo, Double precioMaximo, List<Long> categoriaIds,
+        Boolean enStock, LocalDateTime registradoDesde, LocalDateTime registradoHasta) {
+}
@@ -0,0 +1,22 @@
+package com.campuslands.springbootdemo.dto;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lista de productos en forma normalizada.
+ * <p> * Cada categoría referenciada aparece una sola vez en {@code categorias},
+ * indexada por id, en lugar de repetirse dentro de cada producto.
+ * @param productos productos con la categoría referenciada por id
+ * @param categorias categorías referenciadas por los productos, por id
+ * @since 1.1.0
+ */
+@Schema(description = "Lista de productos con las categorías incluidas una sola vez")
+public record ListaNormalizada(
+        @Schema(description = "Productos con la categoría referenciada por id")
+        List<ProductoPlano> productos,
+        @Schema(description = "Categorías referenciadas, indexadas por id")
+        Map<Long, Categoria> categorias) {
+}
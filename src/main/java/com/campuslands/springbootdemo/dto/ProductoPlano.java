@@ -0,0 +1,37 @@
+package com.campuslands.springbootdemo.dto;
+
+import com.campuslands.springbootdemo.entity.Producto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+/**
+ * Producto que referencia su categoría por id en lugar de incluirla.
+ * @param id identificador del producto
+ * @param sku código de negocio
+ * @param nombre nombre del producto
+ * @param precio precio unitario
+ * @param stock unidades disponibles
+ * @param fechaRegistro fecha y hora de registro
+ * @param categoriaId categoría del producto, presente en el mapa {@code categorias} de la respuesta
+ * @since 1.1.0
+ */
+@Schema(description = "Producto con la categoría referenciada por id")
+public record ProductoPlano(
+        @Schema(example = "1") Long id,
+        @Schema(example = "AUD-BT-001") String sku,
+        @Schema(example = "Audífonos Bluetooth") String nombre,
+        @Schema(example = "249.9") Double precio,
+        @Schema(example = "50") Integer stock,
+        @Schema(format = "date-time", example = "2025-01-05T09:00:00") LocalDateTime fechaRegistro,
+        @Schema(example = "1") Long categoriaId) {
+
+    /**
+     * Crea la versión plana de una entidad.
+     * @param producto entidad con su categoría
+     * @return producto plano
+     */
+    public static ProductoPlano de(Producto producto) {
+        return new ProductoPlano(producto.getId(), producto.getSku(), producto.getNombre(), producto.getPrecio(),
+                producto.getStock(), producto.getFechaRegistro(), producto.getCategoria().getId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Producto con stock por debajo del umbral de reposición de su categoría.
+ * @param id identificador del producto
+ * @param sku código de negocio
+ * @param nombre nombre del producto
+ * @param stock unidades disponibles (nulo se considera cero)
+ * @param umbral umbral de reposición aplicado
+ * @param categoriaId categoría del producto
+ * @since 1.1.0
+ */
+@Schema(description = "Producto con stock por debajo de su umbral de reposición")
+public record ProductoStockBajo(
+        @Schema(example = "42") long id,
+        @Schema(example = "AUD-BT-001") String sku,
+        @Schema(example = "Audífonos Bluetooth") String nombre,
+        @Schema(description = "Unidades disponibles", example = "3") int stock,
+        @Schema(description = "Umbral de reposición aplicado", example = "15") int umbral,
+        @Schema(example = "1") long categoriaId) {
+
+    /**
+     * Proporción del umbral cubierta por el stock; menor es más urgente.
+     * @return {@code stock / umbral}
+     */
+    public double cobertura() {
+        return umbral > 0 ? (double) stock / umbral : 0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Fila de producto para la sincronización masiva, identificada por su SKU.
+ * @param sku código de negocio único del producto
+ * @param nombre nombre del producto
+ * @param precio precio unitario
+ * @param stock unidades disponibles
+ * @param categoria nombre de la categoría existente a la que pertenece
+ * @since 1.1.0
+ */
+@Schema(description = "Producto a insertar o actualizar, identificado por su SKU")
+public record ProductoUpsert(
+        @Schema(description = "SKU único (clave de negocio)", example = "AUD-BT-001")
+        String sku,
+        @Schema(description = "Nombre del producto", example = "Audífonos Bluetooth")
+        String nombre,
+        @Schema(description = "Precio unitario", example = "249.9")
+        Double precio,
+        @Schema(description = "Unidades disponibles", example = "50")
+        Integer stock,
+        @Schema(description = "Nombre de la categoría", example = "Electrónica")
+        String categoria) {
+}
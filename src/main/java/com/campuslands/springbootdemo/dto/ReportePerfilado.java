@@ -0,0 +1,107 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resumen de una grabación de Java Flight Recorder.
+ * <p> * Las asignaciones provienen de muestras ({@code jdk.ObjectAllocationSample})
+ * y sus bytes son estimaciones ponderadas, no totales exactos.
+ * @param inicio inicio de la grabación
+ * @param fin fin de la grabación
+ * @param frames frames con más bytes asignados
+ * @param endpoints asignaciones y latencia por método de controlador
+ * @param contencion esperas por bloqueos agrupadas por clase del monitor
+ * @param gc pausas de recolección de basura
+ * @since 1.1.0
+ */
+@Schema(description = "Resumen de una grabación de Java Flight Recorder")
+public record ReportePerfilado(
+        @Schema(description = "Inicio de la grabación")
+        Instant inicio,
+        @Schema(description = "Fin de la grabación")
+        Instant fin,
+        @Schema(description = "Frames con más bytes asignados (estimación por muestreo)")
+        List<AsignacionFrame> frames,
+        @Schema(description = "Asignaciones y latencia por endpoint")
+        List<AsignacionEndpoint> endpoints,
+        @Schema(description = "Contención de bloqueos por clase")
+        List<Contencion> contencion,
+        @Schema(description = "Pausas de GC")
+        PausasGc gc) {
+
+    /**
+     * Bytes asignados en un frame.
+     * @param frame frame superior de la pila de la asignación
+     * @param origen primer frame de la aplicación en la pila, o {@code null}
+     * @param muestras muestras de asignación
+     * @param bytes bytes estimados
+     */
+    public record AsignacionFrame(
+            @Schema(example = "java.util.Arrays.copyOf:3512") String frame,
+            @Schema(example = "com.campuslands.springbootdemo.service.ProductoService.listar:141") String origen,
+            @Schema(example = "1840") long muestras,
+            @Schema(example = "734003200") long bytes) {
+    }
+
+    /**
+     * Asignaciones y latencia de un endpoint.
+     * @param endpoint controlador y método
+     * @param solicitudes solicitudes atendidas
+     * @param latenciaMediaMs latencia media en milisegundos
+     * @param latenciaMaximaMs latencia máxima en milisegundos
+     * @param bytes bytes estimados asignados durante las solicitudes
+     * @param bytesPorSolicitud bytes estimados por solicitud
+     */
+    public record AsignacionEndpoint(
+            @Schema(example = "ProductoController.listar") String endpoint,
+            @Schema(example = "5230") long solicitudes,
+            @Schema(example = "12.4") double latenciaMediaMs,
+            @Schema(example = "220.7") double latenciaMaximaMs,
+            @Schema(example = "5486254080") long bytes,
+            @Schema(example = "1048997") long bytesPorSolicitud) {
+    }
+
+    /**
+     * Esperas por un bloqueo.
+     * @param tipo {@code monitor} para {@code synchronized} o {@code park} para {@code java.util.concurrent}
+     * @param clase clase del monitor o del objeto de espera
+     * @param eventos esperas registradas (por encima del umbral)
+     * @param totalMs tiempo total de espera en milisegundos
+     * @param maximoMs espera máxima en milisegundos
+     */
+    public record Contencion(
+            @Schema(example = "monitor") String tipo,
+            @Schema(example = "com.zaxxer.hikari.pool.HikariPool") String clase,
+            @Schema(example = "42") long eventos,
+            @Schema(example = "930.5") double totalMs,
+            @Schema(example = "61.2") double maximoMs) {
+    }
+
+    /**
+     * Resumen de las pausas de GC.
+     * @param colecciones recolecciones registradas
+     * @param totalMs suma de pausas en milisegundos
+     * @param maximoMs pausa más larga en milisegundos
+     * @param porColector recolecciones por nombre del colector
+     */
+    public record PausasGc(
+            @Schema(example = "37") long colecciones,
+            @Schema(example = "212.8") double totalMs,
+            @Schema(example = "18.3") double maximoMs,
+            List<Colector> porColector) {
+    }
+
+    /**
+     * Pausas de un colector.
+     * @param nombre nombre del colector
+     * @param colecciones recolecciones registradas
+     * @param totalMs suma de pausas en milisegundos
+     */
+    public record Colector(
+            @Schema(example = "G1New") String nombre,
+            @Schema(example = "35") long colecciones,
+            @Schema(example = "180.1") double totalMs) {
+    }
+}
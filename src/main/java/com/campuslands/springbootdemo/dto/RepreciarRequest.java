@@ -0,0 +1,34 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Parámetros de un repreciado masivo de productos.
+ * <p> * El nuevo precio se calcula como
+ * {@code precio * (1 + porcentaje/100) * (1 - descuento/100) + monto},
+ * redondeado a dos decimales y nunca menor que cero. El alcance debe
+ * acotarse con al menos uno de {@code categoriaId}, {@code precioMinimo} o
+ * {@code precioMaximo}.
+ * @param categoriaId categoría a la que se limita el cambio
+ * @param precioMinimo precio mínimo incluido en el alcance
+ * @param precioMaximo precio máximo incluido en el alcance
+ * @param porcentaje variación porcentual, negativa para rebajar y mayor que {@code -100} (opcional)
+ * @param monto variación absoluta, negativa para rebajar (opcional)
+ * @param aplicarDescuentoCategoria si se aplica el {@code descuento} de la categoría; requiere {@code categoriaId}
+ * @since 1.1.0
+ */
+@Schema(description = "Parámetros de un repreciado masivo de productos")
+public record RepreciarRequest(
+        @Schema(description = "Categoría a repreciar; se requiere ésta o un límite de precio", example = "1")
+        Long categoriaId,
+        @Schema(description = "Precio mínimo incluido", example = "100.0")
+        Double precioMinimo,
+        @Schema(description = "Precio máximo incluido", example = "500.0")
+        Double precioMaximo,
+        @Schema(description = "Variación porcentual; negativa para rebajar, mayor que -100", example = "-10.0")
+        Double porcentaje,
+        @Schema(description = "Variación absoluta; negativa para rebajar", example = "0.0")
+        Double monto,
+        @Schema(description = "Aplica el descuento de la categoría (requiere categoriaId)", example = "false")
+        boolean aplicarDescuentoCategoria) {
+}
@@ -0,0 +1,52 @@
+package com.campuslands.springbootdemo.dto;
+
+import com.campuslands.springbootdemo.entity.Producto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Página de resultados de la búsqueda de productos con sus facetas.
+ * <p> * Las facetas se calculan sobre todos los productos que cumplen el filtro
+ * y solo se incluyen en la primera página.
+ * @param productos productos de la página
+ * @param siguiente cursor de la página siguiente, o {@code null} si no hay más
+ * @param total cantidad de productos que cumplen el filtro (solo en la primera página)
+ * @param categorias cantidad de productos por categoría (solo en la primera página)
+ * @param precios cantidad de productos por rango de precio (solo en la primera página)
+ * @since 1.1.0
+ */
+@Schema(description = "Página de resultados de la búsqueda de productos con facetas")
+public record ResultadoBusqueda(
+        @Schema(description = "Productos de la página")
+        List<Producto> productos,
+        @Schema(description = "Cursor opaco para pedir la página siguiente; nulo si no hay más", example = "cHJlY2lvOmFzYzo0MjoxOTkuOQ")
+        String siguiente,
+        @Schema(description = "Total de productos que cumplen el filtro (solo primera página)", example = "1280")
+        Long total,
+        @Schema(description = "Conteo por categoría (solo primera página)")
+        List<FacetaCategoria> categorias,
+        @Schema(description = "Conteo por rango de precio (solo primera página)")
+        List<FacetaPrecio> precios) {
+
+    /**
+     * Conteo de productos de una categoría.
+     * @param categoriaId identificador de la categoría
+     * @param cantidad productos que cumplen el filtro
+     */
+    public record FacetaCategoria(
+            @Schema(example = "1") long categoriaId,
+            @Schema(example = "320") long cantidad) {
+    }
+
+    /**
+     * Conteo de productos en un rango de precio {@code [desde, hasta)}.
+     * @param desde límite inferior incluido, o {@code null} si no tiene
+     * @param hasta límite superior excluido, o {@code null} si no tiene
+     * @param cantidad productos que cumplen el filtro
+     */
+    public record FacetaPrecio(
+            @Schema(example = "100.0") Double desde,
+            @Schema(example = "250.0") Double hasta,
+            @Schema(example = "75") long cantidad) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Resultado de una consulta por lote de identificadores.
+ * <p> * Los elementos encontrados se devuelven en el mismo orden de la solicitud
+ * y los identificadores inexistentes se informan por separado.
+ * @param <T> tipo de entidad consultada
+ * @param encontrados entidades encontradas, en el orden solicitado
+ * @param noEncontrados identificadores solicitados que no existen
+ * @since 1.1.0
+ */
+@Schema(description = "Resultado de una consulta por lote de identificadores")
+public record ResultadoLote<T>(
+        @Schema(description = "Entidades encontradas en el orden solicitado")
+        List<T> encontrados,
+        @Schema(description = "Identificadores solicitados que no existen", example = "[7, 42]")
+        List<Long> noEncontrados) {
+}
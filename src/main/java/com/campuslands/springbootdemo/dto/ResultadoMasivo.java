@@ -0,0 +1,14 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de una operación masiva sobre el catálogo.
+ * @param afectados cantidad de filas modificadas
+ * @since 1.1.0
+ */
+@Schema(description = "Resultado de una operación masiva")
+public record ResultadoMasivo(
+        @Schema(description = "Cantidad de filas modificadas", example = "1250")
+        int afectados) {
+}
@@ -0,0 +1,24 @@
+package com.campuslands.springbootdemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Resultado de una sincronización masiva por clave de negocio.
+ * @param insertados filas nuevas
+ * @param actualizados filas existentes con algún cambio
+ * @param sinCambios filas existentes idénticas, omitidas sin escribir
+ * @param rechazados descripción de las filas no procesadas
+ * @since 1.1.0
+ */
+@Schema(description = "Resultado de una sincronización masiva")
+public record ResultadoUpsert(
+        @Schema(description = "Filas insertadas", example = "120")
+        int insertados,
+        @Schema(description = "Filas actualizadas", example = "35")
+        int actualizados,
+        @Schema(description = "Filas sin cambios (no se escribieron)", example = "199845")
+        int sinCambios,
+        @Schema(description = "Filas rechazadas y motivo", example = "[\"fila 7: categoría inexistente 'Hogar'\"]")
+        List<String> rechazados) {
+}
@@ -0,0 +1,6 @@
+/**
+ * Objetos de transferencia de datos (DTO) expuestos por la API.
+ * <p>Agrupan las estructuras de solicitud y respuesta que no corresponden
+ * directamente a una entidad JPA.
+ */
+package com.campuslands.springbootdemo.dto;
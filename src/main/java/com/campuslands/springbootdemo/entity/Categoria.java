@@ -46,6 +46,10 @@ public class Categoria {
     @Schema(description = "Porcentaje de descuento aplicado", example = "5.5")
     private Double descuento;
 
+    /** Stock por debajo del cual sus productos deben reponerse; si es nulo se usa el umbral general. */
+    @Schema(description = "Umbral de reposición de sus productos; si es nulo se usa el umbral general", example = "15")
+    private Integer stockMinimo;
+
     /** Fecha y hora de creación de la categoría. */
     @Schema(description = "Fecha y hora de creación", format = "date-time", example = "2025-01-01T10:15:30", accessMode = Schema.AccessMode.READ_ONLY)
     @Column(columnDefinition = "DATETIME")
@@ -140,6 +144,22 @@ public class Categoria {
         this.descuento = descuento;
     }
 
+    /** 
+     * Devuelve el umbral de reposición de los productos de la categoría.
+     * @return stock mínimo, o {@code null} si usa el umbral general 
+     */
+    public Integer getStockMinimo() {
+        return stockMinimo;
+    }
+
+    /** 
+     * Asigna el umbral de reposición de los productos de la categoría.
+     * @param stockMinimo stock mínimo 
+     */
+    public void setStockMinimo(Integer stockMinimo) {
+        this.stockMinimo = stockMinimo;
+    }
+
     /** 
      * Devuelve la fecha y hora de creación de la categoría.
      * @return fecha de creación 
@@ -0,0 +1,128 @@
+package com.campuslands.springbootdemo.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Elemento rechazado durante un {@link Trabajo}.
+ * @since 1.1.0
+ */
+@Schema(description = "Elemento rechazado durante un trabajo asíncrono")
+@Entity
+@Table(name = "trabajo_errores", indexes = {
+    @Index(name = "idx_trabajo_errores_trabajo", columnList = "trabajoId, id")
+})
+public class ErrorTrabajo {
+
+    /** Identificador primario autogenerado. */
+    @Schema(example = "1")
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Trabajo al que pertenece. */
+    @Schema(example = "7")
+    @Column(nullable = false)
+    private Long trabajoId;
+
+    /** Posición del elemento en la entrada del trabajo. */
+    @Schema(description = "Posición del elemento en la entrada", example = "1532")
+    private long posicion;
+
+    /** Motivo del rechazo. */
+    @Schema(description = "Motivo del rechazo", example = "fila 1532: categoría inexistente 'Hogar'")
+    @Column(length = 1000)
+    private String detalle;
+
+    /** Fecha del rechazo. */
+    @Schema(format = "date-time", example = "2025-01-05T09:00:00")
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime fecha;
+
+    /**
+     * Devuelve el identificador del error.
+     * @return id del error
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Asigna el identificador del error.
+     * @param id identificador a asignar
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Devuelve el trabajo al que pertenece.
+     * @return id del trabajo
+     */
+    public Long getTrabajoId() {
+        return trabajoId;
+    }
+
+    /**
+     * Asigna el trabajo al que pertenece.
+     * @param trabajoId id del trabajo
+     */
+    public void setTrabajoId(Long trabajoId) {
+        this.trabajoId = trabajoId;
+    }
+
+    /**
+     * Devuelve la posición del elemento.
+     * @return posición
+     */
+    public long getPosicion() {
+        return posicion;
+    }
+
+    /**
+     * Asigna la posición del elemento.
+     * @param posicion posición
+     */
+    public void setPosicion(long posicion) {
+        this.posicion = posicion;
+    }
+
+    /**
+     * Devuelve el motivo del rechazo.
+     * @return detalle
+     */
+    public String getDetalle() {
+        return detalle;
+    }
+
+    /**
+     * Asigna el motivo del rechazo.
+     * @param detalle detalle
+     */
+    public void setDetalle(String detalle) {
+        this.detalle = detalle;
+    }
+
+    /**
+     * Devuelve la fecha del rechazo.
+     * @return fecha
+     */
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    /**
+     * Asigna la fecha del rechazo.
+     * @param fecha fecha
+     */
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+}
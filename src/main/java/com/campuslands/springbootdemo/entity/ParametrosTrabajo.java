@@ -0,0 +1,61 @@
+package com.campuslands.springbootdemo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * Parámetros en JSON de un {@link Trabajo}.
+ * <p> * Viven en su propia tabla porque una importación puede ocupar varios
+ * megabytes: así las lecturas del trabajo para reclamarlo, confirmar cada
+ * bloque o informar su progreso no arrastran la carga, que solo se lee una vez
+ * al empezar a ejecutarlo.
+ * @since 1.1.0
+ */
+@Entity
+@Table(name = "trabajo_parametros")
+public class ParametrosTrabajo {
+
+    /** Identificador del trabajo al que pertenecen. */
+    @Id
+    private Long trabajoId;
+
+    /** Parámetros del trabajo en JSON. */
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String contenido;
+
+    /**
+     * Devuelve el identificador del trabajo.
+     * @return id del trabajo
+     */
+    public Long getTrabajoId() {
+        return trabajoId;
+    }
+
+    /**
+     * Asigna el identificador del trabajo.
+     * @param trabajoId identificador del trabajo
+     */
+    public void setTrabajoId(Long trabajoId) {
+        this.trabajoId = trabajoId;
+    }
+
+    /**
+     * Devuelve los parámetros en JSON.
+     * @return parámetros
+     */
+    public String getContenido() {
+        return contenido;
+    }
+
+    /**
+     * Asigna los parámetros en JSON.
+     * @param contenido parámetros
+     */
+    public void setContenido(String contenido) {
+        this.contenido = contenido;
+    }
+}
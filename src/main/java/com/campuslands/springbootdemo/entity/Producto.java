@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -14,11 +15,19 @@ import java.time.LocalDateTime;
 /**
  * Entidad que representa un producto del catálogo.
  * <p> * Cada producto pertenece a una {@link Categoria}.
+ * <p> * {@code idx_productos_nombre} sirve el orden por nombre de la búsqueda
+ * paginada ({@code (nombre, id) > (valor, id)}); la búsqueda por texto usa
+ * {@code LIKE '%texto%'} y no puede aprovecharlo.
  * @since 1.0.0
  */
 @Schema(description = "Entidad que representa un producto comercializado dentro del catálogo")
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+    @Index(name = "idx_productos_precio", columnList = "precio"),
+    @Index(name = "idx_productos_categoria_precio", columnList = "categoria_id, precio"),
+    @Index(name = "idx_productos_fecha_registro", columnList = "fechaRegistro"),
+    @Index(name = "idx_productos_nombre", columnList = "nombre")
+})
 public class Producto {
 
     /** Identificador primario autogenerado. */
@@ -27,6 +36,11 @@ public class Producto {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** Código de negocio (SKU) del producto. Único y opcional. */
+    @Schema(description = "Código de negocio único del producto (SKU)", example = "AUD-BT-001")
+    @Column(unique = true, length = 64)
+    private String sku;
+
     /** Nombre del producto. Obligatorio. */
     @Schema(description = "Nombre del producto (obligatorio)", example = "Audífonos Bluetooth")
     @Column(nullable = false)
@@ -67,6 +81,22 @@ public class Producto {
         this.id = id;
     }
 
+    /** 
+     * Devuelve el código de negocio (SKU) del producto.
+     * @return SKU del producto
+     */
+    public String getSku() {
+        return sku;
+    }
+
+    /** 
+     * Asigna el código de negocio (SKU) del producto.
+     * @param sku SKU a asignar
+     */
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     /** 
      * Devuelve el nombre del producto.
      * @return nombre del producto
@@ -0,0 +1,190 @@
+package com.campuslands.springbootdemo.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Producto retirado de la tabla {@code productos} por el archivado de inactivos.
+ * <p> * Conserva el id y los datos del producto original. La categoría se guarda
+ * como id sin clave foránea, para que el historial sobreviva a la eliminación
+ * de la categoría.
+ * @since 1.1.0
+ */
+@Schema(description = "Producto archivado por inactividad")
+@Entity
+@Table(name = "productos_archivo", indexes = {
+    @Index(name = "idx_productos_archivo_fecha_registro", columnList = "fechaRegistro"),
+    @Index(name = "idx_productos_archivo_categoria", columnList = "categoriaId")
+})
+public class ProductoArchivado {
+
+    /** Identificador del producto original. */
+    @Schema(description = "Identificador del producto original", example = "1")
+    @Id
+    private Long id;
+
+    /** Código de negocio (SKU) del producto. */
+    @Schema(description = "Código de negocio del producto (SKU)", example = "AUD-BT-001")
+    @Column(length = 64)
+    private String sku;
+
+    /** Nombre del producto. */
+    @Schema(description = "Nombre del producto", example = "Audífonos Bluetooth")
+    @Column(nullable = false)
+    private String nombre;
+
+    /** Precio del producto al archivarse. */
+    @Schema(description = "Precio unitario al archivarse", example = "249.9")
+    private Double precio;
+
+    /** Cantidad en inventario al archivarse. */
+    @Schema(description = "Cantidad en inventario al archivarse", example = "0")
+    private Integer stock;
+
+    /** Fecha y hora de registro del producto original. */
+    @Schema(description = "Fecha y hora de registro del producto", format = "date-time", example = "2021-01-05T09:00:00")
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime fechaRegistro;
+
+    /** Categoría a la que pertenecía el producto. */
+    @Schema(description = "Identificador de la categoría a la que pertenecía", example = "1")
+    private Long categoriaId;
+
+    /** Fecha y hora del archivado. */
+    @Schema(description = "Fecha y hora del archivado", format = "date-time", example = "2025-01-05T03:30:00")
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime fechaArchivado;
+
+    /**
+     * Devuelve el identificador del producto original.
+     * @return id del producto
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Asigna el identificador del producto original.
+     * @param id identificador a asignar
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Devuelve el SKU del producto.
+     * @return SKU, o {@code null}
+     */
+    public String getSku() {
+        return sku;
+    }
+
+    /**
+     * Asigna el SKU del producto.
+     * @param sku SKU
+     */
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Devuelve el nombre del producto.
+     * @return nombre
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Asigna el nombre del producto.
+     * @param nombre nombre
+     */
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Devuelve el precio al archivarse.
+     * @return precio
+     */
+    public Double getPrecio() {
+        return precio;
+    }
+
+    /**
+     * Asigna el precio al archivarse.
+     * @param precio precio
+     */
+    public void setPrecio(Double precio) {
+        this.precio = precio;
+    }
+
+    /**
+     * Devuelve el stock al archivarse.
+     * @return stock
+     */
+    public Integer getStock() {
+        return stock;
+    }
+
+    /**
+     * Asigna el stock al archivarse.
+     * @param stock stock
+     */
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    /**
+     * Devuelve la fecha de registro del producto original.
+     * @return fecha de registro
+     */
+    public LocalDateTime getFechaRegistro() {
+        return fechaRegistro;
+    }
+
+    /**
+     * Asigna la fecha de registro del producto original.
+     * @param fechaRegistro fecha de registro
+     */
+    public void setFechaRegistro(LocalDateTime fechaRegistro) {
+        this.fechaRegistro = fechaRegistro;
+    }
+
+    /**
+     * Devuelve la categoría a la que pertenecía.
+     * @return id de la categoría
+     */
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    /**
+     * Asigna la categoría a la que pertenecía.
+     * @param categoriaId id de la categoría
+     */
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    /**
+     * Devuelve la fecha del archivado.
+     * @return fecha del archivado
+     */
+    public LocalDateTime getFechaArchivado() {
+        return fechaArchivado;
+    }
+
+    /**
+     * Asigna la fecha del archivado.
+     * @param fechaArchivado fecha del archivado
+     */
+    public void setFechaArchivado(LocalDateTime fechaArchivado) {
+        this.fechaArchivado = fechaArchivado;
+    }
+}
@@ -0,0 +1,193 @@
+package com.campuslands.springbootdemo.entity;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del registro de cambios del catálogo.
+ * <p> * Se inserta en la misma transacción que la escritura que describe, de modo
+ * que otros nodos pueden seguir los cambios leyendo la tabla por id creciente.
+ * @since 1.1.0
+ */
+@Entity
+@Table(name = "registro_cambios", indexes = {
+    @Index(name = "idx_registro_cambios_fecha", columnList = "fecha")
+})
+public class RegistroCambio {
+
+    /** Identificador primario autogenerado; define el orden de lectura. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Entidad modificada. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CambioCatalogoEvent.Entidad entidad;
+
+    /** Tipo de cambio. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CambioCatalogoEvent.Tipo tipo;
+
+    /** Identificador de la fila modificada; nulo en cambios masivos. */
+    private Long entidadId;
+
+    /**
+     * Filas afectadas por un cambio masivo, separadas por coma; nulo si no
+     * se conocen y el cambio afecta a toda la entidad.
+     */
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String ids;
+
+    /** Campos modificados, separados por coma. */
+    @Column(length = 512)
+    private String campos;
+
+    /** Nodo que originó el cambio. */
+    @Column(nullable = false, length = 36)
+    private String nodo;
+
+    /** Fecha y hora del cambio. */
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime fecha;
+
+    /**
+     * Devuelve el identificador de la entrada.
+     * @return id de la entrada
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Asigna el identificador de la entrada.
+     * @param id identificador a asignar
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Devuelve la entidad modificada.
+     * @return entidad modificada
+     */
+    public CambioCatalogoEvent.Entidad getEntidad() {
+        return entidad;
+    }
+
+    /**
+     * Asigna la entidad modificada.
+     * @param entidad entidad modificada
+     */
+    public void setEntidad(CambioCatalogoEvent.Entidad entidad) {
+        this.entidad = entidad;
+    }
+
+    /**
+     * Devuelve el tipo de cambio.
+     * @return tipo de cambio
+     */
+    public CambioCatalogoEvent.Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Asigna el tipo de cambio.
+     * @param tipo tipo de cambio
+     */
+    public void setTipo(CambioCatalogoEvent.Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    /**
+     * Devuelve el identificador de la fila modificada.
+     * @return id de la fila, o {@code null} en cambios masivos
+     */
+    public Long getEntidadId() {
+        return entidadId;
+    }
+
+    /**
+     * Asigna el identificador de la fila modificada.
+     * @param entidadId id de la fila
+     */
+    public void setEntidadId(Long entidadId) {
+        this.entidadId = entidadId;
+    }
+
+    /**
+     * Devuelve las filas afectadas por un cambio masivo.
+     * @return ids separados por coma, o {@code null} si no se conocen
+     */
+    public String getIds() {
+        return ids;
+    }
+
+    /**
+     * Asigna las filas afectadas por un cambio masivo.
+     * @param ids ids separados por coma
+     */
+    public void setIds(String ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Devuelve los campos modificados.
+     * @return nombres de campos separados por coma, o {@code null} si no se informaron
+     */
+    public String getCampos() {
+        return campos;
+    }
+
+    /**
+     * Asigna los campos modificados.
+     * @param campos nombres de campos separados por coma
+     */
+    public void setCampos(String campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * Devuelve el nodo que originó el cambio.
+     * @return identificador del nodo
+     */
+    public String getNodo() {
+        return nodo;
+    }
+
+    /**
+     * Asigna el nodo que originó el cambio.
+     * @param nodo identificador del nodo
+     */
+    public void setNodo(String nodo) {
+        this.nodo = nodo;
+    }
+
+    /**
+     * Devuelve la fecha y hora del cambio.
+     * @return fecha del cambio
+     */
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    /**
+     * Asigna la fecha y hora del cambio.
+     * @param fecha fecha del cambio
+     */
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+}
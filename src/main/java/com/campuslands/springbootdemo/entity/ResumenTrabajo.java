@@ -0,0 +1,37 @@
+package com.campuslands.springbootdemo.entity;
+
+import com.campuslands.springbootdemo.entity.Trabajo.Estado;
+import com.campuslands.springbootdemo.entity.Trabajo.Tipo;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de un {@link Trabajo} necesarias para informar su progreso.
+ * <p> * Se usa como proyección en las consultas de estado, que así solo leen
+ * estas columnas de {@code trabajos}.
+ * @param id identificador del trabajo
+ * @param tipo tipo de trabajo
+ * @param estado estado actual
+ * @param total cantidad total de elementos, o {@code null} si aún no se conoce
+ * @param procesados elementos procesados
+ * @param errores elementos rechazados
+ * @param intentos veces que se inició o reanudó
+ * @param mensaje último mensaje de error, o {@code null}
+ * @param creado fecha de creación
+ * @param iniciado fecha del primer inicio, o {@code null}
+ * @param terminado fecha de finalización, o {@code null}
+ * @since 1.1.0
+ */
+public record ResumenTrabajo(Long id, Tipo tipo, Estado estado, Long total, long procesados, long errores,
+        int intentos, String mensaje, LocalDateTime creado, LocalDateTime iniciado, LocalDateTime terminado) {
+
+    /**
+     * Resume un trabajo ya cargado.
+     * @param trabajo trabajo
+     * @return resumen del trabajo
+     */
+    public static ResumenTrabajo de(Trabajo trabajo) {
+        return new ResumenTrabajo(trabajo.getId(), trabajo.getTipo(), trabajo.getEstado(), trabajo.getTotal(),
+                trabajo.getProcesados(), trabajo.getErrores(), trabajo.getIntentos(), trabajo.getMensaje(),
+                trabajo.getCreado(), trabajo.getIniciado(), trabajo.getTerminado());
+    }
+}
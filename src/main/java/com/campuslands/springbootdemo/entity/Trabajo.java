@@ -0,0 +1,352 @@
+package com.campuslands.springbootdemo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo asíncrono de larga duración sobre el catálogo.
+ * <p> * Se procesa por bloques, cada uno en su propia transacción junto con la
+ * actualización de {@code checkpoint}; si el trabajo falla o el nodo se
+ * detiene, se reanuda desde el último bloque confirmado. Sus parámetros se
+ * guardan aparte, en {@link ParametrosTrabajo}.
+ * @since 1.1.0
+ */
+@Entity
+@Table(name = "trabajos", indexes = {
+    @Index(name = "idx_trabajos_estado", columnList = "estado, id")
+})
+public class Trabajo {
+
+    /** Tipos de trabajo. */
+    public enum Tipo {
+        /** Importación por SKU de un archivo de productos. */
+        IMPORTAR_PRODUCTOS,
+        /** Repreciado de un conjunto de productos. */
+        REPRECIAR,
+        /** Eliminación de una categoría con sus productos. */
+        ELIMINAR_CATEGORIA,
+        /** Traslado de los productos inactivos a la tabla de archivo. */
+        ARCHIVAR_PRODUCTOS
+    }
+
+    /** Estados de un trabajo. */
+    public enum Estado {
+        /** En espera de un hilo libre. */
+        PENDIENTE,
+        /** Procesándose en algún nodo. */
+        EN_CURSO,
+        /** Terminado correctamente. */
+        COMPLETADO,
+        /** Detenido por un error; puede reanudarse. */
+        FALLIDO
+    }
+
+    /** Identificador primario autogenerado. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Tipo de trabajo. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Tipo tipo;
+
+    /**
+     * Clave única opcional; impide que varios nodos registren el mismo
+     * trabajo programado.
+     */
+    @Column(unique = true, length = 64)
+    private String clave;
+
+    /** Estado actual. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Estado estado;
+
+    /** Cantidad total de elementos a procesar, si se conoce. */
+    private Long total;
+
+    /** Elementos procesados. */
+    private long procesados;
+
+    /** Elementos rechazados. */
+    private long errores;
+
+    /** Posición confirmada desde la que continúa el trabajo. */
+    private long checkpoint;
+
+    /** Veces que se inició o reanudó. */
+    private int intentos;
+
+    /** Nodo que lo procesa o procesó por última vez. */
+    @Column(length = 36)
+    private String nodo;
+
+    /** Último mensaje de error. */
+    @Column(length = 1000)
+    private String mensaje;
+
+    /** Fecha de creación. */
+    @Column(nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime creado;
+
+    /** Fecha del primer inicio. */
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime iniciado;
+
+    /** Última señal de vida del nodo que lo procesa. */
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime latido;
+
+    /** Fecha de finalización. */
+    @Column(columnDefinition = "DATETIME")
+    private LocalDateTime terminado;
+
+    /**
+     * Devuelve el identificador del trabajo.
+     * @return id del trabajo
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Asigna el identificador del trabajo.
+     * @param id identificador a asignar
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Devuelve el tipo de trabajo.
+     * @return tipo
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Asigna el tipo de trabajo.
+     * @param tipo tipo
+     */
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    /**
+     * Devuelve el estado del trabajo.
+     * @return estado
+     */
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Asigna el estado del trabajo.
+     * @param estado estado
+     */
+    public void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Devuelve la cantidad total de elementos.
+     * @return total, o {@code null} si aún no se conoce
+     */
+    public Long getTotal() {
+        return total;
+    }
+
+    /**
+     * Asigna la cantidad total de elementos.
+     * @param total total
+     */
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    /**
+     * Devuelve los elementos procesados.
+     * @return procesados
+     */
+    public long getProcesados() {
+        return procesados;
+    }
+
+    /**
+     * Asigna los elementos procesados.
+     * @param procesados procesados
+     */
+    public void setProcesados(long procesados) {
+        this.procesados = procesados;
+    }
+
+    /**
+     * Devuelve los elementos rechazados.
+     * @return errores
+     */
+    public long getErrores() {
+        return errores;
+    }
+
+    /**
+     * Asigna los elementos rechazados.
+     * @param errores errores
+     */
+    public void setErrores(long errores) {
+        this.errores = errores;
+    }
+
+    /**
+     * Devuelve la posición confirmada.
+     * @return checkpoint
+     */
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Asigna la posición confirmada.
+     * @param checkpoint checkpoint
+     */
+    public void setCheckpoint(long checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Devuelve las veces que se inició o reanudó.
+     * @return intentos
+     */
+    public int getIntentos() {
+        return intentos;
+    }
+
+    /**
+     * Asigna las veces que se inició o reanudó.
+     * @param intentos intentos
+     */
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    /**
+     * Devuelve el nodo que lo procesa.
+     * @return identificador del nodo
+     */
+    public String getNodo() {
+        return nodo;
+    }
+
+    /**
+     * Asigna el nodo que lo procesa.
+     * @param nodo identificador del nodo
+     */
+    public void setNodo(String nodo) {
+        this.nodo = nodo;
+    }
+
+    /**
+     * Devuelve el último mensaje de error.
+     * @return mensaje, o {@code null}
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * Asigna el último mensaje de error.
+     * @param mensaje mensaje
+     */
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Devuelve la fecha de creación.
+     * @return fecha de creación
+     */
+    public LocalDateTime getCreado() {
+        return creado;
+    }
+
+    /**
+     * Asigna la fecha de creación.
+     * @param creado fecha de creación
+     */
+    public void setCreado(LocalDateTime creado) {
+        this.creado = creado;
+    }
+
+    /**
+     * Devuelve la fecha del primer inicio.
+     * @return fecha de inicio, o {@code null}
+     */
+    public LocalDateTime getIniciado() {
+        return iniciado;
+    }
+
+    /**
+     * Asigna la fecha del primer inicio.
+     * @param iniciado fecha de inicio
+     */
+    public void setIniciado(LocalDateTime iniciado) {
+        this.iniciado = iniciado;
+    }
+
+    /**
+     * Devuelve la última señal de vida.
+     * @return fecha del último latido
+     */
+    public LocalDateTime getLatido() {
+        return latido;
+    }
+
+    /**
+     * Asigna la última señal de vida.
+     * @param latido fecha del latido
+     */
+    public void setLatido(LocalDateTime latido) {
+        this.latido = latido;
+    }
+
+    /**
+     * Devuelve la clave única del trabajo.
+     * @return clave, o {@code null} si no tiene
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Asigna la clave única del trabajo.
+     * @param clave clave única
+     */
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    /**
+     * Devuelve la fecha de finalización.
+     * @return fecha de finalización, o {@code null}
+     */
+    public LocalDateTime getTerminado() {
+        return terminado;
+    }
+
+    /**
+     * Asigna la fecha de finalización.
+     * @param terminado fecha de finalización
+     */
+    public void setTerminado(LocalDateTime terminado) {
+        this.terminado = terminado;
+    }
+}
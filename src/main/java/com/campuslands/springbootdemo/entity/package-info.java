@@ -1,6 +1,9 @@
 /**
  * Entidades JPA que representan las tablas del modelo de datos.
- * <p>Incluye {@link com.campuslands.springbootdemo.entity.Categoria}
- * y {@link com.campuslands.springbootdemo.entity.Producto}.
+ * <p>Incluye {@link com.campuslands.springbootdemo.entity.Categoria},
+ * {@link com.campuslands.springbootdemo.entity.Producto}, los productos
+ * archivados {@link com.campuslands.springbootdemo.entity.ProductoArchivado}, el registro de
+ * cambios {@link com.campuslands.springbootdemo.entity.RegistroCambio} y los
+ * trabajos asíncronos {@link com.campuslands.springbootdemo.entity.Trabajo}.
  */
 package com.campuslands.springbootdemo.entity;
@@ -0,0 +1,63 @@
+package com.campuslands.springbootdemo.event;
+
+import java.util.Set;
+
+/**
+ * Evento publicado por los servicios tras modificar el catálogo.
+ * <p> * Se entrega a los oyentes después del commit de la transacción que lo
+ * originó. Los cambios masivos no tienen {@code id}; si se conocen las filas
+ * afectadas se informan en {@code ids} y, si no, {@code ids} está vacío y los
+ * oyentes deben considerar afectada toda la entidad.
+ * <p>Los cambios hechos por otros nodos se vuelven a publicar localmente con
+ * {@code remoto = true} al leerlos del registro de cambios, de modo que los
+ * oyentes que mantienen cachés en memoria reciben los cambios de todos los nodos.
+ * @param entidad entidad modificada
+ * @param tipo tipo de cambio
+ * @param id identificador de la fila modificada, o {@code null} si el cambio es masivo
+ * @param ids filas afectadas por un cambio masivo, o vacío si no se conocen
+ * @param campos nombres de los campos modificados
+ * @param remoto si el cambio se originó en otro nodo
+ * @since 1.1.0
+ */
+public record CambioCatalogoEvent(Entidad entidad, Tipo tipo, Long id, Set<Long> ids, Set<String> campos,
+        boolean remoto) {
+
+    /**
+     * Crea el evento de un cambio hecho en este nodo.
+     * @param entidad entidad modificada
+     * @param tipo tipo de cambio
+     * @param id identificador de la fila modificada, o {@code null} si el cambio es masivo
+     * @param campos nombres de los campos modificados
+     */
+    public CambioCatalogoEvent(Entidad entidad, Tipo tipo, Long id, Set<String> campos) {
+        this(entidad, tipo, id, Set.of(), campos, false);
+    }
+
+    /** Entidades del catálogo que publican cambios. */
+    public enum Entidad {
+        /** Entidad {@code Producto}. */
+        PRODUCTO,
+        /** Entidad {@code Categoria}. */
+        CATEGORIA
+    }
+
+    /** Tipos de cambio. */
+    public enum Tipo {
+        /** Alta de una fila. */
+        CREADO,
+        /** Modificación de una fila. */
+        ACTUALIZADO,
+        /** Baja de una fila. */
+        ELIMINADO,
+        /** Modificación de un conjunto no identificado de filas. */
+        MASIVO
+    }
+
+    /**
+     * Indica si el cambio afecta a un conjunto no identificado de filas.
+     * @return {@code true} si el cambio es masivo
+     */
+    public boolean masivo() {
+        return tipo == Tipo.MASIVO;
+    }
+}
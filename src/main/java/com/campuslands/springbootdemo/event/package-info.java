@@ -0,0 +1,6 @@
+/**
+ * Eventos de dominio del catálogo.
+ * <p>Los servicios publican un {@code CambioCatalogoEvent} por cada escritura
+ * para que los componentes interesados reaccionen tras el commit.
+ */
+package com.campuslands.springbootdemo.event;
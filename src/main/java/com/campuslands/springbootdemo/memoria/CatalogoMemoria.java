@@ -0,0 +1,402 @@
+package com.campuslands.springbootdemo.memoria;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import com.campuslands.springbootdemo.service.LectorRegistroCambios;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacén del catálogo en memoria para nodos de solo lectura.
+ * <p> * Se activa con {@code catalogo.almacenamiento=memoria}. Al arrancar carga la
+ * última instantánea binaria (o la base de datos completa si no existe) y luego
+ * se mantiene al día leyendo el registro de cambios. Las lecturas se resuelven
+ * sobre {@link MapaLargo} sin bloqueos ni SQL; las escrituras siguen yendo a la
+ * base de datos principal y llegan a este almacén por el registro de cambios.
+ * Los cambios masivos que informan sus filas se recargan fila a fila; solo los
+ * que no las informan provocan una recarga completa de la entidad.
+ * <p>Solo cubre las lecturas por id, los listados y las búsquedas por nombre,
+ * código y precio. Los intervalos por fecha, la búsqueda paginada con facetas y
+ * la lista de stock bajo siguen consultando la base de datos.
+ * @since 1.1.0
+ */
+@Component
+@ConditionalOnProperty(name = "catalogo.almacenamiento", havingValue = "memoria")
+public class CatalogoMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoMemoria.class);
+
+    /** Filas leídas por página en una carga completa. */
+    private static final int PAGINA_CARGA = 10_000;
+
+    /** Filas recargadas por consulta {@code IN} al aplicar cambios. */
+    private static final int BLOQUE_RECARGA = 500;
+
+    /**
+     * Entradas del registro que se releen tras una carga completa, por si había
+     * transacciones con ids menores aún sin confirmar. Reaplicarlas es inocuo.
+     * Nunca se retrocede por debajo de la primera entrada conservada: esa
+     * posición ya no está cubierta y provocaría otra carga completa.
+     */
+    private static final long MARGEN_RELECTURA = 1_000;
+
+    private static final Comparator<Producto> POR_ID = Comparator.comparing(Producto::getId);
+
+    private final IProductoRepository productoRepository;
+
+    private final ICategoriaRepository categoriaRepository;
+
+    private final IRegistroCambioRepository registroRepository;
+
+    private final Path archivo;
+
+    private final LectorRegistroCambios lector;
+
+    private volatile MapaLargo<CategoriaFila> categorias = new MapaLargo<>(0);
+
+    private volatile MapaLargo<ProductoFila> productos = new MapaLargo<>(0);
+
+    private long marcaGuardada = -1;
+
+    /**
+     * Crea el almacén en memoria.
+     * @param productoRepository repositorio de productos
+     * @param categoriaRepository repositorio de categorías
+     * @param registroRepository repositorio del registro de cambios
+     * @param archivo ruta del archivo de instantánea
+     * @param esperaHuecoMillis espera máxima por ids faltantes del registro de cambios
+     */
+    public CatalogoMemoria(IProductoRepository productoRepository, ICategoriaRepository categoriaRepository,
+            IRegistroCambioRepository registroRepository,
+            @Value("${catalogo.memoria.instantanea:data/catalogo.snap}") Path archivo,
+            @Value("${catalogo.memoria.espera-hueco-ms:5000}") long esperaHuecoMillis) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.registroRepository = registroRepository;
+        this.archivo = archivo;
+        this.lector = new LectorRegistroCambios(registroRepository, 0, 1_000, esperaHuecoMillis);
+    }
+
+    /**
+     * Carga el catálogo desde la instantánea o, si no existe, desde la base de datos,
+     * y aplica los cambios pendientes.
+     */
+    @PostConstruct
+    public synchronized void iniciar() {
+        long inicio = System.nanoTime();
+        if (!cargarInstantanea()) {
+            cargarCompleto();
+            guardarInstantanea();
+        }
+        refrescar();
+        log.info("Catálogo en memoria listo: {} categorías y {} productos en {} ms",
+                categorias.tamano(), productos.tamano(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private boolean cargarInstantanea() {
+        if (!Files.exists(archivo)) {
+            return false;
+        }
+        try {
+            var contenido = InstantaneaCatalogo.leer(archivo);
+            var nuevasCategorias = new MapaLargo<CategoriaFila>(contenido.categorias().size());
+            contenido.categorias().forEach(c -> nuevasCategorias.poner(c.id(), c));
+            var nuevosProductos = new MapaLargo<ProductoFila>(contenido.productos().size());
+            contenido.productos().forEach(p -> nuevosProductos.poner(p.id(), p));
+            categorias = nuevasCategorias;
+            productos = nuevosProductos;
+            lector.reiniciar(contenido.marca());
+            marcaGuardada = contenido.marca();
+            return true;
+        } catch (IOException e) {
+            log.warn("No se pudo leer la instantánea {}; se carga desde la base de datos", archivo, e);
+            return false;
+        }
+    }
+
+    private void cargarCompleto() {
+        long marca = Objects.requireNonNullElse(registroRepository.ultimoId(), 0L);
+        Long primero = registroRepository.primerId();
+        recargarCategorias();
+        recargarProductos();
+        long desde = marca - MARGEN_RELECTURA;
+        if (primero != null) {
+            desde = Math.max(desde, primero - 1);
+        }
+        lector.reiniciar(Math.max(0, desde));
+    }
+
+    private void recargarCategorias() {
+        var todas = categoriaRepository.findAll();
+        var nuevas = new MapaLargo<CategoriaFila>(todas.size());
+        todas.forEach(c -> nuevas.poner(c.getId(), CategoriaFila.de(c)));
+        categorias = nuevas;
+    }
+
+    private void recargarProductos() {
+        var nuevos = new MapaLargo<ProductoFila>((int) productoRepository.count());
+        long desde = 0;
+        List<ProductoFila> pagina;
+        do {
+            pagina = productoRepository.findFilasDesde(desde, Limit.of(PAGINA_CARGA));
+            for (var fila : pagina) {
+                nuevos.poner(fila.id(), fila);
+                desde = fila.id();
+            }
+        } while (pagina.size() == PAGINA_CARGA);
+        productos = nuevos;
+    }
+
+    /**
+     * Aplica los cambios nuevos del registro de cambios.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.memoria.refresco-ms:1000}")
+    public synchronized void refrescar() {
+        Long primero = registroRepository.primerId();
+        if (primero != null && lector.getConfirmado() < primero - 1) {
+            log.warn("El registro de cambios ya no cubre la posición {}; se recarga el catálogo", lector.getConfirmado());
+            cargarCompleto();
+        }
+        lector.leer(this::aplicar);
+    }
+
+    private void aplicar(List<RegistroCambio> cambios) {
+        boolean todasCategorias = false;
+        boolean todosProductos = false;
+        var pendientesCategorias = new LinkedHashMap<Long, Boolean>();
+        var pendientesProductos = new LinkedHashMap<Long, Boolean>();
+
+        for (var cambio : cambios) {
+            boolean producto = cambio.getEntidad() == CambioCatalogoEvent.Entidad.PRODUCTO;
+            var pendientes = producto ? pendientesProductos : pendientesCategorias;
+            if (cambio.getTipo() == CambioCatalogoEvent.Tipo.MASIVO && cambio.getIds() != null) {
+                // Las filas borradas o archivadas se descartan al no encontrarse en la recarga.
+                for (var id : cambio.getIds().split(",")) {
+                    pendientes.put(Long.valueOf(id), true);
+                }
+            } else if (cambio.getTipo() == CambioCatalogoEvent.Tipo.MASIVO || cambio.getEntidadId() == null) {
+                todosProductos |= producto;
+                todasCategorias |= !producto;
+            } else {
+                pendientes.put(cambio.getEntidadId(), cambio.getTipo() != CambioCatalogoEvent.Tipo.ELIMINADO);
+            }
+        }
+
+        if (todasCategorias) {
+            recargarCategorias();
+        } else {
+            aplicarCategorias(pendientesCategorias);
+        }
+        if (todosProductos) {
+            recargarProductos();
+        } else {
+            aplicarProductos(pendientesProductos);
+        }
+    }
+
+    private void aplicarCategorias(Map<Long, Boolean> pendientes) {
+        var recargar = recargables(pendientes, categorias);
+        for (int desde = 0; desde < recargar.size(); desde += BLOQUE_RECARGA) {
+            var bloque = recargar.subList(desde, Math.min(desde + BLOQUE_RECARGA, recargar.size()));
+            var actuales = categorias;
+            var encontrados = new HashSet<Long>(bloque.size() * 2);
+            for (var categoria : categoriaRepository.findAllById(bloque)) {
+                actuales.poner(categoria.getId(), CategoriaFila.de(categoria));
+                encontrados.add(categoria.getId());
+            }
+            descartarFaltantes(bloque, encontrados, actuales);
+        }
+    }
+
+    private void aplicarProductos(Map<Long, Boolean> pendientes) {
+        var recargar = recargables(pendientes, productos);
+        for (int desde = 0; desde < recargar.size(); desde += BLOQUE_RECARGA) {
+            var bloque = recargar.subList(desde, Math.min(desde + BLOQUE_RECARGA, recargar.size()));
+            var actuales = productos;
+            var encontrados = new HashSet<Long>(bloque.size() * 2);
+            for (var fila : productoRepository.findFilasByIdIn(bloque)) {
+                actuales.poner(fila.id(), fila);
+                encontrados.add(fila.id());
+            }
+            descartarFaltantes(bloque, encontrados, actuales);
+        }
+    }
+
+    /**
+     * Elimina del mapa las filas recargadas que ya no existen en la base de datos.
+     */
+    private static void descartarFaltantes(List<Long> recargados, Set<Long> encontrados, MapaLargo<?> mapa) {
+        for (var id : recargados) {
+            if (!encontrados.contains(id)) {
+                mapa.eliminar(id);
+            }
+        }
+    }
+
+    /**
+     * Elimina del mapa las filas dadas de baja y devuelve los ids a recargar.
+     */
+    private static List<Long> recargables(Map<Long, Boolean> pendientes, MapaLargo<?> mapa) {
+        var recargar = new ArrayList<Long>(pendientes.size());
+        pendientes.forEach((id, existe) -> {
+            if (existe) {
+                recargar.add(id);
+            } else {
+                mapa.eliminar(id);
+            }
+        });
+        return recargar;
+    }
+
+    /**
+     * Guarda una instantánea si hubo cambios desde la última.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.memoria.instantanea-ms:60000}")
+    @PreDestroy
+    public synchronized void guardarInstantanea() {
+        long marca = lector.getConfirmado();
+        if (marca == marcaGuardada) {
+            return;
+        }
+        try {
+            InstantaneaCatalogo.escribir(archivo, marca, categorias, productos);
+            marcaGuardada = marca;
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea {}", archivo, e);
+        }
+    }
+
+    /**
+     * Obtiene un producto por id.
+     * @param id identificador del producto
+     * @return producto desacoplado, o {@code null} si no existe
+     */
+    public Producto producto(long id) {
+        var fila = productos.obtener(id);
+        return fila != null ? fila.aEntidad(categoria(fila.categoriaId())) : null;
+    }
+
+    /**
+     * Lista todos los productos ordenados por id.
+     * @return productos desacoplados
+     */
+    public List<Producto> productos() {
+        return productosQue(fila -> true);
+    }
+
+    /**
+     * Busca productos cuyo nombre contenga el texto, sin distinguir mayúsculas.
+     * @param nombre fragmento a buscar
+     * @return productos coincidentes ordenados por id
+     */
+    public List<Producto> productosPorNombre(String nombre) {
+        return productosQue(fila -> contiene(fila.nombre(), nombre));
+    }
+
+    /**
+     * Busca productos con precio estrictamente mayor al indicado.
+     * @param precio umbral de precio
+     * @return productos coincidentes ordenados por id
+     */
+    public List<Producto> productosConPrecioMayorA(double precio) {
+        return productosQue(fila -> fila.precio() != null && fila.precio() > precio);
+    }
+
+    private List<Producto> productosQue(Predicate<ProductoFila> filtro) {
+        var resultado = new ArrayList<Producto>();
+        var categoriasPorId = new HashMap<Long, Categoria>();
+        productos.recorrer(fila -> {
+            if (filtro.test(fila)) {
+                var categoria = categoriasPorId.computeIfAbsent(fila.categoriaId(), this::categoria);
+                resultado.add(fila.aEntidad(categoria));
+            }
+        });
+        resultado.sort(POR_ID);
+        return resultado;
+    }
+
+    /**
+     * Obtiene una categoría por id.
+     * @param id identificador de la categoría
+     * @return categoría desacoplada, o {@code null} si no existe
+     */
+    public Categoria categoria(long id) {
+        var fila = categorias.obtener(id);
+        return fila != null ? fila.aEntidad() : null;
+    }
+
+    /**
+     * Lista todas las categorías ordenadas por id.
+     * @return categorías desacopladas
+     */
+    public List<Categoria> categorias() {
+        return categoriasQue(fila -> true);
+    }
+
+    /**
+     * Busca categorías cuyo nombre contenga el texto, sin distinguir mayúsculas.
+     * @param nombre fragmento a buscar
+     * @return categorías coincidentes ordenadas por id
+     */
+    public List<Categoria> categoriasPorNombre(String nombre) {
+        return categoriasQue(fila -> contiene(fila.nombre(), nombre));
+    }
+
+    /**
+     * Busca categorías por código exacto.
+     * @param codigo código de la categoría
+     * @return categorías coincidentes ordenadas por id
+     */
+    public List<Categoria> categoriasPorCodigo(Integer codigo) {
+        return categoriasQue(fila -> Objects.equals(fila.codigo(), codigo));
+    }
+
+    private List<Categoria> categoriasQue(Predicate<CategoriaFila> filtro) {
+        var resultado = new ArrayList<Categoria>();
+        categorias.recorrer(fila -> {
+            if (filtro.test(fila)) {
+                resultado.add(fila.aEntidad());
+            }
+        });
+        resultado.sort(Comparator.comparing(Categoria::getId));
+        return resultado;
+    }
+
+    private static boolean contiene(String texto, String fragmento) {
+        if (texto == null) {
+            return false;
+        }
+        int limite = texto.length() - fragmento.length();
+        for (int i = 0; i <= limite; i++) {
+            if (texto.regionMatches(true, i, fragmento, 0, fragmento.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
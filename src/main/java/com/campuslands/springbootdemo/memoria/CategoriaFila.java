@@ -0,0 +1,45 @@
+package com.campuslands.springbootdemo.memoria;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import java.time.LocalDateTime;
+
+/**
+ * Fila compacta e inmutable de una categoría en memoria.
+ * @param id identificador de la categoría
+ * @param nombre nombre de la categoría
+ * @param descripcion descripción
+ * @param codigo código interno
+ * @param descuento porcentaje de descuento
+ * @param stockMinimo umbral de reposición de sus productos
+ * @param fechaCreacion fecha y hora de creación
+ * @since 1.1.0
+ */
+public record CategoriaFila(long id, String nombre, String descripcion, Integer codigo, Double descuento,
+        Integer stockMinimo, LocalDateTime fechaCreacion) {
+
+    /**
+     * Crea la fila a partir de una entidad.
+     * @param categoria entidad
+     * @return fila equivalente
+     */
+    public static CategoriaFila de(Categoria categoria) {
+        return new CategoriaFila(categoria.getId(), categoria.getNombre(), categoria.getDescripcion(),
+                categoria.getCodigo(), categoria.getDescuento(), categoria.getStockMinimo(), categoria.getFechaCreacion());
+    }
+
+    /**
+     * Crea una entidad desacoplada equivalente a la fila.
+     * @return categoría no administrada por JPA
+     */
+    public Categoria aEntidad() {
+        var categoria = new Categoria();
+        categoria.setId(id);
+        categoria.setNombre(nombre);
+        categoria.setDescripcion(descripcion);
+        categoria.setCodigo(codigo);
+        categoria.setDescuento(descuento);
+        categoria.setStockMinimo(stockMinimo);
+        categoria.setFechaCreacion(fechaCreacion);
+        return categoria;
+    }
+}
@@ -0,0 +1,221 @@
+package com.campuslands.springbootdemo.memoria;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura y escritura de instantáneas binarias del catálogo mediante archivos
+ * mapeados en memoria.
+ * <p> * Formato (big-endian): número mágico, versión de formato, marca del
+ * registro de cambios, cantidad de categorías y de productos, seguidos de las
+ * filas. Las cadenas se guardan como longitud UTF-8 más bytes ({@code -1} para
+ * nulo); los números nulos usan valores centinela. La escritura se hace sobre
+ * un archivo temporal que luego reemplaza al anterior de forma atómica.
+ * @since 1.1.0
+ */
+public final class InstantaneaCatalogo {
+
+    private static final int MAGICO = 0x43415431;
+
+    private static final int VERSION_FORMATO = 3;
+
+    private static final int CABECERA = Integer.BYTES * 4 + Long.BYTES;
+
+    /** Bytes fijos por categoría: id, descuento, segundos de fecha; longitudes, código, stock mínimo, nanos. */
+    private static final int FIJO_CATEGORIA = Long.BYTES * 3 + Integer.BYTES * 5;
+
+    /** Bytes fijos por producto: id, precio, segundos de fecha, categoría; longitudes, stock, nanos. */
+    private static final int FIJO_PRODUCTO = Long.BYTES * 4 + Integer.BYTES * 4;
+
+    private static final int NULO_ENTERO = Integer.MIN_VALUE;
+
+    private static final long NULO_FECHA = Long.MIN_VALUE;
+
+    private InstantaneaCatalogo() {
+    }
+
+    /**
+     * Contenido de una instantánea.
+     * @param marca posición del registro de cambios incluida en la instantánea
+     * @param categorias filas de categorías
+     * @param productos filas de productos
+     */
+    public record Contenido(long marca, List<CategoriaFila> categorias, List<ProductoFila> productos) {
+    }
+
+    /**
+     * Escribe la instantánea en el archivo indicado.
+     * @param archivo ruta de destino
+     * @param marca posición del registro de cambios
+     * @param categorias categorías a guardar
+     * @param productos productos a guardar
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static void escribir(Path archivo, long marca, MapaLargo<CategoriaFila> categorias,
+            MapaLargo<ProductoFila> productos) throws IOException {
+        long[] tamano = {CABECERA};
+        categorias.recorrer(c -> tamano[0] += FIJO_CATEGORIA + bytes(c.nombre()) + bytes(c.descripcion()));
+        productos.recorrer(p -> tamano[0] += FIJO_PRODUCTO + bytes(p.sku()) + bytes(p.nombre()));
+        if (tamano[0] > Integer.MAX_VALUE) {
+            throw new IOException("La instantánea supera el tamaño máximo de un archivo mapeado");
+        }
+
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        var temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (var canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano[0]);
+            var codificador = StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            var filasCategorias = categorias.valores();
+            var filasProductos = productos.valores();
+
+            buffer.putInt(MAGICO).putInt(VERSION_FORMATO).putLong(marca)
+                    .putInt(filasCategorias.size()).putInt(filasProductos.size());
+            for (var c : filasCategorias) {
+                buffer.putLong(c.id());
+                cadena(buffer, codificador, c.nombre());
+                cadena(buffer, codificador, c.descripcion());
+                buffer.putInt(c.codigo() != null ? c.codigo() : NULO_ENTERO);
+                buffer.putDouble(c.descuento() != null ? c.descuento() : Double.NaN);
+                buffer.putInt(c.stockMinimo() != null ? c.stockMinimo() : NULO_ENTERO);
+                fecha(buffer, c.fechaCreacion());
+            }
+            for (var p : filasProductos) {
+                buffer.putLong(p.id());
+                cadena(buffer, codificador, p.sku());
+                cadena(buffer, codificador, p.nombre());
+                buffer.putDouble(p.precio() != null ? p.precio() : Double.NaN);
+                buffer.putInt(p.stock() != null ? p.stock() : NULO_ENTERO);
+                fecha(buffer, p.fechaRegistro());
+                buffer.putLong(p.categoriaId());
+            }
+            buffer.force();
+            canal.truncate(buffer.position());
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee una instantánea completa.
+     * @param archivo ruta del archivo
+     * @return contenido de la instantánea
+     * @throws IOException si el archivo no existe o no tiene un formato válido
+     */
+    public static Contenido leer(Path archivo) throws IOException {
+        try (var canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.remaining() < CABECERA || buffer.getInt() != MAGICO || buffer.getInt() != VERSION_FORMATO) {
+                throw new IOException("Instantánea con formato desconocido: " + archivo);
+            }
+            long marca = buffer.getLong();
+            int totalCategorias = buffer.getInt();
+            int totalProductos = buffer.getInt();
+
+            var categorias = new ArrayList<CategoriaFila>(totalCategorias);
+            for (int i = 0; i < totalCategorias; i++) {
+                long id = buffer.getLong();
+                String nombre = cadena(buffer);
+                String descripcion = cadena(buffer);
+                int codigo = buffer.getInt();
+                double descuento = buffer.getDouble();
+                int stockMinimo = buffer.getInt();
+                categorias.add(new CategoriaFila(id, nombre, descripcion,
+                        codigo != NULO_ENTERO ? codigo : null,
+                        Double.isNaN(descuento) ? null : descuento,
+                        stockMinimo != NULO_ENTERO ? stockMinimo : null,
+                        fecha(buffer)));
+            }
+            var productos = new ArrayList<ProductoFila>(totalProductos);
+            for (int i = 0; i < totalProductos; i++) {
+                long id = buffer.getLong();
+                String sku = cadena(buffer);
+                String nombre = cadena(buffer);
+                double precio = buffer.getDouble();
+                int stock = buffer.getInt();
+                LocalDateTime fechaRegistro = fecha(buffer);
+                productos.add(new ProductoFila(id, sku, nombre,
+                        Double.isNaN(precio) ? null : precio,
+                        stock != NULO_ENTERO ? stock : null,
+                        fechaRegistro, buffer.getLong()));
+            }
+            return new Contenido(marca, categorias, productos);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Instantánea truncada: " + archivo, e);
+        }
+    }
+
+    private static int bytes(String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        int bytes = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length() && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static void cadena(ByteBuffer buffer, CharsetEncoder codificador, String valor) {
+        if (valor == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        int inicio = buffer.position();
+        buffer.putInt(0);
+        codificador.reset();
+        codificador.encode(CharBuffer.wrap(valor), buffer, true);
+        codificador.flush(buffer);
+        buffer.putInt(inicio, buffer.position() - inicio - Integer.BYTES);
+    }
+
+    private static String cadena(ByteBuffer buffer) {
+        int longitud = buffer.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        var bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void fecha(ByteBuffer buffer, LocalDateTime valor) {
+        if (valor == null) {
+            buffer.putLong(NULO_FECHA).putInt(0);
+        } else {
+            buffer.putLong(valor.toEpochSecond(ZoneOffset.UTC)).putInt(valor.getNano());
+        }
+    }
+
+    private static LocalDateTime fecha(ByteBuffer buffer) {
+        long segundos = buffer.getLong();
+        int nanos = buffer.getInt();
+        return segundos == NULO_FECHA ? null : LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+}
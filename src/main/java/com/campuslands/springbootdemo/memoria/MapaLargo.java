@@ -0,0 +1,179 @@
+package com.campuslands.springbootdemo.memoria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Mapa concurrente de claves {@code long} primitivas con lecturas sin bloqueo.
+ * <p> * Usa direccionamiento abierto con sondeo lineal. Las escrituras se
+ * serializan con el monitor del mapa; las lecturas solo leen la tabla vigente
+ * y sus entradas inmutables, sin bloquear ni crear objetos. Las bajas dejan
+ * una marca que se descarta al redimensionar.
+ * @param <V> tipo de los valores
+ * @since 1.1.0
+ */
+public final class MapaLargo<V> {
+
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private volatile AtomicReferenceArray<Entrada<V>> tabla;
+
+    private int ocupadas;
+
+    private volatile int tamano;
+
+    /**
+     * Crea un mapa con capacidad para la cantidad de elementos indicada.
+     * @param capacidadEsperada cantidad de elementos prevista
+     */
+    public MapaLargo(int capacidadEsperada) {
+        this.tabla = new AtomicReferenceArray<>(capacidadPara(capacidadEsperada));
+    }
+
+    private static int capacidadPara(int elementos) {
+        int minima = (int) Math.ceil(Math.max(elementos, 8) / CARGA_MAXIMA);
+        return Integer.highestOneBit(minima - 1) << 1;
+    }
+
+    private static int indice(long clave, int mascara) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    /**
+     * Obtiene el valor asociado a la clave.
+     * @param clave clave a buscar
+     * @return valor, o {@code null} si no existe
+     */
+    public V obtener(long clave) {
+        var t = tabla;
+        int mascara = t.length() - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            var entrada = t.get(i);
+            if (entrada == null) {
+                return null;
+            }
+            if (entrada.clave == clave) {
+                return entrada.valor;
+            }
+        }
+    }
+
+    /**
+     * Asocia el valor a la clave, reemplazando el anterior.
+     * @param clave clave
+     * @param valor valor no nulo
+     */
+    public synchronized void poner(long clave, V valor) {
+        if (ocupadas + 1 > tabla.length() * CARGA_MAXIMA) {
+            redimensionar();
+        }
+        var t = tabla;
+        int mascara = t.length() - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            var entrada = t.get(i);
+            if (entrada == null) {
+                t.set(i, new Entrada<>(clave, valor));
+                ocupadas++;
+                tamano++;
+                return;
+            }
+            if (entrada.clave == clave) {
+                t.set(i, new Entrada<>(clave, valor));
+                if (entrada.valor == null) {
+                    tamano++;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Elimina la clave del mapa.
+     * @param clave clave a eliminar
+     */
+    public synchronized void eliminar(long clave) {
+        var t = tabla;
+        int mascara = t.length() - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            var entrada = t.get(i);
+            if (entrada == null) {
+                return;
+            }
+            if (entrada.clave == clave) {
+                if (entrada.valor != null) {
+                    t.set(i, new Entrada<>(clave, null));
+                    tamano--;
+                }
+                return;
+            }
+        }
+    }
+
+    private void redimensionar() {
+        var anterior = tabla;
+        var nueva = new AtomicReferenceArray<Entrada<V>>(capacidadPara(tamano * 2 + 1));
+        int mascara = nueva.length() - 1;
+        int vivas = 0;
+        for (int j = 0; j < anterior.length(); j++) {
+            var entrada = anterior.get(j);
+            if (entrada != null && entrada.valor != null) {
+                int i = indice(entrada.clave, mascara);
+                while (nueva.get(i) != null) {
+                    i = (i + 1) & mascara;
+                }
+                nueva.set(i, entrada);
+                vivas++;
+            }
+        }
+        ocupadas = vivas;
+        tabla = nueva;
+    }
+
+    /**
+     * Recorre los valores vigentes, sin orden definido.
+     * @param accion acción a aplicar sobre cada valor
+     */
+    public void recorrer(Consumer<V> accion) {
+        var t = tabla;
+        for (int i = 0; i < t.length(); i++) {
+            var entrada = t.get(i);
+            if (entrada != null && entrada.valor != null) {
+                accion.accept(entrada.valor);
+            }
+        }
+    }
+
+    /**
+     * Devuelve una copia de los valores vigentes.
+     * @return lista de valores, sin orden definido
+     */
+    public List<V> valores() {
+        var valores = new ArrayList<V>(tamano);
+        recorrer(valores::add);
+        return valores;
+    }
+
+    /**
+     * Devuelve la cantidad de claves con valor.
+     * @return tamaño del mapa
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /** Par inmutable clave-valor; un valor nulo marca una baja. */
+    private static final class Entrada<V> {
+
+        private final long clave;
+
+        private final V valor;
+
+        private Entrada(long clave, V valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+}
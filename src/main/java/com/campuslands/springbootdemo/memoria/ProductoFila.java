@@ -0,0 +1,49 @@
+package com.campuslands.springbootdemo.memoria;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import java.time.LocalDateTime;
+
+/**
+ * Fila compacta e inmutable de un producto en memoria.
+ * <p> * Referencia la categoría por id para que un cambio de categoría no
+ * obligue a reconstruir sus productos.
+ * @param id identificador del producto
+ * @param sku código de negocio
+ * @param nombre nombre del producto
+ * @param precio precio unitario
+ * @param stock unidades disponibles
+ * @param fechaRegistro fecha y hora de registro
+ * @param categoriaId identificador de la categoría
+ * @since 1.1.0
+ */
+public record ProductoFila(long id, String sku, String nombre, Double precio, Integer stock,
+        LocalDateTime fechaRegistro, long categoriaId) {
+
+    /**
+     * Crea la fila a partir de una entidad.
+     * @param producto entidad con su categoría
+     * @return fila equivalente
+     */
+    public static ProductoFila de(Producto producto) {
+        return new ProductoFila(producto.getId(), producto.getSku(), producto.getNombre(), producto.getPrecio(), producto.getStock(),
+                producto.getFechaRegistro(), producto.getCategoria().getId());
+    }
+
+    /**
+     * Crea una entidad desacoplada equivalente a la fila.
+     * @param categoria entidad de la categoría del producto
+     * @return producto no administrado por JPA
+     */
+    public Producto aEntidad(Categoria categoria) {
+        var producto = new Producto();
+        producto.setId(id);
+        producto.setSku(sku);
+        producto.setNombre(nombre);
+        producto.setPrecio(precio);
+        producto.setStock(stock);
+        producto.setFechaRegistro(fechaRegistro);
+        producto.setCategoria(categoria);
+        return producto;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Almacenamiento del catálogo en memoria para nodos de solo lectura.
+ * <p>Incluye un mapa concurrente con claves {@code long} primitivas, las filas
+ * compactas de productos y categorías, y las instantáneas binarias mapeadas en
+ * memoria que permiten arrancar sin consultar la base de datos.
+ */
+package com.campuslands.springbootdemo.memoria;
@@ -0,0 +1,241 @@
+package com.campuslands.springbootdemo.perfilado;
+
+import com.campuslands.springbootdemo.dto.ReportePerfilado;
+import com.campuslands.springbootdemo.dto.ReportePerfilado.AsignacionEndpoint;
+import com.campuslands.springbootdemo.dto.ReportePerfilado.AsignacionFrame;
+import com.campuslands.springbootdemo.dto.ReportePerfilado.Colector;
+import com.campuslands.springbootdemo.dto.ReportePerfilado.Contencion;
+import com.campuslands.springbootdemo.dto.ReportePerfilado.PausasGc;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Resume una grabación JFR en un {@link ReportePerfilado}.
+ * <p> * Recorre el archivo dos veces sin cargarlo completo en memoria: la primera
+ * reúne los intervalos de {@link SolicitudEvent} por hilo y la segunda atribuye
+ * cada muestra de asignación a la solicitud que estaba atendiendo su hilo.
+ * @since 1.1.0
+ */
+final class AnalizadorGrabacion {
+
+    private static final String PAQUETE_APLICACION = "com.campuslands.";
+
+    private static final String SIN_ENDPOINT = "(fuera de solicitudes)";
+
+    private AnalizadorGrabacion() {
+    }
+
+    /**
+     * Analiza la grabación.
+     * @param archivo archivo {@code .jfr}
+     * @param maximoFrames cantidad de frames incluidos en el reporte
+     * @return resumen de la grabación
+     * @throws IOException si el archivo no se puede leer
+     */
+    static ReportePerfilado analizar(Path archivo, int maximoFrames) throws IOException {
+        var solicitudes = new HashMap<Long, List<Intervalo>>();
+        var endpoints = new HashMap<String, AcumuladoEndpoint>();
+        Instant[] limites = {null, null};
+        recorrer(archivo, evento -> {
+            if (limites[0] == null || evento.getStartTime().isBefore(limites[0])) {
+                limites[0] = evento.getStartTime();
+            }
+            if (limites[1] == null || evento.getEndTime().isAfter(limites[1])) {
+                limites[1] = evento.getEndTime();
+            }
+            if (evento.getEventType().getName().equals(SolicitudEvent.NOMBRE) && evento.getThread() != null) {
+                var endpoint = evento.getString("endpoint");
+                solicitudes.computeIfAbsent(evento.getThread().getJavaThreadId(), k -> new ArrayList<>())
+                        .add(new Intervalo(evento.getStartTime(), evento.getEndTime(), endpoint));
+                endpoints.computeIfAbsent(endpoint, k -> new AcumuladoEndpoint()).agregar(evento.getDuration());
+            }
+        });
+        solicitudes.values().forEach(lista -> lista.sort(Comparator.comparing(Intervalo::inicio)));
+
+        var frames = new HashMap<Frame, long[]>();
+        var contencion = new HashMap<Bloqueo, AcumuladoPausa>();
+        var colectores = new HashMap<String, AcumuladoPausa>();
+        var gc = new AcumuladoPausa();
+        recorrer(archivo, evento -> {
+            switch (evento.getEventType().getName()) {
+                case "jdk.ObjectAllocationSample" -> {
+                    long peso = evento.getLong("weight");
+                    var clave = new Frame(frameSuperior(evento), origen(evento));
+                    var acumulado = frames.computeIfAbsent(clave, k -> new long[2]);
+                    acumulado[0]++;
+                    acumulado[1] += peso;
+                    var endpoint = evento.getThread() != null
+                            ? endpoint(solicitudes.get(evento.getThread().getJavaThreadId()), evento.getStartTime())
+                            : null;
+                    endpoints.computeIfAbsent(endpoint != null ? endpoint : SIN_ENDPOINT,
+                            k -> new AcumuladoEndpoint()).bytes += peso;
+                }
+                case "jdk.JavaMonitorEnter" -> contencion
+                        .computeIfAbsent(new Bloqueo("monitor", nombre(evento.getClass("monitorClass"))),
+                                k -> new AcumuladoPausa())
+                        .agregar(evento.getDuration(), evento.getDuration());
+                case "jdk.ThreadPark" -> contencion
+                        .computeIfAbsent(new Bloqueo("park", nombre(evento.getClass("parkedClass"))),
+                                k -> new AcumuladoPausa())
+                        .agregar(evento.getDuration(), evento.getDuration());
+                case "jdk.GarbageCollection" -> {
+                    var suma = evento.getDuration("sumOfPauses");
+                    var mayor = evento.getDuration("longestPause");
+                    gc.agregar(suma, mayor);
+                    colectores.computeIfAbsent(evento.getString("name"), k -> new AcumuladoPausa()).agregar(suma, mayor);
+                }
+                default -> {
+                }
+            }
+        });
+
+        var topFrames = frames.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Frame, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(maximoFrames)
+                .map(e -> new AsignacionFrame(e.getKey().frame(), e.getKey().origen(), e.getValue()[0], e.getValue()[1]))
+                .toList();
+        var porEndpoint = endpoints.entrySet().stream()
+                .map(e -> e.getValue().resumen(e.getKey()))
+                .sorted(Comparator.comparingLong(AsignacionEndpoint::bytes).reversed())
+                .toList();
+        var porBloqueo = contencion.entrySet().stream()
+                .map(e -> new Contencion(e.getKey().tipo(), e.getKey().clase(), e.getValue().cantidad,
+                        milis(e.getValue().total), milis(e.getValue().maximo)))
+                .sorted(Comparator.comparingDouble(Contencion::totalMs).reversed())
+                .toList();
+        var porColector = colectores.entrySet().stream()
+                .map(e -> new Colector(e.getKey(), e.getValue().cantidad, milis(e.getValue().total)))
+                .sorted(Comparator.comparingDouble(Colector::totalMs).reversed())
+                .toList();
+        return new ReportePerfilado(limites[0], limites[1], topFrames, porEndpoint, porBloqueo,
+                new PausasGc(gc.cantidad, milis(gc.total), milis(gc.maximo), porColector));
+    }
+
+    private static void recorrer(Path archivo, Consumer<RecordedEvent> consumidor) throws IOException {
+        try (var grabacion = new RecordingFile(archivo)) {
+            while (grabacion.hasMoreEvents()) {
+                consumidor.accept(grabacion.readEvent());
+            }
+        }
+    }
+
+    /** Busca la solicitud del hilo que abarca el instante indicado. */
+    private static String endpoint(List<Intervalo> intervalos, Instant instante) {
+        if (intervalos == null) {
+            return null;
+        }
+        int bajo = 0;
+        int alto = intervalos.size() - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            var intervalo = intervalos.get(medio);
+            if (instante.isBefore(intervalo.inicio())) {
+                alto = medio - 1;
+            } else if (instante.isAfter(intervalo.fin())) {
+                bajo = medio + 1;
+            } else {
+                return intervalo.endpoint();
+            }
+        }
+        return null;
+    }
+
+    private static String frameSuperior(RecordedEvent evento) {
+        var pila = evento.getStackTrace();
+        return pila == null || pila.getFrames().isEmpty() ? "(sin pila)" : texto(pila.getFrames().get(0));
+    }
+
+    private static String origen(RecordedEvent evento) {
+        var pila = evento.getStackTrace();
+        if (pila == null) {
+            return null;
+        }
+        for (var frame : pila.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(PAQUETE_APLICACION)) {
+                return texto(frame);
+            }
+        }
+        return null;
+    }
+
+    private static String texto(RecordedFrame frame) {
+        var metodo = frame.getMethod();
+        return metodo.getType().getName() + "." + metodo.getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String nombre(RecordedClass clase) {
+        return clase != null ? clase.getName() : "(desconocida)";
+    }
+
+    private static double milis(Duration duracion) {
+        return duracion.toNanos() / 1_000_000.0;
+    }
+
+    /** Frame superior y primer frame de la aplicación de una muestra de asignación. */
+    private record Frame(String frame, String origen) {
+    }
+
+    /** Tipo de espera y clase del objeto bloqueado. */
+    private record Bloqueo(String tipo, String clase) {
+    }
+
+    /** Intervalo de una solicitud en un hilo. */
+    private record Intervalo(Instant inicio, Instant fin, String endpoint) {
+    }
+
+    /** Solicitudes y asignaciones acumuladas de un endpoint. */
+    private static final class AcumuladoEndpoint {
+
+        private long solicitudes;
+
+        private Duration latencia = Duration.ZERO;
+
+        private Duration maxima = Duration.ZERO;
+
+        private long bytes;
+
+        private void agregar(Duration duracion) {
+            solicitudes++;
+            latencia = latencia.plus(duracion);
+            if (duracion.compareTo(maxima) > 0) {
+                maxima = duracion;
+            }
+        }
+
+        private AsignacionEndpoint resumen(String endpoint) {
+            return new AsignacionEndpoint(endpoint, solicitudes,
+                    solicitudes > 0 ? milis(latencia) / solicitudes : 0, milis(maxima),
+                    bytes, solicitudes > 0 ? bytes / solicitudes : 0);
+        }
+    }
+
+    /** Cantidad, suma y máximo de una serie de pausas. */
+    private static final class AcumuladoPausa {
+
+        private long cantidad;
+
+        private Duration total = Duration.ZERO;
+
+        private Duration maximo = Duration.ZERO;
+
+        private void agregar(Duration suma, Duration mayor) {
+            cantidad++;
+            total = total.plus(suma);
+            if (mayor.compareTo(maximo) > 0) {
+                maximo = mayor;
+            }
+        }
+    }
+}
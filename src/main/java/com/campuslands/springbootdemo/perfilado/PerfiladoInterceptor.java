@@ -0,0 +1,52 @@
+package com.campuslands.springbootdemo.perfilado;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Interceptor que emite un {@link SolicitudEvent} por cada solicitud atendida
+ * por un método de controlador.
+ * <p> * Mientras no hay una grabación activa que incluya el evento, el costo se
+ * reduce a comprobar {@link SolicitudEvent#isEnabled()}.
+ * @since 1.1.0
+ */
+public class PerfiladoInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATRIBUTO = PerfiladoInterceptor.class.getName() + ".evento";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod metodo) {
+            var evento = new SolicitudEvent();
+            if (evento.isEnabled()) {
+                evento.endpoint = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+                evento.metodo = request.getMethod();
+                evento.begin();
+                request.setAttribute(ATRIBUTO, evento);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(ATRIBUTO) instanceof SolicitudEvent evento) {
+            request.removeAttribute(ATRIBUTO);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.estado = response.getStatus();
+                evento.commit();
+            }
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // Las solicitudes asíncronas (SSE) continúan en otros hilos y no se atribuyen.
+        request.removeAttribute(ATRIBUTO);
+    }
+}
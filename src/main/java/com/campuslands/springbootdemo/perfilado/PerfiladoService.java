@@ -0,0 +1,208 @@
+package com.campuslands.springbootdemo.perfilado;
+
+import com.campuslands.springbootdemo.dto.EstadoPerfilado;
+import com.campuslands.springbootdemo.dto.ReportePerfilado;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio que gestiona grabaciones de Java Flight Recorder bajo demanda.
+ * <p> * Parte de la configuración {@code default} del JDK (diseñada para
+ * producción, con sobrecarga cercana al 1 %) y agrega el muestreo de
+ * asignaciones con tasa acotada, las esperas por bloqueos por encima de un
+ * umbral y el evento {@link SolicitudEvent}. Solo admite una grabación a la
+ * vez, con duración y tamaño máximos, y conserva la última grabación
+ * terminada para su descarga.
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "catalogo.perfilado.habilitado", havingValue = "true")
+public class PerfiladoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfiladoService.class);
+
+    private final Duration duracionMaxima;
+
+    private final long tamanoMaximo;
+
+    private final String tasaAsignaciones;
+
+    private final String umbralBloqueos;
+
+    private final int maximoFrames;
+
+    private Recording actual;
+
+    private Path archivo;
+
+    private ReportePerfilado reporte;
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param duracionMaximaSegundos duración máxima de una grabación
+     * @param tamanoMaximoMb tamaño máximo de los datos retenidos en disco
+     * @param tasaAsignaciones muestras de asignación por segundo, p. ej. {@code 150/s}
+     * @param umbralBloqueosMs espera mínima por un bloqueo para registrarla
+     * @param maximoFrames frames incluidos en el reporte
+     */
+    public PerfiladoService(@Value("${catalogo.perfilado.duracion-maxima-segundos:600}") long duracionMaximaSegundos,
+            @Value("${catalogo.perfilado.tamano-maximo-mb:256}") long tamanoMaximoMb,
+            @Value("${catalogo.perfilado.tasa-asignaciones:150/s}") String tasaAsignaciones,
+            @Value("${catalogo.perfilado.umbral-bloqueos-ms:10}") long umbralBloqueosMs,
+            @Value("${catalogo.perfilado.maximo-frames:25}") int maximoFrames) {
+        this.duracionMaxima = Duration.ofSeconds(duracionMaximaSegundos);
+        this.tamanoMaximo = tamanoMaximoMb * 1024 * 1024;
+        this.tasaAsignaciones = tasaAsignaciones;
+        this.umbralBloqueos = umbralBloqueosMs + " ms";
+        this.maximoFrames = maximoFrames;
+    }
+
+    /**
+     * Inicia una grabación.
+     * @param duracionSegundos duración solicitada; se acota a la máxima configurada
+     * @return estado de la grabación iniciada, o {@code null} si ya hay una en curso
+     */
+    public synchronized EstadoPerfilado iniciar(long duracionSegundos) {
+        if (actual != null && actual.getState() == RecordingState.RUNNING) {
+            return null;
+        }
+        terminar();
+
+        var configuracion = new HashMap<>(configuracionBase());
+        configuracion.put("jdk.ObjectAllocationSample#enabled", "true");
+        configuracion.put("jdk.ObjectAllocationSample#throttle", tasaAsignaciones);
+        configuracion.put("jdk.JavaMonitorEnter#enabled", "true");
+        configuracion.put("jdk.JavaMonitorEnter#threshold", umbralBloqueos);
+        configuracion.put("jdk.ThreadPark#enabled", "true");
+        configuracion.put("jdk.ThreadPark#threshold", umbralBloqueos);
+        configuracion.put("jdk.GarbageCollection#enabled", "true");
+        configuracion.put(SolicitudEvent.NOMBRE + "#enabled", "true");
+        configuracion.put(SolicitudEvent.NOMBRE + "#threshold", "0 ms");
+
+        var duracion = Duration.ofSeconds(Math.max(1, Math.min(duracionSegundos, duracionMaxima.toSeconds())));
+        var grabacion = new Recording(configuracion);
+        grabacion.setName("perfilado");
+        grabacion.setToDisk(true);
+        grabacion.setMaxSize(tamanoMaximo);
+        grabacion.setDuration(duracion);
+        grabacion.start();
+        actual = grabacion;
+        log.info("Grabación JFR iniciada por {} s", duracion.toSeconds());
+        return new EstadoPerfilado(true, grabacion.getStartTime(), duracion.toSeconds());
+    }
+
+    /**
+     * Detiene la grabación en curso (o la que terminó por duración), la guarda
+     * y la resume.
+     * @return reporte de la grabación, o {@code null} si no hay ninguna pendiente
+     */
+    public synchronized ReportePerfilado detener() {
+        if (actual == null) {
+            return null;
+        }
+        terminar();
+        return reporte;
+    }
+
+    /**
+     * Devuelve el estado de la grabación.
+     * @return estado actual
+     */
+    public synchronized EstadoPerfilado estado() {
+        if (actual != null && actual.getState() == RecordingState.RUNNING) {
+            return new EstadoPerfilado(true, actual.getStartTime(), actual.getDuration().toSeconds());
+        }
+        return new EstadoPerfilado(false, null, duracionMaxima.toSeconds());
+    }
+
+    /**
+     * Devuelve el reporte de la última grabación terminada.
+     * @return reporte, o {@code null} si no hay ninguno
+     */
+    public synchronized ReportePerfilado reporte() {
+        if (actual != null && actual.getState() == RecordingState.STOPPED) {
+            terminar();
+        }
+        return reporte;
+    }
+
+    /**
+     * Devuelve el archivo de la última grabación terminada.
+     * @return ruta del archivo {@code .jfr}, o {@code null} si no hay ninguno
+     */
+    public synchronized Path grabacion() {
+        if (actual != null && actual.getState() == RecordingState.STOPPED) {
+            terminar();
+        }
+        return archivo;
+    }
+
+    /** Detiene, guarda y analiza la grabación actual, reemplazando la anterior. */
+    private void terminar() {
+        if (actual == null) {
+            return;
+        }
+        var grabacion = actual;
+        actual = null;
+        try {
+            if (grabacion.getState() == RecordingState.RUNNING) {
+                grabacion.stop();
+            }
+            var destino = Files.createTempFile("perfilado-", ".jfr");
+            grabacion.dump(destino);
+            var resumen = AnalizadorGrabacion.analizar(destino, maximoFrames);
+            descartarArchivo();
+            archivo = destino;
+            reporte = resumen;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la grabación JFR", e);
+        } finally {
+            grabacion.close();
+        }
+    }
+
+    private static Map<String, String> configuracionBase() {
+        try {
+            return Configuration.getConfiguration("default").getSettings();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuración JFR 'default' no disponible", e);
+        }
+    }
+
+    private void descartarArchivo() {
+        if (archivo != null) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar la grabación {}", archivo, e);
+            }
+        }
+    }
+
+    /**
+     * Cierra la grabación en curso y elimina el archivo guardado.
+     */
+    @PreDestroy
+    public synchronized void cerrar() {
+        if (actual != null) {
+            actual.close();
+            actual = null;
+        }
+        descartarArchivo();
+    }
+}
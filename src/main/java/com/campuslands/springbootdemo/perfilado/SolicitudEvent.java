@@ -0,0 +1,37 @@
+package com.campuslands.springbootdemo.perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR que abarca la atención de una solicitud HTTP.
+ * <p> * Se emite en el hilo que atiende la solicitud; los eventos del JDK de ese
+ * hilo dentro del intervalo del evento se atribuyen a su {@code endpoint}.
+ * @since 1.1.0
+ */
+@Name(SolicitudEvent.NOMBRE)
+@Label("Solicitud HTTP")
+@Category({"Campuslands", "Web"})
+@Description("Atención de una solicitud por un método de controlador")
+@StackTrace(false)
+public class SolicitudEvent extends Event {
+
+    /** Nombre del evento en las grabaciones. */
+    public static final String NOMBRE = "campuslands.Solicitud";
+
+    /** Controlador y método que atienden la solicitud, p. ej. {@code ProductoController.listar}. */
+    @Label("Endpoint")
+    String endpoint;
+
+    /** Método HTTP. */
+    @Label("Método HTTP")
+    String metodo;
+
+    /** Código de estado de la respuesta. */
+    @Label("Estado")
+    int estado;
+}
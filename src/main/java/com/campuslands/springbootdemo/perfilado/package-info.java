@@ -0,0 +1,8 @@
+/**
+ * Perfilado bajo demanda con Java Flight Recorder.
+ * <p>Incluye el evento JFR que marca cada solicitud con el método del
+ * controlador que la atiende, el interceptor que lo emite, el servicio que
+ * inicia y detiene grabaciones acotadas y el análisis que resume asignaciones
+ * por endpoint, contención de bloqueos y pausas de GC.
+ */
+package com.campuslands.springbootdemo.perfilado;
@@ -0,0 +1,88 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.dto.FiltroProductos;
+import com.campuslands.springbootdemo.entity.Producto;
+import java.util.List;
+
+/**
+ * Consultas de búsqueda de productos compuestas dinámicamente.
+ * <p> * Fragmento de {@link IProductoRepository}; solo se agregan al
+ * {@code WHERE} los criterios presentes en el filtro.
+ * @since 1.1.0
+ */
+public interface BusquedaProductoRepository {
+
+    /** Campos por los que se puede ordenar la búsqueda; el id desempata. */
+    enum Orden {
+        /** Identificador. */
+        ID("id", false),
+        /** Nombre. */
+        NOMBRE("nombre", false),
+        /** Precio; los nulos van primero en orden ascendente. */
+        PRECIO("precio", true),
+        /** Fecha de registro; las nulas van primero en orden ascendente. */
+        FECHA_REGISTRO("fechaRegistro", true);
+
+        private final String atributo;
+
+        private final boolean admiteNulos;
+
+        Orden(String atributo, boolean admiteNulos) {
+            this.atributo = atributo;
+            this.admiteNulos = admiteNulos;
+        }
+
+        /**
+         * Devuelve el atributo JPA del campo de orden.
+         * @return nombre del atributo
+         */
+        public String atributo() {
+            return atributo;
+        }
+
+        /**
+         * Indica si el campo de orden puede ser nulo.
+         * @return {@code true} si admite nulos
+         */
+        public boolean admiteNulos() {
+            return admiteNulos;
+        }
+    }
+
+    /**
+     * Último producto devuelto, desde el cual continúa la página siguiente.
+     * @param valor valor del campo de orden (ignorado al ordenar por id)
+     * @param id identificador del producto
+     */
+    record Posicion(Object valor, long id) {
+    }
+
+    /**
+     * Conteo agrupado por categoría y rango de precio.
+     * @param categoriaId identificador de la categoría
+     * @param rango índice del rango de precio, o {@code -1} si el precio es nulo
+     * @param cantidad productos del grupo
+     */
+    record Conteo(long categoriaId, int rango, long cantidad) {
+    }
+
+    /**
+     * Busca productos con su categoría, ordenados y paginados por cursor.
+     * @param filtro criterios de búsqueda
+     * @param orden campo de orden
+     * @param descendente si el orden es descendente
+     * @param despues último producto de la página anterior, o {@code null}
+     * @param limite cantidad máxima de productos
+     * @return productos encontrados en el orden pedido
+     */
+    List<Producto> buscar(FiltroProductos filtro, Orden orden, boolean descendente, Posicion despues, int limite);
+
+    /**
+     * Cuenta los productos del filtro agrupados por categoría y rango de precio
+     * en una sola consulta.
+     * @param filtro criterios de búsqueda
+     * @param cortes límites ascendentes de los rangos de precio
+     * @return conteos por categoría y rango
+     */
+    List<Conteo> contar(FiltroProductos filtro, List<Double> cortes);
+}
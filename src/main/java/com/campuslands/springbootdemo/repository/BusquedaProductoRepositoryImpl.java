@@ -0,0 +1,136 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.dto.FiltroProductos;
+import com.campuslands.springbootdemo.entity.Producto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación JPQL de {@link BusquedaProductoRepository}.
+ * <p> * Construye el {@code WHERE} a partir de los criterios presentes para que
+ * el optimizador pueda elegir el índice compuesto adecuado. La paginación es
+ * por cursor ({@code WHERE (campo, id) > (valor, id)}), sin {@code OFFSET}.
+ * Los rangos de precio se escriben como literales en una expresión
+ * {@code CASE} agrupable. El filtro por nombre busca el texto en cualquier
+ * posición ({@code LIKE '%texto%'}), así que no usa ningún índice y se
+ * resuelve junto con los demás criterios.
+ * @since 1.1.0
+ */
+class BusquedaProductoRepositoryImpl implements BusquedaProductoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Producto> buscar(FiltroProductos filtro, Orden orden, boolean descendente, Posicion despues,
+            int limite) {
+        var parametros = new HashMap<String, Object>();
+        var jpql = new StringBuilder("select p from Producto p join fetch p.categoria where 1 = 1");
+        condiciones(jpql, parametros, filtro);
+        if (despues != null) {
+            posterior(jpql, parametros, orden, descendente, despues);
+        }
+        var sentido = descendente ? " desc" : " asc";
+        jpql.append(" order by ");
+        if (orden != Orden.ID) {
+            jpql.append("p.").append(orden.atributo()).append(sentido).append(", ");
+        }
+        jpql.append("p.id").append(sentido);
+
+        var consulta = entityManager.createQuery(jpql.toString(), Producto.class).setMaxResults(limite);
+        parametros.forEach(consulta::setParameter);
+        return consulta.getResultList();
+    }
+
+    @Override
+    public List<Conteo> contar(FiltroProductos filtro, List<Double> cortes) {
+        var rango = new StringBuilder("case when p.precio is null then -1");
+        for (int i = 0; i < cortes.size(); i++) {
+            rango.append(" when p.precio < ").append(cortes.get(i).doubleValue()).append(" then ").append(i);
+        }
+        rango.append(" else ").append(cortes.size()).append(" end");
+
+        var parametros = new HashMap<String, Object>();
+        var jpql = new StringBuilder("select p.categoria.id, ").append(rango).append(", count(p) from Producto p where 1 = 1");
+        condiciones(jpql, parametros, filtro);
+        jpql.append(" group by p.categoria.id, ").append(rango);
+
+        var consulta = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parametros.forEach(consulta::setParameter);
+        var conteos = new ArrayList<Conteo>();
+        for (var fila : consulta.getResultList()) {
+            conteos.add(new Conteo(fila.get(0, Long.class), ((Number) fila.get(1)).intValue(),
+                    fila.get(2, Long.class)));
+        }
+        return conteos;
+    }
+
+    private static void condiciones(StringBuilder jpql, Map<String, Object> parametros, FiltroProductos filtro) {
+        if (filtro.nombre() != null && !filtro.nombre().isBlank()) {
+            jpql.append(" and lower(p.nombre) like :nombre escape '!'");
+            parametros.put("nombre", "%" + escaparComodines(filtro.nombre().toLowerCase()) + "%");
+        }
+        if (filtro.precioMinimo() != null) {
+            jpql.append(" and p.precio >= :precioMinimo");
+            parametros.put("precioMinimo", filtro.precioMinimo());
+        }
+        if (filtro.precioMaximo() != null) {
+            jpql.append(" and p.precio <= :precioMaximo");
+            parametros.put("precioMaximo", filtro.precioMaximo());
+        }
+        if (filtro.categoriaIds() != null && !filtro.categoriaIds().isEmpty()) {
+            jpql.append(" and p.categoria.id in :categoriaIds");
+            parametros.put("categoriaIds", filtro.categoriaIds());
+        }
+        if (filtro.enStock() != null) {
+            jpql.append(filtro.enStock() ? " and p.stock > 0" : " and (p.stock is null or p.stock <= 0)");
+        }
+        if (filtro.registradoDesde() != null) {
+            jpql.append(" and p.fechaRegistro >= :registradoDesde");
+            parametros.put("registradoDesde", filtro.registradoDesde());
+        }
+        if (filtro.registradoHasta() != null) {
+            jpql.append(" and p.fechaRegistro <= :registradoHasta");
+            parametros.put("registradoHasta", filtro.registradoHasta());
+        }
+    }
+
+    /**
+     * Agrega la condición de cursor. Los nulos ordenan como el menor valor,
+     * igual que en MySQL: primero en orden ascendente y últimos en descendente.
+     */
+    private static void posterior(StringBuilder jpql, Map<String, Object> parametros, Orden orden,
+            boolean descendente, Posicion despues) {
+        var mayor = descendente ? " < " : " > ";
+        parametros.put("cursorId", despues.id());
+        if (orden == Orden.ID) {
+            jpql.append(" and p.id").append(mayor).append(":cursorId");
+            return;
+        }
+        var campo = "p." + orden.atributo();
+        if (despues.valor() == null) {
+            jpql.append(" and (").append(campo).append(" is null and p.id").append(mayor).append(":cursorId");
+            if (!descendente) {
+                jpql.append(" or ").append(campo).append(" is not null");
+            }
+            jpql.append(")");
+            return;
+        }
+        parametros.put("cursorValor", despues.valor());
+        jpql.append(" and (").append(campo).append(mayor).append(":cursorValor or (")
+                .append(campo).append(" = :cursorValor and p.id").append(mayor).append(":cursorId)");
+        if (descendente && orden.admiteNulos()) {
+            jpql.append(" or ").append(campo).append(" is null");
+        }
+        jpql.append(")");
+    }
+
+    private static String escaparComodines(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,145 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio reactivo de solo lectura sobre las tablas de JPA.
+ * <p> * Usa SQL directo con {@link DatabaseClient}: las filas se convierten en
+ * {@link Producto} y {@link Categoria} sin administrar, con la misma forma JSON
+ * que devuelven los controladores MVC. Los productos se leen con su categoría
+ * en una sola consulta con {@code join}. Las filas se emiten a medida que llegan
+ * y respetan la demanda del suscriptor.
+ * @since 1.1.0
+ */
+@Repository
+@ConditionalOnProperty(name = "catalogo.reactivo.habilitado", havingValue = "true")
+public class CatalogoReactivoRepository {
+
+    private static final String PRODUCTOS = """
+            select p.id, p.sku, p.nombre, p.precio, p.stock, p.fecha_registro, p.categoria_id,
+                   c.nombre as categoria_nombre, c.descripcion as categoria_descripcion,
+                   c.codigo as categoria_codigo, c.descuento as categoria_descuento,
+                   c.stock_minimo as categoria_stock_minimo, c.fecha_creacion as categoria_fecha_creacion
+            from productos p join categorias c on c.id = p.categoria_id
+            """;
+
+    private static final String CATEGORIAS =
+            "select id, nombre, descripcion, codigo, descuento, stock_minimo, fecha_creacion from categorias ";
+
+    private final DatabaseClient cliente;
+
+    /**
+     * Crea una nueva instancia del repositorio.
+     * @param cliente cliente de base de datos reactivo
+     */
+    public CatalogoReactivoRepository(DatabaseClient cliente) {
+        this.cliente = cliente;
+    }
+
+    /**
+     * Busca un producto por id.
+     * @param id identificador del producto
+     * @return producto con su categoría o vacío si no existe
+     */
+    public Mono<Producto> producto(Long id) {
+        return cliente.sql(PRODUCTOS + "where p.id = :id").bind("id", id)
+                .map(CatalogoReactivoRepository::leerProducto).one();
+    }
+
+    /**
+     * Lista todos los productos en orden de id.
+     * @return productos con su categoría
+     */
+    public Flux<Producto> productos() {
+        return cliente.sql(PRODUCTOS + "order by p.id").map(CatalogoReactivoRepository::leerProducto).all();
+    }
+
+    /**
+     * Busca productos cuyo nombre coincide con un patrón {@code like}.
+     * @param patron patrón en minúsculas con los comodines ya escapados
+     * @return productos coincidentes en orden de id
+     */
+    public Flux<Producto> productosPorNombre(String patron) {
+        return cliente.sql(PRODUCTOS + "where lower(p.nombre) like :patron order by p.id").bind("patron", patron)
+                .map(CatalogoReactivoRepository::leerProducto).all();
+    }
+
+    /**
+     * Busca productos con precio mayor al indicado.
+     * @param precio umbral de precio
+     * @return productos coincidentes en orden de id
+     */
+    public Flux<Producto> productosConPrecioMayorA(Double precio) {
+        return cliente.sql(PRODUCTOS + "where p.precio > :precio order by p.id").bind("precio", precio)
+                .map(CatalogoReactivoRepository::leerProducto).all();
+    }
+
+    /**
+     * Busca una categoría por id.
+     * @param id identificador de la categoría
+     * @return categoría o vacío si no existe
+     */
+    public Mono<Categoria> categoria(Long id) {
+        return cliente.sql(CATEGORIAS + "where id = :id").bind("id", id)
+                .map(CatalogoReactivoRepository::leerCategoria).one();
+    }
+
+    /**
+     * Lista todas las categorías en orden de id.
+     * @return categorías
+     */
+    public Flux<Categoria> categorias() {
+        return cliente.sql(CATEGORIAS + "order by id").map(CatalogoReactivoRepository::leerCategoria).all();
+    }
+
+    /**
+     * Busca categorías cuyo nombre coincide con un patrón {@code like}.
+     * @param patron patrón en minúsculas con los comodines ya escapados
+     * @return categorías coincidentes en orden de id
+     */
+    public Flux<Categoria> categoriasPorNombre(String patron) {
+        return cliente.sql(CATEGORIAS + "where lower(nombre) like :patron order by id").bind("patron", patron)
+                .map(CatalogoReactivoRepository::leerCategoria).all();
+    }
+
+    private static Producto leerProducto(Readable fila) {
+        var categoria = new Categoria();
+        categoria.setId(fila.get("categoria_id", Long.class));
+        categoria.setNombre(fila.get("categoria_nombre", String.class));
+        categoria.setDescripcion(fila.get("categoria_descripcion", String.class));
+        categoria.setCodigo(fila.get("categoria_codigo", Integer.class));
+        categoria.setDescuento(fila.get("categoria_descuento", Double.class));
+        categoria.setStockMinimo(fila.get("categoria_stock_minimo", Integer.class));
+        categoria.setFechaCreacion(fila.get("categoria_fecha_creacion", LocalDateTime.class));
+
+        var producto = new Producto();
+        producto.setId(fila.get("id", Long.class));
+        producto.setSku(fila.get("sku", String.class));
+        producto.setNombre(fila.get("nombre", String.class));
+        producto.setPrecio(fila.get("precio", Double.class));
+        producto.setStock(fila.get("stock", Integer.class));
+        producto.setFechaRegistro(fila.get("fecha_registro", LocalDateTime.class));
+        producto.setCategoria(categoria);
+        return producto;
+    }
+
+    private static Categoria leerCategoria(Readable fila) {
+        var categoria = new Categoria();
+        categoria.setId(fila.get("id", Long.class));
+        categoria.setNombre(fila.get("nombre", String.class));
+        categoria.setDescripcion(fila.get("descripcion", String.class));
+        categoria.setCodigo(fila.get("codigo", Integer.class));
+        categoria.setDescuento(fila.get("descuento", Double.class));
+        categoria.setStockMinimo(fila.get("stock_minimo", Integer.class));
+        categoria.setFechaCreacion(fila.get("fecha_creacion", LocalDateTime.class));
+        return categoria;
+    }
+}
@@ -1,6 +1,7 @@
 package com.campuslands.springbootdemo.repository;
 
 import com.campuslands.springbootdemo.entity.Categoria;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -25,4 +26,11 @@ public interface ICategoriaRepository extends JpaRepository<Categoria, Long> {
      * @return lista de categorías con ese código
      */
     List<Categoria> findByCodigo(Integer codigo);
+
+    /**
+     * Busca las categorías cuyos nombres estén en la colección indicada.
+     * @param nombres nombres exactos a buscar
+     * @return categorías encontradas
+     */
+    List<Categoria> findByNombreIn(Collection<String> nombres);
 }
@@ -0,0 +1,22 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.ErrorTrabajo;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio JPA para la entidad {@link ErrorTrabajo}.
+ * @since 1.1.0
+ */
+public interface IErrorTrabajoRepository extends JpaRepository<ErrorTrabajo, Long> {
+
+    /**
+     * Obtiene los errores de un trabajo posteriores al id indicado, en orden.
+     * @param trabajoId identificador del trabajo
+     * @param id último id de error recibido
+     * @param limite cantidad máxima de errores
+     * @return errores ordenados por id
+     */
+    List<ErrorTrabajo> findByTrabajoIdAndIdGreaterThanOrderByIdAsc(Long trabajoId, Long id, Limit limite);
+}
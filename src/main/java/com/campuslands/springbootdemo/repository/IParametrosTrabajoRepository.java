@@ -0,0 +1,11 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.ParametrosTrabajo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio JPA para la entidad {@link ParametrosTrabajo}.
+ * @since 1.1.0
+ */
+public interface IParametrosTrabajoRepository extends JpaRepository<ParametrosTrabajo, Long> {
+}
@@ -0,0 +1,50 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.ProductoArchivado;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repositorio JPA para la entidad {@link ProductoArchivado}.
+ * <p> * El traslado desde {@code productos} se hace con un
+ * {@code INSERT ... SELECT} nativo, sin cargar entidades.
+ * @since 1.1.0
+ */
+public interface IProductoArchivadoRepository extends JpaRepository<ProductoArchivado, Long> {
+
+    /**
+     * Copia a la tabla de archivo los productos indicados que siguen inactivos.
+     * @param ids productos a copiar
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @param ahora fecha del archivado
+     * @return cantidad de filas copiadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+           insert into productos_archivo
+                  (id, sku, nombre, precio, stock, fecha_registro, categoria_id, fecha_archivado)
+           select id, sku, nombre, precio, stock, fecha_registro, categoria_id, :ahora
+             from productos
+            where id in (:ids)
+              and coalesce(stock, 0) = 0
+              and fecha_registro < :antesDe
+           """)
+    int copiarDesdeProductos(@Param("ids") Collection<Long> ids, @Param("antesDe") LocalDateTime antesDe,
+            @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Obtiene los productos archivados registrados en el intervalo, en orden de fecha.
+     * @param desde inicio del intervalo (inclusivo)
+     * @param hasta fin del intervalo (inclusivo)
+     * @param limite cantidad máxima de productos
+     * @return productos archivados ordenados por fecha de registro
+     */
+    List<ProductoArchivado> findByFechaRegistroBetweenOrderByFechaRegistroAscIdAsc(LocalDateTime desde,
+            LocalDateTime hasta, Limit limite);
+}
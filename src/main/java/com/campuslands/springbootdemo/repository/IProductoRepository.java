@@ -1,15 +1,25 @@
 package com.campuslands.springbootdemo.repository;
 
+import com.campuslands.springbootdemo.dto.ProductoPlano;
+import com.campuslands.springbootdemo.dto.ProductoStockBajo;
 import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.memoria.ProductoFila;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repositorio JPA para la entidad {@link Producto}.
- * <p> * Incluye consultas derivadas para búsqueda por nombre y filtro por precio.
+ * <p> * Incluye consultas derivadas para búsqueda por nombre y filtro por precio,
+ * y la búsqueda combinada de {@link BusquedaProductoRepository}.
  * @since 1.0.0
  */
-public interface IProductoRepository extends JpaRepository<Producto, Long> {
+public interface IProductoRepository extends JpaRepository<Producto, Long>, BusquedaProductoRepository {
 
     /**
      * Busca productos cuyo nombre contenga el texto indicado,
@@ -26,4 +36,283 @@ public interface IProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByPrecioGreaterThan(Double precio);
 
+    /**
+     * Obtiene los productos cuyos identificadores estén en la colección,
+     * cargando su categoría en la misma consulta.
+     * @param ids identificadores a buscar
+     * @return productos encontrados, sin orden garantizado
+     */
+    @Query("select p from Producto p join fetch p.categoria where p.id in :ids")
+    List<Producto> findAllConCategoriaByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reprecia en una sola sentencia {@code UPDATE} los productos del alcance indicado.
+     * <p>El nuevo precio es {@code precio * factor + monto}, redondeado a dos
+     * decimales y acotado a cero. Los filtros nulos no restringen el alcance.
+     * @param factor multiplicador a aplicar
+     * @param monto ajuste absoluto a sumar
+     * @param categoriaId categoría del alcance (opcional)
+     * @param precioMinimo precio mínimo incluido (opcional)
+     * @param precioMaximo precio máximo incluido (opcional)
+     * @return cantidad de productos actualizados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           update Producto p
+              set p.precio = case when p.precio * :factor + :monto < 0 then 0.0
+                                  else round(p.precio * :factor + :monto, 2) end
+            where p.precio is not null
+              and (:categoriaId is null or p.categoria.id = :categoriaId)
+              and (:precioMinimo is null or p.precio >= :precioMinimo)
+              and (:precioMaximo is null or p.precio <= :precioMaximo)
+           """)
+    int repreciar(@Param("factor") double factor,
+                  @Param("monto") double monto,
+                  @Param("categoriaId") Long categoriaId,
+                  @Param("precioMinimo") Double precioMinimo,
+                  @Param("precioMaximo") Double precioMaximo);
+
+    /**
+     * Cuenta los productos del alcance de un repreciado.
+     * @param categoriaId categoría del alcance (opcional)
+     * @param precioMinimo precio mínimo incluido (opcional)
+     * @param precioMaximo precio máximo incluido (opcional)
+     * @return cantidad de productos con precio dentro del alcance
+     */
+    @Query("""
+           select count(p) from Producto p
+            where p.precio is not null
+              and (:categoriaId is null or p.categoria.id = :categoriaId)
+              and (:precioMinimo is null or p.precio >= :precioMinimo)
+              and (:precioMaximo is null or p.precio <= :precioMaximo)
+           """)
+    long contarParaRepreciar(@Param("categoriaId") Long categoriaId,
+                             @Param("precioMinimo") Double precioMinimo,
+                             @Param("precioMaximo") Double precioMaximo);
+
+    /**
+     * Obtiene, en orden de id, los productos del alcance de un repreciado con id
+     * mayor al indicado.
+     * @param categoriaId categoría del alcance (opcional)
+     * @param precioMinimo precio mínimo incluido (opcional)
+     * @param precioMaximo precio máximo incluido (opcional)
+     * @param desde último id procesado (exclusivo)
+     * @param limite cantidad máxima de ids
+     * @return ids ordenados ascendentemente
+     */
+    @Query("""
+           select p.id from Producto p
+            where p.precio is not null
+              and p.id > :desde
+              and (:categoriaId is null or p.categoria.id = :categoriaId)
+              and (:precioMinimo is null or p.precio >= :precioMinimo)
+              and (:precioMaximo is null or p.precio <= :precioMaximo)
+            order by p.id
+           """)
+    List<Long> findIdsParaRepreciar(@Param("categoriaId") Long categoriaId,
+                                    @Param("precioMinimo") Double precioMinimo,
+                                    @Param("precioMaximo") Double precioMaximo,
+                                    @Param("desde") long desde,
+                                    Limit limite);
+
+    /**
+     * Reprecia los productos indicados con la misma fórmula que
+     * {@link #repreciar(double, double, Long, Double, Double)}.
+     * @param factor multiplicador a aplicar
+     * @param monto ajuste absoluto a sumar
+     * @param ids productos a repreciar
+     * @return cantidad de productos actualizados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           update Producto p
+              set p.precio = case when p.precio * :factor + :monto < 0 then 0.0
+                                  else round(p.precio * :factor + :monto, 2) end
+            where p.precio is not null
+              and p.id in :ids
+           """)
+    int repreciarIds(@Param("factor") double factor,
+                     @Param("monto") double monto,
+                     @Param("ids") Collection<Long> ids);
+
+    /**
+     * Cuenta los productos de una categoría.
+     * @param categoriaId identificador de la categoría
+     * @return cantidad de productos
+     */
+    long countByCategoriaId(Long categoriaId);
+
+    /**
+     * Obtiene ids de productos de una categoría, en orden de id.
+     * @param categoriaId identificador de la categoría
+     * @param limite cantidad máxima de ids
+     * @return ids ordenados ascendentemente
+     */
+    @Query("select p.id from Producto p where p.categoria.id = :categoriaId order by p.id")
+    List<Long> findIdsByCategoriaId(@Param("categoriaId") Long categoriaId, Limit limite);
+
+    /**
+     * Elimina en una sola sentencia los productos indicados.
+     * @param ids productos a eliminar
+     * @return cantidad de productos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Producto p where p.id in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene los productos registrados en el intervalo, con su categoría, en
+     * orden de fecha. Recorre solo el tramo del índice
+     * {@code idx_productos_fecha_registro} que corresponde al intervalo.
+     * @param desde inicio del intervalo (inclusivo)
+     * @param hasta fin del intervalo (inclusivo)
+     * @param limite cantidad máxima de productos
+     * @return productos ordenados por fecha de registro e id
+     */
+    @Query("""
+           select p from Producto p join fetch p.categoria
+            where p.fechaRegistro between :desde and :hasta
+            order by p.fechaRegistro, p.id
+           """)
+    List<Producto> findByFechaRegistroBetween(@Param("desde") LocalDateTime desde,
+                                              @Param("hasta") LocalDateTime hasta,
+                                              Limit limite);
+
+    /**
+     * Cuenta los productos inactivos: registrados antes de la fecha indicada y sin stock.
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @return cantidad de productos archivables
+     */
+    @Query("select count(p) from Producto p where p.fechaRegistro < :antesDe and coalesce(p.stock, 0) = 0")
+    long contarParaArchivar(@Param("antesDe") LocalDateTime antesDe);
+
+    /**
+     * Obtiene, en orden de id, los productos inactivos con id mayor al indicado.
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @param desde último id procesado (exclusivo)
+     * @param limite cantidad máxima de ids
+     * @return ids ordenados ascendentemente
+     */
+    @Query("""
+           select p.id from Producto p
+            where p.fechaRegistro < :antesDe
+              and coalesce(p.stock, 0) = 0
+              and p.id > :desde
+            order by p.id
+           """)
+    List<Long> findIdsParaArchivar(@Param("antesDe") LocalDateTime antesDe, @Param("desde") long desde,
+                                   Limit limite);
+
+    /**
+     * Bloquea hasta el fin de la transacción los productos indicados que
+     * siguen inactivos, para que nadie les agregue stock mientras se archivan.
+     * @param ids candidatos leídos con {@link #findIdsParaArchivar}
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @return ids bloqueados, en orden ascendente
+     */
+    @Query(nativeQuery = true, value = """
+           select id from productos
+            where id in (:ids)
+              and coalesce(stock, 0) = 0
+              and fecha_registro < :antesDe
+            order by id
+              for update
+           """)
+    List<Long> bloquearParaArchivar(@Param("ids") Collection<Long> ids, @Param("antesDe") LocalDateTime antesDe);
+
+    /**
+     * Elimina en una sola sentencia los productos indicados que siguen inactivos.
+     * @param ids productos a eliminar
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @return cantidad de productos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           delete from Producto p
+            where p.id in :ids
+              and coalesce(p.stock, 0) = 0
+              and p.fechaRegistro < :antesDe
+           """)
+    int eliminarArchivados(@Param("ids") Collection<Long> ids, @Param("antesDe") LocalDateTime antesDe);
+
+    /**
+     * Obtiene todos los productos con su categoría referenciada por id, sin
+     * cargar las categorías.
+     * @return productos planos, sin orden garantizado
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.dto.ProductoPlano(
+                  p.id, p.sku, p.nombre, p.precio, p.stock, p.fechaRegistro, p.categoria.id)
+             from Producto p
+           """)
+    List<ProductoPlano> findPlanos();
+
+    /**
+     * Versión plana de {@link #findByNombreContainingIgnoreCase(String)}.
+     * @param nombre fragmento del nombre a buscar
+     * @return productos planos coincidentes
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.dto.ProductoPlano(
+                  p.id, p.sku, p.nombre, p.precio, p.stock, p.fechaRegistro, p.categoria.id)
+             from Producto p
+            where upper(p.nombre) like upper(concat('%', :#{escape(#nombre)}, '%')) escape :#{escapeCharacter()}
+           """)
+    List<ProductoPlano> findPlanosByNombreContainingIgnoreCase(@Param("nombre") String nombre);
+
+    /**
+     * Versión plana de {@link #findByPrecioGreaterThan(Double)}.
+     * @param precio umbral de precio
+     * @return productos planos con precio mayor
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.dto.ProductoPlano(
+                  p.id, p.sku, p.nombre, p.precio, p.stock, p.fechaRegistro, p.categoria.id)
+             from Producto p
+            where p.precio > :precio
+           """)
+    List<ProductoPlano> findPlanosByPrecioGreaterThan(@Param("precio") Double precio);
+
+    /**
+     * Obtiene filas compactas de productos con id mayor al indicado, en orden de id.
+     * Permite recorrer la tabla completa por páginas sin cargar entidades.
+     * @param desde último id leído (exclusivo)
+     * @param limite cantidad máxima de filas
+     * @return filas ordenadas por id
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.memoria.ProductoFila(
+                  p.id, p.sku, p.nombre, p.precio, p.stock, p.fechaRegistro, p.categoria.id)
+             from Producto p
+            where p.id > :desde
+            order by p.id
+           """)
+    List<ProductoFila> findFilasDesde(@Param("desde") long desde, Limit limite);
+
+    /**
+     * Obtiene filas compactas de los productos indicados.
+     * @param ids identificadores a buscar
+     * @return filas encontradas, sin orden garantizado
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.memoria.ProductoFila(
+                  p.id, p.sku, p.nombre, p.precio, p.stock, p.fechaRegistro, p.categoria.id)
+             from Producto p
+            where p.id in :ids
+           """)
+    List<ProductoFila> findFilasByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene los productos cuyo stock es menor al umbral de reposición de su categoría.
+     * Un stock nulo cuenta como cero.
+     * @param umbralPredeterminado umbral para las categorías sin {@code stockMinimo}
+     * @return productos bajo su umbral, sin orden garantizado
+     */
+    @Query("""
+           select new com.campuslands.springbootdemo.dto.ProductoStockBajo(
+                  p.id, p.sku, p.nombre, coalesce(p.stock, 0), coalesce(c.stockMinimo, :umbral), c.id)
+             from Producto p join p.categoria c
+            where coalesce(p.stock, 0) < coalesce(c.stockMinimo, :umbral)
+           """)
+    List<ProductoStockBajo> findStockBajo(@Param("umbral") int umbralPredeterminado);
 }
@@ -0,0 +1,50 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repositorio JPA para la entidad {@link RegistroCambio}.
+ * <p> * Permite leer el registro de cambios por id creciente y depurar
+ * las entradas antiguas.
+ * @since 1.1.0
+ */
+public interface IRegistroCambioRepository extends JpaRepository<RegistroCambio, Long> {
+
+    /**
+     * Obtiene las entradas posteriores al id indicado, en orden.
+     * @param id último id ya procesado
+     * @param limite cantidad máxima de entradas
+     * @return entradas con id mayor, ordenadas por id
+     */
+    List<RegistroCambio> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Devuelve el mayor id registrado.
+     * @return último id, o {@code null} si el registro está vacío
+     */
+    @Query("select max(r.id) from RegistroCambio r")
+    Long ultimoId();
+
+    /**
+     * Devuelve el menor id conservado.
+     * @return primer id, o {@code null} si el registro está vacío
+     */
+    @Query("select min(r.id) from RegistroCambio r")
+    Long primerId();
+
+    /**
+     * Elimina las entradas anteriores a la fecha indicada.
+     * @param fecha fecha límite (exclusiva)
+     * @return cantidad de entradas eliminadas
+     */
+    @Modifying
+    @Query("delete from RegistroCambio r where r.fecha < :fecha")
+    int eliminarAnterioresA(@Param("fecha") LocalDateTime fecha);
+}
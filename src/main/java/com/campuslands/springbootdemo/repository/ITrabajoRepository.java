@@ -0,0 +1,93 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.entity.ResumenTrabajo;
+import com.campuslands.springbootdemo.entity.Trabajo;
+import com.campuslands.springbootdemo.entity.Trabajo.Estado;
+import com.campuslands.springbootdemo.entity.Trabajo.Tipo;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repositorio JPA para la entidad {@link Trabajo}.
+ * <p> * Incluye las actualizaciones condicionales con las que un nodo reclama
+ * un trabajo pendiente sin que otro lo tome a la vez.
+ * @since 1.1.0
+ */
+public interface ITrabajoRepository extends JpaRepository<Trabajo, Long> {
+
+    /**
+     * Obtiene los ids de los trabajos más antiguos en el estado indicado.
+     * @param estado estado buscado
+     * @param limite cantidad máxima de ids
+     * @return ids en orden ascendente
+     */
+    @Query("select t.id from Trabajo t where t.estado = :estado order by t.id")
+    List<Long> findIdsByEstado(@Param("estado") Estado estado, Limit limite);
+
+    /**
+     * Obtiene las columnas de progreso de un trabajo.
+     * @param id identificador del trabajo
+     * @return resumen del trabajo, si existe
+     */
+    Optional<ResumenTrabajo> findResumenById(Long id);
+
+    /**
+     * Indica si hay trabajos del tipo indicado en alguno de los estados.
+     * @param tipo tipo de trabajo
+     * @param estados estados buscados
+     * @return {@code true} si existe alguno
+     */
+    boolean existsByTipoAndEstadoIn(Tipo tipo, Collection<Estado> estados);
+
+    /**
+     * Obtiene un trabajo bloqueando su fila hasta el fin de la transacción.
+     * @param id identificador del trabajo
+     * @return trabajo, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trabajo t where t.id = :id")
+    Optional<Trabajo> findBloqueadoById(@Param("id") Long id);
+
+    /**
+     * Pasa un trabajo pendiente a en curso si ningún otro nodo lo tomó antes.
+     * @param id identificador del trabajo
+     * @param nodo nodo que lo reclama
+     * @param ahora fecha del reclamo
+     * @return {@code 1} si se reclamó, {@code 0} si no
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+           update Trabajo t
+              set t.estado = com.campuslands.springbootdemo.entity.Trabajo.Estado.EN_CURSO,
+                  t.nodo = :nodo, t.latido = :ahora, t.intentos = t.intentos + 1
+            where t.id = :id
+              and t.estado = com.campuslands.springbootdemo.entity.Trabajo.Estado.PENDIENTE
+           """)
+    int reclamar(@Param("id") Long id, @Param("nodo") String nodo, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Devuelve a pendiente los trabajos en curso cuyo nodo dejó de dar señales.
+     * @param limite latido mínimo para considerar vivo al nodo
+     * @return cantidad de trabajos recuperados
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+           update Trabajo t
+              set t.estado = com.campuslands.springbootdemo.entity.Trabajo.Estado.PENDIENTE
+            where t.estado = com.campuslands.springbootdemo.entity.Trabajo.Estado.EN_CURSO
+              and t.latido < :limite
+           """)
+    int liberarHuerfanos(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,191 @@
+package com.campuslands.springbootdemo.repository;
+
+import com.campuslands.springbootdemo.dto.CategoriaUpsert;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JDBC para la sincronización masiva de categorías y productos.
+ * <p> * Lee el estado actual por clave de negocio con consultas {@code IN} y
+ * escribe con sentencias {@code INSERT ... ON DUPLICATE KEY UPDATE} de varias
+ * filas, de modo que cada bloque de filas se resuelve en una sola sentencia.
+ * En MySQL la actualización referencia la fila nueva con un alias
+ * ({@code INSERT ... AS nueva ON DUPLICATE KEY UPDATE c = nueva.c}), ya que
+ * {@code VALUES()} está obsoleto desde 8.0.20; con otras bases de datos, como
+ * la H2 de las pruebas, que no admiten el alias, se mantiene {@code VALUES()}.
+ * <p> * La collation de las columnas no distingue mayúsculas ni acentos, así
+ * que los resultados de lectura se indexan por {@link #clave(String)} y quien
+ * los consulta debe usar la misma normalización.
+ * @since 1.1.0
+ */
+@Repository
+public class UpsertCatalogoRepository {
+
+    /** Filas por sentencia de lectura o escritura. */
+    public static final int TAMANO_BLOQUE = 1_000;
+
+    private final JdbcTemplate jdbc;
+
+    private final NamedParameterJdbcTemplate jdbcNombrado;
+
+    /** Si la base de datos admite el alias de fila; se resuelve en la primera escritura. */
+    private volatile Boolean aliasDeFila;
+
+    /**
+     * Crea una nueva instancia del repositorio.
+     * @param jdbc plantilla JDBC
+     * @param jdbcNombrado plantilla JDBC con parámetros nombrados
+     */
+    public UpsertCatalogoRepository(JdbcTemplate jdbc, NamedParameterJdbcTemplate jdbcNombrado) {
+        this.jdbc = jdbc;
+        this.jdbcNombrado = jdbcNombrado;
+    }
+
+    /**
+     * Estado persistido de un producto, identificado por su SKU.
+     * @param sku código de negocio
+     * @param nombre nombre
+     * @param precio precio unitario
+     * @param stock unidades disponibles
+     * @param categoriaId categoría asociada
+     */
+    public record ProductoPersistido(String sku, String nombre, Double precio, Integer stock, Long categoriaId) {
+    }
+
+    /**
+     * Normaliza una clave de negocio como la compara la base de datos: sin
+     * distinguir mayúsculas ni acentos.
+     * @param valor SKU o nombre
+     * @return clave normalizada, o {@code null} si el valor es nulo
+     */
+    public static String clave(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        return Normalizer.normalize(valor, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Obtiene las categorías existentes con los nombres indicados.
+     * @param nombres nombres a buscar (a lo sumo {@link #TAMANO_BLOQUE})
+     * @return categorías persistidas indexadas por {@link #clave(String) clave} del nombre
+     */
+    public Map<String, CategoriaUpsert> categoriasPorNombre(Collection<String> nombres) {
+        var existentes = new HashMap<String, CategoriaUpsert>(nombres.size() * 2);
+        jdbcNombrado.query("select nombre, descripcion, codigo, descuento from categorias where nombre in (:nombres)",
+                Map.of("nombres", nombres),
+                rs -> {
+                    var nombre = rs.getString("nombre");
+                    existentes.put(clave(nombre), new CategoriaUpsert(nombre, rs.getString("descripcion"),
+                            rs.getObject("codigo", Integer.class), rs.getObject("descuento", Double.class)));
+                });
+        return existentes;
+    }
+
+    /**
+     * Obtiene los productos existentes con los SKU indicados.
+     * @param skus SKU a buscar (a lo sumo {@link #TAMANO_BLOQUE})
+     * @return productos persistidos indexados por {@link #clave(String) clave} del SKU
+     */
+    public Map<String, ProductoPersistido> productosPorSku(Collection<String> skus) {
+        var existentes = new HashMap<String, ProductoPersistido>(skus.size() * 2);
+        jdbcNombrado.query("select sku, nombre, precio, stock, categoria_id from productos where sku in (:skus)",
+                Map.of("skus", skus),
+                rs -> {
+                    var sku = rs.getString("sku");
+                    existentes.put(clave(sku), new ProductoPersistido(sku, rs.getString("nombre"),
+                            rs.getObject("precio", Double.class), rs.getObject("stock", Integer.class),
+                            rs.getObject("categoria_id", Long.class)));
+                });
+        return existentes;
+    }
+
+    /**
+     * Obtiene los ids de los productos con los SKU indicados.
+     * @param skus SKU a buscar (a lo sumo {@link #TAMANO_BLOQUE})
+     * @return ids de los productos existentes
+     */
+    public List<Long> idsPorSku(Collection<String> skus) {
+        return jdbcNombrado.queryForList("select id from productos where sku in (:skus)", Map.of("skus", skus),
+                Long.class);
+    }
+
+    /**
+     * Inserta o actualiza las categorías en una sola sentencia.
+     * @param filas categorías a escribir (a lo sumo {@link #TAMANO_BLOQUE})
+     * @param ahora fecha de creación para las filas nuevas
+     */
+    public void upsertCategorias(List<CategoriaUpsert> filas, LocalDateTime ahora) {
+        var sql = new StringBuilder("insert into categorias (nombre, descripcion, codigo, descuento, fecha_creacion) values ");
+        var parametros = new ArrayList<Object>(filas.size() * 5);
+        var fecha = Timestamp.valueOf(ahora);
+        for (int i = 0; i < filas.size(); i++) {
+            var fila = filas.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            parametros.add(fila.nombre());
+            parametros.add(fila.descripcion());
+            parametros.add(fila.codigo());
+            parametros.add(fila.descuento());
+            parametros.add(fecha);
+        }
+        sql.append(alActualizar("descripcion", "codigo", "descuento"));
+        jdbc.update(sql.toString(), parametros.toArray());
+    }
+
+    /**
+     * Inserta o actualiza los productos en una sola sentencia.
+     * @param filas productos a escribir (a lo sumo {@link #TAMANO_BLOQUE}), con la categoría ya resuelta
+     * @param ahora fecha de registro para las filas nuevas
+     */
+    public void upsertProductos(List<ProductoPersistido> filas, LocalDateTime ahora) {
+        var sql = new StringBuilder("insert into productos (sku, nombre, precio, stock, categoria_id, fecha_registro) values ");
+        var parametros = new ArrayList<Object>(filas.size() * 6);
+        var fecha = Timestamp.valueOf(ahora);
+        for (int i = 0; i < filas.size(); i++) {
+            var fila = filas.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+            parametros.add(fila.sku());
+            parametros.add(fila.nombre());
+            parametros.add(fila.precio());
+            parametros.add(fila.stock());
+            parametros.add(fila.categoriaId());
+            parametros.add(fecha);
+        }
+        sql.append(alActualizar("nombre", "precio", "stock", "categoria_id"));
+        jdbc.update(sql.toString(), parametros.toArray());
+    }
+
+    /** Cláusula {@code ON DUPLICATE KEY UPDATE} que copia las columnas indicadas de la fila nueva. */
+    private String alActualizar(String... columnas) {
+        boolean alias = usaAliasDeFila();
+        var sql = new StringBuilder(alias ? " as nueva on duplicate key update " : " on duplicate key update ");
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columnas[i]).append(alias ? " = nueva." + columnas[i] : " = values(" + columnas[i] + ")");
+        }
+        return sql.toString();
+    }
+
+    private boolean usaAliasDeFila() {
+        var alias = aliasDeFila;
+        if (alias == null) {
+            alias = jdbc.execute((ConnectionCallback<Boolean>) conexion ->
+                    "MySQL".equalsIgnoreCase(conexion.getMetaData().getDatabaseProductName()));
+            aliasDeFila = alias;
+        }
+        return Boolean.TRUE.equals(alias);
+    }
+}
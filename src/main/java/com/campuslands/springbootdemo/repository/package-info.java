@@ -1,6 +1,8 @@
 /**
  * Repositorios JPA que gestionan la persistencia de las entidades.
  * <p>Extienden {@code JpaRepository} para facilitar el acceso a datos
- * y permiten consultas personalizadas.
+ * y permiten consultas personalizadas. Las escrituras masivas que no se
+ * expresan bien en JPA usan JDBC directamente, y las lecturas de la API
+ * reactiva usan R2DBC sobre las mismas tablas.
  */
 package com.campuslands.springbootdemo.repository;
@@ -0,0 +1,84 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Tipo;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Utilidades para construir {@link CambioCatalogoEvent} desde los servicios.
+ * @since 1.1.0
+ */
+final class Cambios {
+
+    private Cambios() {
+    }
+
+    /**
+     * Agrega el campo al conjunto si su valor cambia.
+     * @param campos campos modificados acumulados
+     * @param campo nombre del campo
+     * @param anterior valor persistido
+     * @param nuevo valor recibido
+     */
+    static void comparar(Set<String> campos, String campo, Object anterior, Object nuevo) {
+        if (!Objects.equals(anterior, nuevo)) {
+            campos.add(campo);
+        }
+    }
+
+    /**
+     * Crea el evento de alta de una fila.
+     * @param entidad entidad creada
+     * @param id identificador asignado
+     * @param campos campos informados en el alta
+     * @return evento de creación
+     */
+    static CambioCatalogoEvent creado(Entidad entidad, Long id, Set<String> campos) {
+        return new CambioCatalogoEvent(entidad, Tipo.CREADO, id, campos);
+    }
+
+    /**
+     * Crea el evento de modificación de una fila.
+     * @param entidad entidad modificada
+     * @param id identificador de la fila
+     * @param campos campos modificados
+     * @return evento de actualización
+     */
+    static CambioCatalogoEvent actualizado(Entidad entidad, Long id, Set<String> campos) {
+        return new CambioCatalogoEvent(entidad, Tipo.ACTUALIZADO, id, Set.copyOf(campos));
+    }
+
+    /**
+     * Crea el evento de baja de una fila.
+     * @param entidad entidad eliminada
+     * @param id identificador de la fila
+     * @return evento de eliminación
+     */
+    static CambioCatalogoEvent eliminado(Entidad entidad, Long id) {
+        return new CambioCatalogoEvent(entidad, Tipo.ELIMINADO, id, Set.of());
+    }
+
+    /**
+     * Crea el evento de una modificación masiva.
+     * @param entidad entidad afectada
+     * @param campos campos modificados
+     * @return evento masivo
+     */
+    static CambioCatalogoEvent masivo(Entidad entidad, Set<String> campos) {
+        return new CambioCatalogoEvent(entidad, Tipo.MASIVO, null, campos);
+    }
+
+    /**
+     * Crea el evento de una modificación masiva de filas conocidas.
+     * @param entidad entidad afectada
+     * @param campos campos modificados
+     * @param ids identificadores de las filas afectadas
+     * @return evento masivo
+     */
+    static CambioCatalogoEvent masivo(Entidad entidad, Set<String> campos, Collection<Long> ids) {
+        return new CambioCatalogoEvent(entidad, Tipo.MASIVO, null, Set.copyOf(ids), campos, false);
+    }
+}
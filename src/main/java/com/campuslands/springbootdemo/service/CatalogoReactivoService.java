@@ -0,0 +1,108 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.repository.CatalogoReactivoRepository;
+import java.util.Locale;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio de lecturas no bloqueantes de productos y categorías.
+ * <p> * Equivalente reactivo de {@code obtener}, {@code listar},
+ * {@code buscarPorNombre} y {@code buscarPorPrecioMayorA} de
+ * {@link ProductoService} y {@link CategoriaService}, con la misma semántica:
+ * las búsquedas por nombre no distinguen mayúsculas y tratan {@code %} y
+ * {@code _} como caracteres literales. Siempre consulta la base de datos,
+ * también con {@code catalogo.almacenamiento=memoria}.
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "catalogo.reactivo.habilitado", havingValue = "true")
+public class CatalogoReactivoService {
+
+    private final CatalogoReactivoRepository repositorio;
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param repositorio repositorio reactivo del catálogo
+     */
+    public CatalogoReactivoService(CatalogoReactivoRepository repositorio) {
+        this.repositorio = repositorio;
+    }
+
+    /**
+     * Obtiene un producto por id.
+     * @param id identificador del producto
+     * @return producto o vacío si no existe
+     */
+    public Mono<Producto> obtenerProducto(Long id) {
+        return repositorio.producto(id);
+    }
+
+    /**
+     * Lista todos los productos.
+     * @return productos en orden de id
+     */
+    public Flux<Producto> listarProductos() {
+        return repositorio.productos();
+    }
+
+    /**
+     * Busca productos cuyo nombre contiene el texto indicado.
+     * @param nombre fragmento del nombre
+     * @return productos coincidentes
+     */
+    public Flux<Producto> buscarProductosPorNombre(String nombre) {
+        return repositorio.productosPorNombre(contiene(nombre));
+    }
+
+    /**
+     * Busca productos con precio mayor al indicado.
+     * @param precio umbral de precio
+     * @return productos coincidentes
+     */
+    public Flux<Producto> buscarProductosPorPrecioMayorA(Double precio) {
+        return repositorio.productosConPrecioMayorA(precio);
+    }
+
+    /**
+     * Obtiene una categoría por id.
+     * @param id identificador de la categoría
+     * @return categoría o vacío si no existe
+     */
+    public Mono<Categoria> obtenerCategoria(Long id) {
+        return repositorio.categoria(id);
+    }
+
+    /**
+     * Lista todas las categorías.
+     * @return categorías en orden de id
+     */
+    public Flux<Categoria> listarCategorias() {
+        return repositorio.categorias();
+    }
+
+    /**
+     * Busca categorías cuyo nombre contiene el texto indicado.
+     * @param nombre fragmento del nombre
+     * @return categorías coincidentes
+     */
+    public Flux<Categoria> buscarCategoriasPorNombre(String nombre) {
+        return repositorio.categoriasPorNombre(contiene(nombre));
+    }
+
+    /**
+     * Patrón {@code like} que busca el texto en cualquier posición. La barra
+     * invertida es el carácter de escape predeterminado en MySQL y en H2.
+     */
+    private static String contiene(String texto) {
+        String escapado = texto.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+}
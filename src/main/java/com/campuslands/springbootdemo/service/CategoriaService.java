@@ -1,27 +1,69 @@
 package com.campuslands.springbootdemo.service;
 
+import com.campuslands.springbootdemo.dto.CategoriaUpsert;
+import com.campuslands.springbootdemo.dto.ResultadoLote;
+import com.campuslands.springbootdemo.dto.ResultadoUpsert;
 import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.memoria.CatalogoMemoria;
 import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import com.campuslands.springbootdemo.repository.UpsertCatalogoRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Servicio de negocio para gestionar {@link Categoria}.
  * <p> * Expone operaciones CRUD y búsquedas por nombre y código. 
+ * Cada escritura publica un {@link com.campuslands.springbootdemo.event.CambioCatalogoEvent}.
+ * Con {@code catalogo.almacenamiento=memoria} las lecturas se resuelven en
+ * {@link CatalogoMemoria} sin consultar la base de datos.
  * @since 1.0.0
  */
 @Service
 public class CategoriaService {
 
+    /** Campos informados en el alta de una categoría. */
+    private static final Set<String> CAMPOS = Set.of("nombre", "descripcion", "codigo", "descuento", "stockMinimo",
+            "fechaCreacion");
+
     private final ICategoriaRepository categoriaRepository;
 
+    private final IProductoRepository productoRepository;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final UpsertCatalogoRepository upsertRepository;
+
+    private final CatalogoMemoria catalogoMemoria;
+
     /**
      * Crea una nueva instancia del servicio.     
      * @param categoriaRepository repositorio de categorías
+     * @param productoRepository repositorio de productos
+     * @param upsertRepository repositorio de sincronización masiva
+     * @param eventos publicador de eventos de cambio
+     * @param catalogoMemoria almacén en memoria, disponible solo en modo {@code memoria}
      */
-    public CategoriaService(ICategoriaRepository categoriaRepository) {
+    public CategoriaService(ICategoriaRepository categoriaRepository, IProductoRepository productoRepository,
+            UpsertCatalogoRepository upsertRepository, ApplicationEventPublisher eventos,
+            ObjectProvider<CatalogoMemoria> catalogoMemoria) {
         this.categoriaRepository = categoriaRepository;
+        this.productoRepository = productoRepository;
+        this.upsertRepository = upsertRepository;
+        this.eventos = eventos;
+        this.catalogoMemoria = catalogoMemoria.getIfAvailable();
     }
 
     /**
@@ -29,10 +71,13 @@ public class CategoriaService {
      * @param categoria datos de la categoría
      * @return categoría persistida
      */
+    @Transactional
     public Categoria crear(Categoria categoria) {
         categoria.setFechaCreacion(LocalDateTime.now());
 
-        return categoriaRepository.save(categoria);
+        var creada = categoriaRepository.save(categoria);
+        eventos.publishEvent(Cambios.creado(Entidad.CATEGORIA, creada.getId(), CAMPOS));
+        return creada;
     }
 
     /**
@@ -41,14 +86,42 @@ public class CategoriaService {
      * @return la categoría si existe, o {@code null} en caso contrario
      */
     public Categoria obtener(Long id) {
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.categoria(id);
+        }
         return categoriaRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Obtiene varias categorías por sus identificadores.
+     * <p>Los ids se resuelven en bloques de consultas {@code IN} y el resultado
+     * respeta el orden de la solicitud; los duplicados se ignoran.
+     * @param ids identificadores de las categorías
+     * @return categorías encontradas e identificadores inexistentes
+     */
+    public ResultadoLote<Categoria> obtenerVarias(Collection<Long> ids) {
+        var unicos = Lotes.unicos(ids);
+        var encontradas = new ArrayList<Categoria>(unicos.size());
+        if (catalogoMemoria != null) {
+            unicos.stream().map(catalogoMemoria::categoria).filter(Objects::nonNull).forEach(encontradas::add);
+        } else {
+            for (var bloque : Lotes.bloques(unicos)) {
+                encontradas.addAll(categoriaRepository.findAllById(bloque));
+            }
+        }
+        var noEncontradas = new ArrayList<Long>();
+        var ordenadas = Lotes.ordenar(unicos, Lotes.indexar(encontradas, Categoria::getId), noEncontradas);
+        return new ResultadoLote<>(ordenadas, noEncontradas);
+    }
+
     /**
      * Lista todas las categorías.     
      * @return lista de categorías
      */
     public List<Categoria> listar() {
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.categorias();
+        }
         return categoriaRepository.findAll();
     }
 
@@ -58,6 +131,7 @@ public class CategoriaService {
      * @param categoria datos a actualizar
      * @return categoría actualizada o {@code null} si no existe
      */
+    @Transactional
     public Categoria actualizar(Long id, Categoria categoria) {
         var categoriaDB = categoriaRepository.findById(id).orElse(null);
 
@@ -65,20 +139,123 @@ public class CategoriaService {
             return null;
         }
 
+        var campos = new HashSet<String>();
+        Cambios.comparar(campos, "nombre", categoriaDB.getNombre(), categoria.getNombre());
+        Cambios.comparar(campos, "descripcion", categoriaDB.getDescripcion(), categoria.getDescripcion());
+        Cambios.comparar(campos, "codigo", categoriaDB.getCodigo(), categoria.getCodigo());
+        Cambios.comparar(campos, "descuento", categoriaDB.getDescuento(), categoria.getDescuento());
+        Cambios.comparar(campos, "stockMinimo", categoriaDB.getStockMinimo(), categoria.getStockMinimo());
+
         categoriaDB.setNombre(categoria.getNombre());
         categoriaDB.setDescripcion(categoria.getDescripcion());
         categoriaDB.setCodigo(categoria.getCodigo());
         categoriaDB.setDescuento(categoria.getDescuento());
+        categoriaDB.setStockMinimo(categoria.getStockMinimo());
+
+        var actualizada = categoriaRepository.save(categoriaDB);
+        if (!campos.isEmpty()) {
+            eventos.publishEvent(Cambios.actualizado(Entidad.CATEGORIA, id, campos));
+        }
+        return actualizada;
+    }
+
+    /**
+     * Inserta o actualiza categorías identificadas por su nombre.
+     * <p>El estado actual se lee por bloques con consultas {@code IN}; solo las
+     * filas nuevas o con algún cambio se escriben, con sentencias de varias filas.
+     * Repetir la misma carga no modifica nada. Si un nombre aparece varias veces
+     * prevalece la última aparición.
+     * @param filas categorías a sincronizar
+     * @return cantidad de filas insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Transactional
+    public ResultadoUpsert upsert(List<CategoriaUpsert> filas) {
+        var rechazadas = new ArrayList<String>();
+        var porNombre = new LinkedHashMap<String, CategoriaUpsert>(filas.size() * 2);
+        for (int i = 0; i < filas.size(); i++) {
+            var fila = filas.get(i);
+            if (fila == null || fila.nombre() == null || fila.nombre().isBlank()) {
+                rechazadas.add("fila " + i + ": nombre requerido");
+            } else {
+                // Como en la base de datos, los nombres no distinguen mayúsculas ni acentos.
+                var clave = UpsertCatalogoRepository.clave(fila.nombre());
+                porNombre.remove(clave);
+                porNombre.put(clave, fila);
+            }
+        }
 
-        return categoriaRepository.save(categoriaDB);
+        int insertadas = 0;
+        int actualizadas = 0;
+        var ahora = LocalDateTime.now();
+        var pendientes = new ArrayList<CategoriaUpsert>(UpsertCatalogoRepository.TAMANO_BLOQUE);
+        for (var bloque : Lotes.bloques(List.copyOf(porNombre.keySet()), UpsertCatalogoRepository.TAMANO_BLOQUE)) {
+            var existentes = upsertRepository.categoriasPorNombre(
+                    bloque.stream().map(c -> porNombre.get(c).nombre()).toList());
+            for (var clave : bloque) {
+                var fila = porNombre.get(clave);
+                var actual = existentes.get(clave);
+                if (actual == null) {
+                    insertadas++;
+                    pendientes.add(fila);
+                } else if (!actual.equals(new CategoriaUpsert(actual.nombre(), fila.descripcion(), fila.codigo(),
+                        fila.descuento()))) {
+                    // El nombre guardado se conserva: solo cuentan los demás campos.
+                    actualizadas++;
+                    pendientes.add(fila);
+                }
+            }
+            if (!pendientes.isEmpty()) {
+                upsertRepository.upsertCategorias(pendientes, ahora);
+                pendientes.clear();
+            }
+        }
+
+        if (insertadas + actualizadas > 0) {
+            eventos.publishEvent(Cambios.masivo(Entidad.CATEGORIA, CAMPOS));
+        }
+        return new ResultadoUpsert(insertadas, actualizadas, porNombre.size() - insertadas - actualizadas, rechazadas);
     }
 
     /**
-     * Elimina una categoría por su identificador.     
+     * Elimina una categoría por su identificador.
+     * Sus productos se eliminan en cascada, por lo que también se publica
+     * un cambio masivo de productos.
      * @param id identificador de la categoría
      */
+    @Transactional
     public void eliminar(Long id) {
         categoriaRepository.deleteById(id);
+        eventos.publishEvent(Cambios.eliminado(Entidad.CATEGORIA, id));
+        eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, Set.of()));
+    }
+
+    /**
+     * Cuenta los productos de una categoría.
+     * @param id identificador de la categoría
+     * @return cantidad de productos
+     */
+    public long contarProductos(Long id) {
+        return productoRepository.countByCategoriaId(id);
+    }
+
+    /**
+     * Elimina el siguiente bloque de productos de una categoría.
+     * <p>Permite vaciar una categoría grande en varias transacciones cortas
+     * antes de {@link #eliminar(Long)}, en lugar de cargar y borrar en cascada
+     * todos sus productos en una sola.
+     * @param id identificador de la categoría
+     * @param tamano cantidad máxima de productos del bloque
+     * @return cantidad de productos eliminados; {@code 0} si ya no quedan
+     */
+    @Transactional
+    public int eliminarProductosBloque(Long id, int tamano) {
+        var ids = productoRepository.findIdsByCategoriaId(id, Limit.of(tamano));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int eliminados = productoRepository.eliminarPorIds(ids);
+        eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, Set.of(), ids));
+        return eliminados;
     }
 
     /**
@@ -87,6 +264,9 @@ public class CategoriaService {
      * @return lista de coincidencias
      */
     public List<Categoria> buscarPorNombre(String nombre) {
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.categoriasPorNombre(nombre);
+        }
         return categoriaRepository.findByNombreContainingIgnoreCase(nombre);
     }
 
@@ -96,6 +276,9 @@ public class CategoriaService {
      * @return lista de coincidencias
      */
     public List<Categoria> buscarPorCodigo(Integer codigo) {
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.categoriasPorCodigo(codigo);
+        }
         return categoriaRepository.findByCodigo(codigo);
     }
 
@@ -0,0 +1,137 @@
+package com.campuslands.springbootdemo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Agrupa consultas idénticas concurrentes en una sola ejecución (single-flight).
+ * <p> * La primera solicitud de una clave ejecuta la consulta; las que llegan
+ * mientras está en curso esperan y reciben el mismo resultado o la misma
+ * excepción. La clave se retira al terminar, por lo que no se cachea nada.
+ * Si hay demasiadas claves en curso, la consulta se ejecuta sin agrupar.
+ * <p>Cada escritura confirmada debe notificarse con {@link #invalidar()}: una
+ * solicitud solo se une a una ejecución iniciada después de la última
+ * escritura que ya conocía, de modo que quien acaba de escribir siempre lee
+ * su propio cambio. Quien inicia la consulta recibe el resultado original y
+ * quienes esperan reciben una copia, para no compartir instancias entre hilos
+ * ni contextos de persistencia.
+ * @param <K> tipo de la clave de la consulta
+ * @param <V> tipo del resultado
+ * @since 1.1.0
+ */
+final class Coalescedor<K, V> {
+
+    private final ConcurrentHashMap<K, Vuelo<V>> enCurso = new ConcurrentHashMap<>();
+
+    /** Escrituras notificadas; cada ejecución recuerda el valor que vio al iniciar. */
+    private final AtomicLong escrituras = new AtomicLong();
+
+    private final int maximoClaves;
+
+    private final UnaryOperator<V> copia;
+
+    private final Counter solicitudes;
+
+    private final Counter compartidas;
+
+    /**
+     * Crea un coalescedor y registra sus métricas.
+     * @param operacion nombre de la operación, usado como etiqueta de las métricas
+     * @param maximoClaves cantidad máxima de claves en curso simultáneamente
+     * @param copia copia del resultado entregada a quienes se unen a una ejecución en curso
+     * @param registro registro de métricas
+     */
+    Coalescedor(String operacion, int maximoClaves, UnaryOperator<V> copia, MeterRegistry registro) {
+        this.maximoClaves = maximoClaves;
+        this.copia = copia;
+        this.solicitudes = Counter.builder("catalogo.coalescencia.solicitudes")
+                .tag("operacion", operacion).description("Consultas recibidas").register(registro);
+        this.compartidas = Counter.builder("catalogo.coalescencia.compartidas")
+                .tag("operacion", operacion).description("Consultas resueltas con una ejecución ya en curso").register(registro);
+        Gauge.builder("catalogo.coalescencia.en_curso", enCurso, ConcurrentHashMap::size)
+                .tag("operacion", operacion).description("Claves con una consulta en curso").register(registro);
+    }
+
+    /**
+     * Ejecuta la consulta o se une a una ejecución en curso para la misma clave.
+     * @param clave clave que identifica la consulta
+     * @param consulta consulta a ejecutar
+     * @return resultado de la consulta, posiblemente {@code null}
+     * @throws IllegalArgumentException si la clave es {@code null}
+     */
+    V obtener(K clave, Supplier<V> consulta) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave de la consulta no puede ser nula");
+        }
+        solicitudes.increment();
+
+        if (enCurso.size() >= maximoClaves) {
+            return consulta.get();
+        }
+
+        var propia = new Vuelo<V>(escrituras.get(), new CompletableFuture<>());
+        while (true) {
+            var existente = enCurso.putIfAbsent(clave, propia);
+            if (existente == null) {
+                break;
+            }
+            if (existente.escrituras() >= propia.escrituras()) {
+                compartidas.increment();
+                V resultado = esperar(existente.resultado());
+                return resultado != null ? copia.apply(resultado) : null;
+            }
+            // La ejecución en curso empezó antes de una escritura que esta solicitud ya conoce.
+            if (enCurso.replace(clave, existente, propia)) {
+                break;
+            }
+        }
+
+        try {
+            V resultado = consulta.get();
+            propia.resultado().complete(resultado);
+            return resultado;
+        } catch (Throwable e) {
+            propia.resultado().completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    /**
+     * Registra una escritura confirmada: las solicitudes posteriores ya no se
+     * unen a las ejecuciones iniciadas antes.
+     */
+    void invalidar() {
+        escrituras.incrementAndGet();
+    }
+
+    private V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ejecución en curso.
+     * @param escrituras escrituras notificadas al iniciarla
+     * @param resultado resultado compartido con quienes se unen
+     */
+    private record Vuelo<V>(long escrituras, CompletableFuture<V> resultado) {
+    }
+}
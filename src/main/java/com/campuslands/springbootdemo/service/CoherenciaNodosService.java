@@ -0,0 +1,142 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio que mantiene coherentes los nodos que comparten la base de datos.
+ * <p> * Consulta el registro de cambios cada {@code catalogo.coherencia.intervalo-ms}
+ * con una lectura por clave primaria ({@code id > marca}) y vuelve a publicar
+ * como {@link CambioCatalogoEvent} remoto cada cambio hecho por otro nodo. Así,
+ * cualquier oyente que invalida una caché en memoria lo hace también ante las
+ * escrituras recibidas por los demás nodos, con un retraso acotado por el
+ * intervalo de consulta, sin un intermediario de mensajería.
+ * <p>La lectura empieza en el último id existente al arrancar: los cambios
+ * anteriores no afectan a cachés que aún están vacías.
+ * <p>El sondeo corre en un hilo propio y no en el planificador compartido de
+ * {@code @Scheduled}: en ese planificador esperaría detrás del archivado, las
+ * reconciliaciones y demás tareas largas, y el retraso dejaría de estar
+ * acotado por el intervalo.
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "catalogo.coherencia.habilitado", havingValue = "true", matchIfMissing = true)
+public class CoherenciaNodosService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoherenciaNodosService.class);
+
+    private final RegistroCambiosService registroCambiosService;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final LectorRegistroCambios lector;
+
+    private final Timer retraso;
+
+    private final long intervaloMillis;
+
+    private final ScheduledExecutorService sondeos =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("coherencia-nodos").daemon().factory());
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param registroRepository repositorio del registro de cambios
+     * @param registroCambiosService servicio que identifica a este nodo
+     * @param eventos publicador de eventos de cambio
+     * @param registro registro de métricas
+     * @param tamanoLote entradas leídas por consulta
+     * @param esperaHuecoMillis espera máxima por ids faltantes del registro de cambios
+     * @param intervaloMillis pausa entre dos consultas del registro de cambios
+     */
+    public CoherenciaNodosService(IRegistroCambioRepository registroRepository,
+            RegistroCambiosService registroCambiosService, ApplicationEventPublisher eventos, MeterRegistry registro,
+            @Value("${catalogo.coherencia.tamano-lote:1000}") int tamanoLote,
+            @Value("${catalogo.coherencia.espera-hueco-ms:5000}") long esperaHuecoMillis,
+            @Value("${catalogo.coherencia.intervalo-ms:200}") long intervaloMillis) {
+        this.registroCambiosService = registroCambiosService;
+        this.eventos = eventos;
+        this.lector = new LectorRegistroCambios(registroRepository,
+                Objects.requireNonNullElse(registroRepository.ultimoId(), 0L), tamanoLote, esperaHuecoMillis);
+        this.retraso = Timer.builder("catalogo.coherencia.retraso")
+                .description("Tiempo entre un cambio en otro nodo y su publicación local")
+                .register(registro);
+        this.intervaloMillis = intervaloMillis;
+    }
+
+    /**
+     * Programa el sondeo periódico en el hilo propio del servicio.
+     */
+    @PostConstruct
+    public void iniciar() {
+        sondeos.scheduleWithFixedDelay(() -> {
+            try {
+                sondear();
+            } catch (RuntimeException e) {
+                // Un fallo no debe cancelar los sondeos siguientes.
+                log.warn("No se pudo leer el registro de cambios", e);
+            }
+        }, intervaloMillis, intervaloMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lee las entradas nuevas del registro y publica las de otros nodos.
+     */
+    public synchronized void sondear() {
+        lector.leer(this::publicar);
+    }
+
+    /**
+     * Detiene el hilo de sondeo.
+     */
+    @PreDestroy
+    public void cerrar() {
+        sondeos.shutdownNow();
+    }
+
+    private void publicar(List<RegistroCambio> entradas) {
+        var nodo = registroCambiosService.getNodo();
+        var ahora = LocalDateTime.now();
+        for (var entrada : entradas) {
+            if (nodo.equals(entrada.getNodo())) {
+                continue;
+            }
+            eventos.publishEvent(new CambioCatalogoEvent(entrada.getEntidad(), entrada.getTipo(),
+                    entrada.getEntidadId(), ids(entrada.getIds()), campos(entrada.getCampos()), true));
+            var demora = Duration.between(entrada.getFecha(), ahora);
+            if (!demora.isNegative()) {
+                retraso.record(demora);
+            }
+        }
+    }
+
+    private static Set<Long> ids(String ids) {
+        return ids == null || ids.isEmpty() ? Set.of() : Arrays.stream(ids.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Set<String> campos(String campos) {
+        return campos == null || campos.isEmpty() ? Set.of() : Set.of(campos.split(","));
+    }
+}
@@ -0,0 +1,245 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.dto.EventoCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Servicio que difunde los cambios del catálogo a clientes suscritos por SSE.
+ * <p> * Recibe los {@link CambioCatalogoEvent} después del commit, les asigna
+ * una versión creciente y los guarda en un anillo en memoria para permitir
+ * reanudar desde {@code Last-Event-ID}. Cada suscriptor tiene un buffer acotado;
+ * si se llena, la conexión se cierra y el cliente reanuda desde su último id.
+ * Los envíos se hacen desde un pool pequeño, sin retener un hilo por conexión.
+ * <p>La secuencia parte de la hora de arranque en microsegundos, de modo que
+ * sigue creciendo entre reinicios y un id anterior al anillo se detecta como
+ * imposible de reanudar.
+ * @since 1.1.0
+ */
+@Service
+public class FeedCambiosService {
+
+    /** Nombre del evento SSE que indica al cliente que debe recargar su estado. */
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    /** Nombre del evento SSE de cada cambio. */
+    public static final String EVENTO_CAMBIO = "cambio";
+
+    private static final long SIN_REINICIO = -1;
+
+    private final EventoCambio[] anillo;
+
+    private final int capacidadCliente;
+
+    private final long timeoutMillis;
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService envios;
+
+    private long ultimaVersion = System.currentTimeMillis() * 1000;
+
+    private int cantidad;
+
+    /**
+     * Crea el servicio del flujo de cambios.
+     * @param capacidadAnillo cantidad de cambios recientes disponibles para reanudar
+     * @param capacidadCliente cambios pendientes máximos por suscriptor
+     * @param timeoutMillis duración máxima de una conexión antes de que el cliente deba reconectar
+     * @param hilosEnvio hilos dedicados a escribir en las conexiones
+     * @param latidoSegundos intervalo de los comentarios de mantenimiento de conexión
+     * @param registro registro de métricas
+     */
+    public FeedCambiosService(@Value("${catalogo.cambios.capacidad-anillo:4096}") int capacidadAnillo,
+            @Value("${catalogo.cambios.capacidad-cliente:256}") int capacidadCliente,
+            @Value("${catalogo.cambios.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${catalogo.cambios.hilos-envio:2}") int hilosEnvio,
+            @Value("${catalogo.cambios.latido-segundos:20}") int latidoSegundos,
+            MeterRegistry registro) {
+        this.anillo = new EventoCambio[capacidadAnillo];
+        this.capacidadCliente = capacidadCliente;
+        this.timeoutMillis = timeoutMillis;
+        this.envios = Executors.newScheduledThreadPool(hilosEnvio, Thread.ofPlatform().name("feed-cambios-", 0).daemon().factory());
+        this.envios.scheduleAtFixedRate(this::latido, latidoSegundos, latidoSegundos, TimeUnit.SECONDS);
+        Gauge.builder("catalogo.cambios.suscriptores", suscriptores, Set::size)
+                .description("Clientes suscritos al flujo de cambios").register(registro);
+    }
+
+    /**
+     * Publica un cambio confirmado a todos los suscriptores.
+     * @param cambio cambio del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioCatalogoEvent cambio) {
+        var pendientes = new ArrayList<Suscriptor>();
+        synchronized (anillo) {
+            var evento = new EventoCambio(++ultimaVersion, cambio.entidad(), cambio.tipo(), cambio.id(), cambio.campos());
+            anillo[(int) (evento.version() % anillo.length)] = evento;
+            cantidad = Math.min(cantidad + 1, anillo.length);
+
+            for (var suscriptor : suscriptores) {
+                if (suscriptor.desbordado) {
+                    // Tras el primer cambio perdido no se encola ninguno más: si se enviara uno
+                    // posterior, el cliente reanudaría desde su id y nunca recibiría el perdido.
+                    continue;
+                }
+                if (!suscriptor.cola.offer(evento)) {
+                    suscriptor.desbordado = true;
+                }
+                pendientes.add(suscriptor);
+            }
+        }
+        pendientes.forEach(this::programar);
+    }
+
+    /**
+     * Registra un nuevo suscriptor y, si corresponde, le reenvía los cambios
+     * posteriores a {@code ultimoId}.
+     * @param ultimoId último id de evento recibido por el cliente, o {@code null}
+     * @return emisor SSE de la conexión
+     */
+    public SseEmitter suscribir(String ultimoId) {
+        var suscriptor = new Suscriptor(new SseEmitter(timeoutMillis), capacidadCliente);
+        suscriptor.emisor.onCompletion(() -> suscriptores.remove(suscriptor));
+        suscriptor.emisor.onTimeout(() -> suscriptores.remove(suscriptor));
+        suscriptor.emisor.onError(e -> suscriptores.remove(suscriptor));
+
+        Long desde = parsear(ultimoId);
+        synchronized (anillo) {
+            if (desde != null) {
+                var recientes = posteriores(desde);
+                if (recientes == null || recientes.size() > capacidadCliente) {
+                    suscriptor.reinicio = ultimaVersion;
+                } else {
+                    suscriptor.cola.addAll(recientes);
+                }
+            }
+            suscriptores.add(suscriptor);
+        }
+        programar(suscriptor);
+        return suscriptor.emisor;
+    }
+
+    /**
+     * Devuelve los cambios del anillo con versión mayor a {@code desde}.
+     * Debe invocarse con el monitor del anillo tomado.
+     * @return cambios pendientes, o {@code null} si ya no están en el anillo
+     */
+    private List<EventoCambio> posteriores(long desde) {
+        long primera = ultimaVersion - cantidad + 1;
+        if (desde > ultimaVersion || desde < primera - 1) {
+            return null;
+        }
+        var recientes = new ArrayList<EventoCambio>((int) (ultimaVersion - desde));
+        for (long version = desde + 1; version <= ultimaVersion; version++) {
+            recientes.add(anillo[(int) (version % anillo.length)]);
+        }
+        return recientes;
+    }
+
+    private static Long parsear(String ultimoId) {
+        if (ultimoId == null || ultimoId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private void programar(Suscriptor suscriptor) {
+        if (suscriptor.programado.compareAndSet(false, true)) {
+            envios.execute(() -> enviar(suscriptor));
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            long reinicio = suscriptor.reinicio;
+            if (reinicio != SIN_REINICIO) {
+                // El id del reinicio fija el punto desde el cual el cliente reanudará.
+                suscriptor.reinicio = SIN_REINICIO;
+                suscriptor.emisor.send(SseEmitter.event().id(Long.toString(reinicio)).name(EVENTO_REINICIO).data(""));
+            }
+            EventoCambio evento;
+            while ((evento = suscriptor.cola.poll()) != null) {
+                suscriptor.emisor.send(SseEmitter.event()
+                        .id(Long.toString(evento.version()))
+                        .name(EVENTO_CAMBIO)
+                        .data(evento, MediaType.APPLICATION_JSON));
+            }
+            if (suscriptor.desbordado) {
+                // El cliente reanudará desde el último id entregado.
+                suscriptores.remove(suscriptor);
+                suscriptor.emisor.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            suscriptores.remove(suscriptor);
+            suscriptor.emisor.completeWithError(e);
+            return;
+        } finally {
+            suscriptor.programado.set(false);
+        }
+        if (!suscriptor.cola.isEmpty()) {
+            programar(suscriptor);
+        }
+    }
+
+    private void latido() {
+        for (var suscriptor : suscriptores) {
+            try {
+                suscriptor.emisor.send(SseEmitter.event().comment("latido"));
+            } catch (IOException | IllegalStateException e) {
+                suscriptores.remove(suscriptor);
+            }
+        }
+    }
+
+    /**
+     * Cierra las conexiones abiertas al detener la aplicación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        envios.shutdownNow();
+        suscriptores.forEach(suscriptor -> suscriptor.emisor.complete());
+        suscriptores.clear();
+    }
+
+    /** Conexión SSE con su buffer de cambios pendientes. */
+    private static final class Suscriptor {
+
+        private final SseEmitter emisor;
+
+        private final ArrayBlockingQueue<EventoCambio> cola;
+
+        private final AtomicBoolean programado = new AtomicBoolean();
+
+        private volatile boolean desbordado;
+
+        private volatile long reinicio = SIN_REINICIO;
+
+        private Suscriptor(SseEmitter emisor, int capacidad) {
+            this.emisor = emisor;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+    }
+}
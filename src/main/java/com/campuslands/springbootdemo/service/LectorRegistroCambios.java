@@ -0,0 +1,125 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Lector incremental del registro de cambios.
+ * <p> * Los ids autoincrementales pueden confirmarse fuera de orden: una
+ * transacción que obtuvo el id 10 puede terminar después de la que obtuvo
+ * el 11. Por eso el lector solo avanza su marca confirmada sobre ids
+ * contiguos y espera a los huecos durante {@code esperaHuecoMillis} antes
+ * de darlos por descartados (por ejemplo, por un rollback).
+ * <p>No es seguro para uso concurrente; cada consumidor usa su propia instancia.
+ * @since 1.1.0
+ */
+public class LectorRegistroCambios {
+
+    /** Distancia a partir de la cual un hueco inicial se considera depurado y no se espera. */
+    private static final long SALTO_MAXIMO = 100_000;
+
+    private final IRegistroCambioRepository registroRepository;
+
+    private final int tamanoLote;
+
+    private final long esperaHuecoNanos;
+
+    private final TreeSet<Long> procesados = new TreeSet<>();
+
+    private final Map<Long, Long> huecos = new HashMap<>();
+
+    private long confirmado;
+
+    /**
+     * Crea un lector.
+     * @param registroRepository repositorio del registro de cambios
+     * @param desde id a partir del cual leer (exclusivo)
+     * @param tamanoLote entradas leídas por consulta
+     * @param esperaHuecoMillis tiempo que se espera a que aparezca un id faltante
+     */
+    public LectorRegistroCambios(IRegistroCambioRepository registroRepository, long desde, int tamanoLote,
+            long esperaHuecoMillis) {
+        this.registroRepository = registroRepository;
+        this.confirmado = desde;
+        this.tamanoLote = tamanoLote;
+        this.esperaHuecoNanos = esperaHuecoMillis * 1_000_000;
+    }
+
+    /**
+     * Lee las entradas nuevas y las entrega al consumidor, en lotes ordenados por id.
+     * @param consumidor recibe cada lote de entradas no procesadas
+     * @return cantidad de entradas entregadas
+     */
+    public int leer(Consumer<List<RegistroCambio>> consumidor) {
+        int entregadas = 0;
+        long desde = confirmado;
+        List<RegistroCambio> lote;
+        do {
+            lote = registroRepository.findByIdGreaterThanOrderByIdAsc(desde, Limit.of(tamanoLote));
+            var nuevas = lote.stream().filter(registro -> !procesados.contains(registro.getId())).toList();
+            if (!nuevas.isEmpty()) {
+                consumidor.accept(nuevas);
+                entregadas += nuevas.size();
+                nuevas.forEach(registro -> procesados.add(registro.getId()));
+            }
+            if (!lote.isEmpty()) {
+                desde = lote.get(lote.size() - 1).getId();
+            }
+        } while (lote.size() == tamanoLote);
+        avanzar(System.nanoTime());
+        return entregadas;
+    }
+
+    private void avanzar(long ahora) {
+        if (procesados.isEmpty()) {
+            huecos.clear();
+            return;
+        }
+        long maximo = procesados.last();
+        if (procesados.first() - confirmado > SALTO_MAXIMO) {
+            // Las entradas intermedias ya no existen (depuración del registro).
+            confirmado = procesados.first() - 1;
+            huecos.clear();
+        }
+        for (long id = confirmado + 1; id < maximo; id++) {
+            if (!procesados.contains(id)) {
+                huecos.putIfAbsent(id, ahora);
+            }
+        }
+        while (confirmado < maximo) {
+            long siguiente = confirmado + 1;
+            if (procesados.remove(siguiente)) {
+                confirmado = siguiente;
+            } else if (ahora - huecos.getOrDefault(siguiente, ahora) >= esperaHuecoNanos) {
+                huecos.remove(siguiente);
+                confirmado = siguiente;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reinicia el lector en la posición indicada, descartando el estado pendiente.
+     * @param desde id a partir del cual leer (exclusivo)
+     */
+    public void reiniciar(long desde) {
+        procesados.clear();
+        huecos.clear();
+        confirmado = desde;
+    }
+
+    /**
+     * Devuelve el mayor id tal que todos los anteriores fueron procesados o descartados.
+     * @return marca confirmada
+     */
+    public long getConfirmado() {
+        return confirmado;
+    }
+}
@@ -0,0 +1,99 @@
+package com.campuslands.springbootdemo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Utilidades para consultas por lote de identificadores.
+ * <p> * Divide listas largas en bloques para acotar el tamaño de las cláusulas
+ * {@code IN} y reordena los resultados según el orden de la solicitud.
+ * @since 1.1.0
+ */
+final class Lotes {
+
+    /** Cantidad máxima de identificadores por cláusula {@code IN}. */
+    static final int TAMANO_BLOQUE = 500;
+
+    private Lotes() {
+    }
+
+    /**
+     * Elimina nulos y duplicados conservando el orden original.
+     * @param ids identificadores solicitados
+     * @return identificadores únicos en orden de aparición
+     */
+    static List<Long> unicos(Collection<Long> ids) {
+        var unicos = new LinkedHashSet<Long>(ids.size());
+        for (Long id : ids) {
+            if (id != null) {
+                unicos.add(id);
+            }
+        }
+        return new ArrayList<>(unicos);
+    }
+
+    /**
+     * Divide la lista en bloques de a lo sumo {@link #TAMANO_BLOQUE} elementos.
+     * @param ids identificadores a dividir
+     * @return vistas consecutivas de la lista original
+     */
+    static List<List<Long>> bloques(List<Long> ids) {
+        return bloques(ids, TAMANO_BLOQUE);
+    }
+
+    /**
+     * Divide la lista en bloques de a lo sumo {@code tamano} elementos.
+     * @param <T> tipo de elemento
+     * @param elementos elementos a dividir
+     * @param tamano cantidad máxima de elementos por bloque
+     * @return vistas consecutivas de la lista original
+     */
+    static <T> List<List<T>> bloques(List<T> elementos, int tamano) {
+        var bloques = new ArrayList<List<T>>((elementos.size() + tamano - 1) / tamano);
+        for (int desde = 0; desde < elementos.size(); desde += tamano) {
+            bloques.add(elementos.subList(desde, Math.min(desde + tamano, elementos.size())));
+        }
+        return bloques;
+    }
+
+    /**
+     * Ordena las entidades encontradas según los identificadores solicitados.
+     * @param <T> tipo de entidad
+     * @param ids identificadores solicitados, sin duplicados
+     * @param porId entidades encontradas indexadas por id
+     * @param noEncontrados lista donde se agregan los ids inexistentes
+     * @return entidades en el orden de {@code ids}
+     */
+    static <T> List<T> ordenar(List<Long> ids, Map<Long, T> porId, List<Long> noEncontrados) {
+        var ordenadas = new ArrayList<T>(porId.size());
+        for (Long id : ids) {
+            T entidad = porId.get(id);
+            if (entidad != null) {
+                ordenadas.add(entidad);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return ordenadas;
+    }
+
+    /**
+     * Indexa entidades por su identificador.
+     * @param <T> tipo de entidad
+     * @param entidades entidades a indexar
+     * @param id función que extrae el identificador
+     * @return mapa id → entidad
+     */
+    static <T> Map<Long, T> indexar(Collection<T> entidades, Function<T, Long> id) {
+        var porId = new HashMap<Long, T>(entidades.size() * 2);
+        for (T entidad : entidades) {
+            porId.put(id.apply(entidad), entidad);
+        }
+        return porId;
+    }
+}
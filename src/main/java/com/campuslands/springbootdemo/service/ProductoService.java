@@ -1,33 +1,132 @@
 package com.campuslands.springbootdemo.service;
 
+import com.campuslands.springbootdemo.dto.ComparacionFormas;
+import com.campuslands.springbootdemo.dto.FiltroProductos;
+import com.campuslands.springbootdemo.dto.ListaNormalizada;
+import com.campuslands.springbootdemo.dto.ProductoPlano;
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.dto.RepreciarRequest;
+import com.campuslands.springbootdemo.dto.ResultadoLote;
+import com.campuslands.springbootdemo.dto.ResultadoBusqueda;
+import com.campuslands.springbootdemo.dto.ResultadoBusqueda.FacetaCategoria;
+import com.campuslands.springbootdemo.dto.ResultadoBusqueda.FacetaPrecio;
+import com.campuslands.springbootdemo.dto.ResultadoMasivo;
+import com.campuslands.springbootdemo.dto.ResultadoUpsert;
 import com.campuslands.springbootdemo.entity.Categoria;
 import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.entity.ProductoArchivado;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.memoria.CatalogoMemoria;
+import com.campuslands.springbootdemo.repository.BusquedaProductoRepository.Orden;
+import com.campuslands.springbootdemo.repository.BusquedaProductoRepository.Posicion;
 import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import com.campuslands.springbootdemo.repository.IProductoArchivadoRepository;
 import com.campuslands.springbootdemo.repository.IProductoRepository;
+import com.campuslands.springbootdemo.repository.UpsertCatalogoRepository;
+import com.campuslands.springbootdemo.repository.UpsertCatalogoRepository.ProductoPersistido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Servicio de negocio para gestionar {@link Producto}.
  * <p> * Controla la asociación con {@link Categoria} y las operaciones CRUD.
+ * Cada escritura publica un {@link com.campuslands.springbootdemo.event.CambioCatalogoEvent}.
+ * Con {@code catalogo.almacenamiento=memoria} las lecturas por id, el listado
+ * y las búsquedas por nombre y por precio se resuelven en
+ * {@link CatalogoMemoria} sin consultar la base de datos. Los intervalos por
+ * fecha ({@link #registradosEntre}, {@link #archivadosEntre}) y la búsqueda
+ * paginada con facetas ({@link #buscar}) siguen consultando la base de datos
+ * en ese modo, igual que la lista de stock bajo de {@link StockBajoService}.
  * @since 1.0.0
  */
 @Service
 public class ProductoService {
 
+    /** Campos informados en el alta de un producto. */
+    private static final Set<String> CAMPOS = Set.of("sku", "nombre", "precio", "stock", "fechaRegistro", "categoria");
+
     private final IProductoRepository productoRepository;
 
     private final ICategoriaRepository categoriaRepository;
 
+    private final UpsertCatalogoRepository upsertRepository;
+
+    private final IProductoArchivadoRepository archivoRepository;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final ObjectMapper json;
+
+    private final CatalogoMemoria catalogoMemoria;
+
+    private final Coalescedor<Long, Producto> consultasPorId;
+
+    private final Coalescedor<String, List<Producto>> consultasPorNombre;
+
+    private final Coalescedor<Double, List<Producto>> consultasPorPrecio;
+
+    private final int tamanoMaximoBusqueda;
+
+    private final List<Double> rangosPrecio;
+
     /**
      * Crea una nueva instancia del servicio.     
      * @param productoRepository repositorio de productos
      * @param categoriaRepository repositorio de categorías
+     * @param upsertRepository repositorio de sincronización masiva
+     * @param archivoRepository repositorio de productos archivados
+     * @param eventos publicador de eventos de cambio
+     * @param json conversor JSON, usado para comparar formas de respuesta
+     * @param catalogoMemoria almacén en memoria, disponible solo en modo {@code memoria}
+     * @param registro registro de métricas
+     * @param maximoClavesCoalescidas máximo de consultas distintas agrupadas en curso por operación
+     * @param tamanoMaximoBusqueda productos máximos por página de búsqueda
+     * @param rangosPrecio límites ascendentes de los rangos de precio de las facetas
      */
-    public ProductoService(IProductoRepository productoRepository, ICategoriaRepository categoriaRepository) {
+    public ProductoService(IProductoRepository productoRepository, ICategoriaRepository categoriaRepository,
+            UpsertCatalogoRepository upsertRepository, IProductoArchivadoRepository archivoRepository,
+            ApplicationEventPublisher eventos, ObjectMapper json, ObjectProvider<CatalogoMemoria> catalogoMemoria,
+            MeterRegistry registro,
+            @Value("${catalogo.coalescencia.maximo-claves:10000}") int maximoClavesCoalescidas,
+            @Value("${catalogo.busqueda.tamano-maximo:100}") int tamanoMaximoBusqueda,
+            @Value("${catalogo.busqueda.rangos-precio:50,100,250,500,1000}") List<Double> rangosPrecio) {
         this.productoRepository = productoRepository;
         this.categoriaRepository = categoriaRepository;
+        this.upsertRepository = upsertRepository;
+        this.archivoRepository = archivoRepository;
+        this.eventos = eventos;
+        this.json = json;
+        this.catalogoMemoria = catalogoMemoria.getIfAvailable();
+        this.consultasPorId = new Coalescedor<>("obtener", maximoClavesCoalescidas, ProductoService::copiar, registro);
+        this.consultasPorNombre = new Coalescedor<>("buscarPorNombre", maximoClavesCoalescidas,
+                ProductoService::copiarTodos, registro);
+        this.consultasPorPrecio = new Coalescedor<>("buscarPorPrecioMayorA", maximoClavesCoalescidas,
+                ProductoService::copiarTodos, registro);
+        this.tamanoMaximoBusqueda = tamanoMaximoBusqueda;
+        this.rangosPrecio = rangosPrecio.stream().filter(Objects::nonNull).distinct().sorted().toList();
     }
 
     /**
@@ -37,6 +136,7 @@ public class ProductoService {
      * @param categoriaId identificador de la categoría
      * @return producto creado o {@code null} si la categoría no existe
      */
+    @Transactional
     public Producto crear(Producto producto, Long categoriaId) {
         Categoria categoria = categoriaRepository.findById(categoriaId).orElse(null);
 
@@ -47,16 +147,44 @@ public class ProductoService {
         producto.setCategoria(categoria);
         producto.setFechaRegistro(LocalDateTime.now());
 
-        return productoRepository.save(producto);
+        var creado = productoRepository.save(producto);
+        eventos.publishEvent(Cambios.creado(Entidad.PRODUCTO, creado.getId(), CAMPOS));
+        return creado;
     }
 
     /**
      * Obtiene un producto por su identificador.
+     * <p>Las consultas concurrentes por el mismo id comparten una sola lectura.
      * @param id identificador del producto
      * @return el producto si existe, o {@code null} en caso contrario
      */
     public Producto obtener(Long id) {
-        return productoRepository.findById(id).orElse(null);
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.producto(id);
+        }
+        return consultasPorId.obtener(id, () -> productoRepository.findById(id).orElse(null));
+    }
+
+    /**
+     * Obtiene varios productos por sus identificadores con su categoría.
+     * <p>Los ids se resuelven en bloques de consultas {@code IN} y el resultado
+     * respeta el orden de la solicitud; los duplicados se ignoran.
+     * @param ids identificadores de los productos
+     * @return productos encontrados e identificadores inexistentes
+     */
+    public ResultadoLote<Producto> obtenerVarios(Collection<Long> ids) {
+        var unicos = Lotes.unicos(ids);
+        var encontrados = new ArrayList<Producto>(unicos.size());
+        if (catalogoMemoria != null) {
+            unicos.stream().map(catalogoMemoria::producto).filter(Objects::nonNull).forEach(encontrados::add);
+        } else {
+            for (var bloque : Lotes.bloques(unicos)) {
+                encontrados.addAll(productoRepository.findAllConCategoriaByIdIn(bloque));
+            }
+        }
+        var noEncontrados = new ArrayList<Long>();
+        var ordenados = Lotes.ordenar(unicos, Lotes.indexar(encontrados, Producto::getId), noEncontrados);
+        return new ResultadoLote<>(ordenados, noEncontrados);
     }
 
     /**
@@ -64,17 +192,23 @@ public class ProductoService {
      * @return lista de productos
      */
     public List<Producto> listar() {
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.productos();
+        }
         return productoRepository.findAll();
     }
 
     /**
      * Actualiza los campos editables de un producto existente.
      * Puede reasignar la categoría si se proporciona un {@code categoriaId}.
+     * Si el cuerpo no trae {@code sku} se conserva el actual: los clientes
+     * anteriores a ese campo no lo envían.
      * @param id identificador del producto
      * @param producto datos a actualizar
      * @param categoriaId identificador de la nueva categoría (opcional)
      * @return producto actualizado o {@code null} si no existe
      */
+    @Transactional
     public Producto actualizar(Long id, Producto producto, Long categoriaId) {
         var productoDB = productoRepository.findById(id).orElse(null);
 
@@ -82,40 +216,610 @@ public class ProductoService {
             return null;
         }
 
+        var campos = new HashSet<String>();
+        var sku = producto.getSku() != null ? producto.getSku() : productoDB.getSku();
+        Cambios.comparar(campos, "sku", productoDB.getSku(), sku);
+        Cambios.comparar(campos, "nombre", productoDB.getNombre(), producto.getNombre());
+        Cambios.comparar(campos, "precio", productoDB.getPrecio(), producto.getPrecio());
+        Cambios.comparar(campos, "stock", productoDB.getStock(), producto.getStock());
+
+        productoDB.setSku(sku);
         productoDB.setNombre(producto.getNombre());
         productoDB.setPrecio(producto.getPrecio());
         productoDB.setStock(producto.getStock());
 
-        if (categoriaId != null) {
-            categoriaRepository.findById(categoriaId).ifPresent(productoDB::setCategoria);
+        if (categoriaId != null && !Objects.equals(categoriaId, productoDB.getCategoria().getId())) {
+            categoriaRepository.findById(categoriaId).ifPresent(categoria -> {
+                productoDB.setCategoria(categoria);
+                campos.add("categoria");
+            });
+        }
+
+        var actualizado = productoRepository.save(productoDB);
+        if (!campos.isEmpty()) {
+            eventos.publishEvent(Cambios.actualizado(Entidad.PRODUCTO, id, campos));
+        }
+        return actualizado;
+    }
+
+    /**
+     * Reprecia masivamente los productos del alcance indicado en una sola
+     * sentencia {@code UPDATE} dentro de una transacción.
+     * <p>Si se pide aplicar el descuento de la categoría, éste se combina con
+     * el porcentaje en un único factor.
+     * @param solicitud parámetros del repreciado
+     * @return cantidad de productos afectados, o {@code null} si la solicitud
+     *         no es válida según {@link #factorRepreciado(RepreciarRequest)}
+     */
+    @Transactional
+    public ResultadoMasivo repreciar(RepreciarRequest solicitud) {
+        Double factor = factorRepreciado(solicitud);
+
+        if (factor == null) {
+            return null;
+        }
+
+        int afectados = productoRepository.repreciar(factor, monto(solicitud), solicitud.categoriaId(),
+                solicitud.precioMinimo(), solicitud.precioMaximo());
+        if (afectados > 0) {
+            eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, Set.of("precio")));
+        }
+        return new ResultadoMasivo(afectados);
+    }
+
+    /**
+     * Calcula el multiplicador de un repreciado, combinando el porcentaje con
+     * el descuento de la categoría si se pide.
+     * @param solicitud parámetros del repreciado
+     * @return factor a aplicar, o {@code null} si la solicitud no acota el
+     *         alcance con una categoría o un rango de precios, no define ningún
+     *         cambio, rebaja un {@code 100%} o más, o la categoría indicada no existe
+     */
+    public Double factorRepreciado(RepreciarRequest solicitud) {
+        if (solicitud.categoriaId() == null && solicitud.precioMinimo() == null
+                && solicitud.precioMaximo() == null) {
+            // Sin alcance el cambio abarcaría la tabla completa.
+            return null;
+        }
+        if (solicitud.porcentaje() != null && solicitud.porcentaje() <= -100) {
+            return null;
+        }
+        double factor = 1 + (solicitud.porcentaje() != null ? solicitud.porcentaje() : 0) / 100;
+
+        if (solicitud.categoriaId() != null) {
+            Categoria categoria = categoriaRepository.findById(solicitud.categoriaId()).orElse(null);
+
+            if (categoria == null) {
+                return null;
+            }
+            if (solicitud.aplicarDescuentoCategoria() && categoria.getDescuento() != null) {
+                factor *= 1 - categoria.getDescuento() / 100;
+            }
+        } else if (solicitud.aplicarDescuentoCategoria()) {
+            return null;
+        }
+
+        if (factor == 1 && monto(solicitud) == 0) {
+            return null;
+        }
+        return factor;
+    }
+
+    /**
+     * Cuenta los productos del alcance de un repreciado.
+     * @param solicitud parámetros del repreciado
+     * @return cantidad de productos con precio dentro del alcance
+     */
+    public long contarParaRepreciar(RepreciarRequest solicitud) {
+        return productoRepository.contarParaRepreciar(solicitud.categoriaId(),
+                solicitud.precioMinimo(), solicitud.precioMaximo());
+    }
+
+    /**
+     * Reprecia el siguiente bloque de productos del alcance, en orden de id.
+     * <p>Los ids se leen antes de actualizar, de modo que un producto que sale
+     * del rango de precios al repreciarse no vuelve a procesarse y el recorrido
+     * puede retomarse desde el último id devuelto.
+     * @param solicitud parámetros del repreciado
+     * @param factor multiplicador calculado con {@link #factorRepreciado(RepreciarRequest)}
+     * @param desdeId último id procesado (exclusivo)
+     * @param tamano cantidad máxima de productos del bloque
+     * @return ids repreciados en orden ascendente; vacío al terminar el alcance
+     */
+    @Transactional
+    public List<Long> repreciarBloque(RepreciarRequest solicitud, double factor, long desdeId, int tamano) {
+        var ids = productoRepository.findIdsParaRepreciar(solicitud.categoriaId(), solicitud.precioMinimo(),
+                solicitud.precioMaximo(), desdeId, Limit.of(tamano));
+        if (!ids.isEmpty()) {
+            productoRepository.repreciarIds(factor, monto(solicitud), ids);
+            eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, Set.of("precio"), ids));
         }
+        return ids;
+    }
+
+    private static double monto(RepreciarRequest solicitud) {
+        return solicitud.monto() != null ? solicitud.monto() : 0;
+    }
 
-        return productoRepository.save(productoDB);
+    /**
+     * Inserta o actualiza productos identificados por su SKU.
+     * <p>La categoría se indica por nombre y debe existir. El estado actual se
+     * lee por bloques con consultas {@code IN}; solo las filas nuevas o con algún
+     * cambio se escriben, con sentencias de varias filas. Repetir la misma carga
+     * no modifica nada. Si un SKU aparece varias veces prevalece la última aparición.
+     * @param filas productos a sincronizar
+     * @return cantidad de filas insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Transactional
+    public ResultadoUpsert upsert(List<ProductoUpsert> filas) {
+        return upsert(filas, 0, rechazo -> { });
+    }
+
+    /**
+     * Fila rechazada de una carga de productos.
+     * @param posicion posición de la fila en la carga completa
+     * @param motivo causa del rechazo
+     */
+    public record FilaRechazada(long posicion, String motivo) {
+    }
+
+    /**
+     * Inserta o actualiza un tramo de una carga mayor de productos.
+     * <p>Igual que {@link #upsert(List)}, pero los rechazos se numeran a partir
+     * de {@code desplazamiento} para que indiquen la fila de la carga completa,
+     * y cada uno se informa también a {@code alRechazar} con su posición.
+     * @param filas productos del tramo
+     * @param desplazamiento posición de la primera fila del tramo en la carga
+     * @param alRechazar recibe cada fila rechazada
+     * @return cantidad de filas insertadas, actualizadas, sin cambios y rechazadas
+     */
+    @Transactional
+    public ResultadoUpsert upsert(List<ProductoUpsert> filas, long desplazamiento,
+            Consumer<FilaRechazada> alRechazar) {
+        var nombresCategorias = new HashSet<String>();
+        for (var fila : filas) {
+            if (fila != null && fila.categoria() != null) {
+                nombresCategorias.add(fila.categoria());
+            }
+        }
+        // Las claves se comparan como en la base de datos: sin distinguir mayúsculas ni acentos.
+        var categorias = new HashMap<String, Long>(nombresCategorias.size() * 2);
+        for (var bloque : Lotes.bloques(List.copyOf(nombresCategorias), Lotes.TAMANO_BLOQUE)) {
+            categoriaRepository.findByNombreIn(bloque)
+                    .forEach(c -> categorias.put(UpsertCatalogoRepository.clave(c.getNombre()), c.getId()));
+        }
+
+        var rechazadas = new ArrayList<String>();
+        var porSku = new LinkedHashMap<String, ProductoPersistido>(filas.size() * 2);
+        for (int i = 0; i < filas.size(); i++) {
+            var fila = filas.get(i);
+            String motivo = null;
+            if (fila == null || fila.sku() == null || fila.sku().isBlank()) {
+                motivo = "sku requerido";
+            } else if (fila.nombre() == null || fila.nombre().isBlank()) {
+                motivo = "nombre requerido";
+            } else if (fila.categoria() == null
+                    || !categorias.containsKey(UpsertCatalogoRepository.clave(fila.categoria()))) {
+                motivo = "categoría inexistente '" + fila.categoria() + "'";
+            }
+            if (motivo != null) {
+                rechazadas.add("fila " + (desplazamiento + i) + ": " + motivo);
+                alRechazar.accept(new FilaRechazada(desplazamiento + i, motivo));
+            } else {
+                var clave = UpsertCatalogoRepository.clave(fila.sku());
+                porSku.remove(clave);
+                porSku.put(clave, new ProductoPersistido(fila.sku(), fila.nombre(), fila.precio(),
+                        fila.stock(), categorias.get(UpsertCatalogoRepository.clave(fila.categoria()))));
+            }
+        }
+
+        int insertados = 0;
+        int actualizados = 0;
+        var ahora = LocalDateTime.now();
+        var pendientes = new ArrayList<ProductoPersistido>(UpsertCatalogoRepository.TAMANO_BLOQUE);
+        var escritos = new ArrayList<Long>();
+        for (var bloque : Lotes.bloques(List.copyOf(porSku.keySet()), UpsertCatalogoRepository.TAMANO_BLOQUE)) {
+            var existentes = upsertRepository.productosPorSku(bloque.stream().map(c -> porSku.get(c).sku()).toList());
+            for (var clave : bloque) {
+                var fila = porSku.get(clave);
+                var actual = existentes.get(clave);
+                if (actual == null) {
+                    insertados++;
+                    pendientes.add(fila);
+                } else if (!actual.equals(new ProductoPersistido(actual.sku(), fila.nombre(), fila.precio(),
+                        fila.stock(), fila.categoriaId()))) {
+                    // El SKU guardado se conserva: solo cuentan los demás campos.
+                    actualizados++;
+                    pendientes.add(fila);
+                }
+            }
+            if (!pendientes.isEmpty()) {
+                upsertRepository.upsertProductos(pendientes, ahora);
+                // Los ids de las filas nuevas solo se conocen tras insertarlas.
+                escritos.addAll(upsertRepository.idsPorSku(pendientes.stream().map(ProductoPersistido::sku).toList()));
+                pendientes.clear();
+            }
+        }
+
+        if (insertados + actualizados > 0) {
+            eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, CAMPOS, escritos));
+        }
+        return new ResultadoUpsert(insertados, actualizados, porSku.size() - insertados - actualizados, rechazadas);
+    }
+
+    /**
+     * Cuenta los productos inactivos: registrados antes de la fecha indicada y sin stock.
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @return cantidad de productos archivables
+     */
+    public long contarParaArchivar(LocalDateTime antesDe) {
+        return productoRepository.contarParaArchivar(antesDe);
+    }
+
+    /**
+     * Traslada a {@code productos_archivo} el siguiente bloque de productos
+     * inactivos, en orden de id.
+     * <p>Los candidatos se bloquean con {@code SELECT ... FOR UPDATE} y la
+     * copia y la eliminación vuelven a comprobar que siguen sin stock, de modo
+     * que un producto repuesto entre la lectura y el traslado no se archiva.
+     * Todo ocurre en la misma transacción y cada producto queda en una sola
+     * de las dos tablas.
+     * @param antesDe fecha de registro límite (exclusiva)
+     * @param desdeId último id procesado (exclusivo)
+     * @param tamano cantidad máxima de productos del bloque
+     * @return ids examinados en orden ascendente, incluidos los que dejaron de
+     *         ser archivables; vacío si no quedan
+     */
+    @Transactional
+    public List<Long> archivarBloque(LocalDateTime antesDe, long desdeId, int tamano) {
+        var ids = productoRepository.findIdsParaArchivar(antesDe, desdeId, Limit.of(tamano));
+        if (!ids.isEmpty()) {
+            var bloqueados = productoRepository.bloquearParaArchivar(ids, antesDe);
+            if (!bloqueados.isEmpty()) {
+                archivoRepository.copiarDesdeProductos(bloqueados, antesDe, LocalDateTime.now());
+                productoRepository.eliminarArchivados(bloqueados, antesDe);
+                eventos.publishEvent(Cambios.masivo(Entidad.PRODUCTO, Set.of(), bloqueados));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Obtiene los productos registrados en el intervalo, en orden de fecha.
+     * <p>Consulta la base de datos también en modo {@code memoria}.
+     * @param desde inicio del intervalo (inclusivo)
+     * @param hasta fin del intervalo (inclusivo)
+     * @param limite cantidad máxima de productos; se acota al máximo de búsqueda
+     * @return productos ordenados por fecha de registro, o {@code null} si el intervalo es inválido
+     */
+    public List<Producto> registradosEntre(LocalDateTime desde, LocalDateTime hasta, int limite) {
+        if (desde.isAfter(hasta)) {
+            return null;
+        }
+        return productoRepository.findByFechaRegistroBetween(desde, hasta, Limit.of(acotar(limite)));
+    }
+
+    /**
+     * Obtiene los productos archivados registrados en el intervalo, en orden de fecha.
+     * @param desde inicio del intervalo (inclusivo)
+     * @param hasta fin del intervalo (inclusivo)
+     * @param limite cantidad máxima de productos; se acota al máximo de búsqueda
+     * @return productos archivados, o {@code null} si el intervalo es inválido
+     */
+    public List<ProductoArchivado> archivadosEntre(LocalDateTime desde, LocalDateTime hasta, int limite) {
+        if (desde.isAfter(hasta)) {
+            return null;
+        }
+        return archivoRepository.findByFechaRegistroBetweenOrderByFechaRegistroAscIdAsc(desde, hasta,
+                Limit.of(acotar(limite)));
+    }
+
+    private int acotar(int limite) {
+        return Math.max(1, Math.min(limite, tamanoMaximoBusqueda));
     }
 
     /**
      * Elimina un producto por su identificador.     
      * @param id identificador del producto
      */
+    @Transactional
     public void eliminar(Long id) {
         productoRepository.deleteById(id);
+        eventos.publishEvent(Cambios.eliminado(Entidad.PRODUCTO, id));
     }
 
     /**
-     * Busca productos por coincidencia en el nombre.     
+     * Busca productos por coincidencia en el nombre.
+     * <p>Las búsquedas concurrentes idénticas comparten una sola consulta.
      * @param nombre fragmento a buscar
      * @return lista de coincidencias
      */
     public List<Producto> buscarPorNombre(String nombre) {
-        return productoRepository.findByNombreContainingIgnoreCase(nombre);
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.productosPorNombre(nombre);
+        }
+        return consultasPorNombre.obtener(nombre, () -> productoRepository.findByNombreContainingIgnoreCase(nombre));
     }
 
     /**
-     * Obtiene productos con precio mayor al valor indicado.     
+     * Obtiene productos con precio mayor al valor indicado.
+     * <p>Las búsquedas concurrentes idénticas comparten una sola consulta.
      * @param precio umbral de precio
      * @return lista de productos resultante
      */
     public List<Producto> buscarPorPrecioMayorA(Double precio) {
-        return productoRepository.findByPrecioGreaterThan(precio);
+        if (catalogoMemoria != null) {
+            return catalogoMemoria.productosConPrecioMayorA(precio);
+        }
+        return consultasPorPrecio.obtener(precio, () -> productoRepository.findByPrecioGreaterThan(precio));
+    }
+
+    /**
+     * Impide que las lecturas posteriores a un cambio confirmado se unan a
+     * consultas agrupadas iniciadas antes de él.
+     * <p>Se ejecuta después del commit y antes de que la escritura vuelva a
+     * quien la hizo, de modo que su siguiente lectura ve el cambio.
+     * @param cambio cambio del catálogo, de productos o de categorías
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioCatalogoEvent cambio) {
+        consultasPorId.invalidar();
+        consultasPorNombre.invalidar();
+        consultasPorPrecio.invalidar();
+    }
+
+    /**
+     * Lista todos los productos en forma normalizada.
+     * @return productos con la categoría por id y las categorías referenciadas
+     */
+    public ListaNormalizada listarNormalizado() {
+        if (catalogoMemoria != null) {
+            return normalizar(catalogoMemoria.productos());
+        }
+        return conCategorias(productoRepository.findPlanos());
+    }
+
+    /**
+     * Busca productos por coincidencia en el nombre, en forma normalizada.
+     * @param nombre fragmento a buscar
+     * @return productos con la categoría por id y las categorías referenciadas
+     */
+    public ListaNormalizada buscarPorNombreNormalizado(String nombre) {
+        if (catalogoMemoria != null) {
+            return normalizar(catalogoMemoria.productosPorNombre(nombre));
+        }
+        return conCategorias(productoRepository.findPlanosByNombreContainingIgnoreCase(nombre));
+    }
+
+    /**
+     * Obtiene productos con precio mayor al valor indicado, en forma normalizada.
+     * @param precio umbral de precio
+     * @return productos con la categoría por id y las categorías referenciadas
+     */
+    public ListaNormalizada buscarPorPrecioMayorANormalizado(Double precio) {
+        if (catalogoMemoria != null) {
+            return normalizar(catalogoMemoria.productosConPrecioMayorA(precio));
+        }
+        return conCategorias(productoRepository.findPlanosByPrecioGreaterThan(precio));
+    }
+
+    /**
+     * Mide el tamaño y los tiempos de carga y serialización de la misma lista
+     * en forma anidada y normalizada.
+     * <p>La serialización se mide como el promedio de varias repeticiones,
+     * después de una primera vuelta de calentamiento.
+     * @param precio umbral de precio; {@code null} compara el listado completo
+     * @param repeticiones repeticiones de cada serialización
+     * @return comparación de ambas formas
+     */
+    public ComparacionFormas compararFormas(Double precio, int repeticiones) {
+        long inicio = System.nanoTime();
+        List<Producto> anidada;
+        if (precio == null) {
+            anidada = listar();
+        } else if (catalogoMemoria != null) {
+            anidada = catalogoMemoria.productosConPrecioMayorA(precio);
+        } else {
+            anidada = productoRepository.findByPrecioGreaterThan(precio);
+        }
+        long cargaAnidada = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        var normalizada = precio != null ? buscarPorPrecioMayorANormalizado(precio) : listarNormalizado();
+        long cargaNormalizada = System.nanoTime() - inicio;
+
+        try {
+            int vueltas = Math.max(1, repeticiones);
+            long bytesAnidada = json.writeValueAsBytes(anidada).length;
+            long bytesNormalizada = json.writeValueAsBytes(normalizada).length;
+            inicio = System.nanoTime();
+            for (int i = 0; i < vueltas; i++) {
+                json.writeValueAsBytes(anidada);
+            }
+            long serializacionAnidada = (System.nanoTime() - inicio) / vueltas;
+            inicio = System.nanoTime();
+            for (int i = 0; i < vueltas; i++) {
+                json.writeValueAsBytes(normalizada);
+            }
+            long serializacionNormalizada = (System.nanoTime() - inicio) / vueltas;
+
+            return new ComparacionFormas(anidada.size(), normalizada.categorias().size(), bytesAnidada,
+                    bytesNormalizada, milisegundos(cargaAnidada), milisegundos(cargaNormalizada),
+                    milisegundos(serializacionAnidada), milisegundos(serializacionNormalizada),
+                    bytesAnidada == 0 ? 0 : Math.round((1 - (double) bytesNormalizada / bytesAnidada) * 1000) / 10.0);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la lista de productos", e);
+        }
+    }
+
+    private static double milisegundos(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private ListaNormalizada normalizar(List<Producto> productos) {
+        var planos = new ArrayList<ProductoPlano>(productos.size());
+        var categorias = new TreeMap<Long, Categoria>();
+        for (var producto : productos) {
+            planos.add(ProductoPlano.de(producto));
+            categorias.putIfAbsent(producto.getCategoria().getId(), producto.getCategoria());
+        }
+        return new ListaNormalizada(planos, categorias);
+    }
+
+    /**
+     * Completa una lista plana con las categorías distintas que referencia,
+     * leídas en bloques de consultas {@code IN}.
+     */
+    private ListaNormalizada conCategorias(List<ProductoPlano> planos) {
+        var ids = new HashSet<Long>();
+        planos.forEach(p -> ids.add(p.categoriaId()));
+        var categorias = new TreeMap<Long, Categoria>();
+        for (var bloque : Lotes.bloques(List.copyOf(ids))) {
+            categoriaRepository.findAllById(bloque).forEach(c -> categorias.put(c.getId(), c));
+        }
+        return new ListaNormalizada(planos, categorias);
+    }
+
+    /**
+     * Busca productos combinando filtros, con orden y paginación por cursor.
+     * <p>La página se obtiene con una consulta; en la primera página otra
+     * consulta agrupada calcula el total y las facetas por categoría y rango
+     * de precio. Las páginas siguientes no repiten las facetas.
+     * Consulta la base de datos también en modo {@code memoria}.
+     * @param filtro criterios de búsqueda
+     * @param orden campo de orden: {@code id}, {@code nombre}, {@code precio} o {@code fechaRegistro}
+     * @param descendente si el orden es descendente
+     * @param cursor cursor devuelto por la página anterior, o {@code null}
+     * @param tamano productos por página
+     * @return página de resultados, o {@code null} si el orden, el cursor o el tamaño no son válidos
+     */
+    public ResultadoBusqueda buscar(FiltroProductos filtro, String orden, boolean descendente, String cursor,
+            int tamano) {
+        var campo = orden(orden);
+        if (campo == null || tamano < 1 || tamano > tamanoMaximoBusqueda) {
+            return null;
+        }
+        Posicion despues = null;
+        if (cursor != null && !cursor.isBlank()) {
+            despues = decodificarCursor(cursor, campo, descendente);
+            if (despues == null) {
+                return null;
+            }
+        }
+
+        var productos = productoRepository.buscar(filtro, campo, descendente, despues, tamano + 1);
+        String siguiente = null;
+        if (productos.size() > tamano) {
+            productos = productos.subList(0, tamano);
+            siguiente = codificarCursor(productos.get(tamano - 1), campo, descendente);
+        }
+        if (despues != null) {
+            return new ResultadoBusqueda(productos, siguiente, null, null, null);
+        }
+
+        long total = 0;
+        var porCategoria = new TreeMap<Long, Long>();
+        var porRango = new long[rangosPrecio.size() + 1];
+        for (var conteo : productoRepository.contar(filtro, rangosPrecio)) {
+            total += conteo.cantidad();
+            porCategoria.merge(conteo.categoriaId(), conteo.cantidad(), Long::sum);
+            if (conteo.rango() >= 0) {
+                porRango[conteo.rango()] += conteo.cantidad();
+            }
+        }
+        var categorias = new ArrayList<FacetaCategoria>(porCategoria.size());
+        porCategoria.forEach((id, cantidad) -> categorias.add(new FacetaCategoria(id, cantidad)));
+        var precios = new ArrayList<FacetaPrecio>(porRango.length);
+        for (int i = 0; i < porRango.length; i++) {
+            if (porRango[i] > 0) {
+                precios.add(new FacetaPrecio(i > 0 ? rangosPrecio.get(i - 1) : null,
+                        i < rangosPrecio.size() ? rangosPrecio.get(i) : null, porRango[i]));
+            }
+        }
+        return new ResultadoBusqueda(productos, siguiente, total, categorias, precios);
+    }
+
+    private static Orden orden(String orden) {
+        if (orden == null) {
+            return Orden.ID;
+        }
+        for (var campo : Orden.values()) {
+            if (campo.atributo().equalsIgnoreCase(orden)) {
+                return campo;
+            }
+        }
+        return null;
+    }
+
+    /** Copia desprendida de una lista de productos, para entregarla a otro hilo. */
+    private static List<Producto> copiarTodos(List<Producto> productos) {
+        var copias = new ArrayList<Producto>(productos.size());
+        for (Producto producto : productos) {
+            copias.add(copiar(producto));
+        }
+        return copias;
+    }
+
+    /** Copia desprendida de un producto y de su categoría, sin la lista inversa de productos. */
+    private static Producto copiar(Producto producto) {
+        var copia = new Producto();
+        copia.setId(producto.getId());
+        copia.setSku(producto.getSku());
+        copia.setNombre(producto.getNombre());
+        copia.setPrecio(producto.getPrecio());
+        copia.setStock(producto.getStock());
+        copia.setFechaRegistro(producto.getFechaRegistro());
+        var categoria = producto.getCategoria();
+        if (categoria != null) {
+            var copiaCategoria = new Categoria();
+            copiaCategoria.setId(categoria.getId());
+            copiaCategoria.setNombre(categoria.getNombre());
+            copiaCategoria.setDescripcion(categoria.getDescripcion());
+            copiaCategoria.setCodigo(categoria.getCodigo());
+            copiaCategoria.setDescuento(categoria.getDescuento());
+            copiaCategoria.setStockMinimo(categoria.getStockMinimo());
+            copiaCategoria.setFechaCreacion(categoria.getFechaCreacion());
+            copia.setCategoria(copiaCategoria);
+        }
+        return copia;
+    }
+
+    /**
+     * Codifica el cursor como {@code orden:sentido:id[:valor]} en Base64 URL;
+     * sin valor indica que el campo de orden es nulo.
+     */
+    private static String codificarCursor(Producto ultimo, Orden orden, boolean descendente) {
+        Object valor = switch (orden) {
+            case ID -> null;
+            case NOMBRE -> ultimo.getNombre();
+            case PRECIO -> ultimo.getPrecio();
+            case FECHA_REGISTRO -> ultimo.getFechaRegistro();
+        };
+        var texto = orden.atributo() + ":" + (descendente ? "desc" : "asc") + ":" + ultimo.getId()
+                + (valor != null ? ":" + valor : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Posicion decodificarCursor(String cursor, Orden orden, boolean descendente) {
+        try {
+            var partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            if (partes.length < 3 || !partes[0].equals(orden.atributo())
+                    || !partes[1].equals(descendente ? "desc" : "asc")) {
+                return null;
+            }
+            long id = Long.parseLong(partes[2]);
+            if (partes.length == 3) {
+                return orden == Orden.ID || orden.admiteNulos() ? new Posicion(null, id) : null;
+            }
+            Object valor = switch (orden) {
+                case ID -> null;
+                case NOMBRE -> partes[3];
+                case PRECIO -> Double.valueOf(partes[3]);
+                case FECHA_REGISTRO -> LocalDateTime.parse(partes[3]);
+            };
+            return new Posicion(valor, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,91 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Servicio que persiste cada {@link CambioCatalogoEvent} en el registro de cambios.
+ * <p> * La entrada se escribe antes del commit, dentro de la misma transacción
+ * que la escritura del catálogo, para que ambas se confirmen o descarten
+ * juntas. Cada instancia se identifica con un id de nodo propio. Los cambios
+ * remotos, reenviados por {@link CoherenciaNodosService}, no se vuelven a registrar.
+ * @since 1.1.0
+ */
+@Service
+public class RegistroCambiosService {
+
+    /**
+     * Máximo de ids que se guardan en una entrada masiva. Por encima se
+     * registra sin ids y los lectores recargan la entidad completa, que para
+     * tantas filas cuesta lo mismo que recargarlas una a una.
+     */
+    static final int MAXIMO_IDS = 10_000;
+
+    private final IRegistroCambioRepository registroRepository;
+
+    private final Duration retencion;
+
+    private final String nodo = UUID.randomUUID().toString();
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param registroRepository repositorio del registro de cambios
+     * @param retencionDias días que se conservan las entradas
+     */
+    public RegistroCambiosService(IRegistroCambioRepository registroRepository,
+            @Value("${catalogo.registro-cambios.retencion-dias:7}") int retencionDias) {
+        this.registroRepository = registroRepository;
+        this.retencion = Duration.ofDays(retencionDias);
+    }
+
+    /**
+     * Registra el cambio en la transacción en curso.
+     * @param cambio cambio del catálogo
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void registrar(CambioCatalogoEvent cambio) {
+        if (cambio.remoto()) {
+            return;
+        }
+        var registro = new RegistroCambio();
+        registro.setEntidad(cambio.entidad());
+        registro.setTipo(cambio.tipo());
+        registro.setEntidadId(cambio.id());
+        if (!cambio.ids().isEmpty() && cambio.ids().size() <= MAXIMO_IDS) {
+            registro.setIds(new TreeSet<>(cambio.ids()).stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        registro.setCampos(cambio.campos().isEmpty() ? null : String.join(",", new TreeSet<>(cambio.campos())));
+        registro.setNodo(nodo);
+        registro.setFecha(LocalDateTime.now());
+        registroRepository.save(registro);
+    }
+
+    /**
+     * Elimina las entradas más antiguas que el período de retención.
+     */
+    @Scheduled(cron = "${catalogo.registro-cambios.depuracion-cron:0 30 3 * * *}")
+    @Transactional
+    public void depurar() {
+        registroRepository.eliminarAnterioresA(LocalDateTime.now().minus(retencion));
+    }
+
+    /**
+     * Devuelve el identificador de este nodo.
+     * @return id del nodo
+     */
+    public String getNodo() {
+        return nodo;
+    }
+}
@@ -0,0 +1,298 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.dto.ProductoStockBajo;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Tipo;
+import com.campuslands.springbootdemo.memoria.ProductoFila;
+import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Servicio que mantiene en memoria la lista de productos con stock bajo.
+ * <p> * Un producto entra en la lista cuando su stock es menor al
+ * {@code stockMinimo} de su categoría (o al umbral general si no tiene). La
+ * lista se ordena por cobertura ({@code stock / umbral}) ascendente en un
+ * {@link ConcurrentSkipListSet}, de modo que los N más urgentes se obtienen sin
+ * consultar la base de datos. Se actualiza con cada {@link CambioCatalogoEvent}
+ * que afecta al stock o a la categoría de un producto, y una reconciliación
+ * periódica contra la tabla {@code productos} corrige cualquier desvío. Todas
+ * las reconciliaciones, también la inicial y la periódica, corren en un único
+ * hilo propio, de modo que nunca se ejecutan dos a la vez.
+ * @since 1.1.0
+ */
+@Service
+public class StockBajoService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockBajoService.class);
+
+    private static final Comparator<ProductoStockBajo> POR_URGENCIA =
+            Comparator.comparingDouble(ProductoStockBajo::cobertura).thenComparingLong(ProductoStockBajo::id);
+
+    /** Campos de producto que pueden cambiar su pertenencia a la lista. */
+    private static final Set<String> CAMPOS_RELEVANTES = Set.of("stock", "categoria");
+
+    private final IProductoRepository productoRepository;
+
+    private final ICategoriaRepository categoriaRepository;
+
+    private final int umbralPredeterminado;
+
+    private final int limiteMaximo;
+
+    private final ConcurrentSkipListSet<ProductoStockBajo> lista = new ConcurrentSkipListSet<>(POR_URGENCIA);
+
+    private final Map<Long, ProductoStockBajo> porId = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> umbrales = new ConcurrentHashMap<>();
+
+    private final ExecutorService reconciliaciones =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("stock-bajo").daemon().factory());
+
+    private final AtomicBoolean reconciliacionPendiente = new AtomicBoolean();
+
+    private final Counter correcciones;
+
+    /**
+     * Ids modificados mientras corre una reconciliación; {@code null} fuera de
+     * ella. Solo el hilo de reconciliación lo crea y lo descarta.
+     */
+    private Set<Long> tocados;
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param productoRepository repositorio de productos
+     * @param categoriaRepository repositorio de categorías
+     * @param registro registro de métricas
+     * @param umbralPredeterminado umbral para las categorías sin {@code stockMinimo}
+     * @param limiteMaximo cantidad máxima de productos por consulta
+     */
+    public StockBajoService(IProductoRepository productoRepository, ICategoriaRepository categoriaRepository,
+            MeterRegistry registro,
+            @Value("${catalogo.stock-bajo.umbral-predeterminado:10}") int umbralPredeterminado,
+            @Value("${catalogo.stock-bajo.limite-maximo:500}") int limiteMaximo) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.umbralPredeterminado = umbralPredeterminado;
+        this.limiteMaximo = limiteMaximo;
+        Gauge.builder("catalogo.stock_bajo.productos", porId, Map::size)
+                .description("Productos con stock bajo su umbral").register(registro);
+        this.correcciones = Counter.builder("catalogo.stock_bajo.correcciones")
+                .description("Entradas corregidas por la reconciliación").register(registro);
+    }
+
+    /**
+     * Devuelve los productos más urgentes de reponer.
+     * @param limite cantidad máxima de productos; se acota al máximo configurado
+     * @return productos ordenados por cobertura ascendente
+     */
+    public List<ProductoStockBajo> masUrgentes(int limite) {
+        return lista.stream().limit(Math.max(0, Math.min(limite, limiteMaximo))).toList();
+    }
+
+    /**
+     * Actualiza la lista con un cambio confirmado del catálogo.
+     * @param cambio cambio del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioCatalogoEvent cambio) {
+        if (cambio.entidad() == Entidad.PRODUCTO) {
+            if (cambio.masivo()) {
+                if (cambio.campos().isEmpty() || cambio.campos().stream().anyMatch(CAMPOS_RELEVANTES::contains)) {
+                    programarReconciliacion(false);
+                }
+            } else if (cambio.tipo() == Tipo.ELIMINADO) {
+                aplicar(cambio.id(), null);
+            } else if (cambio.tipo() == Tipo.CREADO || porId.containsKey(cambio.id())
+                    || cambio.campos().stream().anyMatch(CAMPOS_RELEVANTES::contains)) {
+                var filas = productoRepository.findFilasByIdIn(List.of(cambio.id()));
+                aplicar(cambio.id(), filas.isEmpty() ? null : filas.get(0));
+            }
+        } else if (cambio.masivo() || cambio.tipo() == Tipo.ELIMINADO || cambio.campos().contains("stockMinimo")) {
+            programarReconciliacion(false);
+        }
+    }
+
+    private void aplicar(long id, ProductoFila fila) {
+        var entrada = fila != null ? evaluar(fila, umbral(fila.categoriaId())) : null;
+        synchronized (this) {
+            if (tocados != null) {
+                tocados.add(id);
+            }
+            reemplazar(id, entrada);
+        }
+    }
+
+    private int umbral(long categoriaId) {
+        var umbral = umbrales.get(categoriaId);
+        if (umbral == null) {
+            umbral = categoriaRepository.findById(categoriaId)
+                    .map(c -> Objects.requireNonNullElse(c.getStockMinimo(), umbralPredeterminado))
+                    .orElse(umbralPredeterminado);
+            umbrales.put(categoriaId, umbral);
+        }
+        return umbral;
+    }
+
+    private static ProductoStockBajo evaluar(ProductoFila fila, int umbral) {
+        int stock = fila.stock() != null ? fila.stock() : 0;
+        return stock < umbral
+                ? new ProductoStockBajo(fila.id(), fila.sku(), fila.nombre(), stock, umbral, fila.categoriaId())
+                : null;
+    }
+
+    /**
+     * Reemplaza la entrada de un producto. Debe invocarse con el monitor tomado.
+     * @return {@code true} si la entrada cambió
+     */
+    private boolean reemplazar(long id, ProductoStockBajo entrada) {
+        var anterior = porId.get(id);
+        if (Objects.equals(anterior, entrada)) {
+            return false;
+        }
+        if (anterior != null) {
+            lista.remove(anterior);
+        }
+        if (entrada != null) {
+            lista.add(entrada);
+            porId.put(id, entrada);
+        } else {
+            porId.remove(id);
+        }
+        return true;
+    }
+
+    /**
+     * Encola una reconciliación en el hilo propio, salvo que ya haya una
+     * pendiente de empezar.
+     * @param informarCorrecciones si se cuentan y registran las entradas corregidas
+     */
+    private void programarReconciliacion(boolean informarCorrecciones) {
+        if (reconciliacionPendiente.compareAndSet(false, true)) {
+            reconciliaciones.execute(() -> {
+                reconciliacionPendiente.set(false);
+                sincronizar(informarCorrecciones);
+            });
+        }
+    }
+
+    /**
+     * Carga la lista inicial en el hilo de reconciliación y espera a que termine.
+     */
+    @PostConstruct
+    public void iniciar() {
+        sincronizarYEsperar(false);
+        log.info("Lista de stock bajo cargada: {} productos", porId.size());
+    }
+
+    /**
+     * Programa una reconciliación de la lista completa contra la base de datos.
+     * Corre en el hilo de reconciliación, no en el del planificador.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.stock-bajo.reconciliacion-ms:300000}",
+            initialDelayString = "${catalogo.stock-bajo.reconciliacion-ms:300000}")
+    public void reconciliar() {
+        programarReconciliacion(true);
+    }
+
+    /**
+     * Reconcilia la lista completa en el hilo de reconciliación y espera a que
+     * termine. Sirve tras cargas que no publican eventos, como una siembra por JDBC.
+     */
+    public void reconciliarAhora() {
+        sincronizarYEsperar(true);
+    }
+
+    private void sincronizarYEsperar(boolean informarCorrecciones) {
+        try {
+            reconciliaciones.submit(() -> sincronizar(informarCorrecciones)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("No se pudo reconciliar la lista de stock bajo", e.getCause());
+        }
+    }
+
+    /**
+     * Recalcula la lista completa y corrige las diferencias sin vaciarla, de
+     * modo que las lecturas nunca la ven incompleta. Solo se ejecuta en el
+     * hilo de reconciliación.
+     */
+    private void sincronizar(boolean informarCorrecciones) {
+        try {
+            synchronized (this) {
+                tocados = new HashSet<>();
+            }
+            var nuevosUmbrales = new HashMap<Long, Integer>();
+            categoriaRepository.findAll().forEach(c -> nuevosUmbrales.put(c.getId(),
+                    Objects.requireNonNullElse(c.getStockMinimo(), umbralPredeterminado)));
+            var actuales = new HashMap<Long, ProductoStockBajo>();
+            productoRepository.findStockBajo(umbralPredeterminado).forEach(p -> actuales.put(p.id(), p));
+
+            Set<Long> releer;
+            int corregidas = 0;
+            synchronized (this) {
+                releer = tocados;
+                tocados = null;
+                umbrales.keySet().retainAll(nuevosUmbrales.keySet());
+                umbrales.putAll(nuevosUmbrales);
+                for (var id : List.copyOf(porId.keySet())) {
+                    if (!actuales.containsKey(id) && !releer.contains(id) && reemplazar(id, null)) {
+                        corregidas++;
+                    }
+                }
+                for (var entrada : actuales.values()) {
+                    if (!releer.contains(entrada.id()) && reemplazar(entrada.id(), entrada)) {
+                        corregidas++;
+                    }
+                }
+            }
+            // Los productos modificados durante la lectura se vuelven a evaluar con su estado actual.
+            for (var bloque : Lotes.bloques(List.copyOf(releer))) {
+                var filas = Lotes.indexar(productoRepository.findFilasByIdIn(bloque), ProductoFila::id);
+                bloque.forEach(id -> aplicar(id, filas.get(id)));
+            }
+            if (informarCorrecciones && corregidas > 0) {
+                correcciones.increment(corregidas);
+                log.info("Reconciliación de stock bajo: {} entradas corregidas", corregidas);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                tocados = null;
+            }
+            log.warn("No se pudo reconciliar la lista de stock bajo", e);
+        }
+    }
+
+    /**
+     * Detiene el hilo de reconciliación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        reconciliaciones.shutdownNow();
+    }
+}
@@ -0,0 +1,555 @@
+package com.campuslands.springbootdemo.service;
+
+import com.campuslands.springbootdemo.dto.EstadoTrabajo;
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.dto.RepreciarRequest;
+import com.campuslands.springbootdemo.entity.ErrorTrabajo;
+import com.campuslands.springbootdemo.entity.ParametrosTrabajo;
+import com.campuslands.springbootdemo.entity.ResumenTrabajo;
+import com.campuslands.springbootdemo.entity.Trabajo;
+import com.campuslands.springbootdemo.entity.Trabajo.Estado;
+import com.campuslands.springbootdemo.entity.Trabajo.Tipo;
+import com.campuslands.springbootdemo.repository.IErrorTrabajoRepository;
+import com.campuslands.springbootdemo.repository.IParametrosTrabajoRepository;
+import com.campuslands.springbootdemo.repository.ITrabajoRepository;
+import com.campuslands.springbootdemo.service.ProductoService.FilaRechazada;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio que ejecuta en segundo plano las operaciones masivas de larga duración.
+ * <p> * Cada solicitud se guarda como un {@link Trabajo} pendiente y se responde
+ * de inmediato. Un sondeo periódico reclama los trabajos pendientes con una
+ * actualización condicional, de modo que en varios nodos cada trabajo lo toma
+ * uno solo, y los entrega a un pool de {@code catalogo.trabajos.hilos} hilos.
+ * <p>El trabajo avanza por bloques: cada bloque, la actualización de su
+ * {@code checkpoint} y sus filas rechazadas se confirman en una misma
+ * transacción. Un trabajo fallido o interrumpido se retoma desde el último
+ * bloque confirmado. Como cada hilo usa a lo sumo una conexión a la vez, los
+ * trabajos nunca ocupan más de {@code catalogo.trabajos.hilos} conexiones del
+ * pool, y la pausa entre bloques deja paso al tráfico interactivo.
+ * <p>La carga de una importación se guarda completa en los parámetros del
+ * trabajo, por lo que su tamaño serializado se limita con
+ * {@code catalogo.trabajos.maximo-bytes-importacion}. Los parámetros viven en
+ * {@link ParametrosTrabajo} y se leen una sola vez al empezar a ejecutar el
+ * trabajo; el sondeo, los bloques y las consultas de progreso solo leen la
+ * fila de {@code trabajos}.
+ * @since 1.1.0
+ */
+@Service
+public class TrabajoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrabajoService.class);
+
+    private static final int LONGITUD_MENSAJE = 1000;
+
+    private final ITrabajoRepository trabajoRepository;
+
+    private final IErrorTrabajoRepository errorRepository;
+
+    private final IParametrosTrabajoRepository parametrosRepository;
+
+    private final ProductoService productoService;
+
+    private final CategoriaService categoriaService;
+
+    private final TransactionTemplate transacciones;
+
+    private final ObjectMapper json;
+
+    private final String nodo;
+
+    private final int tamanoBloque;
+
+    private final long pausaMillis;
+
+    private final Duration latidoMaximo;
+
+    private final int limiteErrores;
+
+    private final int antiguedadArchivoDias;
+
+    private final int maximoBytesImportacion;
+
+    private final ExecutorService ejecutor;
+
+    private final Semaphore cupos;
+
+    private final Set<Long> enCurso = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cerrando;
+
+    /**
+     * Crea una nueva instancia del servicio.
+     * @param trabajoRepository repositorio de trabajos
+     * @param errorRepository repositorio de filas rechazadas
+     * @param parametrosRepository repositorio de parámetros de trabajos
+     * @param productoService servicio de productos
+     * @param categoriaService servicio de categorías
+     * @param registroCambiosService registro de cambios, del que se toma el identificador del nodo
+     * @param transacciones gestor de transacciones
+     * @param json conversor JSON de los parámetros
+     * @param registro registro de métricas
+     * @param hilos trabajos simultáneos máximos en este nodo; cada uno ocupa a lo sumo una conexión
+     * @param tamanoBloque elementos procesados por transacción
+     * @param pausaMillis espera entre bloques de un mismo trabajo
+     * @param latidoMaximoSegundos tiempo sin avance tras el cual un trabajo en curso se considera abandonado
+     * @param limiteErrores filas rechazadas máximas por consulta
+     * @param antiguedadArchivoDias antigüedad predeterminada de los productos a archivar
+     * @param maximoBytesImportacion tamaño máximo en bytes de una importación serializada
+     */
+    public TrabajoService(ITrabajoRepository trabajoRepository, IErrorTrabajoRepository errorRepository,
+            IParametrosTrabajoRepository parametrosRepository, ProductoService productoService, CategoriaService categoriaService,
+            RegistroCambiosService registroCambiosService, PlatformTransactionManager transacciones,
+            ObjectMapper json, MeterRegistry registro,
+            @Value("${catalogo.trabajos.hilos:2}") int hilos,
+            @Value("${catalogo.trabajos.tamano-bloque:1000}") int tamanoBloque,
+            @Value("${catalogo.trabajos.pausa-ms:50}") long pausaMillis,
+            @Value("${catalogo.trabajos.latido-maximo-segundos:120}") long latidoMaximoSegundos,
+            @Value("${catalogo.trabajos.limite-errores:500}") int limiteErrores,
+            @Value("${catalogo.archivo.antiguedad-dias:730}") int antiguedadArchivoDias,
+            @Value("${catalogo.trabajos.maximo-bytes-importacion:16777216}") int maximoBytesImportacion) {
+        this.trabajoRepository = trabajoRepository;
+        this.errorRepository = errorRepository;
+        this.parametrosRepository = parametrosRepository;
+        this.productoService = productoService;
+        this.categoriaService = categoriaService;
+        this.transacciones = new TransactionTemplate(transacciones);
+        this.json = json;
+        this.nodo = registroCambiosService.getNodo();
+        this.tamanoBloque = tamanoBloque;
+        this.pausaMillis = pausaMillis;
+        this.latidoMaximo = Duration.ofSeconds(latidoMaximoSegundos);
+        this.limiteErrores = limiteErrores;
+        this.antiguedadArchivoDias = antiguedadArchivoDias;
+        this.maximoBytesImportacion = maximoBytesImportacion;
+        this.ejecutor = Executors.newFixedThreadPool(hilos, Thread.ofPlatform().name("trabajo-", 0).daemon().factory());
+        this.cupos = new Semaphore(hilos);
+        Gauge.builder("catalogo.trabajos.en_curso", enCurso, Set::size)
+                .description("Trabajos en ejecución en este nodo").register(registro);
+    }
+
+    /**
+     * Registra la importación por SKU de una carga de productos.
+     * @param filas productos a sincronizar
+     * @return progreso del trabajo pendiente, o {@code null} si la carga
+     *         serializada supera {@code catalogo.trabajos.maximo-bytes-importacion}
+     */
+    public EstadoTrabajo importarProductos(List<ProductoUpsert> filas) {
+        var parametros = escribir(filas);
+        if (parametros.getBytes(StandardCharsets.UTF_8).length > maximoBytesImportacion) {
+            return null;
+        }
+        return registrar(Tipo.IMPORTAR_PRODUCTOS, parametros, (long) filas.size(), null);
+    }
+
+    /**
+     * Registra un repreciado masivo. El factor se calcula al registrarlo, de
+     * modo que un trabajo reanudado aplica el mismo a todos sus bloques.
+     * @param solicitud parámetros del repreciado
+     * @return progreso del trabajo pendiente, o {@code null} si la solicitud no
+     *         es válida según {@link ProductoService#factorRepreciado(RepreciarRequest)}
+     */
+    public EstadoTrabajo repreciar(RepreciarRequest solicitud) {
+        Double factor = productoService.factorRepreciado(solicitud);
+
+        if (factor == null) {
+            return null;
+        }
+        return registrar(Tipo.REPRECIAR, escribir(new Repreciado(solicitud, factor)),
+                productoService.contarParaRepreciar(solicitud), null);
+    }
+
+    /**
+     * Registra la eliminación de una categoría junto con sus productos.
+     * @param categoriaId identificador de la categoría
+     * @return progreso del trabajo pendiente, o {@code null} si la categoría no existe
+     */
+    public EstadoTrabajo eliminarCategoria(Long categoriaId) {
+        if (categoriaService.obtener(categoriaId) == null) {
+            return null;
+        }
+        return registrar(Tipo.ELIMINAR_CATEGORIA, escribir(new EliminacionCategoria(categoriaId)),
+                categoriaService.contarProductos(categoriaId), null);
+    }
+
+    /**
+     * Registra el archivado de los productos inactivos: sin stock y
+     * registrados hace más de {@code antiguedadDias} días. La fecha límite se
+     * fija al registrarlo.
+     * @param antiguedadDias antigüedad mínima, o {@code null} para la configurada
+     * @return progreso del trabajo pendiente, o {@code null} si la antigüedad es negativa
+     */
+    public EstadoTrabajo archivarProductos(Integer antiguedadDias) {
+        return archivarProductos(antiguedadDias, null);
+    }
+
+    private EstadoTrabajo archivarProductos(Integer antiguedadDias, String clave) {
+        int dias = antiguedadDias != null ? antiguedadDias : antiguedadArchivoDias;
+        if (dias < 0) {
+            return null;
+        }
+        var antesDe = LocalDateTime.now().minusDays(dias);
+        return registrar(Tipo.ARCHIVAR_PRODUCTOS, escribir(new Archivado(antesDe)),
+                productoService.contarParaArchivar(antesDe), clave);
+    }
+
+    /**
+     * Registra el archivado periódico según {@code catalogo.archivo.cron}, salvo
+     * que ya haya uno pendiente o en curso. Desactivado por defecto.
+     * <p>Todos los nodos se disparan a la vez, así que el trabajo lleva como
+     * clave única el minuto programado: solo el primero en insertarlo lo
+     * registra y los demás reciben la violación de la restricción y desisten.
+     */
+    @Scheduled(cron = "${catalogo.archivo.cron:-}")
+    public void programarArchivado() {
+        if (trabajoRepository.existsByTipoAndEstadoIn(Tipo.ARCHIVAR_PRODUCTOS,
+                List.of(Estado.PENDIENTE, Estado.EN_CURSO))) {
+            return;
+        }
+        var clave = Tipo.ARCHIVAR_PRODUCTOS + "@" + LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        try {
+            archivarProductos(null, clave);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Archivado {} ya registrado por otro nodo", clave);
+        }
+    }
+
+    /**
+     * Obtiene el progreso de un trabajo.
+     * @param id identificador del trabajo
+     * @return progreso, o {@code null} si el trabajo no existe
+     */
+    public EstadoTrabajo estado(Long id) {
+        return trabajoRepository.findResumenById(id).map(TrabajoService::estado).orElse(null);
+    }
+
+    /**
+     * Obtiene las filas rechazadas de un trabajo posteriores a {@code desde}.
+     * @param id identificador del trabajo
+     * @param desde último id de error recibido (exclusivo)
+     * @param limite cantidad máxima de errores; se acota al máximo configurado
+     * @return errores en orden, o {@code null} si el trabajo no existe
+     */
+    public List<ErrorTrabajo> errores(Long id, long desde, int limite) {
+        if (!trabajoRepository.existsById(id)) {
+            return null;
+        }
+        return errorRepository.findByTrabajoIdAndIdGreaterThanOrderByIdAsc(id, desde,
+                Limit.of(Math.max(1, Math.min(limite, limiteErrores))));
+    }
+
+    /**
+     * Vuelve a encolar un trabajo fallido; continúa desde su último bloque confirmado.
+     * @param id identificador de un trabajo existente
+     * @return progreso del trabajo, o {@code null} si no estaba fallido
+     */
+    public EstadoTrabajo reanudar(Long id) {
+        return transacciones.execute(tx -> {
+            var trabajo = trabajoRepository.findBloqueadoById(id).orElse(null);
+            if (trabajo == null || trabajo.getEstado() != Estado.FALLIDO) {
+                return null;
+            }
+            trabajo.setEstado(Estado.PENDIENTE);
+            trabajo.setMensaje(null);
+            trabajo.setTerminado(null);
+            return estado(ResumenTrabajo.de(trabajo));
+        });
+    }
+
+    /**
+     * Recupera los trabajos abandonados por nodos caídos y reparte los
+     * pendientes mientras queden hilos libres.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.trabajos.sondeo-ms:1000}")
+    public void despachar() {
+        if (cerrando) {
+            return;
+        }
+        int recuperados = trabajoRepository.liberarHuerfanos(LocalDateTime.now().minus(latidoMaximo));
+        if (recuperados > 0) {
+            log.warn("Trabajos abandonados devueltos a pendientes: {}", recuperados);
+        }
+        while (cupos.tryAcquire()) {
+            var pendientes = trabajoRepository.findIdsByEstado(Estado.PENDIENTE, Limit.of(1));
+            if (pendientes.isEmpty()) {
+                cupos.release();
+                return;
+            }
+            Long siguiente = pendientes.get(0);
+            if (trabajoRepository.reclamar(siguiente, nodo, LocalDateTime.now()) == 0) {
+                // Otro nodo lo tomó primero.
+                cupos.release();
+                continue;
+            }
+            enCurso.add(siguiente);
+            ejecutor.execute(() -> ejecutar(siguiente));
+        }
+    }
+
+    private EstadoTrabajo registrar(Tipo tipo, String parametros, Long total, String clave) {
+        return transacciones.execute(tx -> {
+            var trabajo = new Trabajo();
+            trabajo.setTipo(tipo);
+            trabajo.setClave(clave);
+            trabajo.setEstado(Estado.PENDIENTE);
+            trabajo.setTotal(total);
+            trabajo.setCreado(LocalDateTime.now());
+            trabajo = trabajoRepository.saveAndFlush(trabajo);
+            var contenido = new ParametrosTrabajo();
+            contenido.setTrabajoId(trabajo.getId());
+            contenido.setContenido(parametros);
+            parametrosRepository.save(contenido);
+            return estado(ResumenTrabajo.de(trabajo));
+        });
+    }
+
+    private void ejecutar(Long id) {
+        try {
+            var trabajo = trabajoRepository.findById(id).orElseThrow();
+            var paso = paso(trabajo.getTipo(), parametrosRepository.findById(id).orElseThrow().getContenido());
+            if (trabajo.getIniciado() == null) {
+                transacciones.executeWithoutResult(tx -> trabajoRepository.findBloqueadoById(id)
+                        .ifPresent(t -> t.setIniciado(LocalDateTime.now())));
+            }
+            while (!Boolean.TRUE.equals(transacciones.execute(tx -> bloque(id, paso)))) {
+                if (cerrando) {
+                    liberar(id);
+                    return;
+                }
+                Thread.sleep(pausaMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(id);
+        } catch (RuntimeException e) {
+            log.warn("Trabajo {} fallido", id, e);
+            fallar(id, e);
+        } finally {
+            enCurso.remove(id);
+            cupos.release();
+        }
+    }
+
+    /**
+     * Procesa un bloque con la fila del trabajo bloqueada y confirma su avance.
+     * @return {@code true} si el trabajo terminó o dejó de pertenecer a este nodo
+     */
+    private boolean bloque(Long id, Paso paso) {
+        var trabajo = trabajoRepository.findBloqueadoById(id).orElse(null);
+        if (trabajo == null || trabajo.getEstado() != Estado.EN_CURSO || !nodo.equals(trabajo.getNodo())) {
+            return true;
+        }
+        long desde = trabajo.getCheckpoint();
+        var bloque = paso.procesar(desde);
+
+        if (!bloque.rechazos().isEmpty()) {
+            var ahora = LocalDateTime.now();
+            var errores = new ArrayList<ErrorTrabajo>(bloque.rechazos().size());
+            for (var rechazo : bloque.rechazos()) {
+                var error = new ErrorTrabajo();
+                error.setTrabajoId(id);
+                error.setPosicion(rechazo.posicion());
+                error.setDetalle(recortar(rechazo.motivo()));
+                error.setFecha(ahora);
+                errores.add(error);
+            }
+            errorRepository.saveAll(errores);
+        }
+        trabajo.setCheckpoint(bloque.siguiente());
+        trabajo.setProcesados(trabajo.getProcesados() + bloque.procesados());
+        trabajo.setErrores(trabajo.getErrores() + bloque.rechazos().size());
+        trabajo.setLatido(LocalDateTime.now());
+        if (bloque.fin()) {
+            trabajo.setEstado(Estado.COMPLETADO);
+            trabajo.setTerminado(trabajo.getLatido());
+        }
+        return bloque.fin();
+    }
+
+    private Paso paso(Tipo tipo, String contenido) {
+        return switch (tipo) {
+            case IMPORTAR_PRODUCTOS -> {
+                List<ProductoUpsert> filas = leer(contenido, new TypeReference<>() { });
+                yield desde -> {
+                    int fin = (int) Math.min(filas.size(), desde + tamanoBloque);
+                    var rechazos = new ArrayList<FilaRechazada>();
+                    productoService.upsert(filas.subList((int) desde, fin), desde, rechazos::add);
+                    return new Bloque(fin, fin - desde, rechazos, fin >= filas.size());
+                };
+            }
+            case REPRECIAR -> {
+                Repreciado parametros = leer(contenido, new TypeReference<>() { });
+                yield desde -> {
+                    var ids = productoService.repreciarBloque(parametros.solicitud(), parametros.factor(),
+                            desde, tamanoBloque);
+                    return new Bloque(ids.isEmpty() ? desde : ids.get(ids.size() - 1), ids.size(), List.of(),
+                            ids.size() < tamanoBloque);
+                };
+            }
+            case ARCHIVAR_PRODUCTOS -> {
+                Archivado parametros = leer(contenido, new TypeReference<>() { });
+                yield desde -> {
+                    var ids = productoService.archivarBloque(parametros.antesDe(), desde, tamanoBloque);
+                    return new Bloque(ids.isEmpty() ? desde : ids.get(ids.size() - 1), ids.size(), List.of(),
+                            ids.size() < tamanoBloque);
+                };
+            }
+            case ELIMINAR_CATEGORIA -> {
+                EliminacionCategoria parametros = leer(contenido, new TypeReference<>() { });
+                yield desde -> {
+                    int eliminados = categoriaService.eliminarProductosBloque(parametros.categoriaId(), tamanoBloque);
+                    boolean fin = eliminados < tamanoBloque;
+                    if (fin) {
+                        categoriaService.eliminar(parametros.categoriaId());
+                    }
+                    return new Bloque(desde + eliminados, eliminados, List.of(), fin);
+                };
+            }
+        };
+    }
+
+    private void fallar(Long id, RuntimeException causa) {
+        try {
+            transacciones.executeWithoutResult(tx -> trabajoRepository.findBloqueadoById(id).ifPresent(t -> {
+                if (t.getEstado() == Estado.EN_CURSO && nodo.equals(t.getNodo())) {
+                    t.setEstado(Estado.FALLIDO);
+                    t.setMensaje(recortar(String.valueOf(causa.getMessage())));
+                    t.setTerminado(LocalDateTime.now());
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo marcar el trabajo {} como fallido; se recuperará como abandonado", id, e);
+        }
+    }
+
+    private void liberar(Long id) {
+        try {
+            transacciones.executeWithoutResult(tx -> trabajoRepository.findBloqueadoById(id).ifPresent(t -> {
+                if (t.getEstado() == Estado.EN_CURSO && nodo.equals(t.getNodo())) {
+                    t.setEstado(Estado.PENDIENTE);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liberar el trabajo {}; se recuperará como abandonado", id, e);
+        }
+    }
+
+    private String escribir(Object parametros) {
+        try {
+            return json.writeValueAsString(parametros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parámetros de trabajo no serializables", e);
+        }
+    }
+
+    private <T> T leer(String parametros, TypeReference<T> tipo) {
+        try {
+            return json.readValue(parametros, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Parámetros de trabajo ilegibles", e);
+        }
+    }
+
+    private static String recortar(String texto) {
+        return texto.length() <= LONGITUD_MENSAJE ? texto : texto.substring(0, LONGITUD_MENSAJE);
+    }
+
+    private static EstadoTrabajo estado(ResumenTrabajo trabajo) {
+        Double porcentaje = trabajo.total() == null ? null
+                : trabajo.total() == 0 ? 100.0 : Math.min(100.0, trabajo.procesados() * 100.0 / trabajo.total());
+        double filasPorSegundo = 0;
+        if (trabajo.iniciado() != null) {
+            var fin = trabajo.terminado() != null ? trabajo.terminado() : LocalDateTime.now();
+            long millis = Duration.between(trabajo.iniciado(), fin).toMillis();
+            if (millis > 0) {
+                filasPorSegundo = trabajo.procesados() * 1000.0 / millis;
+            }
+        }
+        return new EstadoTrabajo(trabajo.id(), trabajo.tipo(), trabajo.estado(), trabajo.total(),
+                trabajo.procesados(), trabajo.errores(), porcentaje, filasPorSegundo, trabajo.intentos(),
+                trabajo.mensaje(), trabajo.creado(), trabajo.iniciado(), trabajo.terminado());
+    }
+
+    /**
+     * Deja de tomar trabajos y espera a que los hilos confirmen su bloque en
+     * curso; los trabajos sin terminar vuelven a pendientes.
+     */
+    @PreDestroy
+    public void cerrar() {
+        cerrando = true;
+        ejecutor.shutdown();
+        try {
+            if (!ejecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                ejecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ejecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Avance de un bloque sobre el trabajo. */
+    @FunctionalInterface
+    private interface Paso {
+
+        Bloque procesar(long desde);
+    }
+
+    /**
+     * Resultado de un bloque.
+     * @param siguiente nuevo {@code checkpoint}
+     * @param procesados elementos procesados
+     * @param rechazos filas rechazadas, cada una con su posición en la entrada
+     * @param fin si el trabajo terminó
+     */
+    private record Bloque(long siguiente, long procesados, List<FilaRechazada> rechazos, boolean fin) {
+    }
+
+    /**
+     * Parámetros guardados de un repreciado.
+     * @param solicitud solicitud original
+     * @param factor multiplicador calculado al registrar el trabajo
+     */
+    private record Repreciado(RepreciarRequest solicitud, double factor) {
+    }
+
+    /**
+     * Parámetros guardados de un archivado.
+     * @param antesDe fecha de registro límite (exclusiva)
+     */
+    private record Archivado(LocalDateTime antesDe) {
+    }
+
+    /**
+     * Parámetros guardados de la eliminación de una categoría.
+     * @param categoriaId categoría a eliminar
+     */
+    private record EliminacionCategoria(Long categoriaId) {
+    }
+}
@@ -0,0 +1,372 @@
+package com.campuslands.springbootdemo.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Almacén de cuerpos de respuesta fuera del heap con tamaño acotado.
+ * <p> * Reserva al crearse un único bloque de memoria directa dividido en páginas
+ * de tamaño fijo. Cada entrada ocupa las páginas que necesita, no
+ * necesariamente contiguas, y al descartarse las devuelve a la lista libre: no
+ * hay asignaciones por entrada ni fragmentación, y el GC solo ve el índice.
+ * Cuando faltan páginas se descartan las entradas usadas hace más tiempo.
+ * <p>Las lecturas copian las páginas a la salida sin tomar el candado del
+ * almacén. Cada entrada lleva un contador de referencias: el índice posee una
+ * y cada lectura en curso otra, y las páginas se liberan cuando el contador
+ * llega a cero, de modo que una entrada descartada durante una lectura lenta
+ * no se sobrescribe hasta que esa lectura termina.
+ * <p>Las últimas invalidaciones se recuerdan en un anillo numerado por
+ * generación. Una respuesta producida a partir de la generación {@code g} solo
+ * se guarda si ninguna invalidación posterior a {@code g} tocó sus etiquetas;
+ * si el anillo ya no llega hasta {@code g}, se descarta por prudencia.
+ */
+final class AlmacenBytes {
+
+    private final ByteBuffer bloque;
+
+    private final int tamanoPagina;
+
+    private final int[] paginasLibres;
+
+    private int cantidadLibres;
+
+    /** Índice en orden de acceso: el primero es el usado hace más tiempo. */
+    private final LinkedHashMap<String, Entrada> indice = new LinkedHashMap<>(256, 0.75f, true);
+
+    /** Claves por etiqueta, para invalidar sin recorrer todo el índice. */
+    private final Map<String, Set<String>> clavesPorEtiqueta = new HashMap<>();
+
+    private final ThreadLocal<byte[]> intermedio;
+
+    /** Etiquetas de las últimas invalidaciones, por generación módulo la longitud. */
+    private final Set<?>[] invalidaciones = new Set<?>[1024];
+
+    private long generacion;
+
+    private long bytesGuardados;
+
+    private long descartes;
+
+    /**
+     * Crea el almacén y reserva su memoria.
+     * @param maximoBytes capacidad total en bytes
+     * @param tamanoPagina tamaño de cada página en bytes
+     */
+    AlmacenBytes(long maximoBytes, int tamanoPagina) {
+        int paginas = (int) Math.min(Integer.MAX_VALUE / tamanoPagina, Math.max(1, maximoBytes / tamanoPagina));
+        this.bloque = ByteBuffer.allocateDirect(paginas * tamanoPagina);
+        this.tamanoPagina = tamanoPagina;
+        this.paginasLibres = new int[paginas];
+        for (int i = 0; i < paginas; i++) {
+            paginasLibres[i] = paginas - 1 - i;
+        }
+        this.cantidadLibres = paginas;
+        this.intermedio = ThreadLocal.withInitial(() -> new byte[tamanoPagina]);
+    }
+
+    /**
+     * Cuerpo guardado: sus páginas y su longitud.
+     */
+    private static final class Cuerpo {
+
+        private final int[] paginas;
+
+        private final int longitud;
+
+        private Cuerpo(int[] paginas, int longitud) {
+            this.paginas = paginas;
+            this.longitud = longitud;
+        }
+    }
+
+    /**
+     * Entrada del almacén.
+     */
+    static final class Entrada {
+
+        private final String clave;
+
+        private final String tipoContenido;
+
+        private final Cuerpo cuerpo;
+
+        private final Cuerpo comprimido;
+
+        private final Set<String> etiquetas;
+
+        /** Referencias: 1 del índice más una por lectura en curso; 0 cuando las páginas ya se liberaron. */
+        private final AtomicInteger referencias = new AtomicInteger(1);
+
+        private Entrada(String clave, String tipoContenido, Cuerpo cuerpo, Cuerpo comprimido, Set<String> etiquetas) {
+            this.clave = clave;
+            this.tipoContenido = tipoContenido;
+            this.cuerpo = cuerpo;
+            this.comprimido = comprimido;
+            this.etiquetas = etiquetas;
+        }
+
+        /**
+         * {@code Content-Type} de la respuesta original.
+         * @return tipo de contenido o {@code null}
+         */
+        String tipoContenido() {
+            return tipoContenido;
+        }
+
+        /**
+         * Indica si hay una versión comprimida con gzip.
+         * @return {@code true} si existe
+         */
+        boolean comprimida() {
+            return comprimido != null;
+        }
+
+        /**
+         * Longitud del cuerpo que se enviará.
+         * @param gzip si se envía la versión comprimida
+         * @return longitud en bytes
+         */
+        int longitud(boolean gzip) {
+            return (gzip ? comprimido : cuerpo).longitud;
+        }
+    }
+
+    /**
+     * Busca una entrada y la reserva para lectura. Debe liberarse con
+     * {@link #liberar(Entrada)} al terminar de copiarla.
+     * @param clave clave de la respuesta
+     * @return entrada reservada o {@code null} si no existe
+     */
+    Entrada reservar(String clave) {
+        Entrada entrada;
+        synchronized (this) {
+            entrada = indice.get(clave);
+        }
+        if (entrada == null) {
+            return null;
+        }
+        while (true) {
+            int actuales = entrada.referencias.get();
+            if (actuales == 0) {
+                return null;
+            }
+            if (entrada.referencias.compareAndSet(actuales, actuales + 1)) {
+                return entrada;
+            }
+        }
+    }
+
+    /**
+     * Libera una entrada reservada con {@link #reservar(String)}.
+     * @param entrada entrada reservada
+     */
+    void liberar(Entrada entrada) {
+        if (entrada.referencias.decrementAndGet() == 0) {
+            devolver(entrada);
+        }
+    }
+
+    /**
+     * Copia el cuerpo de una entrada reservada a la salida.
+     * @param entrada entrada reservada
+     * @param gzip si se copia la versión comprimida
+     * @param salida destino
+     * @throws IOException si falla la escritura
+     */
+    void copiar(Entrada entrada, boolean gzip, OutputStream salida) throws IOException {
+        var cuerpo = gzip ? entrada.comprimido : entrada.cuerpo;
+        byte[] pagina = intermedio.get();
+        int restantes = cuerpo.longitud;
+        for (int indicePagina : cuerpo.paginas) {
+            int longitud = Math.min(restantes, tamanoPagina);
+            bloque.get(indicePagina * tamanoPagina, pagina, 0, longitud);
+            salida.write(pagina, 0, longitud);
+            restantes -= longitud;
+        }
+    }
+
+    /**
+     * Generación actual; se toma antes de producir una respuesta que luego se
+     * quiere guardar.
+     * @return número de invalidaciones registradas desde el arranque
+     */
+    synchronized long generacion() {
+        return generacion;
+    }
+
+    /**
+     * Guarda una respuesta, descartando las menos usadas si hace falta espacio.
+     * @param clave clave de la respuesta
+     * @param tipoContenido {@code Content-Type} de la respuesta
+     * @param cuerpo bytes del cuerpo
+     * @param comprimido bytes comprimidos con gzip, o {@code null}
+     * @param etiquetas etiquetas de invalidación
+     * @param generacionInicial generación leída antes de producir la respuesta
+     * @return {@code true} si se guardó
+     */
+    boolean guardar(String clave, String tipoContenido, byte[] cuerpo, byte[] comprimido, Set<String> etiquetas,
+            long generacionInicial) {
+        int necesarias = paginas(cuerpo.length) + (comprimido != null ? paginas(comprimido.length) : 0);
+        if (necesarias > paginasLibres.length / 4) {
+            return false;
+        }
+        int[] reservadas;
+        synchronized (this) {
+            if (invalidadaDesde(generacionInicial, etiquetas)) {
+                return false;
+            }
+            eliminar(indice.get(clave));
+            var recorrido = indice.values().iterator();
+            while (cantidadLibres < necesarias && recorrido.hasNext()) {
+                var antigua = recorrido.next();
+                recorrido.remove();
+                desindexar(antigua);
+                descartes++;
+            }
+            if (cantidadLibres < necesarias) {
+                // Las páginas de las descartadas siguen en uso por lecturas en curso.
+                return false;
+            }
+            reservadas = new int[necesarias];
+            for (int i = 0; i < necesarias; i++) {
+                reservadas[i] = paginasLibres[--cantidadLibres];
+            }
+        }
+
+        int separacion = paginas(cuerpo.length);
+        var entrada = new Entrada(clave, tipoContenido, escribir(cuerpo, reservadas, 0, separacion),
+                comprimido != null ? escribir(comprimido, reservadas, separacion, necesarias) : null,
+                Set.copyOf(etiquetas));
+        synchronized (this) {
+            if (invalidadaDesde(generacionInicial, etiquetas)) {
+                devolver(entrada);
+                return false;
+            }
+            eliminar(indice.get(clave));
+            indice.put(clave, entrada);
+            for (String etiqueta : entrada.etiquetas) {
+                clavesPorEtiqueta.computeIfAbsent(etiqueta, e -> new HashSet<>()).add(clave);
+            }
+            bytesGuardados += cuerpo.length + (comprimido != null ? comprimido.length : 0);
+        }
+        return true;
+    }
+
+    /**
+     * Descarta las entradas con alguna de las etiquetas indicadas.
+     * @param etiquetas etiquetas invalidadas
+     * @return cantidad de entradas descartadas
+     */
+    synchronized int invalidar(Set<String> etiquetas) {
+        invalidaciones[(int) (++generacion % invalidaciones.length)] = Set.copyOf(etiquetas);
+        List<String> claves = new ArrayList<>();
+        for (String etiqueta : etiquetas) {
+            var asociadas = clavesPorEtiqueta.get(etiqueta);
+            if (asociadas != null) {
+                claves.addAll(asociadas);
+            }
+        }
+        int descartadas = 0;
+        for (String clave : claves) {
+            var entrada = indice.get(clave);
+            if (entrada != null) {
+                eliminar(entrada);
+                descartadas++;
+            }
+        }
+        return descartadas;
+    }
+
+    /**
+     * Cantidad de entradas guardadas.
+     * @return entradas
+     */
+    synchronized int entradas() {
+        return indice.size();
+    }
+
+    /**
+     * Bytes de cuerpo guardados, sin contar el espacio sin usar de las páginas.
+     * @return bytes guardados
+     */
+    synchronized long bytesGuardados() {
+        return bytesGuardados;
+    }
+
+    /**
+     * Entradas descartadas por falta de espacio desde el arranque.
+     * @return descartes
+     */
+    synchronized long descartes() {
+        return descartes;
+    }
+
+    /** Indica si alguna invalidación posterior a la generación indicada afecta a las etiquetas. Requiere el candado. */
+    private boolean invalidadaDesde(long generacionInicial, Set<String> etiquetas) {
+        if (generacion - generacionInicial >= invalidaciones.length) {
+            return true;
+        }
+        for (long g = generacionInicial + 1; g <= generacion; g++) {
+            var invalidadas = invalidaciones[(int) (g % invalidaciones.length)];
+            if (etiquetas.stream().anyMatch(invalidadas::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int paginas(int bytes) {
+        return Math.max(1, (bytes + tamanoPagina - 1) / tamanoPagina);
+    }
+
+    private Cuerpo escribir(byte[] datos, int[] reservadas, int desde, int hasta) {
+        var paginas = new int[hasta - desde];
+        int posicion = 0;
+        for (int i = desde; i < hasta; i++) {
+            paginas[i - desde] = reservadas[i];
+            int longitud = Math.min(tamanoPagina, datos.length - posicion);
+            bloque.put(reservadas[i] * tamanoPagina, datos, posicion, longitud);
+            posicion += longitud;
+        }
+        return new Cuerpo(paginas, datos.length);
+    }
+
+    /** Quita la entrada del índice y suelta la referencia del índice. Requiere el candado. */
+    private void eliminar(Entrada entrada) {
+        if (entrada != null && indice.remove(entrada.clave, entrada)) {
+            desindexar(entrada);
+        }
+    }
+
+    /** Quita la entrada de las etiquetas y suelta la referencia del índice. Requiere el candado. */
+    private void desindexar(Entrada entrada) {
+        for (String etiqueta : entrada.etiquetas) {
+            var claves = clavesPorEtiqueta.get(etiqueta);
+            if (claves != null && claves.remove(entrada.clave) && claves.isEmpty()) {
+                clavesPorEtiqueta.remove(etiqueta);
+            }
+        }
+        bytesGuardados -= entrada.cuerpo.longitud + (entrada.comprimido != null ? entrada.comprimido.longitud : 0);
+        liberar(entrada);
+    }
+
+    private synchronized void devolver(Entrada entrada) {
+        for (int pagina : entrada.cuerpo.paginas) {
+            paginasLibres[cantidadLibres++] = pagina;
+        }
+        if (entrada.comprimido != null) {
+            for (int pagina : entrada.comprimido.paginas) {
+                paginasLibres[cantidadLibres++] = pagina;
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.campuslands.springbootdemo.web;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filtro que guarda las respuestas de las lecturas por id y de categorías y
+ * las sirve obsoletas mientras se revalidan.
+ * <p> * Cubre {@code GET /api/productos/{id}}, {@code GET /api/categorias} y
+ * {@code GET /api/categorias/{id}} sin parámetros. Según la edad de la entrada:
+ * <ul>
+ *   <li>dentro de la frescura se sirve sin consultar la base de datos;</li>
+ *   <li>dentro de la gracia se sirve con {@code Warning: 110} y se revalida en
+ *       segundo plano;</li>
+ *   <li>después, la solicitud llega al controlador; si falla con un error del
+ *       servidor y la entrada no supera el máximo de obsolescencia, se sirve con
+ *       {@code Warning: 111}. Tras un fallo de acceso a datos, durante el
+ *       enfriamiento esas entradas se sirven directamente sin esperar a la base
+ *       de datos; otros errores solo sustituyen la respuesta que falló.</li>
+ * </ul>
+ * La revalidación repite la solicitud contra el propio servidor con la
+ * cabecera {@link #CABECERA_REVALIDACION}, cuyo valor es un secreto generado al
+ * arrancar; la cabecera solo se respeta desde la interfaz local y con ese
+ * valor, así que un cliente no puede saltarse la caché con ella. Las entradas
+ * se invalidan con cada {@link CambioCatalogoEvent}, incluidos los recibidos de
+ * otros nodos; un contador de generación evita guardar una respuesta leída
+ * antes de una invalidación. Al llenarse se descarta la entrada usada hace más
+ * tiempo.
+ * @since 1.1.0
+ */
+public class CacheRespuestasFilter extends OncePerRequestFilter {
+
+    /** Cabecera de las solicitudes internas que renuevan una entrada. */
+    public static final String CABECERA_REVALIDACION = "X-Cache-Revalidacion";
+
+    /** Cabecera que indica cómo se resolvió la respuesta. */
+    public static final String CABECERA_CACHE = "X-Cache";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheRespuestasFilter.class);
+
+    private static final Pattern PRODUCTO = Pattern.compile("/api/productos/\\d+");
+
+    private static final Pattern CATEGORIAS = Pattern.compile("/api/categorias(?:/\\d+)?");
+
+    private static final String WARNING = "Warning";
+
+    private static final String AVISO_OBSOLETA = "110 - \"Response is Stale\"";
+
+    private static final String AVISO_REVALIDACION_FALLIDA = "111 - \"Revalidation Failed\"";
+
+    /** Valor de {@link #CABECERA_REVALIDACION} que identifica las revalidaciones de este proceso. */
+    private static final String SECRETO_REVALIDACION = secreto();
+
+    /** Entradas en orden de uso; todo recorrido debe sincronizarse sobre el mapa. */
+    private final Map<String, Entrada> entradas;
+
+    private final Set<String> revalidando = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong generacion = new AtomicLong();
+
+    private final int capacidad;
+
+    private final long frescuraNanos;
+
+    private final long graciaNanos;
+
+    private final long maximoObsoletoNanos;
+
+    private final long enfriamientoNanos;
+
+    private final Duration timeoutRevalidacion;
+
+    private final ExecutorService revalidaciones;
+
+    private final HttpClient cliente;
+
+    private final Counter frescas;
+
+    private final Counter enGracia;
+
+    private final Counter porFallo;
+
+    private final Counter ausentes;
+
+    private final Counter revalidacionesFallidas;
+
+    private final LongSupplier reloj;
+
+    /** Momento ({@link System#nanoTime()}) del último fallo de la base de datos; {@code 0} si no hay uno reciente. */
+    private volatile long ultimoFallo;
+
+    /**
+     * Crea el filtro y registra sus métricas.
+     * @param capacidad entradas máximas
+     * @param frescuraMillis edad hasta la cual una entrada se sirve sin revalidar
+     * @param graciaMillis edad hasta la cual una entrada se sirve mientras se revalida
+     * @param maximoObsoletoMillis edad hasta la cual una entrada reemplaza a una respuesta fallida
+     * @param enfriamientoMillis tiempo tras un fallo durante el cual se sirven entradas obsoletas sin esperar
+     * @param timeoutRevalidacionMillis tiempo máximo de una revalidación
+     * @param hilosRevalidacion hilos dedicados a revalidar
+     * @param registro registro de métricas
+     */
+    public CacheRespuestasFilter(int capacidad, long frescuraMillis, long graciaMillis, long maximoObsoletoMillis,
+            long enfriamientoMillis, long timeoutRevalidacionMillis, int hilosRevalidacion, MeterRegistry registro) {
+        this(capacidad, frescuraMillis, graciaMillis, maximoObsoletoMillis, enfriamientoMillis,
+                timeoutRevalidacionMillis, hilosRevalidacion, registro, System::nanoTime);
+    }
+
+    /**
+     * Igual que el constructor público, con el reloj en nanosegundos indicado.
+     */
+    CacheRespuestasFilter(int capacidad, long frescuraMillis, long graciaMillis, long maximoObsoletoMillis,
+            long enfriamientoMillis, long timeoutRevalidacionMillis, int hilosRevalidacion, MeterRegistry registro,
+            LongSupplier reloj) {
+        this.capacidad = capacidad;
+        this.reloj = reloj;
+        this.entradas = Collections.synchronizedMap(new LinkedHashMap<String, Entrada>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+                return size() > CacheRespuestasFilter.this.capacidad;
+            }
+        });
+        this.frescuraNanos = TimeUnit.MILLISECONDS.toNanos(frescuraMillis);
+        this.graciaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(graciaMillis, frescuraMillis));
+        this.maximoObsoletoNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maximoObsoletoMillis, graciaMillis));
+        this.enfriamientoNanos = TimeUnit.MILLISECONDS.toNanos(enfriamientoMillis);
+        this.timeoutRevalidacion = Duration.ofMillis(timeoutRevalidacionMillis);
+        this.revalidaciones = Executors.newFixedThreadPool(hilosRevalidacion,
+                Thread.ofPlatform().name("cache-revalidacion-", 0).daemon().factory());
+        this.cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.frescas = resultado(registro, "fresca");
+        this.enGracia = resultado(registro, "gracia");
+        this.porFallo = resultado(registro, "fallo");
+        this.ausentes = resultado(registro, "ausente");
+        this.revalidacionesFallidas = Counter.builder("catalogo.cache_respuestas.revalidaciones_fallidas")
+                .description("Revalidaciones que no obtuvieron una respuesta válida").register(registro);
+        Gauge.builder("catalogo.cache_respuestas.entradas", entradas, Map::size)
+                .description("Respuestas guardadas").register(registro);
+    }
+
+    private static Counter resultado(MeterRegistry registro, String resultado) {
+        return Counter.builder("catalogo.cache_respuestas.solicitudes")
+                .tag("resultado", resultado).description("Lecturas resueltas por la caché de respuestas")
+                .register(registro);
+    }
+
+    /**
+     * Solo se filtran las lecturas sin parámetros de las rutas cubiertas.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getQueryString() != null) {
+            return true;
+        }
+        var ruta = ruta(request);
+        return !PRODUCTO.matcher(ruta).matches() && !CATEGORIAS.matcher(ruta).matches();
+    }
+
+    /**
+     * Indica si la solicitud es una revalidación interna: llega por la
+     * interfaz local con el secreto de este proceso en {@link #CABECERA_REVALIDACION}.
+     * Las cachés la resuelven siempre en el controlador.
+     * @param request solicitud
+     * @return {@code true} si es una revalidación interna
+     */
+    public static boolean esRevalidacion(HttpServletRequest request) {
+        var valor = request.getHeader(CABECERA_REVALIDACION);
+        return valor != null && local(request.getRemoteAddr())
+                && MessageDigest.isEqual(valor.getBytes(StandardCharsets.UTF_8),
+                        SECRETO_REVALIDACION.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Valor de la cabecera de revalidación de este proceso; visible para las pruebas. */
+    static String secretoRevalidacion() {
+        return SECRETO_REVALIDACION;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var clave = ruta(request);
+        if (esRevalidacion(request)) {
+            consultar(request, response, chain, clave, null);
+            return;
+        }
+
+        var entrada = entradas.get(clave);
+        if (entrada != null) {
+            long edad = reloj.getAsLong() - entrada.guardada();
+            if (edad <= frescuraNanos) {
+                frescas.increment();
+                servir(response, entrada, edad, "HIT", null);
+                return;
+            }
+            if (edad <= graciaNanos || edad <= maximoObsoletoNanos && degradada()) {
+                boolean gracia = edad <= graciaNanos;
+                (gracia ? enGracia : porFallo).increment();
+                servir(response, entrada, edad, "STALE", gracia ? AVISO_OBSOLETA : AVISO_REVALIDACION_FALLIDA);
+                programarRevalidacion(request, clave);
+                return;
+            }
+        }
+        ausentes.increment();
+        consultar(request, response, chain, clave, entrada);
+    }
+
+    /**
+     * Resuelve la solicitud en el controlador, guarda la respuesta si es
+     * correcta y, si falla, la sustituye por la entrada anterior cuando aún es usable.
+     */
+    private void consultar(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+            String clave, Entrada anterior) throws ServletException, IOException {
+        long generacionInicial = generacion.get();
+        var envoltorio = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, envoltorio);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (falloDeDatos(e)) {
+                ultimoFallo = reloj.getAsLong() | 1;
+            }
+            if (!sustituir(response, envoltorio, anterior)) {
+                throw e;
+            }
+            log.debug("Respuesta obsoleta servida para {} tras un error", clave, e);
+            return;
+        }
+
+        int estado = envoltorio.getStatus();
+        if (estado == HttpStatus.OK.value()) {
+            ultimoFallo = 0;
+            guardar(clave, envoltorio, generacionInicial);
+        } else if (estado == HttpStatus.NOT_FOUND.value()) {
+            entradas.remove(clave);
+        } else if (estado >= 500 && sustituir(response, envoltorio, anterior)) {
+            return;
+        }
+        envoltorio.copyBodyToResponse();
+    }
+
+    private boolean sustituir(HttpServletResponse response, ContentCachingResponseWrapper envoltorio,
+            Entrada anterior) throws IOException {
+        if (anterior == null || response.isCommitted()) {
+            return false;
+        }
+        long edad = reloj.getAsLong() - anterior.guardada();
+        if (edad > maximoObsoletoNanos) {
+            return false;
+        }
+        porFallo.increment();
+        envoltorio.resetBuffer();
+        response.resetBuffer();
+        response.setStatus(HttpStatus.OK.value());
+        servir(response, anterior, edad, "STALE", AVISO_REVALIDACION_FALLIDA);
+        return true;
+    }
+
+    private void guardar(String clave, ContentCachingResponseWrapper envoltorio, long generacionInicial) {
+        if (generacion.get() != generacionInicial) {
+            // Hubo una invalidación mientras se leía: la respuesta puede ser anterior al cambio.
+            return;
+        }
+        // El mapa descarta la entrada usada hace más tiempo al superar la capacidad.
+        entradas.put(clave, new Entrada(envoltorio.getContentAsByteArray(), envoltorio.getContentType(),
+                reloj.getAsLong()));
+    }
+
+    /**
+     * Indica si el error proviene del acceso a datos; solo esos activan el
+     * enfriamiento para todas las entradas.
+     */
+    private static boolean falloDeDatos(Throwable error) {
+        for (var causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof DataAccessException || causa instanceof TransactionException
+                    || causa instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void servir(HttpServletResponse response, Entrada entrada, long edadNanos, String cache,
+            String aviso) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        if (entrada.tipoContenido() != null) {
+            response.setContentType(entrada.tipoContenido());
+        }
+        response.setContentLength(entrada.cuerpo().length);
+        response.setHeader(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(edadNanos)));
+        response.setHeader(CABECERA_CACHE, cache);
+        if (aviso != null) {
+            response.setHeader(WARNING, aviso);
+        }
+        response.getOutputStream().write(entrada.cuerpo());
+    }
+
+    private boolean degradada() {
+        long fallo = ultimoFallo;
+        return fallo != 0 && reloj.getAsLong() - fallo <= enfriamientoNanos;
+    }
+
+    private void programarRevalidacion(HttpServletRequest request, String clave) {
+        if (!revalidando.add(clave)) {
+            return;
+        }
+        var uri = URI.create("http://localhost:" + request.getLocalPort() + request.getContextPath() + clave);
+        try {
+            revalidaciones.execute(() -> revalidar(uri, clave));
+        } catch (RejectedExecutionException e) {
+            revalidando.remove(clave);
+        }
+    }
+
+    private void revalidar(URI uri, String clave) {
+        try {
+            var respuesta = cliente.send(HttpRequest.newBuilder(uri).timeout(timeoutRevalidacion)
+                    .header(CABECERA_REVALIDACION, SECRETO_REVALIDACION).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (respuesta.statusCode() >= 500) {
+                revalidacionesFallidas.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Incluye el vencimiento del timeout: la base de datos sigue sin responder.
+            ultimoFallo = reloj.getAsLong() | 1;
+            revalidacionesFallidas.increment();
+        } finally {
+            revalidando.remove(clave);
+        }
+    }
+
+    /**
+     * Invalida las respuestas afectadas por un cambio confirmado del catálogo.
+     * <p>Los productos incluyen su categoría, así que cualquier cambio de
+     * categorías descarta todas las entradas.
+     * @param cambio cambio del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioCatalogoEvent cambio) {
+        generacion.incrementAndGet();
+        if (cambio.entidad() == Entidad.CATEGORIA) {
+            entradas.clear();
+        } else if (cambio.masivo()) {
+            synchronized (entradas) {
+                entradas.keySet().removeIf(clave -> PRODUCTO.matcher(clave).matches());
+            }
+        } else {
+            entradas.remove("/api/productos/" + cambio.id());
+        }
+    }
+
+    /**
+     * Detiene las revalidaciones en curso al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        revalidaciones.shutdownNow();
+    }
+
+    private static boolean local(String direccion) {
+        return "127.0.0.1".equals(direccion) || "0:0:0:0:0:0:0:1".equals(direccion) || "::1".equals(direccion);
+    }
+
+    private static String secreto() {
+        var bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static String ruta(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Respuesta guardada.
+     * @param cuerpo bytes del cuerpo
+     * @param tipoContenido {@code Content-Type} original
+     * @param guardada momento ({@link System#nanoTime()}) en que se guardó
+     */
+    private record Entrada(byte[] cuerpo, String tipoContenido, long guardada) {
+    }
+}
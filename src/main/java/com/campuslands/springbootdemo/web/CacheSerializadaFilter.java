@@ -0,0 +1,305 @@
+package com.campuslands.springbootdemo.web;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filtro que guarda los bytes ya serializados de las lecturas más frecuentes y
+ * los sirve sin pasar por el controlador ni por Jackson.
+ * <p> * Cubre la lista de productos y las búsquedas por nombre, precio y
+ * código de productos y categorías, con o sin {@code forma=normalizada}. Las
+ * lecturas por id y la lista de categorías quedan a cargo de
+ * {@link CacheRespuestasFilter}, que ya las guarda; cubrirlas aquí también
+ * duplicaría cada cuerpo en las dos cachés. La clave es la ruta más los parámetros ordenados;
+ * las solicitudes con parámetros desconocidos o repetidos no se guardan. Los
+ * cuerpos viven en un {@link AlmacenBytes} fuera del heap, opcionalmente
+ * también comprimidos con gzip, y una lectura guardada se resuelve copiando
+ * sus páginas a la salida.
+ * <p>Cada entrada lleva etiquetas de invalidación:
+ * <ul>
+ *   <li>las de contenido, {@code producto:<id>} y {@code categoria:<id>}, por
+ *       cada fila incluida en la respuesta, que calcula
+ *       {@link EtiquetasCacheAdvice} a partir del cuerpo;</li>
+ *   <li>las de conjunto, que dependen de la ruta: {@code productos} para la
+ *       lista y {@code productos.<campo>} o {@code categorias.<campo>} para
+ *       las búsquedas por ese campo.</li>
+ * </ul>
+ * Cada {@link CambioCatalogoEvent} descarta solo las entradas cuyas etiquetas
+ * coinciden: una modificación, las respuestas que contienen la fila y las
+ * búsquedas por los campos modificados; un alta o una baja, además, las listas
+ * completas. Los cambios masivos no identifican filas y descartan todas las
+ * respuestas que contienen filas de esa entidad.
+ * <p>Se registra antes de {@link CacheRespuestasFilter}; las respuestas que
+ * esa caché sirvió no se guardan aquí porque ya no pasan por el controlador.
+ * La cabecera de revalidación solo salta la caché cuando
+ * {@link CacheRespuestasFilter#esRevalidacion(HttpServletRequest)} la acepta.
+ * <p>Está deshabilitada por defecto porque reserva al arrancar toda la memoria
+ * del almacén; se activa con {@code catalogo.cache-serializada.habilitado}.
+ * @since 1.1.0
+ */
+public class CacheSerializadaFilter extends OncePerRequestFilter {
+
+    /** Atributo de la solicitud con la clave de la respuesta que se quiere guardar. */
+    public static final String ATRIBUTO_CLAVE = CacheSerializadaFilter.class.getName() + ".clave";
+
+    /** Atributo de la solicitud con las etiquetas de contenido calculadas del cuerpo. */
+    public static final String ATRIBUTO_ETIQUETAS = CacheSerializadaFilter.class.getName() + ".etiquetas";
+
+    private static final String GZIP = "gzip";
+
+    /** Rutas cubiertas, con los parámetros admitidos y la etiqueta de conjunto. */
+    private static final List<Ruta> RUTAS = List.of(
+            new Ruta(Pattern.compile("/api/productos"), Set.of(), Set.of("forma"), "productos"),
+            new Ruta(Pattern.compile("/api/productos/buscar/nombre"), Set.of("nombre"), Set.of("forma"),
+                    "productos.nombre"),
+            new Ruta(Pattern.compile("/api/productos/buscar/precio"), Set.of("precio"), Set.of("forma"),
+                    "productos.precio"),
+            new Ruta(Pattern.compile("/api/categorias/buscar/nombre"), Set.of("nombre"), Set.of(),
+                    "categorias.nombre"),
+            new Ruta(Pattern.compile("/api/categorias/buscar/codigo"), Set.of("codigo"), Set.of(),
+                    "categorias.codigo"));
+
+    private final AlmacenBytes almacen;
+
+    private final boolean gzip;
+
+    private final int gzipMinimoBytes;
+
+    private final Counter aciertos;
+
+    private final Counter ausentes;
+
+    /**
+     * Crea el filtro, reserva la memoria del almacén y registra sus métricas.
+     * @param maximoBytes capacidad total del almacén en bytes
+     * @param tamanoPagina tamaño de cada página del almacén en bytes
+     * @param gzip si se guarda también una versión comprimida con gzip
+     * @param gzipMinimoBytes tamaño mínimo del cuerpo para comprimirlo
+     * @param registro registro de métricas
+     */
+    public CacheSerializadaFilter(long maximoBytes, int tamanoPagina, boolean gzip, int gzipMinimoBytes,
+            MeterRegistry registro) {
+        this.almacen = new AlmacenBytes(maximoBytes, tamanoPagina);
+        this.gzip = gzip;
+        this.gzipMinimoBytes = gzipMinimoBytes;
+        this.aciertos = resultado(registro, "acierto");
+        this.ausentes = resultado(registro, "ausente");
+        Gauge.builder("catalogo.cache_serializada.entradas", almacen, AlmacenBytes::entradas)
+                .description("Respuestas serializadas guardadas").register(registro);
+        Gauge.builder("catalogo.cache_serializada.bytes", almacen, AlmacenBytes::bytesGuardados)
+                .description("Bytes de cuerpo guardados fuera del heap").baseUnit("bytes").register(registro);
+        FunctionCounter.builder("catalogo.cache_serializada.descartes", almacen, AlmacenBytes::descartes)
+                .description("Entradas descartadas por falta de espacio").register(registro);
+    }
+
+    private static Counter resultado(MeterRegistry registro, String resultado) {
+        return Counter.builder("catalogo.cache_serializada.solicitudes")
+                .tag("resultado", resultado).description("Lecturas resueltas por la caché serializada")
+                .register(registro);
+    }
+
+    /**
+     * Solo se filtran las lecturas de las rutas cubiertas que aceptan JSON.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        var aceptado = request.getHeader(HttpHeaders.ACCEPT);
+        if (aceptado != null && !aceptado.contains("*/*") && !aceptado.contains("application/json")) {
+            return true;
+        }
+        var ruta = ruta(request);
+        return RUTAS.stream().noneMatch(r -> r.patron().matcher(ruta).matches());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var ruta = ruta(request);
+        var cubierta = RUTAS.stream().filter(r -> r.patron().matcher(ruta).matches()).findFirst().orElseThrow();
+        var clave = clave(request, ruta, cubierta);
+        if (clave == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (!CacheRespuestasFilter.esRevalidacion(request)) {
+            var entrada = almacen.reservar(clave);
+            if (entrada != null) {
+                try {
+                    aciertos.increment();
+                    servir(request, response, entrada);
+                } finally {
+                    almacen.liberar(entrada);
+                }
+                return;
+            }
+        }
+        ausentes.increment();
+
+        long generacionInicial = almacen.generacion();
+        request.setAttribute(ATRIBUTO_CLAVE, clave);
+        var envoltorio = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, envoltorio);
+        guardar(request, envoltorio, clave, cubierta, generacionInicial);
+        envoltorio.copyBodyToResponse();
+    }
+
+    /**
+     * Clave de la solicitud: la ruta más los parámetros ordenados, o
+     * {@code null} si tiene parámetros no admitidos, repetidos o ausentes.
+     */
+    private static String clave(HttpServletRequest request, String ruta, Ruta cubierta) {
+        var parametros = new TreeMap<String, String>();
+        for (var parametro : request.getParameterMap().entrySet()) {
+            var nombre = parametro.getKey();
+            var valores = parametro.getValue();
+            if (!cubierta.requeridos().contains(nombre) && !cubierta.opcionales().contains(nombre)
+                    || valores.length != 1) {
+                return null;
+            }
+            if ("forma".equals(nombre) && !"normalizada".equals(valores[0])) {
+                return null;
+            }
+            parametros.put(nombre, valores[0]);
+        }
+        if (!parametros.keySet().containsAll(cubierta.requeridos())) {
+            return null;
+        }
+        var clave = new StringBuilder(ruta);
+        char separador = '?';
+        for (var parametro : parametros.entrySet()) {
+            clave.append(separador).append(parametro.getKey()).append('=').append(parametro.getValue());
+            separador = '&';
+        }
+        return clave.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void guardar(HttpServletRequest request, ContentCachingResponseWrapper envoltorio, String clave,
+            Ruta cubierta, long generacionInicial) throws IOException {
+        var contenido = (Set<String>) request.getAttribute(ATRIBUTO_ETIQUETAS);
+        if (envoltorio.getStatus() != HttpStatus.OK.value() || contenido == null
+                || envoltorio.getHeader(CacheRespuestasFilter.CABECERA_CACHE) != null
+                || envoltorio.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            // Solo se guardan cuerpos recién serializados por el controlador.
+            return;
+        }
+        var etiquetas = new HashSet<>(contenido);
+        if (cubierta.etiqueta() != null) {
+            etiquetas.add(cubierta.etiqueta());
+        }
+        byte[] cuerpo = envoltorio.getContentAsByteArray();
+        almacen.guardar(clave, envoltorio.getContentType(), cuerpo, comprimir(cuerpo), etiquetas, generacionInicial);
+    }
+
+    /** Versión gzip del cuerpo, o {@code null} si no se comprime o no reduce el tamaño. */
+    private byte[] comprimir(byte[] cuerpo) throws IOException {
+        if (!gzip || cuerpo.length < gzipMinimoBytes) {
+            return null;
+        }
+        var salida = new ByteArrayOutputStream(cuerpo.length / 4);
+        try (var compresor = new GZIPOutputStream(salida)) {
+            compresor.write(cuerpo);
+        }
+        return salida.size() < cuerpo.length ? salida.toByteArray() : null;
+    }
+
+    private void servir(HttpServletRequest request, HttpServletResponse response, AlmacenBytes.Entrada entrada)
+            throws IOException {
+        boolean comprimida = entrada.comprimida() && aceptaGzip(request);
+        response.setStatus(HttpStatus.OK.value());
+        if (entrada.tipoContenido() != null) {
+            response.setContentType(entrada.tipoContenido());
+        }
+        if (comprimida) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(entrada.longitud(comprimida));
+        response.setHeader(CacheRespuestasFilter.CABECERA_CACHE, "BYTES");
+        almacen.copiar(entrada, comprimida, response.getOutputStream());
+    }
+
+    private static boolean aceptaGzip(HttpServletRequest request) {
+        var codificaciones = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (codificaciones == null) {
+            return false;
+        }
+        for (String codificacion : codificaciones.toLowerCase(Locale.ROOT).split(",")) {
+            var partes = codificacion.split(";");
+            if (GZIP.equals(partes[0].trim())) {
+                return partes.length == 1 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Descarta las respuestas afectadas por un cambio confirmado del catálogo.
+     * @param cambio cambio del catálogo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioCatalogoEvent cambio) {
+        boolean producto = cambio.entidad() == Entidad.PRODUCTO;
+        var conjunto = producto ? "productos" : "categorias";
+        var fila = (producto ? "producto:" : "categoria:") + cambio.id();
+        var etiquetas = new HashSet<String>();
+        for (String campo : cambio.campos()) {
+            etiquetas.add(conjunto + "." + campo);
+        }
+        switch (cambio.tipo()) {
+            case CREADO -> etiquetas.add(conjunto);
+            case ACTUALIZADO -> etiquetas.add(fila);
+            case ELIMINADO -> {
+                etiquetas.add(fila);
+                etiquetas.add(conjunto);
+            }
+            case MASIVO -> {
+                etiquetas.add(conjunto);
+                etiquetas.add(conjunto + EtiquetasCacheAdvice.CONTENIDO);
+            }
+        }
+        almacen.invalidar(etiquetas);
+    }
+
+    private static String ruta(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Ruta cubierta.
+     * @param patron patrón de la ruta
+     * @param requeridos parámetros obligatorios
+     * @param opcionales parámetros admitidos además de los obligatorios
+     * @param etiqueta etiqueta de conjunto de la ruta, o {@code null} si no tiene
+     */
+    private record Ruta(Pattern patron, Set<String> requeridos, Set<String> opcionales, String etiqueta) {
+    }
+}
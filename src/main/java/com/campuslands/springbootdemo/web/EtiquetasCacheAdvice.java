@@ -0,0 +1,101 @@
+package com.campuslands.springbootdemo.web;
+
+import com.campuslands.springbootdemo.dto.ListaNormalizada;
+import com.campuslands.springbootdemo.dto.ProductoPlano;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Calcula las etiquetas de contenido de las respuestas que
+ * {@link CacheSerializadaFilter} quiere guardar.
+ * <p> * Actúa solo en las solicitudes marcadas por el filtro con
+ * {@link CacheSerializadaFilter#ATRIBUTO_CLAVE}. Recorre el cuerpo antes de
+ * serializarlo y etiqueta la respuesta con {@code producto:<id>} y
+ * {@code categoria:<id>} por cada fila incluida, y con
+ * {@code productos.contenido} o {@code categorias.contenido} si incluye alguna
+ * fila de esa entidad. Un cuerpo de otro tipo no recibe etiquetas y la
+ * respuesta no se guarda.
+ * @since 1.1.0
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "catalogo.cache-serializada.habilitado", havingValue = "true")
+public class EtiquetasCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    /** Sufijo de la etiqueta de las respuestas que incluyen alguna fila de la entidad. */
+    public static final String CONTENIDO = ".contenido";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servlet
+                && servlet.getServletRequest().getAttribute(CacheSerializadaFilter.ATRIBUTO_CLAVE) != null) {
+            var etiquetas = etiquetas(body);
+            if (etiquetas != null) {
+                servlet.getServletRequest().setAttribute(CacheSerializadaFilter.ATRIBUTO_ETIQUETAS, etiquetas);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Etiquetas de contenido del cuerpo, o {@code null} si no es un producto,
+     * una categoría, una lista de ellos o una {@link ListaNormalizada}.
+     */
+    private static Set<String> etiquetas(Object cuerpo) {
+        var etiquetas = new HashSet<String>();
+        if (cuerpo instanceof ListaNormalizada lista) {
+            for (ProductoPlano producto : lista.productos()) {
+                etiquetas.add("producto:" + producto.id());
+            }
+            lista.categorias().keySet().forEach(id -> etiquetas.add("categoria:" + id));
+        } else if (cuerpo instanceof Collection<?> elementos) {
+            for (Object elemento : elementos) {
+                if (!agregar(etiquetas, elemento)) {
+                    return null;
+                }
+            }
+        } else if (!agregar(etiquetas, cuerpo)) {
+            return null;
+        }
+        if (etiquetas.stream().anyMatch(e -> e.startsWith("producto:"))) {
+            etiquetas.add("productos" + CONTENIDO);
+        }
+        if (etiquetas.stream().anyMatch(e -> e.startsWith("categoria:"))) {
+            etiquetas.add("categorias" + CONTENIDO);
+        }
+        return etiquetas;
+    }
+
+    private static boolean agregar(Set<String> etiquetas, Object elemento) {
+        if (elemento instanceof Producto producto) {
+            etiquetas.add("producto:" + producto.getId());
+            if (producto.getCategoria() != null) {
+                etiquetas.add("categoria:" + producto.getCategoria().getId());
+            }
+            return true;
+        }
+        if (elemento instanceof Categoria categoria) {
+            etiquetas.add("categoria:" + categoria.getId());
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.campuslands.springbootdemo.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia adaptativo basado en el gradiente de latencia.
+ * <p> * Compara la latencia de cada solicitud con una media móvil de largo plazo:
+ * mientras la latencia se mantiene, el límite crece de forma gradual; cuando
+ * aumenta, el límite se reduce en proporción. Los errores reducen el límite
+ * de forma multiplicativa (AIMD).
+ * <p>El límite es uno solo para todo el tráfico. Las solicitudes prioritarias
+ * pueden ocuparlo completo; las demás solo hasta el límite menos una reserva,
+ * de modo que con el límite agotado siempre queda lugar para las prioritarias
+ * y, cuando las prioritarias crecen, ocupan la capacidad de las demás.
+ * @since 1.1.0
+ */
+public class LimiteAdaptativo {
+
+    /** Peso de cada muestra en la media de latencia de largo plazo. */
+    private static final double PESO_LARGO_PLAZO = 0.05;
+
+    /** Peso del nuevo límite calculado frente al anterior. */
+    private static final double SUAVIZADO = 0.2;
+
+    /** Factor de reducción ante errores. */
+    private static final double REDUCCION_ERROR = 0.9;
+
+    private final int minimo;
+
+    private final int maximo;
+
+    private final double tolerancia;
+
+    private final double reservaPrioritaria;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private volatile double limite;
+
+    private double latenciaLargoPlazo;
+
+    /**
+     * Crea un límite adaptativo.
+     * @param inicial límite inicial de solicitudes concurrentes
+     * @param minimo límite mínimo
+     * @param maximo límite máximo
+     * @param tolerancia aumento de latencia tolerado antes de reducir el límite (por ejemplo {@code 2.0})
+     * @param reservaPrioritaria fracción del límite que solo pueden ocupar las solicitudes prioritarias
+     */
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia, double reservaPrioritaria) {
+        this.minimo = Math.max(2, minimo);
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.reservaPrioritaria = reservaPrioritaria;
+        this.limite = Math.max(this.minimo, inicial);
+    }
+
+    /**
+     * Intenta reservar un lugar para una solicitud.
+     * @param prioritaria si la solicitud puede ocupar la reserva prioritaria
+     * @return {@code true} si la solicitud puede continuar
+     */
+    public boolean intentarAdquirir(boolean prioritaria) {
+        while (true) {
+            int actual = enCurso.get();
+            int tope = (int) limite;
+            if (!prioritaria) {
+                tope -= Math.max(1, (int) (tope * reservaPrioritaria));
+            }
+            if (actual >= tope) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar de una solicitud y ajusta el límite con su latencia.
+     * @param latenciaNanos duración de la solicitud en nanosegundos
+     * @param error si la solicitud terminó en error del servidor
+     */
+    public void liberar(long latenciaNanos, boolean error) {
+        int enVuelo = enCurso.getAndDecrement();
+        ajustar(latenciaNanos, enVuelo, error);
+    }
+
+    private synchronized void ajustar(long latenciaNanos, int enVuelo, boolean error) {
+        if (error) {
+            limite = Math.max(minimo, limite * REDUCCION_ERROR);
+            return;
+        }
+
+        latenciaLargoPlazo = latenciaLargoPlazo == 0
+                ? latenciaNanos
+                : latenciaLargoPlazo * (1 - PESO_LARGO_PLAZO) + latenciaNanos * PESO_LARGO_PLAZO;
+
+        // Con poca carga la latencia no informa sobre la capacidad: no se crece.
+        if (enVuelo * 2 < limite && latenciaNanos <= latenciaLargoPlazo * tolerancia) {
+            return;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaLargoPlazo / Math.max(1, latenciaNanos)));
+        double nuevo = limite * gradiente + Math.sqrt(limite);
+        nuevo = limite * (1 - SUAVIZADO) + nuevo * SUAVIZADO;
+        limite = Math.max(minimo, Math.min(maximo, nuevo));
+    }
+
+    /**
+     * Devuelve el límite actual.
+     * @return solicitudes concurrentes permitidas
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Devuelve la cantidad de solicitudes en curso.
+     * @return solicitudes en curso
+     */
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+}
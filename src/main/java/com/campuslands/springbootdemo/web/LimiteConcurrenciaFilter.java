@@ -0,0 +1,97 @@
+package com.campuslands.springbootdemo.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro que limita la concurrencia de la API por grupo de endpoints.
+ * <p> * Las lecturas ({@code GET}/{@code HEAD}) y las escrituras comparten un
+ * límite adaptativo. Las escrituras son prioritarias: pueden ocupar todo el
+ * límite, incluida la capacidad que las lecturas dejan libre, mientras que las
+ * lecturas se rechazan antes de agotarlo. Cuando no hay capacidad se responde
+ * de inmediato con {@code 503 Service Unavailable} y {@code Retry-After}.
+ * @since 1.1.0
+ */
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final LimiteAdaptativo limite;
+
+    private final AtomicInteger lecturasEnCurso = new AtomicInteger();
+
+    private final AtomicInteger escriturasEnCurso = new AtomicInteger();
+
+    private final String reintentarEnSegundos;
+
+    private final Counter rechazosLectura;
+
+    private final Counter rechazosEscritura;
+
+    /**
+     * Crea el filtro y registra sus métricas.
+     * @param limite límite compartido, con las escrituras como tráfico prioritario
+     * @param reintentarEnSegundos valor de la cabecera {@code Retry-After}
+     * @param registro registro de métricas
+     */
+    public LimiteConcurrenciaFilter(LimiteAdaptativo limite, int reintentarEnSegundos, MeterRegistry registro) {
+        this.limite = limite;
+        this.reintentarEnSegundos = String.valueOf(reintentarEnSegundos);
+        Gauge.builder("catalogo.concurrencia.limite", limite, LimiteAdaptativo::getLimite)
+                .description("Solicitudes concurrentes permitidas").register(registro);
+        this.rechazosLectura = registrar(registro, "lectura", lecturasEnCurso);
+        this.rechazosEscritura = registrar(registro, "escritura", escriturasEnCurso);
+    }
+
+    private static Counter registrar(MeterRegistry registro, String grupo, AtomicInteger enCurso) {
+        Gauge.builder("catalogo.concurrencia.en_curso", enCurso, AtomicInteger::get)
+                .tag("grupo", grupo).description("Solicitudes en curso").register(registro);
+        return Counter.builder("catalogo.concurrencia.rechazos")
+                .tag("grupo", grupo).description("Solicitudes rechazadas por falta de capacidad").register(registro);
+    }
+
+    /**
+     * Excluye el flujo de cambios, cuyas conexiones son de larga duración y no
+     * ocupan conexiones de base de datos, y la API reactiva: sus solicitudes
+     * terminan de forma asíncrona después de salir del filtro y esperan en su
+     * propio pool R2DBC, no en el de JDBC.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith(request.getContextPath() + "/api/cambios")
+                || uri.startsWith(request.getContextPath() + "/api/reactivo");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean lectura = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!limite.intentarAdquirir(!lectura)) {
+            (lectura ? rechazosLectura : rechazosEscritura).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, reintentarEnSegundos);
+            return;
+        }
+
+        var enCurso = lectura ? lecturasEnCurso : escriturasEnCurso;
+        enCurso.incrementAndGet();
+        long inicio = System.nanoTime();
+        boolean error = true;
+        try {
+            chain.doFilter(request, response);
+            error = response.getStatus() >= 500;
+        } finally {
+            enCurso.decrementAndGet();
+            limite.liberar(System.nanoTime() - inicio, error);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Componentes transversales de la capa web.
+ * <p>Incluye filtros e interceptores que se aplican a las solicitudes REST
+ * antes de llegar a los controladores, como el limitador de concurrencia, la
+ * caché de respuestas y la caché de respuestas serializadas con su almacén
+ * fuera del heap.
+ */
+package com.campuslands.springbootdemo.web;
@@ -0,0 +1,201 @@
+package com.campuslands.springbootdemo.carga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.carga.Escenario.Operacion;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compara la API MVC con la API reactiva bajo alta concurrencia.
+ * <p> * Ejecuta la misma mezcla de lecturas contra {@code /api/productos} y
+ * {@code /api/reactivo}, manteniendo siempre {@code concurrencia} solicitudes
+ * en curso, y reporta para cada una el rendimiento, las solicitudes por
+ * segundo de CPU (rendimiento por núcleo ocupado), el pico de hilos y el heap
+ * adicional por conexión en curso. Cliente y servidor comparten la JVM, así
+ * que las cifras de CPU y memoria incluyen al cliente en ambos casos: sirven
+ * para comparar, no como valores absolutos. El limitador de concurrencia y las
+ * cachés de respuestas se desactivan para medir solo las dos pilas.
+ */
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:comparacion;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "catalogo.reactivo.url=r2dbc:h2:mem:///comparacion;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "catalogo.concurrencia.habilitado=false",
+    "catalogo.cache-respuestas.habilitado=false",
+    "catalogo.cache-serializada.habilitado=false"
+})
+class ComparacionReactivaTest {
+
+    private static final Map<Operacion, Integer> MEZCLA_MVC = Map.of(
+            Operacion.PRODUCTO_POR_ID, 70,
+            Operacion.PRODUCTOS_BUSCAR_NOMBRE, 15,
+            Operacion.PRODUCTOS_BUSCAR_PRECIO, 10,
+            Operacion.CATEGORIA_POR_ID, 5);
+
+    private static final Map<Operacion, Integer> MEZCLA_REACTIVA = Map.of(
+            Operacion.REACTIVO_PRODUCTO_POR_ID, 70,
+            Operacion.REACTIVO_PRODUCTOS_BUSCAR_NOMBRE, 15,
+            Operacion.REACTIVO_PRODUCTOS_BUSCAR_PRECIO, 10,
+            Operacion.REACTIVO_CATEGORIA_POR_ID, 5);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${catalogo.carga.categorias}")
+    private int categorias;
+
+    @Value("${catalogo.carga.productos}")
+    private int productos;
+
+    @Value("${catalogo.carga.sesgo}")
+    private double sesgo;
+
+    @Value("${catalogo.carga.semilla}")
+    private long semilla;
+
+    @Value("${catalogo.carga.comparacion.concurrencia}")
+    private int concurrencia;
+
+    @Value("${catalogo.carga.comparacion.calentamiento-segundos}")
+    private int calentamientoSegundos;
+
+    @Value("${catalogo.carga.comparacion.duracion-segundos}")
+    private int duracionSegundos;
+
+    @Value("${catalogo.carga.comparacion.reporte}")
+    private Path reporte;
+
+    @Value("${catalogo.carga.umbral.errores-porcentaje}")
+    private double umbralErrores;
+
+    /**
+     * Resultado de una variante.
+     * @param resumen rendimiento y percentiles de latencia
+     * @param segundosCpu tiempo de CPU del proceso durante la medición
+     * @param hilosPico pico de hilos vivos durante la medición
+     * @param hilosBase hilos vivos antes de la medición
+     * @param heapPorConexionKb heap adicional máximo dividido por la concurrencia
+     */
+    private record Resultado(Latencias.Resumen resumen, double segundosCpu, int hilosPico, int hilosBase,
+            double heapPorConexionKb) {
+
+        double porSegundoDeCpu() {
+            return segundosCpu > 0 ? resumen.solicitudes() / segundosCpu : 0;
+        }
+    }
+
+    @Test
+    void reactivoFrenteAMvcConAltaConcurrencia() throws Exception {
+        var catalogo = GeneradorCatalogo.generar(jdbc, categorias, productos, sesgo, semilla);
+        var cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        var base = URI.create("http://localhost:" + puerto);
+
+        var mvc = medir(cliente, new Escenario(base, catalogo, MEZCLA_MVC));
+        var reactivo = medir(cliente, new Escenario(base, catalogo, MEZCLA_REACTIVA));
+
+        var lineas = new ArrayList<String>();
+        lineas.add("variante,concurrencia,solicitudes,errores,por_segundo,por_segundo_cpu,p50_ms,p99_ms,"
+                + "hilos_base,hilos_pico,heap_por_conexion_kb");
+        lineas.add(linea("mvc", mvc));
+        lineas.add(linea("reactivo", reactivo));
+        System.out.printf(Locale.ROOT, "Comparación con %d solicitudes en curso durante %d s%n",
+                concurrencia, duracionSegundos);
+        lineas.forEach(System.out::println);
+        Files.createDirectories(reporte.toAbsolutePath().getParent());
+        Files.write(reporte, lineas);
+
+        assertThat(mvc.resumen().porcentajeErrores()).as("errores MVC").isLessThanOrEqualTo(umbralErrores);
+        assertThat(reactivo.resumen().porcentajeErrores()).as("errores reactivo").isLessThanOrEqualTo(umbralErrores);
+    }
+
+    private Resultado medir(HttpClient cliente, Escenario escenario) throws Exception {
+        ejecutar(cliente, escenario, calentamientoSegundos, new SplittableRandom(semilla ^ 0x5DEECE66DL), null);
+
+        var sistema = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        var hilos = ManagementFactory.getThreadMXBean();
+        var memoria = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBase = memoria.getHeapMemoryUsage().getUsed();
+        int hilosBase = hilos.getThreadCount();
+        hilos.resetPeakThreadCount();
+        long[] heapPico = {heapBase};
+        var muestreo = Executors.newSingleThreadScheduledExecutor();
+        muestreo.scheduleAtFixedRate(() -> heapPico[0] = Math.max(heapPico[0], memoria.getHeapMemoryUsage().getUsed()),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        long cpuInicio = sistema.getProcessCpuTime();
+        long inicio = System.nanoTime();
+        var latencias = new Latencias();
+        try {
+            ejecutar(cliente, escenario, duracionSegundos, new SplittableRandom(semilla), latencias);
+        } finally {
+            muestreo.shutdownNow();
+            muestreo.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double segundosCpu = (sistema.getProcessCpuTime() - cpuInicio) / 1e9;
+        return new Resultado(latencias.resumen(segundos), segundosCpu, hilos.getPeakThreadCount(), hilosBase,
+                (heapPico[0] - heapBase) / 1024.0 / concurrencia);
+    }
+
+    /**
+     * Mantiene {@code concurrencia} solicitudes asíncronas en curso hasta que
+     * vence el tiempo y espera a que terminen todas.
+     */
+    private void ejecutar(HttpClient cliente, Escenario escenario, int segundos, SplittableRandom azar,
+            Latencias latencias) throws InterruptedException {
+        var permisos = new Semaphore(concurrencia);
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        while (System.nanoTime() < fin) {
+            permisos.acquire();
+            var operacion = escenario.elegir(azar);
+            var solicitud = escenario.solicitud(operacion, azar);
+            long inicio = System.nanoTime();
+            cliente.sendAsync(solicitud, HttpResponse.BodyHandlers.discarding()).whenComplete((respuesta, error) -> {
+                if (latencias != null) {
+                    synchronized (latencias) {
+                        latencias.registrar(System.nanoTime() - inicio, error != null || respuesta.statusCode() >= 400);
+                    }
+                }
+                permisos.release();
+            });
+        }
+        permisos.acquire(concurrencia);
+    }
+
+    private String linea(String variante, Resultado resultado) {
+        var r = resultado.resumen();
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.1f,%.2f,%.2f,%d,%d,%.1f", variante, concurrencia,
+                r.solicitudes(), r.errores(), r.porSegundo(), resultado.porSegundoDeCpu(), r.p50(), r.p99(),
+                resultado.hilosBase(), resultado.hilosPico(), resultado.heapPorConexionKb());
+    }
+}
@@ -0,0 +1,349 @@
+package com.campuslands.springbootdemo.carga;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mezcla de operaciones de la prueba de carga sobre los endpoints de
+ * productos y categorías.
+ * <p> * Cada operación tiene un peso; en cada iteración se elige una al azar en
+ * proporción a su peso. Las escrituras usan datos del catálogo generado para
+ * que las actualizaciones envíen cuerpos completos y las búsquedas encuentren
+ * filas. Lo que se crea durante la prueba se encola para que las operaciones
+ * de eliminación no toquen el catálogo sembrado.
+ */
+final class Escenario {
+
+    private static final Duration ESPERA = Duration.ofSeconds(30);
+
+    private static final String[] TERMINOS = {"Teclado", "Mouse", "Monitor", "Cable", "Bluetooth", "USB-C", "Gamer"};
+
+    /** Operaciones disponibles y su tipo para el reporte. */
+    enum Operacion {
+        PRODUCTO_POR_ID("lectura"),
+        PRODUCTOS_POR_IDS("lectura"),
+        PRODUCTOS_LOTE("lectura"),
+        PRODUCTOS_LISTAR("lectura"),
+        PRODUCTOS_LISTAR_NORMALIZADO("lectura"),
+        PRODUCTOS_STOCK_BAJO("lectura"),
+        PRODUCTOS_REGISTRADOS("lectura"),
+        PRODUCTOS_ARCHIVADOS("lectura"),
+        PRODUCTOS_COMPARAR_FORMAS("lectura"),
+        CATEGORIA_POR_ID("lectura"),
+        CATEGORIAS_POR_IDS("lectura"),
+        CATEGORIAS_LOTE("lectura"),
+        CATEGORIAS_LISTAR("lectura"),
+        PRODUCTOS_BUSCAR("busqueda"),
+        PRODUCTOS_BUSCAR_NOMBRE("busqueda"),
+        PRODUCTOS_BUSCAR_NOMBRE_NORMALIZADO("busqueda"),
+        PRODUCTOS_BUSCAR_PRECIO("busqueda"),
+        PRODUCTOS_BUSCAR_PRECIO_NORMALIZADO("busqueda"),
+        CATEGORIAS_BUSCAR_NOMBRE("busqueda"),
+        CATEGORIAS_BUSCAR_CODIGO("busqueda"),
+        REACTIVO_PRODUCTO_POR_ID("lectura"),
+        REACTIVO_PRODUCTOS_LISTAR("lectura"),
+        REACTIVO_CATEGORIA_POR_ID("lectura"),
+        REACTIVO_CATEGORIAS_LISTAR("lectura"),
+        REACTIVO_PRODUCTOS_BUSCAR_NOMBRE("busqueda"),
+        REACTIVO_PRODUCTOS_BUSCAR_PRECIO("busqueda"),
+        REACTIVO_CATEGORIAS_BUSCAR_NOMBRE("busqueda"),
+        PRODUCTO_CREAR("creacion"),
+        PRODUCTOS_UPSERT("creacion"),
+        CATEGORIA_CREAR("creacion"),
+        CATEGORIAS_UPSERT("creacion"),
+        PRODUCTO_ACTUALIZAR_STOCK("actualizacion"),
+        PRODUCTOS_REPRECIAR("actualizacion"),
+        CATEGORIA_ACTUALIZAR("actualizacion"),
+        PRODUCTO_ELIMINAR("eliminacion"),
+        CATEGORIA_ELIMINAR("eliminacion");
+
+        private final String tipo;
+
+        Operacion(String tipo) {
+            this.tipo = tipo;
+        }
+
+        /**
+         * Tipo de la operación: lectura, búsqueda, creación, actualización o eliminación.
+         * @return tipo de la operación
+         */
+        String tipo() {
+            return tipo;
+        }
+    }
+
+    private final URI base;
+
+    private final GeneradorCatalogo.Catalogo catalogo;
+
+    private final Operacion[] operaciones;
+
+    private final int[] pesosAcumulados;
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private final Queue<Long> productosCreados = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> categoriasCreadas = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Crea el escenario.
+     * @param base URL base de la aplicación
+     * @param catalogo catálogo sembrado
+     * @param mezcla peso de cada operación; las operaciones ausentes o con peso 0 no se ejecutan
+     */
+    Escenario(URI base, GeneradorCatalogo.Catalogo catalogo, Map<Operacion, Integer> mezcla) {
+        this.base = base;
+        this.catalogo = catalogo;
+        var activas = new EnumMap<Operacion, Integer>(Operacion.class);
+        mezcla.forEach((operacion, peso) -> {
+            if (peso != null && peso > 0) {
+                activas.put(operacion, peso);
+            }
+        });
+        if (activas.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de operaciones no tiene pesos positivos");
+        }
+        this.operaciones = activas.keySet().toArray(Operacion[]::new);
+        this.pesosAcumulados = new int[operaciones.length];
+        int total = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            total += activas.get(operaciones[i]);
+            pesosAcumulados[i] = total;
+        }
+    }
+
+    /**
+     * Interpreta una mezcla con el formato {@code OPERACION:peso,OPERACION:peso}.
+     * @param texto mezcla configurada
+     * @return peso por operación
+     */
+    static Map<Operacion, Integer> mezcla(String texto) {
+        var mezcla = new EnumMap<Operacion, Integer>(Operacion.class);
+        for (String par : texto.split(",")) {
+            if (par.isBlank()) {
+                continue;
+            }
+            String[] partes = par.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Peso de operación inválido: " + par);
+            }
+            mezcla.put(Operacion.valueOf(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+        }
+        return mezcla;
+    }
+
+    /**
+     * Elige la siguiente operación según los pesos.
+     * @param azar generador de números aleatorios del hilo
+     * @return operación elegida
+     */
+    Operacion elegir(SplittableRandom azar) {
+        int valor = azar.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    /**
+     * Construye la solicitud HTTP de una operación.
+     * @param operacion operación a ejecutar
+     * @param azar generador de números aleatorios del hilo
+     * @return solicitud lista para enviar
+     */
+    HttpRequest solicitud(Operacion operacion, SplittableRandom azar) {
+        return switch (operacion) {
+            case PRODUCTO_POR_ID -> get("/api/productos/" + producto(azar));
+            case PRODUCTOS_POR_IDS -> get("/api/productos?ids=" + productos(azar, 20));
+            case PRODUCTOS_LOTE -> post("/api/productos/lote", "[" + productos(azar, 50) + "]");
+            case PRODUCTOS_LISTAR -> get("/api/productos");
+            case PRODUCTOS_LISTAR_NORMALIZADO -> get("/api/productos?forma=normalizada");
+            case PRODUCTOS_STOCK_BAJO -> get("/api/productos/stock-bajo?limite=50");
+            case PRODUCTOS_REGISTRADOS -> {
+                var desde = LocalDateTime.now().withNano(0).minusDays(azar.nextInt(30, 1000));
+                yield get("/api/productos/registrados?desde=" + desde + "&hasta=" + desde.plusDays(7) + "&limite=100");
+            }
+            case PRODUCTOS_ARCHIVADOS -> {
+                var desde = LocalDateTime.now().withNano(0).minusDays(1200);
+                yield get("/api/productos/archivados?desde=" + desde + "&hasta=" + desde.plusDays(90) + "&limite=100");
+            }
+            case PRODUCTOS_COMPARAR_FORMAS -> get("/admin/diagnostico/formas?precio=2500&repeticiones=1");
+            case CATEGORIA_POR_ID -> get("/api/categorias/" + catalogo.categoria(azar));
+            case CATEGORIAS_POR_IDS -> get("/api/categorias?ids=" + categorias(azar, 5));
+            case CATEGORIAS_LOTE -> post("/api/categorias/lote", "[" + categorias(azar, 5) + "]");
+            case CATEGORIAS_LISTAR -> get("/api/categorias");
+            case PRODUCTOS_BUSCAR -> {
+                double minimo = Math.round(Math.exp(azar.nextDouble(2.5, 7.0)));
+                yield get("/api/productos/buscar?nombre=" + termino(azar) + "&precioMinimo=" + minimo
+                        + "&precioMaximo=" + minimo * 3 + "&categoriaIds=" + catalogo.categoria(azar)
+                        + "&enStock=true&orden=precio&tamano=20");
+            }
+            case PRODUCTOS_BUSCAR_NOMBRE -> get("/api/productos/buscar/nombre?nombre=" + nombreExacto(azar));
+            case PRODUCTOS_BUSCAR_NOMBRE_NORMALIZADO ->
+                    get("/api/productos/buscar/nombre?forma=normalizada&nombre=" + nombreExacto(azar));
+            case PRODUCTOS_BUSCAR_PRECIO -> get("/api/productos/buscar/precio?precio=" + precioAlto(azar));
+            case PRODUCTOS_BUSCAR_PRECIO_NORMALIZADO ->
+                    get("/api/productos/buscar/precio?forma=normalizada&precio=" + precioAlto(azar));
+            case CATEGORIAS_BUSCAR_NOMBRE -> get("/api/categorias/buscar/nombre?nombre=" + codificar("goría 1"));
+            case CATEGORIAS_BUSCAR_CODIGO -> get("/api/categorias/buscar/codigo?codigo="
+                    + (100 + azar.nextInt(catalogo.categoriaIds().length)));
+            case REACTIVO_PRODUCTO_POR_ID -> get("/api/reactivo/productos/" + producto(azar));
+            case REACTIVO_PRODUCTOS_LISTAR -> get("/api/reactivo/productos");
+            case REACTIVO_CATEGORIA_POR_ID -> get("/api/reactivo/categorias/" + catalogo.categoria(azar));
+            case REACTIVO_CATEGORIAS_LISTAR -> get("/api/reactivo/categorias");
+            case REACTIVO_PRODUCTOS_BUSCAR_NOMBRE ->
+                    get("/api/reactivo/productos/buscar/nombre?nombre=" + nombreExacto(azar));
+            case REACTIVO_PRODUCTOS_BUSCAR_PRECIO ->
+                    get("/api/reactivo/productos/buscar/precio?precio=" + precioAlto(azar));
+            case REACTIVO_CATEGORIAS_BUSCAR_NOMBRE ->
+                    get("/api/reactivo/categorias/buscar/nombre?nombre=" + codificar("goría 1"));
+            case PRODUCTO_CREAR -> post("/api/productos?categoriaId=" + catalogo.categoria(azar),
+                    """
+                    {"sku":"CARGA-%d","nombre":"Producto de carga %1$d","precio":%s,"stock":%d}"""
+                            .formatted(secuencia.incrementAndGet(), Math.round(azar.nextDouble(10, 3000) * 100) / 100.0,
+                                    azar.nextInt(1, 200)));
+            case PRODUCTOS_UPSERT -> {
+                var filas = new StringJoiner(",", "[", "]");
+                for (int i = 0; i < 10; i++) {
+                    int p = catalogo.producto(azar);
+                    filas.add("""
+                            {"sku":"%s","nombre":"%s","precio":%s,"stock":%d,"categoria":"Categoría 1"}"""
+                            .formatted(catalogo.skus()[p], catalogo.nombres()[p], catalogo.precios()[p],
+                                    azar.nextInt(0, 500)));
+                }
+                yield post("/api/productos/upsert", filas.toString());
+            }
+            case CATEGORIA_CREAR -> post("/api/categorias",
+                    """
+                    {"nombre":"Carga %d","descripcion":"Creada por la prueba de carga","codigo":900}"""
+                            .formatted(secuencia.incrementAndGet()));
+            case CATEGORIAS_UPSERT -> {
+                int k = azar.nextInt(catalogo.categoriaIds().length);
+                yield post("/api/categorias/upsert",
+                        """
+                        [{"nombre":"Categoría %d","descripcion":"Categoría generada %1$d","codigo":%d}]"""
+                                .formatted(k + 1, 100 + k));
+            }
+            case PRODUCTO_ACTUALIZAR_STOCK -> {
+                int p = catalogo.producto(azar);
+                yield put("/api/productos/" + catalogo.productoIds()[p],
+                        """
+                        {"sku":"%s","nombre":"%s","precio":%s,"stock":%d}"""
+                                .formatted(catalogo.skus()[p], catalogo.nombres()[p], catalogo.precios()[p],
+                                        azar.nextInt(0, 500)));
+            }
+            case PRODUCTOS_REPRECIAR -> post("/api/productos/repreciar",
+                    """
+                    {"categoriaId":%d,"porcentaje":0.01}""".formatted(
+                            catalogo.categoriaIds()[catalogo.categoriaIds().length - 1]));
+            case CATEGORIA_ACTUALIZAR -> {
+                int k = azar.nextInt(catalogo.categoriaIds().length);
+                yield put("/api/categorias/" + catalogo.categoriaIds()[k],
+                        """
+                        {"nombre":"Categoría %d","descripcion":"Categoría generada %1$d","codigo":%d,"stockMinimo":%d}"""
+                                .formatted(k + 1, 100 + k, azar.nextInt(5, 25)));
+            }
+            case PRODUCTO_ELIMINAR -> delete("/api/productos/", productosCreados.poll());
+            case CATEGORIA_ELIMINAR -> delete("/api/categorias/", categoriasCreadas.poll());
+        };
+    }
+
+    /**
+     * Registra lo creado por una operación para que luego pueda eliminarse.
+     * @param operacion operación ejecutada
+     * @param estado código HTTP de la respuesta
+     * @param cuerpo cuerpo de la respuesta
+     */
+    void registrar(Operacion operacion, int estado, String cuerpo) {
+        if (estado != 201 && estado != 200) {
+            return;
+        }
+        if (operacion == Operacion.PRODUCTO_CREAR) {
+            productosCreados.add(id(cuerpo));
+        } else if (operacion == Operacion.CATEGORIA_CREAR) {
+            categoriasCreadas.add(id(cuerpo));
+        }
+    }
+
+    private long producto(SplittableRandom azar) {
+        return catalogo.productoIds()[catalogo.producto(azar)];
+    }
+
+    private String productos(SplittableRandom azar, int cantidad) {
+        var ids = new StringJoiner(",");
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(Long.toString(producto(azar)));
+        }
+        return ids.toString();
+    }
+
+    private String categorias(SplittableRandom azar, int cantidad) {
+        var ids = new StringJoiner(",");
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(Long.toString(catalogo.categoria(azar)));
+        }
+        return ids.toString();
+    }
+
+    private static String termino(SplittableRandom azar) {
+        return codificar(TERMINOS[azar.nextInt(TERMINOS.length)]);
+    }
+
+    private String nombreExacto(SplittableRandom azar) {
+        return codificar(catalogo.nombres()[catalogo.producto(azar)]);
+    }
+
+    private String precioAlto(SplittableRandom azar) {
+        // Umbrales en la cola de la distribución para que el resultado sea acotado.
+        return Long.toString(Math.round(Math.exp(azar.nextDouble(7.6, 8.0))));
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    private static long id(String cuerpo) {
+        int inicio = cuerpo.indexOf("\"id\":") + 5;
+        int fin = inicio;
+        while (fin < cuerpo.length() && Character.isDigit(cuerpo.charAt(fin))) {
+            fin++;
+        }
+        return Long.parseLong(cuerpo.substring(inicio, fin));
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).timeout(ESPERA).GET().build();
+    }
+
+    private HttpRequest post(String ruta, String json) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).timeout(ESPERA)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String ruta, String json) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).timeout(ESPERA)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest delete(String ruta, Long id) {
+        // Sin nada creado todavía se elimina un id inexistente: mide el camino 404.
+        return HttpRequest.newBuilder(base.resolve(ruta + (id != null ? id : Long.MAX_VALUE))).timeout(ESPERA)
+                .DELETE().build();
+    }
+}
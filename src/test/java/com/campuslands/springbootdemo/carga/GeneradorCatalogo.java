@@ -0,0 +1,146 @@
+package com.campuslands.springbootdemo.carga;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Genera un catálogo reproducible directamente en la base de datos.
+ * <p> * Con la misma semilla produce siempre las mismas filas. Los productos se
+ * reparten entre las categorías con una distribución Zipf de exponente
+ * {@code sesgo}: con {@code 0} el reparto es uniforme y con valores mayores
+ * unas pocas categorías concentran la mayoría de los productos, como en el
+ * catálogo real.
+ */
+final class GeneradorCatalogo {
+
+    private static final String[] SUSTANTIVOS = {
+        "Audífonos", "Teclado", "Mouse", "Monitor", "Cable", "Cargador", "Parlante", "Cámara", "Lámpara",
+        "Silla", "Mesa", "Mochila", "Botella", "Cuaderno", "Reloj", "Tablet", "Funda", "Batería"
+    };
+
+    private static final String[] ADJETIVOS = {
+        "Bluetooth", "Inalámbrico", "USB-C", "Portátil", "Ergonómico", "Compacto", "Profesional", "Básico",
+        "Premium", "Gamer", "Mini", "Plegable"
+    };
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private GeneradorCatalogo() {
+    }
+
+    /**
+     * Catálogo generado.
+     * @param categoriaIds ids de las categorías, de la más a la menos poblada
+     * @param productoIds ids de los productos
+     * @param skus SKU de cada producto, en el mismo orden que {@code productoIds}
+     * @param nombres nombre de cada producto
+     * @param precios precio de cada producto
+     * @param pesosAcumulados distribución acumulada de productos por categoría
+     */
+    record Catalogo(long[] categoriaIds, long[] productoIds, String[] skus, String[] nombres, double[] precios,
+            double[] pesosAcumulados) {
+
+        /**
+         * Elige una categoría con la misma distribución que los productos.
+         * @param azar generador de números aleatorios
+         * @return id de la categoría
+         */
+        long categoria(SplittableRandom azar) {
+            return categoriaIds[indiceCategoria(pesosAcumulados, azar.nextDouble())];
+        }
+
+        /**
+         * Elige la posición de un producto al azar.
+         * @param azar generador de números aleatorios
+         * @return posición en los arreglos del catálogo
+         */
+        int producto(SplittableRandom azar) {
+            return azar.nextInt(productoIds.length);
+        }
+    }
+
+    /**
+     * Inserta las categorías y los productos.
+     * @param jdbc acceso JDBC a la base de datos embebida
+     * @param cantidadCategorias categorías a generar
+     * @param cantidadProductos productos a generar
+     * @param sesgo exponente de la distribución Zipf de productos por categoría
+     * @param semilla semilla del generador
+     * @return ids y datos de lo generado
+     */
+    static Catalogo generar(JdbcTemplate jdbc, int cantidadCategorias, int cantidadProductos, double sesgo,
+            long semilla) {
+        var azar = new SplittableRandom(semilla);
+        var ahora = LocalDateTime.now().withNano(0);
+
+        var filasCategorias = new ArrayList<Object[]>(cantidadCategorias);
+        for (int i = 0; i < cantidadCategorias; i++) {
+            filasCategorias.add(new Object[] {
+                "Categoría " + (i + 1), "Categoría generada " + (i + 1), 100 + i,
+                azar.nextInt(4) == 0 ? (double) azar.nextInt(5, 30) : null,
+                azar.nextInt(3) == 0 ? azar.nextInt(5, 25) : null,
+                Timestamp.valueOf(ahora.minusDays(1500))
+            });
+        }
+        jdbc.batchUpdate("insert into categorias (nombre, descripcion, codigo, descuento, stock_minimo, fecha_creacion) "
+                + "values (?, ?, ?, ?, ?, ?)", filasCategorias);
+        long[] categoriaIds = jdbc.queryForList("select id from categorias order by id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+
+        double[] acumulados = pesosAcumulados(categoriaIds.length, sesgo);
+        var skus = new String[cantidadProductos];
+        var nombres = new String[cantidadProductos];
+        var precios = new double[cantidadProductos];
+        List<Object[]> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < cantidadProductos; i++) {
+            skus[i] = "SKU-%07d".formatted(i + 1);
+            nombres[i] = SUSTANTIVOS[azar.nextInt(SUSTANTIVOS.length)] + " "
+                    + ADJETIVOS[azar.nextInt(ADJETIVOS.length)] + " " + (i + 1);
+            // Precios con cola larga: la mayoría bajos y unos pocos muy altos.
+            precios[i] = Math.round(Math.exp(azar.nextDouble(2.5, 8.0)) * 100) / 100.0;
+            int stock = azar.nextInt(10) == 0 ? 0 : azar.nextInt(1, 500);
+            var registro = ahora.minusMinutes(azar.nextLong(0, 3L * 365 * 24 * 60));
+            long categoria = categoriaIds[indiceCategoria(acumulados, azar.nextDouble())];
+            lote.add(new Object[] {skus[i], nombres[i], precios[i], stock, Timestamp.valueOf(registro), categoria});
+            if (lote.size() == TAMANO_LOTE || i == cantidadProductos - 1) {
+                jdbc.batchUpdate("insert into productos (sku, nombre, precio, stock, fecha_registro, categoria_id) "
+                        + "values (?, ?, ?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+        long[] productoIds = jdbc.queryForList("select id from productos order by sku", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+        return new Catalogo(categoriaIds, productoIds, skus, nombres, precios, acumulados);
+    }
+
+    private static double[] pesosAcumulados(int categorias, double sesgo) {
+        var acumulados = new double[categorias];
+        double total = 0;
+        for (int k = 0; k < categorias; k++) {
+            total += 1 / Math.pow(k + 1, sesgo);
+            acumulados[k] = total;
+        }
+        for (int k = 0; k < categorias; k++) {
+            acumulados[k] /= total;
+        }
+        return acumulados;
+    }
+
+    private static int indiceCategoria(double[] acumulados, double valor) {
+        int bajo = 0;
+        int alto = acumulados.length - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (acumulados[medio] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+}
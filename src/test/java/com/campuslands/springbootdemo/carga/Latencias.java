@@ -0,0 +1,90 @@
+package com.campuslands.springbootdemo.carga;
+
+import java.util.Arrays;
+
+/**
+ * Latencias y errores registrados para una operación.
+ * <p> * Cada hilo de carga usa sus propias instancias para no sincronizar en el
+ * camino medido; al terminar se combinan con {@link #sumar(Latencias)} y se
+ * ordenan una sola vez para calcular los percentiles.
+ */
+final class Latencias {
+
+    private long[] nanos = new long[1024];
+
+    private int cantidad;
+
+    private long errores;
+
+    /**
+     * Registra una solicitud.
+     * @param duracion duración en nanosegundos
+     * @param error si la respuesta fue inesperada o la solicitud falló
+     */
+    void registrar(long duracion, boolean error) {
+        if (cantidad == nanos.length) {
+            nanos = Arrays.copyOf(nanos, cantidad * 2);
+        }
+        nanos[cantidad++] = duracion;
+        if (error) {
+            errores++;
+        }
+    }
+
+    /**
+     * Agrega las mediciones de otra instancia.
+     * @param otras mediciones a agregar
+     */
+    void sumar(Latencias otras) {
+        if (cantidad + otras.cantidad > nanos.length) {
+            nanos = Arrays.copyOf(nanos, cantidad + otras.cantidad);
+        }
+        System.arraycopy(otras.nanos, 0, nanos, cantidad, otras.cantidad);
+        cantidad += otras.cantidad;
+        errores += otras.errores;
+    }
+
+    /**
+     * Resume las mediciones.
+     * @param segundos duración de la fase medida
+     * @return resumen con rendimiento y percentiles
+     */
+    Resumen resumen(double segundos) {
+        var ordenadas = Arrays.copyOf(nanos, cantidad);
+        Arrays.sort(ordenadas);
+        return new Resumen(cantidad, errores, cantidad / segundos,
+                percentil(ordenadas, 50), percentil(ordenadas, 95), percentil(ordenadas, 99),
+                percentil(ordenadas, 99.9), cantidad > 0 ? ordenadas[cantidad - 1] / 1e6 : 0);
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    /**
+     * Resumen de una operación o del total.
+     * @param solicitudes solicitudes realizadas
+     * @param errores solicitudes con error
+     * @param porSegundo solicitudes por segundo
+     * @param p50 percentil 50 en milisegundos
+     * @param p95 percentil 95 en milisegundos
+     * @param p99 percentil 99 en milisegundos
+     * @param p999 percentil 99,9 en milisegundos
+     * @param maximo latencia máxima en milisegundos
+     */
+    record Resumen(long solicitudes, long errores, double porSegundo, double p50, double p95, double p99,
+            double p999, double maximo) {
+
+        /**
+         * Porcentaje de solicitudes con error.
+         * @return porcentaje entre 0 y 100
+         */
+        double porcentajeErrores() {
+            return solicitudes > 0 ? errores * 100.0 / solicitudes : 0;
+        }
+    }
+}
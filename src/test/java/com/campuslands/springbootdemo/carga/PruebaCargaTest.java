@@ -0,0 +1,224 @@
+package com.campuslands.springbootdemo.carga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.carga.Escenario.Operacion;
+import com.campuslands.springbootdemo.service.StockBajoService;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Prueba de carga reproducible sobre la base de datos embebida.
+ * <p> * Siembra un catálogo generado, ejecuta la mezcla de operaciones configurada
+ * con varios hilos durante un tiempo fijo y reporta rendimiento y percentiles
+ * de latencia por operación, por tipo y en total. Falla si se supera alguno de
+ * los umbrales de {@code catalogo.carga.umbral.*}. Se ejecuta solo con el
+ * perfil Maven {@code carga}: {@code mvn -Pcarga test}; cualquier propiedad de
+ * {@code application-carga.properties} se puede sobrescribir con {@code -D}.
+ */
+@Tag("carga")
+@ActiveProfiles("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PruebaCargaTest {
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StockBajoService stockBajoService;
+
+    @Value("${catalogo.carga.categorias}")
+    private int categorias;
+
+    @Value("${catalogo.carga.productos}")
+    private int productos;
+
+    @Value("${catalogo.carga.sesgo}")
+    private double sesgo;
+
+    @Value("${catalogo.carga.semilla}")
+    private long semilla;
+
+    @Value("${catalogo.carga.hilos}")
+    private int hilos;
+
+    @Value("${catalogo.carga.calentamiento-segundos}")
+    private int calentamientoSegundos;
+
+    @Value("${catalogo.carga.duracion-segundos}")
+    private int duracionSegundos;
+
+    @Value("${catalogo.carga.mezcla}")
+    private String mezcla;
+
+    @Value("${catalogo.carga.reporte}")
+    private Path reporte;
+
+    @Value("${catalogo.carga.umbral.p50-ms}")
+    private double umbralP50;
+
+    @Value("${catalogo.carga.umbral.p99-ms}")
+    private double umbralP99;
+
+    @Value("${catalogo.carga.umbral.errores-porcentaje}")
+    private double umbralErrores;
+
+    @Value("${catalogo.carga.umbral.rendimiento-minimo}")
+    private double umbralRendimiento;
+
+    @Test
+    void mezclaDeOperacionesDentroDeLosUmbrales() throws Exception {
+        long inicioSiembra = System.nanoTime();
+        var catalogo = GeneradorCatalogo.generar(jdbc, categorias, productos, sesgo, semilla);
+        // La siembra va por JDBC y no publica eventos: la lista de stock bajo se recalcula a mano.
+        stockBajoService.reconciliarAhora();
+        System.out.printf(Locale.ROOT, "Catálogo sembrado: %d categorías, %d productos, sesgo %.2f en %d ms%n",
+                categorias, productos, sesgo, (System.nanoTime() - inicioSiembra) / 1_000_000);
+
+        var escenario = new Escenario(URI.create("http://localhost:" + puerto), catalogo, Escenario.mezcla(mezcla));
+        var cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        ejecutar(cliente, escenario, calentamientoSegundos, semilla ^ 0x5DEECE66DL);
+        long inicio = System.nanoTime();
+        var porOperacion = ejecutar(cliente, escenario, duracionSegundos, semilla);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        var total = new Latencias();
+        var porTipo = new TreeMap<String, Latencias>();
+        porOperacion.forEach((operacion, latencias) -> {
+            total.sumar(latencias);
+            porTipo.computeIfAbsent(operacion.tipo(), t -> new Latencias()).sumar(latencias);
+        });
+        var resumenTotal = total.resumen(segundos);
+        escribirReporte(porOperacion, porTipo, resumenTotal, segundos);
+
+        var fallas = new ArrayList<String>();
+        if (resumenTotal.p50() > umbralP50) {
+            fallas.add("p50 %.1f ms > %.1f ms".formatted(resumenTotal.p50(), umbralP50));
+        }
+        if (resumenTotal.p99() > umbralP99) {
+            fallas.add("p99 %.1f ms > %.1f ms".formatted(resumenTotal.p99(), umbralP99));
+        }
+        if (resumenTotal.porcentajeErrores() > umbralErrores) {
+            fallas.add("errores %.2f %% > %.2f %%".formatted(resumenTotal.porcentajeErrores(), umbralErrores));
+        }
+        if (resumenTotal.porSegundo() < umbralRendimiento) {
+            fallas.add("rendimiento %.1f sol/s < %.1f sol/s".formatted(resumenTotal.porSegundo(), umbralRendimiento));
+        }
+        assertThat(fallas).as("Umbrales de carga superados (reporte en %s)", reporte).isEmpty();
+    }
+
+    /**
+     * Ejecuta la mezcla con {@code hilos} clientes en lazo cerrado durante el
+     * tiempo indicado.
+     */
+    private Map<Operacion, Latencias> ejecutar(HttpClient cliente, Escenario escenario, int segundos, long semillaFase)
+            throws Exception {
+        var porOperacion = new EnumMap<Operacion, Latencias>(Operacion.class);
+        if (segundos <= 0) {
+            return porOperacion;
+        }
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        var raiz = new SplittableRandom(semillaFase);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            var tareas = new ArrayList<Future<Map<Operacion, Latencias>>>();
+            for (int h = 0; h < hilos; h++) {
+                var azar = raiz.split();
+                tareas.add(ejecutor.submit(() -> cliente(cliente, escenario, azar, fin)));
+            }
+            for (var tarea : tareas) {
+                tarea.get().forEach((operacion, latencias) ->
+                        porOperacion.computeIfAbsent(operacion, o -> new Latencias()).sumar(latencias));
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return porOperacion;
+    }
+
+    private static Map<Operacion, Latencias> cliente(HttpClient cliente, Escenario escenario, SplittableRandom azar,
+            long fin) {
+        var propias = new EnumMap<Operacion, Latencias>(Operacion.class);
+        while (System.nanoTime() < fin) {
+            var operacion = escenario.elegir(azar);
+            var solicitud = escenario.solicitud(operacion, azar);
+            long inicio = System.nanoTime();
+            boolean error;
+            try {
+                var respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+                error = !esperado(operacion, respuesta.statusCode());
+                escenario.registrar(operacion, respuesta.statusCode(), respuesta.body());
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            propias.computeIfAbsent(operacion, o -> new Latencias()).registrar(System.nanoTime() - inicio, error);
+        }
+        return propias;
+    }
+
+    private static boolean esperado(Operacion operacion, int estado) {
+        if (estado < 400) {
+            return true;
+        }
+        // Las eliminaciones sin nada creado aún apuntan a un id inexistente.
+        return estado == 404 && operacion.tipo().equals("eliminacion");
+    }
+
+    private void escribirReporte(Map<Operacion, Latencias> porOperacion, Map<String, Latencias> porTipo,
+            Latencias.Resumen total, double segundos) throws IOException {
+        var lineas = new ArrayList<String>();
+        lineas.add("operacion,solicitudes,errores,por_segundo,p50_ms,p95_ms,p99_ms,p999_ms,max_ms");
+        porOperacion.forEach((operacion, latencias) -> lineas.add(linea(operacion.name(), latencias.resumen(segundos))));
+        porTipo.forEach((tipo, latencias) -> lineas.add(linea("tipo:" + tipo, latencias.resumen(segundos))));
+        lineas.add(linea("TOTAL", total));
+
+        System.out.printf(Locale.ROOT, "Prueba de carga: %d hilos durante %.1f s%n", hilos, segundos);
+        System.out.printf(Locale.ROOT, "%-38s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operacion", "solicitudes", "errores", "sol/s", "p50", "p95", "p99", "p99.9", "max");
+        for (String linea : lineas.subList(1, lineas.size())) {
+            Object[] campos = linea.split(",");
+            System.out.printf(Locale.ROOT, "%-38s %10s %8s %10s %9s %9s %9s %9s %9s%n", campos);
+        }
+
+        Files.createDirectories(reporte.toAbsolutePath().getParent());
+        Files.write(reporte, lineas);
+    }
+
+    private static String linea(String nombre, Latencias.Resumen resumen) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f", nombre, resumen.solicitudes(),
+                resumen.errores(), resumen.porSegundo(), resumen.p50(), resumen.p95(), resumen.p99(),
+                resumen.p999(), resumen.maximo());
+    }
+}
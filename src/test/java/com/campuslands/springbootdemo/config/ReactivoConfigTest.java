@@ -0,0 +1,46 @@
+package com.campuslands.springbootdemo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.repository.CatalogoReactivoRepository;
+import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica que con la API reactiva habilitada el contexto siga creando el
+ * {@code DataSource} y los repositorios JPA, y que ambas pilas lean las mismas
+ * filas.
+ */
+@SpringBootTest(properties = "catalogo.reactivo.habilitado=true")
+@ActiveProfiles("prueba")
+class ReactivoConfigTest {
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private ICategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CatalogoReactivoRepository catalogoReactivo;
+
+    @Test
+    void jpaArrancaJuntoConElPoolReactivo() {
+        assertThat(contexto.getBeanNamesForType(ConnectionFactory.class)).isEmpty();
+
+        var categoria = new Categoria();
+        categoria.setNombre("Reactivo y JPA");
+        var guardada = categoriaRepository.save(categoria);
+
+        var leida = catalogoReactivo.categoria(guardada.getId()).block(Duration.ofSeconds(10));
+        assertThat(leida).isNotNull();
+        assertThat(leida.getNombre()).isEqualTo("Reactivo y JPA");
+    }
+}
@@ -0,0 +1,106 @@
+package com.campuslands.springbootdemo.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.campuslands.springbootdemo.dto.ListaNormalizada;
+import com.campuslands.springbootdemo.dto.ProductoPlano;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.service.ProductoService;
+import com.campuslands.springbootdemo.service.StockBajoService;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifica que {@code forma=normalizada} seleccione los manejadores de la
+ * forma normalizada y que sin ese parámetro se siga respondiendo con la forma
+ * anidada.
+ */
+@WebMvcTest(ProductoController.class)
+class ProductoControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private ProductoService productoService;
+
+    @MockitoBean
+    private StockBajoService stockBajoService;
+
+    private ListaNormalizada normalizada;
+
+    private Producto anidado;
+
+    @BeforeEach
+    void preparar() {
+        var categoria = new Categoria();
+        categoria.setId(7L);
+        categoria.setNombre("Electrónica");
+        normalizada = new ListaNormalizada(
+                List.of(new ProductoPlano(1L, "AUD-1", "Audífonos", 250.0, 3, null, 7L),
+                        new ProductoPlano(2L, "AUD-2", "Audífonos pro", 400.0, 1, null, 7L)),
+                Map.of(7L, categoria));
+        anidado = new Producto();
+        anidado.setId(1L);
+        anidado.setNombre("Audífonos");
+        anidado.setCategoria(categoria);
+    }
+
+    @Test
+    void listarNormalizadoReferenciaLaCategoriaPorId() throws Exception {
+        when(productoService.listarNormalizado()).thenReturn(normalizada);
+
+        mvc.perform(get("/api/productos").param("forma", "normalizada"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productos.length()").value(2))
+                .andExpect(jsonPath("$.productos[0].categoriaId").value(7))
+                .andExpect(jsonPath("$.productos[0].categoria").doesNotExist())
+                .andExpect(jsonPath("$.categorias['7'].nombre").value("Electrónica"));
+        verify(productoService, never()).listar();
+    }
+
+    @Test
+    void sinFormaSeListaAnidado() throws Exception {
+        when(productoService.listar()).thenReturn(List.of(anidado));
+
+        mvc.perform(get("/api/productos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoria.nombre").value("Electrónica"));
+        verify(productoService, never()).listarNormalizado();
+    }
+
+    @Test
+    void buscarPorNombreNormalizado() throws Exception {
+        when(productoService.buscarPorNombreNormalizado("aud")).thenReturn(normalizada);
+
+        mvc.perform(get("/api/productos/buscar/nombre").param("nombre", "aud").param("forma", "normalizada"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productos[1].sku").value("AUD-2"))
+                .andExpect(jsonPath("$.categorias['7'].id").value(7));
+        verify(productoService, never()).buscarPorNombre(any());
+    }
+
+    @Test
+    void buscarPorPrecioNormalizado() throws Exception {
+        when(productoService.buscarPorPrecioMayorANormalizado(200.0)).thenReturn(normalizada);
+
+        mvc.perform(get("/api/productos/buscar/precio").param("precio", "200").param("forma", "normalizada"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productos[0].precio").value(250.0))
+                .andExpect(jsonPath("$.categorias['7'].nombre").value("Electrónica"));
+        verify(productoService, never()).buscarPorPrecioMayorA(any());
+    }
+}
@@ -0,0 +1,102 @@
+package com.campuslands.springbootdemo.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.ICategoriaRepository;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Verifica la recuperación del almacén en memoria cuando el registro de
+ * cambios ya fue depurado y la aplicación de cambios masivos.
+ */
+class CatalogoMemoriaTest {
+
+    @TempDir
+    Path directorio;
+
+    private final IProductoRepository productos = mock(IProductoRepository.class);
+
+    private final ICategoriaRepository categorias = mock(ICategoriaRepository.class);
+
+    private final IRegistroCambioRepository registro = mock(IRegistroCambioRepository.class);
+
+    @Test
+    void conElRegistroDepuradoSoloRecargaUnaVez() {
+        // Quedan las entradas 5000..5500: el margen de relectura caería por debajo de la primera.
+        when(registro.primerId()).thenReturn(5_000L);
+        when(registro.ultimoId()).thenReturn(5_500L);
+        var catalogo = new CatalogoMemoria(productos, categorias, registro, directorio.resolve("catalogo.snap"), 0);
+
+        catalogo.iniciar();
+        for (int i = 0; i < 5; i++) {
+            catalogo.refrescar();
+        }
+
+        verify(categorias, times(1)).findAll();
+        verify(productos, times(1)).findFilasDesde(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void unaInstantaneaAnteriorALaDepuracionRecargaUnaSolaVez() {
+        var archivo = directorio.resolve("catalogo.snap");
+        when(registro.primerId()).thenReturn(null);
+        new CatalogoMemoria(productos, categorias, registro, archivo, 0).iniciar();
+        assertThat(archivo).exists();
+
+        // La instantánea quedó en la marca 0 y el registro conserva desde la entrada 5000.
+        when(registro.primerId()).thenReturn(5_000L);
+        when(registro.ultimoId()).thenReturn(5_500L);
+        var catalogo = new CatalogoMemoria(productos, categorias, registro, archivo, 0);
+        catalogo.iniciar();
+        for (int i = 0; i < 5; i++) {
+            catalogo.refrescar();
+        }
+
+        // Una carga del primer nodo y una sola del segundo.
+        verify(categorias, times(2)).findAll();
+    }
+
+    @Test
+    void unCambioMasivoConIdsRecargaSoloEsasFilas() {
+        when(registro.primerId()).thenReturn(null);
+        when(productos.findFilasDesde(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(fila(1, 10.0), fila(2, 20.0), fila(3, 30.0)));
+        var catalogo = new CatalogoMemoria(productos, categorias, registro, directorio.resolve("catalogo.snap"), 0);
+        catalogo.iniciar();
+
+        // Repreciado del producto 1 y archivado del 2, que ya no se encuentra al recargar.
+        var entrada = new RegistroCambio();
+        entrada.setId(1L);
+        entrada.setEntidad(CambioCatalogoEvent.Entidad.PRODUCTO);
+        entrada.setTipo(CambioCatalogoEvent.Tipo.MASIVO);
+        entrada.setIds("1,2");
+        when(registro.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(entrada));
+        when(productos.findFilasByIdIn(List.of(1L, 2L))).thenReturn(List.of(fila(1, 11.0)));
+        catalogo.refrescar();
+
+        assertThat(catalogo.producto(1).getPrecio()).isEqualTo(11.0);
+        assertThat(catalogo.producto(2)).isNull();
+        assertThat(catalogo.producto(3).getPrecio()).isEqualTo(30.0);
+        verify(productos, times(1)).findFilasDesde(anyLong(), any(Limit.class));
+    }
+
+    private static ProductoFila fila(long id, double precio) {
+        return new ProductoFila(id, "SKU-" + id, "Producto " + id, precio, 5, LocalDateTime.now(), 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.campuslands.springbootdemo.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Verifica que una instantánea escrita se lea con el mismo contenido, incluidos
+ * valores nulos y texto no ASCII, y que se rechacen archivos dañados.
+ */
+class InstantaneaCatalogoTest {
+
+    @TempDir
+    Path directorio;
+
+    private static final List<CategoriaFila> CATEGORIAS = List.of(
+            new CategoriaFila(1, "Electrónica", "Audio y vídeo 🎧", 100, 5.5, 10,
+                    LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_456_789)),
+            new CategoriaFila(2, "Vacía", null, null, null, null, null));
+
+    private static final List<ProductoFila> PRODUCTOS = List.of(
+            new ProductoFila(10, "AUD-BT-001", "Audífonos Bluetooth", 249.9, 50,
+                    LocalDateTime.of(2025, 1, 5, 9, 0), 1),
+            new ProductoFila(11, null, "Sin SKU ni precio", null, null, null, 2),
+            new ProductoFila(12, "ÑANDÚ-01", "Cámara", 0.0, 0, LocalDateTime.of(1999, 12, 31, 23, 59, 59), 1));
+
+    @Test
+    void laLecturaDevuelveLoQueSeEscribio() throws IOException {
+        var archivo = directorio.resolve("sub/catalogo.snap");
+
+        InstantaneaCatalogo.escribir(archivo, 4_242, mapa(CATEGORIAS, CategoriaFila::id),
+                mapa(PRODUCTOS, ProductoFila::id));
+        var contenido = InstantaneaCatalogo.leer(archivo);
+
+        assertThat(contenido.marca()).isEqualTo(4_242);
+        assertThat(ordenar(contenido.categorias(), CategoriaFila::id)).isEqualTo(CATEGORIAS);
+        assertThat(ordenar(contenido.productos(), ProductoFila::id)).isEqualTo(PRODUCTOS);
+        assertThat(archivo.resolveSibling("catalogo.snap.tmp")).doesNotExist();
+    }
+
+    @Test
+    void unaInstantaneaVaciaSeLee() throws IOException {
+        var archivo = directorio.resolve("vacia.snap");
+
+        InstantaneaCatalogo.escribir(archivo, 0, new MapaLargo<>(0), new MapaLargo<>(0));
+        var contenido = InstantaneaCatalogo.leer(archivo);
+
+        assertThat(contenido.marca()).isZero();
+        assertThat(contenido.categorias()).isEmpty();
+        assertThat(contenido.productos()).isEmpty();
+    }
+
+    @Test
+    void rechazaUnArchivoTruncado() throws IOException {
+        var archivo = directorio.resolve("truncada.snap");
+        InstantaneaCatalogo.escribir(archivo, 1, mapa(CATEGORIAS, CategoriaFila::id),
+                mapa(PRODUCTOS, ProductoFila::id));
+        var bytes = Files.readAllBytes(archivo);
+        Files.write(archivo, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertThatThrownBy(() -> InstantaneaCatalogo.leer(archivo)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rechazaUnFormatoDesconocido() throws IOException {
+        var archivo = directorio.resolve("otra.snap");
+        Files.write(archivo, new byte[64]);
+
+        assertThatThrownBy(() -> InstantaneaCatalogo.leer(archivo))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("formato desconocido");
+    }
+
+    private static <V> MapaLargo<V> mapa(List<V> filas, ToLongFunction<V> id) {
+        var mapa = new MapaLargo<V>(filas.size());
+        filas.forEach(fila -> mapa.poner(id.applyAsLong(fila), fila));
+        return mapa;
+    }
+
+    private static <V> List<V> ordenar(List<V> filas, ToLongFunction<V> id) {
+        return filas.stream().sorted(Comparator.comparingLong(id)).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.campuslands.springbootdemo.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica altas, reemplazos, bajas y redimensionado del mapa de claves largas.
+ */
+class MapaLargoTest {
+
+    @Test
+    void poneReemplazaYElimina() {
+        var mapa = new MapaLargo<String>(0);
+
+        mapa.poner(1, "uno");
+        mapa.poner(2, "dos");
+        mapa.poner(1, "otro");
+
+        assertThat(mapa.obtener(1)).isEqualTo("otro");
+        assertThat(mapa.obtener(2)).isEqualTo("dos");
+        assertThat(mapa.obtener(3)).isNull();
+        assertThat(mapa.tamano()).isEqualTo(2);
+
+        mapa.eliminar(1);
+        mapa.eliminar(1);
+        mapa.eliminar(99);
+        assertThat(mapa.obtener(1)).isNull();
+        assertThat(mapa.tamano()).isEqualTo(1);
+
+        mapa.poner(1, "de nuevo");
+        assertThat(mapa.obtener(1)).isEqualTo("de nuevo");
+        assertThat(mapa.tamano()).isEqualTo(2);
+    }
+
+    @Test
+    void conservaLasEntradasAlRedimensionar() {
+        var mapa = new MapaLargo<Long>(4);
+        for (long clave = 1; clave <= 10_000; clave++) {
+            mapa.poner(clave * 7919, clave);
+        }
+        for (long clave = 1; clave <= 10_000; clave += 2) {
+            mapa.eliminar(clave * 7919);
+        }
+
+        assertThat(mapa.tamano()).isEqualTo(5_000);
+        assertThat(mapa.valores()).hasSize(5_000).allMatch(valor -> valor % 2 == 0);
+        for (long clave = 1; clave <= 10_000; clave++) {
+            assertThat(mapa.obtener(clave * 7919)).isEqualTo(clave % 2 == 0 ? clave : null);
+        }
+    }
+
+    @Test
+    void coincideConUnHashMapEnOperacionesAlAzar() {
+        var mapa = new MapaLargo<Integer>(16);
+        var referencia = new HashMap<Long, Integer>();
+        var azar = new SplittableRandom(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long clave = azar.nextLong(2_000) - 1_000;
+            if (azar.nextInt(3) == 0) {
+                mapa.eliminar(clave);
+                referencia.remove(clave);
+            } else {
+                mapa.poner(clave, i);
+                referencia.put(clave, i);
+            }
+        }
+
+        assertThat(mapa.tamano()).isEqualTo(referencia.size());
+        for (long clave = -1_000; clave < 1_000; clave++) {
+            assertThat(mapa.obtener(clave)).isEqualTo(referencia.get(clave));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.campuslands.springbootdemo.perfilado;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.campuslands.springbootdemo.dto.ReportePerfilado.AsignacionEndpoint;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Verifica que el interceptor emita un {@link SolicitudEvent} por solicitud
+ * síncrona, que no atribuya las asíncronas y que
+ * {@link AnalizadorGrabacion} las resuma por endpoint.
+ */
+class PerfiladoInterceptorTest {
+
+    private final PerfiladoInterceptor interceptor = new PerfiladoInterceptor();
+
+    @Test
+    void elReporteAgrupaLasSolicitudesPorEndpoint(@TempDir Path directorio) throws Exception {
+        var archivo = directorio.resolve("solicitudes.jfr");
+        try (var grabacion = new Recording()) {
+            grabacion.enable(SolicitudEvent.NOMBRE).withThreshold(Duration.ZERO);
+            grabacion.start();
+            atender("listar", 200);
+            atender("listar", 200);
+            atender("obtener", 404);
+            var asincrona = new MockHttpServletRequest("GET", "/api/cambios");
+            var respuesta = new MockHttpServletResponse();
+            var handler = handler("suscribir");
+            interceptor.preHandle(asincrona, respuesta, handler);
+            interceptor.afterConcurrentHandlingStarted(asincrona, respuesta, handler);
+            interceptor.afterCompletion(asincrona, respuesta, handler, null);
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+        assertThat(Files.size(archivo)).isPositive();
+
+        var reporte = AnalizadorGrabacion.analizar(archivo, 10);
+
+        assertThat(reporte.endpoints())
+                .filteredOn(e -> e.endpoint().startsWith(Controlador.class.getSimpleName()))
+                .extracting(AsignacionEndpoint::endpoint, AsignacionEndpoint::solicitudes)
+                .containsExactlyInAnyOrder(
+                        tuple("Controlador.listar", 2L),
+                        tuple("Controlador.obtener", 1L));
+        assertThat(reporte.inicio()).isNotNull();
+        assertThat(reporte.fin()).isAfterOrEqualTo(reporte.inicio());
+    }
+
+    private void atender(String metodo, int estado) throws Exception {
+        var solicitud = new MockHttpServletRequest("GET", "/api/productos");
+        var respuesta = new MockHttpServletResponse();
+        var handler = handler(metodo);
+        assertThat(interceptor.preHandle(solicitud, respuesta, handler)).isTrue();
+        respuesta.setStatus(estado);
+        interceptor.afterCompletion(solicitud, respuesta, handler, null);
+    }
+
+    private static HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new Controlador(), Controlador.class.getMethod(metodo));
+    }
+
+    /** Controlador de prueba; solo importan los nombres de sus métodos. */
+    public static class Controlador {
+
+        public void listar() {
+        }
+
+        public void obtener() {
+        }
+
+        public void suscribir() {
+        }
+    }
+}
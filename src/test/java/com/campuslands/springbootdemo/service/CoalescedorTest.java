@@ -0,0 +1,152 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica la agrupación de consultas concurrentes: una sola ejecución por
+ * clave, copias para quienes esperan y ninguna unión a ejecuciones iniciadas
+ * antes de una escritura.
+ */
+class CoalescedorTest {
+
+    private SimpleMeterRegistry registro;
+
+    private Coalescedor<String, StringBuilder> coalescedor;
+
+    private ExecutorService hilos;
+
+    @BeforeEach
+    void crear() {
+        registro = new SimpleMeterRegistry();
+        coalescedor = new Coalescedor<>("prueba", 100, StringBuilder::new, registro);
+        hilos = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void detener() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void lasConsultasConcurrentesCompartenUnaEjecucionYRecibenCopias() throws Exception {
+        var liberar = new CountDownLatch(1);
+        var ejecuciones = new AtomicInteger();
+        var original = new StringBuilder("valor");
+
+        var lider = CompletableFuture.supplyAsync(() -> coalescedor.obtener("clave", () -> {
+            ejecuciones.incrementAndGet();
+            esperar(liberar);
+            return original;
+        }), hilos);
+        esperarHasta(() -> ejecuciones.get() == 1);
+
+        var seguidores = new ArrayList<CompletableFuture<StringBuilder>>();
+        for (int i = 0; i < 5; i++) {
+            seguidores.add(CompletableFuture.supplyAsync(() -> coalescedor.obtener("clave", () -> {
+                ejecuciones.incrementAndGet();
+                return new StringBuilder("otra");
+            }), hilos));
+        }
+        esperarHasta(() -> compartidas() == 5);
+        liberar.countDown();
+
+        assertThat(lider.get(5, TimeUnit.SECONDS)).isSameAs(original);
+        for (var seguidor : seguidores) {
+            var resultado = seguidor.get(5, TimeUnit.SECONDS);
+            assertThat(resultado).isNotSameAs(original);
+            assertThat(resultado.toString()).isEqualTo("valor");
+        }
+        assertThat(ejecuciones).hasValue(1);
+    }
+
+    @Test
+    void despuesDeUnaEscrituraNoSeUneAUnaEjecucionAnterior() throws Exception {
+        var liberar = new CountDownLatch(1);
+        var iniciada = new CountDownLatch(1);
+
+        var anterior = CompletableFuture.supplyAsync(() -> coalescedor.obtener("clave", () -> {
+            iniciada.countDown();
+            esperar(liberar);
+            return new StringBuilder("antes");
+        }), hilos);
+        assertThat(iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        coalescedor.invalidar();
+        var posterior = CompletableFuture.supplyAsync(
+                () -> coalescedor.obtener("clave", () -> new StringBuilder("despues")), hilos);
+
+        // Se resuelve sin esperar a la ejecución bloqueada.
+        assertThat(posterior.get(5, TimeUnit.SECONDS).toString()).isEqualTo("despues");
+        liberar.countDown();
+        assertThat(anterior.get(5, TimeUnit.SECONDS).toString()).isEqualTo("antes");
+        assertThat(compartidas()).isZero();
+    }
+
+    @Test
+    void quienesEsperanRecibenLaMismaExcepcion() throws Exception {
+        var liberar = new CountDownLatch(1);
+        var iniciada = new CountDownLatch(1);
+
+        var lider = CompletableFuture.supplyAsync(() -> coalescedor.obtener("clave", () -> {
+            iniciada.countDown();
+            esperar(liberar);
+            throw new IllegalStateException("falla");
+        }), hilos);
+        assertThat(iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+        var seguidor = CompletableFuture.supplyAsync(
+                () -> coalescedor.obtener("clave", () -> new StringBuilder("otra")), hilos);
+        esperarHasta(() -> compartidas() == 1);
+        liberar.countDown();
+
+        for (var futuro : List.of(lider, seguidor)) {
+            assertThatThrownBy(() -> futuro.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void unResultadoNuloNoSeCopia() {
+        assertThat(coalescedor.obtener("clave", () -> null)).isNull();
+    }
+
+    @Test
+    void rechazaClavesNulas() {
+        assertThatThrownBy(() -> coalescedor.obtener(null, StringBuilder::new))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double compartidas() {
+        return registro.get("catalogo.coalescencia.compartidas").counter().count();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condición alcanzada a tiempo").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.SpringbootDemoApplication;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+
+/**
+ * Verifica que un cambio hecho en un nodo llegue a otro nodo que comparte la
+ * misma base de datos embebida. Los nodos usan el perfil {@code prueba} y
+ * reciben su base de datos como argumentos de línea de comandos, que a
+ * diferencia de las propiedades por defecto prevalecen sobre
+ * {@code application.properties}.
+ */
+class CoherenciaNodosServiceTest {
+
+    private static final long INTERVALO_MS = 200;
+
+    /** Cota holgada del retraso: muy por encima del intervalo para tolerar una máquina cargada. */
+    private static final long RETRASO_MAXIMO_MS = INTERVALO_MS * 25;
+
+    private static ConfigurableApplicationContext nodoA;
+
+    private static ConfigurableApplicationContext nodoB;
+
+    private static final BlockingQueue<CambioCatalogoEvent> remotosA = new LinkedBlockingQueue<>();
+
+    private static final BlockingQueue<CambioCatalogoEvent> remotosB = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    static void iniciarNodos() {
+        nodoA = nodo("a");
+        nodoB = nodo("b");
+        nodoA.addApplicationListener(remotos(remotosA));
+        nodoB.addApplicationListener(remotos(remotosB));
+    }
+
+    @AfterAll
+    static void detenerNodos() {
+        if (nodoB != null) {
+            nodoB.close();
+        }
+        if (nodoA != null) {
+            nodoA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext nodo(String nombre) {
+        return new SpringApplicationBuilder(SpringbootDemoApplication.class)
+                .profiles("prueba")
+                .run("--spring.datasource.url=jdbc:h2:mem:coherencia;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+                        "--catalogo.reactivo.url=r2dbc:h2:mem:///coherencia;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--catalogo.memoria.instantanea=target/prueba/coherencia-" + nombre + ".snap",
+                        "--server.port=0",
+                        "--catalogo.coherencia.intervalo-ms=" + INTERVALO_MS);
+    }
+
+    private static ApplicationListener<ApplicationEvent> remotos(BlockingQueue<CambioCatalogoEvent> cola) {
+        return evento -> {
+            if (evento instanceof PayloadApplicationEvent<?> payload
+                    && payload.getPayload() instanceof CambioCatalogoEvent cambio && cambio.remoto()) {
+                cola.add(cambio);
+            }
+        };
+    }
+
+    @Test
+    void cambioEnUnNodoLlegaAlOtro() throws InterruptedException {
+        var categoria = new Categoria();
+        categoria.setNombre("Coherencia");
+        categoria.setCodigo(99);
+
+        long inicio = System.nanoTime();
+        var creada = nodoA.getBean(CategoriaService.class).crear(categoria);
+        var recibido = remotosB.poll(10, TimeUnit.SECONDS);
+        long demoraMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(recibido).isNotNull();
+        assertThat(demoraMs).as("retraso entre nodos").isLessThan(RETRASO_MAXIMO_MS);
+        assertThat(recibido.entidad()).isEqualTo(CambioCatalogoEvent.Entidad.CATEGORIA);
+        assertThat(recibido.tipo()).isEqualTo(CambioCatalogoEvent.Tipo.CREADO);
+        assertThat(recibido.id()).isEqualTo(creada.getId());
+        assertThat(recibido.campos()).contains("nombre", "codigo");
+
+        // El nodo de origen no recibe su propio cambio como remoto y el otro nodo no lo vuelve a registrar.
+        assertThat(remotosA.poll(INTERVALO_MS * 3, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(nodoB.getBean(IRegistroCambioRepository.class).count()).isEqualTo(1);
+    }
+}
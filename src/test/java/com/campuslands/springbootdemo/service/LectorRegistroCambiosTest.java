@@ -0,0 +1,129 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.campuslands.springbootdemo.entity.RegistroCambio;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.repository.IRegistroCambioRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Verifica cómo avanza la marca del lector ante ids contiguos, huecos que se
+ * llenan tarde, huecos vencidos y saltos por depuración del registro.
+ */
+class LectorRegistroCambiosTest {
+
+    private static final long ESPERA_LARGA_MS = 3_600_000;
+
+    private final TreeMap<Long, RegistroCambio> registro = new TreeMap<>();
+
+    private final List<Long> entregados = new ArrayList<>();
+
+    private IRegistroCambioRepository repositorio;
+
+    @BeforeEach
+    void simularRegistro() {
+        repositorio = mock(IRegistroCambioRepository.class);
+        when(repositorio.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocacion -> {
+            long desde = invocacion.getArgument(0);
+            Limit limite = invocacion.getArgument(1);
+            return registro.tailMap(desde, false).values().stream().limit(limite.max()).toList();
+        });
+    }
+
+    @Test
+    void avanzaSobreIdsContiguosEnVariosLotes() {
+        agregar(1, 2, 3, 4, 5);
+        var lector = new LectorRegistroCambios(repositorio, 0, 2, ESPERA_LARGA_MS);
+
+        assertThat(lector.leer(this::entregar)).isEqualTo(5);
+
+        assertThat(entregados).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(lector.getConfirmado()).isEqualTo(5);
+    }
+
+    @Test
+    void esperaAUnHuecoYNoRepiteLoYaEntregado() {
+        agregar(1, 2, 4);
+        var lector = new LectorRegistroCambios(repositorio, 0, 100, ESPERA_LARGA_MS);
+
+        lector.leer(this::entregar);
+        assertThat(lector.getConfirmado()).isEqualTo(2);
+
+        // La transacción del id 3 confirma después que la del 4.
+        agregar(3);
+        lector.leer(this::entregar);
+
+        assertThat(entregados).containsExactly(1L, 2L, 4L, 3L);
+        assertThat(lector.getConfirmado()).isEqualTo(4);
+    }
+
+    @Test
+    void descartaUnHuecoVencido() {
+        agregar(1, 3);
+        var lector = new LectorRegistroCambios(repositorio, 0, 100, 0);
+
+        lector.leer(this::entregar);
+
+        assertThat(lector.getConfirmado()).isEqualTo(3);
+    }
+
+    @Test
+    void saltaLasEntradasDepuradas() {
+        agregar(250_001, 250_002);
+        var lector = new LectorRegistroCambios(repositorio, 0, 100, ESPERA_LARGA_MS);
+
+        lector.leer(this::entregar);
+
+        assertThat(entregados).containsExactly(250_001L, 250_002L);
+        assertThat(lector.getConfirmado()).isEqualTo(250_002);
+    }
+
+    @Test
+    void unHuecoInicialPequenoNoSeConsideraDepurado() {
+        agregar(50, 51);
+        var lector = new LectorRegistroCambios(repositorio, 0, 100, ESPERA_LARGA_MS);
+
+        lector.leer(this::entregar);
+
+        assertThat(lector.getConfirmado()).isZero();
+    }
+
+    @Test
+    void reiniciarDescartaElEstadoPendiente() {
+        agregar(1, 2, 4);
+        var lector = new LectorRegistroCambios(repositorio, 0, 100, ESPERA_LARGA_MS);
+        lector.leer(this::entregar);
+
+        lector.reiniciar(3);
+        entregados.clear();
+        lector.leer(this::entregar);
+
+        assertThat(entregados).containsExactly(4L);
+        assertThat(lector.getConfirmado()).isEqualTo(4);
+    }
+
+    private void entregar(List<RegistroCambio> lote) {
+        lote.forEach(entrada -> entregados.add(entrada.getId()));
+    }
+
+    private void agregar(long... ids) {
+        for (long id : ids) {
+            var entrada = new RegistroCambio();
+            entrada.setId(id);
+            entrada.setEntidad(CambioCatalogoEvent.Entidad.PRODUCTO);
+            entrada.setTipo(CambioCatalogoEvent.Tipo.ACTUALIZADO);
+            entrada.setEntidadId(id);
+            registro.put(id, entrada);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.dto.CategoriaUpsert;
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.dto.RepreciarRequest;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import com.campuslands.springbootdemo.repository.IProductoRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica la actualización de productos, el repreciado y la sincronización
+ * masiva sobre la base de datos embebida, que como MySQL no distingue
+ * mayúsculas en las claves de negocio.
+ */
+@SpringBootTest
+@ActiveProfiles("prueba")
+class ProductoServiceTest {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private IProductoRepository productoRepository;
+
+    @Test
+    void actualizarSinSkuConservaElGuardado() {
+        var categoria = categoria("Ferretería");
+        var producto = new Producto();
+        producto.setSku("FER-001");
+        producto.setNombre("Martillo");
+        producto.setPrecio(20.0);
+        producto.setStock(5);
+        var creado = productoService.crear(producto, categoria.getId());
+
+        var cambios = new Producto();
+        cambios.setNombre("Martillo de uña");
+        cambios.setPrecio(22.0);
+        cambios.setStock(4);
+        productoService.actualizar(creado.getId(), cambios, null);
+
+        var guardado = productoRepository.findById(creado.getId()).orElseThrow();
+        assertThat(guardado.getSku()).isEqualTo("FER-001");
+        assertThat(guardado.getNombre()).isEqualTo("Martillo de uña");
+    }
+
+    @Test
+    void elUpsertDeProductosNoDistingueMayusculasEnElSku() {
+        categoria("Jardín");
+
+        var primero = productoService.upsert(List.of(new ProductoUpsert("JAR-001", "Pala", 15.0, 3, "Jardín")));
+        assertThat(primero.insertados()).isEqualTo(1);
+
+        var igual = productoService.upsert(List.of(new ProductoUpsert("jar-001", "Pala", 15.0, 3, "JARDÍN")));
+        assertThat(igual.insertados()).isZero();
+        assertThat(igual.sinCambios()).isEqualTo(1);
+        assertThat(igual.rechazados()).isEmpty();
+
+        var cambiado = productoService.upsert(List.of(new ProductoUpsert("Jar-001", "Pala", 18.0, 3, "jardín")));
+        assertThat(cambiado.insertados()).isZero();
+        assertThat(cambiado.actualizados()).isEqualTo(1);
+        var guardados = productoRepository.findAll().stream()
+                .filter(p -> "jar-001".equalsIgnoreCase(p.getSku()))
+                .toList();
+        assertThat(guardados).singleElement().satisfies(p -> {
+            assertThat(p.getSku()).isEqualTo("JAR-001");
+            assertThat(p.getPrecio()).isEqualTo(18.0);
+        });
+    }
+
+    @Test
+    void elUpsertDeCategoriasNoDistingueMayusculasEnElNombre() {
+        var primero = categoriaService.upsert(List.of(new CategoriaUpsert("Papelería", "Útiles", 30, 0.0)));
+        assertThat(primero.insertados()).isEqualTo(1);
+
+        var igual = categoriaService.upsert(List.of(new CategoriaUpsert("PAPELERÍA", "Útiles", 30, 0.0)));
+        assertThat(igual.insertados()).isZero();
+        assertThat(igual.sinCambios()).isEqualTo(1);
+
+        var cambiado = categoriaService.upsert(List.of(new CategoriaUpsert("papelería", "Útiles", 30, 5.0)));
+        assertThat(cambiado.insertados()).isZero();
+        assertThat(cambiado.actualizados()).isEqualTo(1);
+    }
+
+    @Test
+    void repreciarExigeUnAlcanceYUnaRebajaMenorQueElTotal() {
+        var categoria = categoria("Repreciado");
+        var producto = new Producto();
+        producto.setSku("REP-001");
+        producto.setNombre("Lámpara");
+        producto.setPrecio(100.0);
+        producto.setStock(1);
+        var creado = productoService.crear(producto, categoria.getId());
+
+        assertThat(productoService.repreciar(new RepreciarRequest(null, null, null, 10.0, null, false))).isNull();
+        assertThat(productoService.repreciar(
+                new RepreciarRequest(categoria.getId(), null, null, -100.0, null, false))).isNull();
+        assertThat(productoService.repreciar(
+                new RepreciarRequest(categoria.getId(), null, null, -150.0, null, false))).isNull();
+        assertThat(productoRepository.findById(creado.getId()).orElseThrow().getPrecio()).isEqualTo(100.0);
+
+        var resultado = productoService.repreciar(new RepreciarRequest(categoria.getId(), null, null, 10.0, null,
+                false));
+        assertThat(resultado.afectados()).isEqualTo(1);
+        assertThat(productoRepository.findById(creado.getId()).orElseThrow().getPrecio()).isEqualTo(110.0);
+        assertThat(productoService.repreciar(new RepreciarRequest(null, 1000.0, null, 10.0, null, false)))
+                .isNotNull();
+    }
+
+    private Categoria categoria(String nombre) {
+        var categoria = new Categoria();
+        categoria.setNombre(nombre);
+        return categoriaService.crear(categoria);
+    }
+}
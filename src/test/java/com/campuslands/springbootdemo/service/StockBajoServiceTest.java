@@ -0,0 +1,101 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.dto.ProductoStockBajo;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.Producto;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica el orden de la lista de stock bajo y su recálculo cuando cambia el
+ * umbral de una categoría.
+ */
+@SpringBootTest
+@ActiveProfiles("prueba")
+class StockBajoServiceTest {
+
+    @Autowired
+    private StockBajoService stockBajoService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void ordenaPorCoberturaAscendente() {
+        var diez = categoria("Stock orden diez", 10);
+        var cinco = categoria("Stock orden cinco", 5);
+        var cuatroDeDiez = producto("ORD-1", 4, diez);
+        var unoDeDiez = producto("ORD-2", 1, diez);
+        var sieteDeDiez = producto("ORD-3", 7, diez);
+        var sobreUmbral = producto("ORD-4", 12, diez);
+        var unoDeCinco = producto("ORD-5", 1, cinco);
+
+        var propios = List.of(cuatroDeDiez.getId(), unoDeDiez.getId(), sieteDeDiez.getId(), sobreUmbral.getId(),
+                unoDeCinco.getId());
+        var ids = stockBajoService.masUrgentes(500).stream()
+                .map(ProductoStockBajo::id)
+                .filter(propios::contains)
+                .toList();
+
+        assertThat(ids).containsExactly(unoDeDiez.getId(), unoDeCinco.getId(), cuatroDeDiez.getId(),
+                sieteDeDiez.getId());
+    }
+
+    @Test
+    void cambiarElStockMinimoRecalculaLaLista() throws InterruptedException {
+        var categoria = categoria("Stock umbral", 5);
+        var producto = producto("UMB-1", 8, categoria);
+        assertThat(entrada(producto.getId())).isEmpty();
+
+        categoria.setStockMinimo(20);
+        categoriaService.actualizar(categoria.getId(), categoria);
+        esperarHasta(() -> entrada(producto.getId()).isPresent());
+        assertThat(entrada(producto.getId())).hasValueSatisfying(e -> {
+            assertThat(e.umbral()).isEqualTo(20);
+            assertThat(e.cobertura()).isEqualTo(0.4);
+        });
+
+        categoria.setStockMinimo(2);
+        categoriaService.actualizar(categoria.getId(), categoria);
+        esperarHasta(() -> entrada(producto.getId()).isEmpty());
+    }
+
+    private Optional<ProductoStockBajo> entrada(long id) {
+        return stockBajoService.masUrgentes(500).stream().filter(e -> e.id() == id).findFirst();
+    }
+
+    private Categoria categoria(String nombre, int stockMinimo) {
+        var categoria = new Categoria();
+        categoria.setNombre(nombre);
+        categoria.setStockMinimo(stockMinimo);
+        return categoriaService.crear(categoria);
+    }
+
+    private Producto producto(String sku, int stock, Categoria categoria) {
+        var producto = new Producto();
+        producto.setSku(sku);
+        producto.setNombre("Producto " + sku);
+        producto.setPrecio(10.0);
+        producto.setStock(stock);
+        return productoService.crear(producto, categoria.getId());
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condición alcanzada a tiempo").isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.campuslands.springbootdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.dto.ProductoUpsert;
+import com.campuslands.springbootdemo.entity.Categoria;
+import com.campuslands.springbootdemo.entity.ErrorTrabajo;
+import com.campuslands.springbootdemo.entity.Trabajo.Estado;
+import com.campuslands.springbootdemo.repository.IParametrosTrabajoRepository;
+import com.campuslands.springbootdemo.repository.ITrabajoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica la importación en segundo plano: la posición de cada fila
+ * rechazada y la reanudación desde el último bloque confirmado. Usa su propia
+ * base de datos para que ningún otro contexto de prueba tome sus trabajos.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:trabajos;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+    "catalogo.reactivo.url=r2dbc:h2:mem:///trabajos;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "catalogo.memoria.instantanea=target/prueba/trabajos.snap",
+    "catalogo.trabajos.tamano-bloque=2",
+    "catalogo.trabajos.pausa-ms=0",
+    "catalogo.trabajos.sondeo-ms=50",
+    "catalogo.trabajos.maximo-bytes-importacion=4096"
+})
+@ActiveProfiles("prueba")
+class TrabajoServiceTest {
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ITrabajoRepository trabajoRepository;
+
+    @Autowired
+    private IParametrosTrabajoRepository parametrosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Test
+    void cadaFilaRechazadaGuardaSuPropiaPosicion() throws Exception {
+        categoria("Importación rechazos");
+        var filas = List.of(
+                new ProductoUpsert("REC-0", "Cero", 1.0, 1, "Importación rechazos"),
+                new ProductoUpsert(null, "Sin SKU", 1.0, 1, "Importación rechazos"),
+                new ProductoUpsert("REC-2", "Dos", 1.0, 1, "Importación rechazos"),
+                new ProductoUpsert("REC-3", "Tres", 1.0, 1, "No existe"),
+                new ProductoUpsert("REC-4", "Cuatro", 1.0, 1, "Importación rechazos"));
+
+        var id = trabajoService.importarProductos(filas).id();
+        esperarEstado(id, Estado.COMPLETADO);
+
+        var errores = trabajoService.errores(id, 0, 100);
+        assertThat(errores).extracting(ErrorTrabajo::getPosicion).containsExactly(1L, 3L);
+        assertThat(errores.get(0).getDetalle()).contains("sku");
+        assertThat(errores.get(1).getDetalle()).contains("No existe");
+        assertThat(trabajoService.estado(id).errores()).isEqualTo(2);
+        assertThat(cantidad("REC-%")).isEqualTo(3);
+    }
+
+    @Test
+    void unTrabajoFallidoSeReanudaDesdeElUltimoBloqueConfirmado() throws Exception {
+        categoria("Importación reanudada");
+        var filas = new ArrayList<ProductoUpsert>();
+        for (int i = 0; i < 6; i++) {
+            filas.add(new ProductoUpsert("REA-" + i, "Producto " + i, 1.0, 1, "Importación reanudada"));
+        }
+        // Un SKU más largo que la columna hace fallar el segundo bloque (filas 2 y 3).
+        filas.set(3, new ProductoUpsert("REA-" + "X".repeat(100), "Producto 3", 1.0, 1, "Importación reanudada"));
+
+        var id = trabajoService.importarProductos(filas).id();
+        esperarEstado(id, Estado.FALLIDO);
+        var fallido = trabajoRepository.findById(id).orElseThrow();
+        assertThat(fallido.getCheckpoint()).isEqualTo(2);
+        assertThat(fallido.getProcesados()).isEqualTo(2);
+        assertThat(cantidad("REA-%")).isEqualTo(2);
+
+        // Se corrige la carga y se marca una fila del primer bloque para ver que no se vuelve a escribir.
+        filas.set(3, new ProductoUpsert("REA-3", "Producto 3", 1.0, 1, "Importación reanudada"));
+        var parametros = parametrosRepository.findById(id).orElseThrow();
+        parametros.setContenido(json.writeValueAsString(filas));
+        parametrosRepository.save(parametros);
+        jdbc.update("update productos set nombre = 'Editado' where sku = 'REA-0'");
+
+        assertThat(trabajoService.reanudar(id)).isNotNull();
+        esperarEstado(id, Estado.COMPLETADO);
+
+        var completado = trabajoService.estado(id);
+        assertThat(completado.procesados()).isEqualTo(6);
+        assertThat(cantidad("REA-%")).isEqualTo(6);
+        assertThat(jdbc.queryForObject("select nombre from productos where sku = 'REA-0'", String.class))
+                .isEqualTo("Editado");
+    }
+
+    @Test
+    void rechazaUnaImportacionMayorQueElLimite() {
+        var filas = new ArrayList<ProductoUpsert>();
+        for (int i = 0; i < 100; i++) {
+            filas.add(new ProductoUpsert("GRANDE-" + i, "Producto " + i, 1.0, 1, "Cualquiera"));
+        }
+
+        assertThat(trabajoService.importarProductos(filas)).isNull();
+    }
+
+    private void categoria(String nombre) {
+        var categoria = new Categoria();
+        categoria.setNombre(nombre);
+        categoriaService.crear(categoria);
+    }
+
+    private long cantidad(String patron) {
+        return jdbc.queryForObject("select count(*) from productos where sku like ?", Long.class, patron);
+    }
+
+    private void esperarEstado(Long id, Estado estado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (trabajoService.estado(id).estado() != estado) {
+            assertThat(System.nanoTime()).as("trabajo " + id + " en " + estado).isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+}
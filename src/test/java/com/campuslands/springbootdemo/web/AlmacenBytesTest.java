@@ -0,0 +1,123 @@
+package com.campuslands.springbootdemo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica el contador de referencias, el descarte por antigüedad de uso, que
+ * las páginas de una lectura en curso no se reutilicen y el anillo de
+ * generaciones del almacén.
+ */
+class AlmacenBytesTest {
+
+    /** Páginas de 16 bytes; cada entrada puede ocupar como mucho una cuarta parte del almacén. */
+    private static final int PAGINA = 16;
+
+    @Test
+    void unaEntradaReservadaSigueLegibleTrasInvalidarse() throws IOException {
+        var almacen = almacen(8);
+        guardar(almacen, "a", "contenido de a", "t");
+
+        var reservada = almacen.reservar("a");
+        assertThat(almacen.invalidar(Set.of("t"))).isEqualTo(1);
+        assertThat(almacen.entradas()).isZero();
+        assertThat(almacen.reservar("a")).isNull();
+
+        assertThat(leer(almacen, reservada)).isEqualTo("contenido de a");
+        almacen.liberar(reservada);
+    }
+
+    @Test
+    void alLlenarseDescartaLaEntradaUsadaHaceMasTiempo() {
+        var almacen = almacen(8);
+        for (String clave : new String[] {"a", "b", "c", "d"}) {
+            assertThat(guardar(almacen, clave, "x".repeat(2 * PAGINA), clave)).isTrue();
+        }
+        almacen.liberar(almacen.reservar("a"));
+
+        assertThat(guardar(almacen, "e", "x".repeat(2 * PAGINA), "e")).isTrue();
+
+        assertThat(almacen.descartes()).isEqualTo(1);
+        assertThat(almacen.reservar("b")).isNull();
+        for (String clave : new String[] {"a", "c", "d", "e"}) {
+            var entrada = almacen.reservar(clave);
+            assertThat(entrada).as(clave).isNotNull();
+            almacen.liberar(entrada);
+        }
+    }
+
+    @Test
+    void noReutilizaLasPaginasDeUnaLecturaEnCurso() throws IOException {
+        var almacen = almacen(4);
+        var claves = new String[] {"a", "b", "c", "d"};
+        var reservadas = new AlmacenBytes.Entrada[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            guardar(almacen, claves[i], "cuerpo " + claves[i], "t");
+            reservadas[i] = almacen.reservar(claves[i]);
+        }
+        almacen.invalidar(Set.of("t"));
+
+        // Todas las páginas siguen en uso por las lecturas: no hay dónde guardar.
+        assertThat(guardar(almacen, "e", "cuerpo e", "e")).isFalse();
+        for (int i = 0; i < claves.length; i++) {
+            assertThat(leer(almacen, reservadas[i])).isEqualTo("cuerpo " + claves[i]);
+        }
+
+        almacen.liberar(reservadas[0]);
+        assertThat(guardar(almacen, "e", "cuerpo e", "e")).isTrue();
+        for (int i = 1; i < claves.length; i++) {
+            assertThat(leer(almacen, reservadas[i])).isEqualTo("cuerpo " + claves[i]);
+            almacen.liberar(reservadas[i]);
+        }
+        var nueva = almacen.reservar("e");
+        assertThat(leer(almacen, nueva)).isEqualTo("cuerpo e");
+        almacen.liberar(nueva);
+    }
+
+    @Test
+    void noGuardaUnaRespuestaProducidaAntesDeUnaInvalidacionDeSusEtiquetas() {
+        var almacen = almacen(8);
+        long inicial = almacen.generacion();
+        almacen.invalidar(Set.of("producto:1"));
+
+        assertThat(almacen.guardar("a", null, bytes("a"), null, Set.of("producto:1"), inicial)).isFalse();
+        assertThat(almacen.guardar("b", null, bytes("b"), null, Set.of("producto:2"), inicial)).isTrue();
+    }
+
+    @Test
+    void siElAnilloYaNoLlegaALaGeneracionNoGuarda() {
+        var almacen = almacen(8);
+        long inicial = almacen.generacion();
+        for (int i = 0; i < 1024; i++) {
+            almacen.invalidar(Set.of("otra:" + i));
+        }
+
+        assertThat(almacen.guardar("a", null, bytes("a"), null, Set.of("producto:1"), inicial)).isFalse();
+        assertThat(almacen.guardar("a", null, bytes("a"), null, Set.of("producto:1"), almacen.generacion()))
+                .isTrue();
+    }
+
+    private static AlmacenBytes almacen(int paginas) {
+        return new AlmacenBytes((long) paginas * PAGINA, PAGINA);
+    }
+
+    private static boolean guardar(AlmacenBytes almacen, String clave, String cuerpo, String etiqueta) {
+        return almacen.guardar(clave, "application/json", bytes(cuerpo), null, Set.of(etiqueta),
+                almacen.generacion());
+    }
+
+    private static String leer(AlmacenBytes almacen, AlmacenBytes.Entrada entrada) throws IOException {
+        var salida = new ByteArrayOutputStream();
+        almacen.copiar(entrada, false, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
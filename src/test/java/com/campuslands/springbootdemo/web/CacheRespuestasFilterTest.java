@@ -0,0 +1,204 @@
+package com.campuslands.springbootdemo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Tipo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Verifica cuándo la caché de respuestas sirve una entrada fresca, en gracia u
+ * obsoleta tras un fallo, y cuándo deja pasar la solicitud al controlador. El
+ * reloj es manual, así que el resultado no depende del tiempo real.
+ */
+class CacheRespuestasFilterTest {
+
+    private static final long FRESCURA_MS = 1_000;
+
+    private static final long GRACIA_MS = 5_000;
+
+    private static final long MAXIMO_OBSOLETO_MS = 60_000;
+
+    private final AtomicLong ahora = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    private CacheRespuestasFilter filtro;
+
+    @BeforeEach
+    void crear() {
+        filtro = filtro(100);
+    }
+
+    @AfterEach
+    void cerrar() {
+        filtro.cerrar();
+    }
+
+    @Test
+    void dentroDeLaFrescuraSirveSinConsultar() throws Exception {
+        var primera = solicitar("/api/productos/1", correcta());
+        avanzar(FRESCURA_MS / 2);
+        var segunda = solicitar("/api/productos/1", correcta());
+
+        assertThat(primera.getContentAsString()).isEqualTo("{\"consulta\":1}");
+        assertThat(segunda.getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isEqualTo("HIT");
+        assertThat(segunda.getContentAsString()).isEqualTo("{\"consulta\":1}");
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void dentroDeLaGraciaSirveObsoletaConAviso() throws Exception {
+        solicitar("/api/productos/1", correcta());
+        avanzar(FRESCURA_MS * 2);
+        var respuesta = solicitar("/api/productos/1", correcta());
+
+        assertThat(respuesta.getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isEqualTo("STALE");
+        assertThat(respuesta.getHeader("Warning")).startsWith("110");
+        assertThat(respuesta.getContentAsString()).isEqualTo("{\"consulta\":1}");
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void unFalloDeDatosSirveLaObsoletaYActivaElEnfriamiento() throws Exception {
+        solicitar("/api/productos/1", correcta());
+        avanzar(GRACIA_MS * 2);
+
+        var fallida = solicitar("/api/productos/1", (req, res) -> {
+            consultas.incrementAndGet();
+            throw new DataAccessResourceFailureException("sin conexión");
+        });
+        assertThat(fallida.getStatus()).isEqualTo(200);
+        assertThat(fallida.getHeader("Warning")).startsWith("111");
+        assertThat(fallida.getContentAsString()).isEqualTo("{\"consulta\":1}");
+
+        // Durante el enfriamiento se sirve la entrada sin llegar al controlador.
+        var siguiente = solicitar("/api/productos/1", correcta());
+        assertThat(siguiente.getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isEqualTo("STALE");
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void unErrorQueNoEsDeDatosNoActivaElEnfriamiento() throws Exception {
+        solicitar("/api/productos/1", correcta());
+        avanzar(GRACIA_MS * 2);
+
+        var fallida = solicitar("/api/productos/1", (req, res) -> {
+            consultas.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(503);
+        });
+        assertThat(fallida.getStatus()).isEqualTo(200);
+        assertThat(fallida.getHeader("Warning")).startsWith("111");
+
+        var siguiente = solicitar("/api/productos/1", correcta());
+        assertThat(siguiente.getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isNull();
+        assertThat(siguiente.getContentAsString()).isEqualTo("{\"consulta\":3}");
+    }
+
+    @Test
+    void pasadoElMaximoDeObsolescenciaElFalloLlegaAlCliente() throws Exception {
+        solicitar("/api/productos/1", correcta());
+        avanzar(MAXIMO_OBSOLETO_MS * 2);
+
+        assertThatThrownBy(() -> solicitar("/api/productos/1", (req, res) -> {
+            throw new DataAccessResourceFailureException("sin conexión");
+        })).isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void noGuardaUnaRespuestaLeidaAntesDeUnaInvalidacion() throws Exception {
+        solicitar("/api/productos/1", (req, res) -> {
+            filtro.alCambiar(new CambioCatalogoEvent(Entidad.PRODUCTO, Tipo.ACTUALIZADO, 1L, Set.of("precio")));
+            correcta().doFilter(req, res);
+        });
+        var siguiente = solicitar("/api/productos/1", correcta());
+
+        assertThat(siguiente.getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isNull();
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void laCabeceraDeRevalidacionSoloValeDesdeLaInterfazLocalConElSecreto() throws Exception {
+        solicitar("/api/productos/1", correcta());
+
+        var ajena = solicitud("/api/productos/1");
+        ajena.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, "1");
+        assertThat(ejecutar(ajena, correcta()).getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isEqualTo("HIT");
+
+        var remota = solicitud("/api/productos/1");
+        remota.setRemoteAddr("10.0.0.8");
+        remota.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, CacheRespuestasFilter.secretoRevalidacion());
+        assertThat(ejecutar(remota, correcta()).getHeader(CacheRespuestasFilter.CABECERA_CACHE)).isEqualTo("HIT");
+        assertThat(consultas).hasValue(1);
+
+        var interna = solicitud("/api/productos/1");
+        interna.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, CacheRespuestasFilter.secretoRevalidacion());
+        ejecutar(interna, correcta());
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void alLlenarseDescartaLaEntradaUsadaHaceMasTiempo() throws Exception {
+        filtro.cerrar();
+        filtro = filtro(2);
+        solicitar("/api/productos/1", correcta());
+        solicitar("/api/productos/2", correcta());
+        solicitar("/api/productos/1", correcta());
+        solicitar("/api/productos/3", correcta());
+        assertThat(consultas).hasValue(3);
+
+        assertThat(solicitar("/api/productos/1", correcta()).getHeader(CacheRespuestasFilter.CABECERA_CACHE))
+                .isEqualTo("HIT");
+        assertThat(solicitar("/api/productos/2", correcta()).getHeader(CacheRespuestasFilter.CABECERA_CACHE))
+                .isNull();
+        assertThat(consultas).hasValue(4);
+    }
+
+    private CacheRespuestasFilter filtro(int capacidad) {
+        return new CacheRespuestasFilter(capacidad, FRESCURA_MS, GRACIA_MS, MAXIMO_OBSOLETO_MS, 10_000, 100, 1,
+                new SimpleMeterRegistry(), ahora::get);
+    }
+
+    private FilterChain correcta() {
+        return (req, res) -> {
+            int consulta = consultas.incrementAndGet();
+            res.setContentType("application/json");
+            res.getWriter().write("{\"consulta\":" + consulta + "}");
+        };
+    }
+
+    private void avanzar(long millis) {
+        ahora.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private MockHttpServletResponse solicitar(String ruta, FilterChain cadena) throws Exception {
+        return ejecutar(solicitud(ruta), cadena);
+    }
+
+    private MockHttpServletResponse ejecutar(MockHttpServletRequest solicitud, FilterChain cadena) throws Exception {
+        var respuesta = new MockHttpServletResponse();
+        filtro.doFilter(solicitud, respuesta, cadena);
+        return respuesta;
+    }
+
+    private static MockHttpServletRequest solicitud(String ruta) {
+        var solicitud = new MockHttpServletRequest("GET", ruta);
+        // Las revalidaciones en segundo plano fallan de inmediato contra un puerto cerrado.
+        solicitud.setLocalPort(1);
+        return solicitud;
+    }
+}
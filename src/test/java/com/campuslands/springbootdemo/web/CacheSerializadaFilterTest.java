@@ -0,0 +1,132 @@
+package com.campuslands.springbootdemo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Entidad;
+import com.campuslands.springbootdemo.event.CambioCatalogoEvent.Tipo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Verifica que un cambio del catálogo descarte solo las respuestas guardadas
+ * cuyas etiquetas coinciden y que la cabecera de revalidación de un cliente
+ * cualquiera no salte la caché. La cadena hace las veces del controlador y de
+ * {@link EtiquetasCacheAdvice}: escribe el cuerpo y fija las etiquetas de
+ * contenido.
+ */
+class CacheSerializadaFilterTest {
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    private CacheSerializadaFilter filtro;
+
+    @BeforeEach
+    void crear() {
+        filtro = new CacheSerializadaFilter(64 * 1024, 2048, false, 1024, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unCambioDescartaSoloLasEntradasEtiquetadas() throws Exception {
+        var nombreUno = buscar("/api/productos/buscar/nombre", "nombre", "uno");
+        var nombreDos = buscar("/api/productos/buscar/nombre", "nombre", "dos");
+        var precio = buscar("/api/productos/buscar/precio", "precio", "10");
+        var lista = solicitud("/api/productos");
+        var categorias = buscar("/api/categorias/buscar/nombre", "nombre", "hogar");
+        ejecutar(nombreUno, "producto:1", "productos.contenido");
+        ejecutar(nombreDos, "producto:2", "productos.contenido");
+        ejecutar(precio, "producto:2", "productos.contenido");
+        ejecutar(lista, "producto:1", "producto:2", "productos.contenido");
+        ejecutar(categorias, "categoria:7", "categorias.contenido");
+        assertThat(consultas).hasValue(5);
+
+        // Cambia el stock del producto 1: caen las respuestas que lo contienen y las búsquedas por stock.
+        filtro.alCambiar(new CambioCatalogoEvent(Entidad.PRODUCTO, Tipo.ACTUALIZADO, 1L, Set.of("stock")));
+
+        assertThat(cache(ejecutar(nombreUno, "producto:1"))).isNull();
+        assertThat(cache(ejecutar(lista, "producto:1", "producto:2"))).isNull();
+        assertThat(cache(ejecutar(nombreDos, "producto:2"))).isEqualTo("BYTES");
+        assertThat(cache(ejecutar(precio, "producto:2"))).isEqualTo("BYTES");
+        assertThat(cache(ejecutar(categorias, "categoria:7"))).isEqualTo("BYTES");
+        assertThat(consultas).hasValue(7);
+
+        // Cambia el precio del producto 2: cae además la búsqueda por precio aunque no lo incluyera.
+        filtro.alCambiar(new CambioCatalogoEvent(Entidad.PRODUCTO, Tipo.ACTUALIZADO, 2L, Set.of("precio")));
+
+        assertThat(cache(ejecutar(nombreUno, "producto:1"))).isEqualTo("BYTES");
+        assertThat(cache(ejecutar(nombreDos, "producto:2"))).isNull();
+        assertThat(cache(ejecutar(precio, "producto:2"))).isNull();
+        assertThat(cache(ejecutar(categorias, "categoria:7"))).isEqualTo("BYTES");
+    }
+
+    @Test
+    void lasLecturasPorIdQuedanParaLaCacheDeRespuestas() throws Exception {
+        ejecutar(solicitud("/api/productos/1"), "producto:1");
+        var segunda = ejecutar(solicitud("/api/productos/1"), "producto:1");
+
+        assertThat(cache(segunda)).isNull();
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void laCabeceraDeRevalidacionDeUnClienteNoSaltaLaCache() throws Exception {
+        var primera = buscar("/api/productos/buscar/nombre", "nombre", "uno");
+        ejecutar(primera, "producto:1");
+
+        var remota = buscar("/api/productos/buscar/nombre", "nombre", "uno");
+        remota.setRemoteAddr("10.0.0.8");
+        remota.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, CacheRespuestasFilter.secretoRevalidacion());
+        assertThat(cache(ejecutar(remota, "producto:1"))).isEqualTo("BYTES");
+
+        var interna = buscar("/api/productos/buscar/nombre", "nombre", "uno");
+        interna.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, CacheRespuestasFilter.secretoRevalidacion());
+        assertThat(cache(ejecutar(interna, "producto:1"))).isNull();
+        assertThat(consultas).hasValue(2);
+    }
+
+    private MockHttpServletResponse ejecutar(MockHttpServletRequest plantilla, String... etiquetas)
+            throws Exception {
+        // Cada ejecución necesita una solicitud nueva: el filtro marca la que ya procesó.
+        var solicitud = copia(plantilla);
+        var respuesta = new MockHttpServletResponse();
+        FilterChain cadena = (req, res) -> {
+            int consulta = consultas.incrementAndGet();
+            req.setAttribute(CacheSerializadaFilter.ATRIBUTO_ETIQUETAS, Set.of(etiquetas));
+            res.setContentType("application/json");
+            res.getWriter().write("{\"consulta\":" + consulta + "}");
+        };
+        filtro.doFilter(solicitud, respuesta, cadena);
+        return respuesta;
+    }
+
+    private static String cache(MockHttpServletResponse respuesta) {
+        return respuesta.getHeader(CacheRespuestasFilter.CABECERA_CACHE);
+    }
+
+    private static MockHttpServletRequest buscar(String ruta, String parametro, String valor) {
+        var solicitud = solicitud(ruta);
+        solicitud.addParameter(parametro, valor);
+        return solicitud;
+    }
+
+    private static MockHttpServletRequest solicitud(String ruta) {
+        return new MockHttpServletRequest("GET", ruta);
+    }
+
+    private static MockHttpServletRequest copia(MockHttpServletRequest plantilla) {
+        var solicitud = solicitud(plantilla.getRequestURI());
+        solicitud.setRemoteAddr(plantilla.getRemoteAddr());
+        solicitud.setParameters(plantilla.getParameterMap());
+        var revalidacion = plantilla.getHeader(CacheRespuestasFilter.CABECERA_REVALIDACION);
+        if (revalidacion != null) {
+            solicitud.addHeader(CacheRespuestasFilter.CABECERA_REVALIDACION, revalidacion);
+        }
+        return solicitud;
+    }
+}
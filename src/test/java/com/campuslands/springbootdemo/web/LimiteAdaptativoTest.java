@@ -0,0 +1,124 @@
+package com.campuslands.springbootdemo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica cómo crece y se reduce el límite adaptativo y la reserva de las
+ * solicitudes prioritarias. Las latencias se pasan explícitamente, así que el
+ * resultado no depende del reloj.
+ */
+class LimiteAdaptativoTest {
+
+    private static final long LATENCIA = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void creceConLatenciaEstableBajoCarga() {
+        var limite = new LimiteAdaptativo(20, 2, 200, 2.0, 0.2);
+
+        int anterior = limite.getLimite();
+        for (int ronda = 0; ronda < 10; ronda++) {
+            saturar(limite, LATENCIA);
+            assertThat(limite.getLimite()).isGreaterThanOrEqualTo(anterior);
+            anterior = limite.getLimite();
+        }
+
+        assertThat(limite.getLimite()).isGreaterThan(20);
+    }
+
+    @Test
+    void noSuperaElMaximo() {
+        var limite = new LimiteAdaptativo(20, 2, 200, 2.0, 0.2);
+
+        for (int ronda = 0; ronda < 100; ronda++) {
+            saturar(limite, LATENCIA);
+        }
+
+        assertThat(limite.getLimite()).isEqualTo(200);
+    }
+
+    @Test
+    void noCreceConPocaCarga() {
+        var limite = new LimiteAdaptativo(20, 2, 200, 2.0, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limite.intentarAdquirir(true)).isTrue();
+            limite.liberar(LATENCIA, false);
+        }
+
+        assertThat(limite.getLimite()).isEqualTo(20);
+    }
+
+    @Test
+    void seReduceCuandoLaLatenciaAumenta() {
+        var limite = new LimiteAdaptativo(20, 2, 200, 2.0, 0.2);
+        for (int ronda = 0; ronda < 5; ronda++) {
+            saturar(limite, LATENCIA);
+        }
+        int estable = limite.getLimite();
+
+        int adquiridos = adquirirTodo(limite, true);
+        for (int i = 0; i < 5; i++) {
+            limite.liberar(LATENCIA * 10, false);
+        }
+
+        assertThat(adquiridos).isEqualTo(estable);
+        assertThat(limite.getLimite()).isLessThan(estable).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void losErroresReducenElLimiteHastaElMinimo() {
+        var limite = new LimiteAdaptativo(20, 2, 200, 2.0, 0.2);
+
+        limite.intentarAdquirir(true);
+        limite.liberar(LATENCIA, true);
+        assertThat(limite.getLimite()).isEqualTo(18);
+
+        for (int i = 0; i < 100; i++) {
+            limite.intentarAdquirir(true);
+            limite.liberar(LATENCIA, true);
+        }
+        assertThat(limite.getLimite()).isEqualTo(2);
+    }
+
+    @Test
+    void lasNoPrioritariasDejanLibreLaReserva() {
+        var limite = new LimiteAdaptativo(10, 2, 100, 2.0, 0.2);
+
+        assertThat(adquirirTodo(limite, false)).isEqualTo(8);
+        assertThat(adquirirTodo(limite, true)).isEqualTo(2);
+        assertThat(limite.getEnCurso()).isEqualTo(10);
+    }
+
+    @Test
+    void lasPrioritariasOcupanLaCapacidadDeLasDemas() {
+        var limite = new LimiteAdaptativo(10, 2, 100, 2.0, 0.2);
+
+        assertThat(adquirirTodo(limite, true)).isEqualTo(10);
+        assertThat(limite.intentarAdquirir(false)).isFalse();
+
+        for (int i = 0; i < 3; i++) {
+            limite.liberar(LATENCIA, false);
+        }
+        assertThat(adquirirTodo(limite, false)).isPositive();
+        assertThat(limite.intentarAdquirir(true)).isTrue();
+    }
+
+    /** Ocupa todo el límite con solicitudes prioritarias y las libera con la latencia indicada. */
+    private static void saturar(LimiteAdaptativo limite, long latenciaNanos) {
+        int adquiridos = adquirirTodo(limite, true);
+        for (int i = 0; i < adquiridos; i++) {
+            limite.liberar(latenciaNanos, false);
+        }
+    }
+
+    private static int adquirirTodo(LimiteAdaptativo limite, boolean prioritaria) {
+        int adquiridos = 0;
+        while (limite.intentarAdquirir(prioritaria)) {
+            adquiridos++;
+        }
+        return adquiridos;
+    }
+}